@@ -1,6 +1,9 @@
 // 전역 변수
 let testResults = [];
 let statistics = null;
+let cacheStatistics = null;
+let windowedStatistics = null;
+let statisticsStream = null;
 
 // DOM 요소들
 const elements = {
@@ -58,9 +61,6 @@ async function runTest(testType) {
         updateResultList();
         showMessage(`${testType === 'withCache' ? '캐시 사용' : '캐시 미사용'} 테스트 완료!`, 'success');
         
-        // 통계 새로고침
-        await loadStatistics();
-        
     } catch (error) {
         showMessage('테스트 실행 실패: ' + error.message, 'error');
     } finally {
@@ -73,7 +73,6 @@ async function clearCache() {
     try {
         await apiCall('/api/performance/cache/clear', 'POST');
         showMessage('캐시가 클리어되었습니다!', 'success');
-        await loadStatistics();
     } catch (error) {
         showMessage('캐시 클리어 실패: ' + error.message, 'error');
     }
@@ -83,6 +82,7 @@ async function clearCache() {
 async function loadStatistics() {
     try {
         statistics = await apiCall('/api/performance/statistics');
+        cacheStatistics = await apiCall('/api/performance/cache/stats');
         updateStatistics();
     } catch (error) {
         console.error('통계 로드 실패:', error);
@@ -90,6 +90,23 @@ async function loadStatistics() {
     }
 }
 
+// 실시간 통계 구독 (서버가 주기마다 보내는 SSE, 연결이 끊기면 EventSource가 다시 연결)
+function connectStatisticsStream() {
+    if (!window.EventSource) return;
+    
+    statisticsStream = new EventSource('http://localhost:8080/api/performance/statistics/stream');
+    statisticsStream.addEventListener('metrics', (event) => {
+        const snapshot = JSON.parse(event.data);
+        statistics = snapshot.total;
+        windowedStatistics = snapshot.windowed;
+        cacheStatistics = snapshot.cache;
+        updateStatistics();
+    });
+    statisticsStream.onerror = () => {
+        console.warn('실시간 통계 연결 끊김, 재연결 시도 중');
+    };
+}
+
 // 결과 리스트 업데이트
 function updateResultList() {
     const recentResults = testResults.slice(-10).reverse();
@@ -105,7 +122,7 @@ function updateResultList() {
                 <span>${result.cacheEnabled ? '⚡ 캐시 사용' : '🗄️ 캐시 미사용'}</span>
                 <span>응답시간: ${result.responseTime}ms</span>
                 <span>데이터 수: ${result.data?.length || 0}</span>
-                ${result.cacheEnabled ? `<span class="cache-status ${result.cacheHit ? 'hit' : 'miss'}">${result.cacheHit ? '캐시 히트' : '캐시 미스'}</span>` : ''}
+                ${result.cacheEnabled ? `<span class="cache-status ${result.cacheHit ? 'hit' : 'miss'}">${result.cacheHit ? `캐시 히트 (${result.cacheTier === 'local' ? '로컬' : 'Redis'})` : '캐시 미스'}</span>` : ''}
                 <span style="font-size: 12px; color: #666;">${formatTime(result.timestamp)}</span>
             </div>
         </div>
@@ -123,26 +140,83 @@ function updateStatistics() {
     
     const html = `
         <div class="stat-item">
-            <div class="stat-value">${withCache.avgResponseTime || 0}</div>
+            <div class="stat-value">${formatMs(withCache.avgResponseTime)}</div>
             <div class="stat-label">캐시 사용 평균 응답시간 (ms)</div>
         </div>
         <div class="stat-item">
-            <div class="stat-value">${withoutCache.avgResponseTime || 0}</div>
+            <div class="stat-value">${formatMs(withoutCache.avgResponseTime)}</div>
             <div class="stat-label">캐시 미사용 평균 응답시간 (ms)</div>
         </div>
         <div class="stat-item">
-            <div class="stat-value">${withCache.cacheHitRate || 0}%</div>
+            <div class="stat-value">${formatMs(withCache.p99)}</div>
+            <div class="stat-label">캐시 사용 p99 응답시간 (ms)</div>
+        </div>
+        <div class="stat-item">
+            <div class="stat-value">${formatMs(withoutCache.p99)}</div>
+            <div class="stat-label">캐시 미사용 p99 응답시간 (ms)</div>
+        </div>
+        <div class="stat-item">
+            <div class="stat-value">${formatMs(withCache.cacheHitRate)}%</div>
             <div class="stat-label">캐시 적중률</div>
         </div>
         <div class="stat-item">
             <div class="stat-value">${(withCache.totalRequests || 0) + (withoutCache.totalRequests || 0)}</div>
             <div class="stat-label">총 요청 수</div>
         </div>
+        ${renderWindowedStatistics()}
+        ${renderCacheTiers()}
     `;
     
     elements.statsContent.innerHTML = html;
 }
 
+// 최근 구간 처리량과 p99 (실시간 스트림)
+function renderWindowedStatistics() {
+    if (!windowedStatistics) return '';
+    
+    const withCache = windowedStatistics.withCache || {};
+    const withoutCache = windowedStatistics.withoutCache || {};
+    const span = (windowedStatistics.window || '').replace('PT', '').toLowerCase();
+    
+    return `
+        <div class="stat-item">
+            <div class="stat-value">${formatMs(withCache.throughput)} / ${formatMs(withoutCache.throughput)}</div>
+            <div class="stat-label">최근 ${span} 처리량 (req/s, 캐시 사용 / 미사용)</div>
+        </div>
+        <div class="stat-item">
+            <div class="stat-value">${formatMs(withCache.p99)} / ${formatMs(withoutCache.p99)}</div>
+            <div class="stat-label">최근 ${span} p99 (ms, 캐시 사용 / 미사용)</div>
+        </div>
+        <div class="stat-item">
+            <div class="stat-value">${formatMs(withCache.cacheHitRate)}%</div>
+            <div class="stat-label">최근 ${span} 캐시 적중률</div>
+        </div>
+    `;
+}
+
+// 캐시 계층별(로컬/Redis/DB) 적중 수
+function renderCacheTiers() {
+    const caches = Object.values(cacheStatistics || {});
+    if (caches.length === 0) return '';
+    
+    const sum = (field) => caches.reduce((total, cache) => total + (cache[field] || 0), 0);
+    
+    return `
+        <div class="stat-item">
+            <div class="stat-value">${sum('localHits')}</div>
+            <div class="stat-label">로컬 캐시(L1) 히트</div>
+        </div>
+        <div class="stat-item">
+            <div class="stat-value">${sum('remoteHits')}</div>
+            <div class="stat-label">Redis(L2) 히트</div>
+        </div>
+        <div class="stat-item">
+            <div class="stat-value">${sum('misses')}</div>
+            <div class="stat-label">DB 조회 (캐시 미스)</div>
+        </div>
+    `;
+}
+
 // 로딩 표시
 function showLoading(show) {
     elements.loading.style.display = show ? 'block' : 'none';
@@ -173,6 +247,11 @@ function showMessage(message, type) {
     }, 3000);
 }
 
+// 숫자 포맷팅 (소수점 둘째 자리)
+function formatMs(value) {
+    return Number(value || 0).toFixed(2);
+}
+
 // 시간 포맷팅
 function formatTime(date) {
     return new Date(date).toLocaleString('ko-KR', {
@@ -195,6 +274,7 @@ function init() {
     console.log('Redis 캐시 성능 비교 앱 시작');
     setupEventListeners();
     loadStatistics();
+    connectStatisticsStream();
 }
 
 // 페이지 로드 시 초기화
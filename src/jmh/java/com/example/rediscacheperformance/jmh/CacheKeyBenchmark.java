@@ -0,0 +1,81 @@
+package com.example.rediscacheperformance.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.interceptor.SimpleKeyGenerator;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.data.redis.cache.CacheKeyPrefix;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 캐시 키 생성 비용 (@Cacheable key SpEL 평가, Redis 키 문자열 변환/직렬화)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheKeyBenchmark {
+
+    private final SimpleKeyGenerator simpleKeyGenerator = new SimpleKeyGenerator();
+    private final StringRedisSerializer keySerializer = new StringRedisSerializer();
+    private final DefaultParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+    private final ConversionService conversionService =
+            RedisCacheConfiguration.defaultCacheConfig().getConversionService();
+    private final String prefix = CacheKeyPrefix.simple().compute("sampleData");
+
+    private Expression idKeyExpression;
+    private Method lookupMethod;
+    private Object[] arguments;
+
+    @Setup(Level.Trial)
+    public void setUp() throws NoSuchMethodException {
+        idKeyExpression = new SpelExpressionParser().parseExpression("#id");
+        lookupMethod = CacheKeyBenchmark.class.getDeclaredMethod("lookup", Long.class);
+        arguments = new Object[]{42L};
+    }
+
+    /**
+     * 키 표현식을 평가할 대상 메서드 시그니처 (DataService.getDataByIdWithCache와 동일)
+     */
+    @SuppressWarnings("unused")
+    private Object lookup(Long id) {
+        return null;
+    }
+
+    @Benchmark
+    public Object simpleKeyGenerator() {
+        return simpleKeyGenerator.generate(this, lookupMethod, arguments);
+    }
+
+    @Benchmark
+    public Object spelKeyExpression() {
+        MethodBasedEvaluationContext context =
+                new MethodBasedEvaluationContext(this, lookupMethod, arguments, parameterNameDiscoverer);
+        return idKeyExpression.getValue(context);
+    }
+
+    @Benchmark
+    public byte[] redisKeyBytes() {
+        String key = prefix + conversionService.convert(arguments[0], String.class);
+        return keySerializer.serialize(key);
+    }
+}
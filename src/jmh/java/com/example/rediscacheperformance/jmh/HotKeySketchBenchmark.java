@@ -0,0 +1,93 @@
+package com.example.rediscacheperformance.jmh;
+
+import com.example.rediscacheperformance.cache.HotKeySketch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 캐시 조회 한 번당 핫 키 기록 비용 (Zipf 분포 ID 키, 단일 스레드 / 8 스레드 경합)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HotKeySketchBenchmark {
+
+    private static final int KEY_COUNT = 1 << 16;
+
+    @Param({"0.99"})
+    public double zipfExponent;
+
+    private HotKeySketch sketch;
+    private Long[] keys;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sketch = new HotKeySketch(4096, 20);
+        keys = zipfKeys(100_000, zipfExponent);
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int next;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            next = (int) Thread.currentThread().getId() * 7919;
+        }
+    }
+
+    @Benchmark
+    public void record(Cursor cursor) {
+        recordNext(cursor);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void recordContended(Cursor cursor) {
+        recordNext(cursor);
+    }
+
+    private void recordNext(Cursor cursor) {
+        Long key = keys[cursor.next++ & (KEY_COUNT - 1)];
+        sketch.record(key, (key & 7) != 0);
+    }
+
+    /**
+     * 미리 뽑은 Zipf 분포 키 (측정 중 난수 생성 비용 제외)
+     */
+    private static Long[] zipfKeys(int ids, double exponent) {
+        double[] cumulative = new double[ids];
+        double sum = 0;
+        for (int i = 0; i < ids; i++) {
+            sum += 1.0 / Math.pow(i + 1, exponent);
+            cumulative[i] = sum;
+        }
+        SplittableRandom random = new SplittableRandom(42);
+        Long[] keys = new Long[KEY_COUNT];
+        for (int i = 0; i < KEY_COUNT; i++) {
+            double target = random.nextDouble() * sum;
+            int index = Arrays.binarySearch(cumulative, target);
+            keys[i] = (long) (index >= 0 ? index : -index - 1) + 1;
+        }
+        return keys;
+    }
+}
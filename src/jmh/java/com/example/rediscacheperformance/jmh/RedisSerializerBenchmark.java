@@ -0,0 +1,78 @@
+package com.example.rediscacheperformance.jmh;
+
+import com.example.rediscacheperformance.cache.SampleDataBinarySerializer;
+import com.example.rediscacheperformance.config.RedisConfig;
+import com.example.rediscacheperformance.entity.SampleData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 캐시 값 직렬화/역직렬화 비용 (SampleData 1건, List&lt;SampleData&gt; 8 ~ 100k건)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RedisSerializerBenchmark {
+
+    @Param({"8", "100", "1000", "10000", "100000"})
+    public int rows;
+
+    /**
+     * json: 기존 Jackson 직렬화, binary: 바이너리 + 1KB 초과 시 deflate 압축
+     */
+    @Param({"json", "binary"})
+    public String codec;
+
+    private RedisSerializer<Object> serializer;
+    private SampleData single;
+    private List<SampleData> list;
+    private byte[] singleBytes;
+    private byte[] listBytes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        RedisSerializer<Object> json = new RedisConfig().redisSerializer();
+        serializer = "binary".equals(codec) ? new SampleDataBinarySerializer(json, 1024, 1) : json;
+        single = SampleDataFixtures.sampleData(1);
+        list = SampleDataFixtures.sampleDataList(rows);
+        singleBytes = serializer.serialize(single);
+        listBytes = serializer.serialize(list);
+    }
+
+    @Benchmark
+    public byte[] serializeSingle() {
+        return serializer.serialize(single);
+    }
+
+    @Benchmark
+    public Object deserializeSingle() {
+        return serializer.deserialize(singleBytes);
+    }
+
+    @Benchmark
+    public byte[] serializeList() {
+        return serializer.serialize(list);
+    }
+
+    @Benchmark
+    public Object deserializeList() {
+        return serializer.deserialize(listBytes);
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.rediscacheperformance.jmh;
+
+import com.example.rediscacheperformance.entity.SampleData;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 벤치마크용 SampleData 생성
+ */
+final class SampleDataFixtures {
+
+    private static final String[] CATEGORIES = {"Electronics", "Services", "General"};
+
+    private SampleDataFixtures() {
+    }
+
+    static SampleData sampleData(long id) {
+        return SampleData.builder()
+                .id(id)
+                .name("Product " + id)
+                .description("Benchmark product description " + id)
+                .price((int) (id % 1000))
+                .category(CATEGORIES[(int) (id % CATEGORIES.length)])
+                .createdAt(LocalDateTime.of(2024, 1, 1, 0, 0).plusSeconds(id))
+                .build();
+    }
+
+    static List<SampleData> sampleDataList(int rows) {
+        List<SampleData> list = new ArrayList<>(rows);
+        for (long id = 1; id <= rows; id++) {
+            list.add(sampleData(id));
+        }
+        return list;
+    }
+}
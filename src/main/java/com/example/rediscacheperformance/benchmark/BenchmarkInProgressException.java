@@ -0,0 +1,13 @@
+package com.example.rediscacheperformance.benchmark;
+
+/**
+ * 다른 벤치마크가 실행 중일 때 발생
+ */
+public class BenchmarkInProgressException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public BenchmarkInProgressException() {
+        super("Another benchmark is already running");
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.rediscacheperformance.benchmark;
+
+/**
+ * 캐시 사용 여부
+ */
+public enum BenchmarkMode {
+    WITH_CACHE,
+    WITHOUT_CACHE,
+    /**
+     * 정규화 캐시 (ALL / CATEGORY는 id 인덱스 + ID별 캐시 다건 조회, SEARCH는 trigram 색인 + ID별 캐시 다건 조회,
+     * ID 경로는 WITH_CACHE와 같음)
+     */
+    NORMALIZED_CACHE
+}
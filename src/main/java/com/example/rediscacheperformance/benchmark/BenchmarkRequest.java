@@ -0,0 +1,101 @@
+package com.example.rediscacheperformance.benchmark;
+
+import com.example.rediscacheperformance.cache.CacheBackendRegistry;
+import com.example.rediscacheperformance.service.WriteStrategy;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 부하 테스트 요청
+ */
+@Data
+public class BenchmarkRequest {
+
+    @NotNull
+    private BenchmarkTarget target = BenchmarkTarget.ALL;
+
+    @NotEmpty
+    private List<BenchmarkMode> modes = List.of(BenchmarkMode.WITHOUT_CACHE, BenchmarkMode.WITH_CACHE);
+
+    /**
+     * 동시 실행 작업 수 (closed 모델의 동시 사용자 수, open 모델의 최대 동시 요청 수)
+     */
+    @Min(1)
+    @Max(10_000)
+    private int concurrency = 16;
+
+    @Min(1)
+    @Max(600)
+    private int durationSeconds = 10;
+
+    @Min(0)
+    @Max(300)
+    private int warmupSeconds = 2;
+
+    /**
+     * 목표 초당 요청 수 (0이면 closed 모델, 0보다 크면 open 모델)
+     */
+    @DecimalMin("0")
+    private double targetRate = 0;
+
+    /**
+     * 작업 스레드 종류 (PLATFORM은 동시 작업 수만큼 OS 스레드를 만든다)
+     */
+    @NotNull
+    private WorkerThreads threads = WorkerThreads.VIRTUAL;
+
+    @NotNull
+    private KeyDistribution distribution = KeyDistribution.UNIFORM;
+
+    @DecimalMin("0")
+    private double zipfExponent = 0.99;
+
+    /**
+     * ID_BATCH / ID_LOOP 요청 한 번에 조회할 ID 수
+     */
+    @Min(1)
+    @Max(1_000)
+    private int batchSize = 50;
+
+    /**
+     * SEARCH 대상이 분포에 따라 고르는 검색어 (앞쪽일수록 Zipfian에서 자주 뽑힘)
+     */
+    @NotEmpty
+    private List<String> searchQueries = List.of("premium", "smart", "alpha", "vivid rapid", "product 12");
+
+    /**
+     * SEARCH 요청 한 번의 최대 결과 수
+     */
+    @Min(1)
+    @Max(1_000)
+    private int searchLimit = 20;
+
+    /**
+     * WITH_CACHE 모드에서 비교할 캐시 백엔드 (redis / local / none / sharded, 백엔드마다 한 번씩 실행)
+     */
+    @NotEmpty
+    private List<String> backends = List.of(CacheBackendRegistry.REDIS);
+
+    /**
+     * sharded 백엔드를 링에 올린 노드 수별로 실행 (예: [1, 2, 3], 비우면 현재 노드 수로 한 번, 끝나면 원래 노드 수로 복원)
+     */
+    private List<Integer> shardCounts = List.of();
+
+    /**
+     * WRITE 대상에서 비교할 쓰기 전략 (modes 대신 사용)
+     */
+    @NotEmpty
+    private List<WriteStrategy> writeStrategies = List.of(
+            WriteStrategy.INVALIDATE, WriteStrategy.WRITE_THROUGH, WriteStrategy.WRITE_BEHIND);
+
+    /**
+     * 각 모드 실행 전에 캐시를 비울지 여부
+     */
+    private boolean clearCache = false;
+}
@@ -0,0 +1,524 @@
+package com.example.rediscacheperformance.benchmark;
+
+import com.example.rediscacheperformance.cache.CacheAccessContext;
+import com.example.rediscacheperformance.cache.CacheBackendContext;
+import com.example.rediscacheperformance.cache.CacheBackendRegistry;
+import com.example.rediscacheperformance.cache.RedisIdIndex;
+import com.example.rediscacheperformance.cache.RedisShards;
+import com.example.rediscacheperformance.config.VirtualThreads;
+import com.example.rediscacheperformance.metrics.LatencyHistogramAggregator.LatencySnapshot;
+import com.example.rediscacheperformance.metrics.VirtualThreadPinningMonitor;
+import com.example.rediscacheperformance.dto.SampleDataWriteRequest;
+import com.example.rediscacheperformance.entity.SampleData;
+import com.example.rediscacheperformance.latency.DatabaseLatencySimulator;
+import com.example.rediscacheperformance.repository.SampleDataRepository;
+import com.example.rediscacheperformance.service.DataService;
+import com.example.rediscacheperformance.service.DataWriteService;
+import com.example.rediscacheperformance.service.WriteStrategy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 서버 내부에서 조회 경로에 동시 부하를 주는 벤치마크 실행기
+ * closed 모델은 동시 작업 수만큼 쉬지 않고 요청하고, open 모델은 목표 처리량에 맞춘 예정 시각에 요청한다.
+ * open 모델의 지연 시간은 예정 시각부터 측정하고, closed 모델은 워밍업 평균 간격으로 보정해
+ * coordinated omission을 바로잡는다. 보정 전 순수 처리 시간은 serviceTime으로 따로 보고한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BenchmarkService {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final DataService dataService;
+    private final SampleDataRepository sampleDataRepository;
+    private final CacheBackendRegistry cacheBackends;
+    private final DataWriteService dataWriteService;
+    private final RedisIdIndex sampleDataIndex;
+    private final RedisShards redisShards;
+    private final VirtualThreadPinningMonitor pinningMonitor;
+    private final DatabaseLatencySimulator databaseLatency;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * WRITE 대상이 쓰는 가격 (실행 간에도 계속 증가)
+     */
+    private final AtomicInteger writeMarker = new AtomicInteger();
+
+    /**
+     * @throws IllegalArgumentException 등록되지 않은 캐시 백엔드나 노드 수 범위 밖의 shardCounts를 요청한 경우
+     */
+    public Map<String, Object> run(BenchmarkRequest request) {
+        request.getBackends().forEach(cacheBackends::get);
+        for (Integer shards : request.getShardCounts()) {
+            if (shards == null || shards < 1 || shards > redisShards.getShards().size()) {
+                throw new IllegalArgumentException("shardCounts must be between 1 and "
+                        + redisShards.getShards().size() + ": " + shards);
+            }
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new BenchmarkInProgressException();
+        }
+        try {
+            List<Map<String, Object>> results = new ArrayList<>();
+            if (request.getTarget() == BenchmarkTarget.WRITE) {
+                for (WriteStrategy strategy : request.getWriteStrategies()) {
+                    if (request.isClearCache()) {
+                        clearCaches();
+                    }
+                    results.add(runWriteStrategy(request, strategy));
+                }
+            } else {
+                for (BenchmarkMode mode : request.getModes()) {
+                    // 백엔드 비교는 WITH_CACHE 모드만 (정규화 캐시는 Redis 전용)
+                    List<String> backends = mode == BenchmarkMode.WITH_CACHE
+                            ? request.getBackends() : Collections.singletonList(null);
+                    for (String backend : backends) {
+                        if (CacheBackendRegistry.SHARDED.equals(backend) && !request.getShardCounts().isEmpty()) {
+                            results.addAll(runShardCounts(request, mode));
+                            continue;
+                        }
+                        if (request.isClearCache()) {
+                            clearCaches();
+                        }
+                        Runnable operation = onBackend(backend, operation(request, mode));
+                        results.add(runMode(request, mode, backend, operation));
+                    }
+                }
+            }
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("target", request.getTarget());
+            report.put("model", request.getTargetRate() > 0 ? "open" : "closed");
+            report.put("concurrency", request.getConcurrency());
+            report.put("targetRate", request.getTargetRate());
+            report.put("durationSeconds", request.getDurationSeconds());
+            report.put("warmupSeconds", request.getWarmupSeconds());
+            report.put("distribution", request.getDistribution());
+            if (request.getTarget() == BenchmarkTarget.ID_BATCH || request.getTarget() == BenchmarkTarget.ID_LOOP) {
+                report.put("batchSize", request.getBatchSize());
+            }
+            if (request.getTarget() == BenchmarkTarget.SEARCH) {
+                report.put("searchQueries", request.getSearchQueries());
+                report.put("searchLimit", request.getSearchLimit());
+            }
+            if (!request.getShardCounts().isEmpty()) {
+                report.put("shardCounts", request.getShardCounts());
+            }
+            report.put("threads", isVirtual(request) ? "virtual" : "platform");
+            report.put("latencyModel", databaseLatency.getSettings());
+            report.put("results", results);
+            return report;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private Map<String, Object> runMode(BenchmarkRequest request, BenchmarkMode mode, String backend,
+                                        Runnable operation) {
+        log.info("Benchmark started: target={}, mode={}, backend={}, concurrency={}, rate={}",
+                request.getTarget(), mode, backend, request.getConcurrency(), request.getTargetRate());
+
+        PhaseResult measured = warmupAndMeasure(request, operation, () -> {
+        });
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("mode", mode);
+        if (backend != null) {
+            result.put("backend", backend);
+        }
+        result.put("requests", measured.requests);
+        result.put("errors", measured.errors);
+        result.put("elapsedSeconds", measured.elapsedNanos / 1_000_000_000.0);
+        result.put("throughput", measured.requests / (measured.elapsedNanos / 1_000_000_000.0));
+        if (mode != BenchmarkMode.WITHOUT_CACHE) {
+            result.put("cacheHitRate", measured.requests > 0 ? (double) measured.cacheHits / measured.requests * 100 : 0.0);
+        }
+        result.put("latency", new LatencySnapshot(measured.latency, measured.elapsedNanos).toPercentileMap());
+        result.put("serviceTime", new LatencySnapshot(measured.serviceTime, measured.elapsedNanos).toPercentileMap());
+        result.put("runtime", measured.runtime);
+        log.info("Benchmark finished: mode={}, requests={}, errors={}", mode, measured.requests, measured.errors);
+        return result;
+    }
+
+    /**
+     * sharded 백엔드를 링의 노드 수별로 측정 (노드별 명령 비율을 함께 보고, 끝나면 원래 노드 수로 복원)
+     * 노드 수를 바꿀 때 자기 노드가 아닌 키는 지워지므로 각 실행은 옮겨 간 키의 미스부터 시작한다.
+     */
+    private List<Map<String, Object>> runShardCounts(BenchmarkRequest request, BenchmarkMode mode) {
+        List<Map<String, Object>> results = new ArrayList<>();
+        int originalNodes = redisShards.getActiveNodes();
+        try {
+            for (int shards : request.getShardCounts()) {
+                Map<String, Object> resized = redisShards.resize(shards);
+                if (request.isClearCache()) {
+                    clearCaches();
+                }
+                Map<String, Long> commandsBefore = redisShards.getCommandCounts();
+                Runnable operation = onBackend(CacheBackendRegistry.SHARDED, operation(request, mode));
+                Map<String, Object> result = runMode(request, mode, CacheBackendRegistry.SHARDED, operation);
+                result.put("shards", shards);
+                result.put("droppedKeys", resized.get("droppedKeys"));
+                result.put("shardCommandShare", commandShare(commandsBefore, redisShards.getCommandCounts()));
+                results.add(result);
+            }
+        } finally {
+            redisShards.resize(originalNodes);
+        }
+        return results;
+    }
+
+    /**
+     * 측정 구간(워밍업 포함)에 노드별로 보낸 명령 비율 (%)
+     */
+    private static Map<String, Double> commandShare(Map<String, Long> before, Map<String, Long> after) {
+        long total = 0;
+        Map<String, Long> delta = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> entry : after.entrySet()) {
+            long commands = entry.getValue() - before.getOrDefault(entry.getKey(), 0L);
+            delta.put(entry.getKey(), commands);
+            total += commands;
+        }
+        Map<String, Double> share = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> entry : delta.entrySet()) {
+            share.put(entry.getKey(), total > 0 ? (double) entry.getValue() / total * 100 : 0.0);
+        }
+        return share;
+    }
+
+    /**
+     * 쓰기 전략 하나를 측정
+     * 쓰기 지연과 쓰기 직후 조회 지연, 조회가 방금 쓴 값보다 오래된 비율(캐시 / DB),
+     * 쓰기 한 번당 DB 쓰기 행 수, write-behind의 DB 반영 지연을 보고한다.
+     */
+    private Map<String, Object> runWriteStrategy(BenchmarkRequest request, WriteStrategy strategy) {
+        log.info("Benchmark started: target=WRITE, strategy={}, concurrency={}, rate={}",
+                strategy, request.getConcurrency(), request.getTargetRate());
+
+        // 기존 가격보다 큰 값부터 써야 이전 값과 구분된다
+        writeMarker.accumulateAndGet(sampleDataRepository.findMaxPrice(), Math::max);
+        KeySampler<Long> ids = KeySampler.create(sampleDataRepository.findAllIds(),
+                request.getDistribution(), request.getZipfExponent());
+        WriteProbe probe = new WriteProbe(strategy, ids);
+        long[] dbRowsBefore = new long[1];
+        PhaseResult measured = warmupAndMeasure(request, probe, () -> {
+            // 워밍업 쓰기는 측정 전에 DB에 반영하고 기록을 버린다
+            dataWriteService.flushWriteBehind();
+            dataWriteService.getIntervalWriteBehindLag();
+            probe.reset();
+            dbRowsBefore[0] = dataWriteService.getDbRows(strategy);
+        });
+        dataWriteService.flushWriteBehind();
+        long dbRows = dataWriteService.getDbRows(strategy) - dbRowsBefore[0];
+        long writes = probe.writeLatency.getTotalCount();
+        long reads = probe.readAfterWriteLatency.getTotalCount();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("strategy", strategy);
+        result.put("requests", measured.requests);
+        result.put("errors", measured.errors);
+        result.put("elapsedSeconds", measured.elapsedNanos / 1_000_000_000.0);
+        result.put("throughput", measured.requests / (measured.elapsedNanos / 1_000_000_000.0));
+        result.put("latency", new LatencySnapshot(measured.latency, measured.elapsedNanos).toPercentileMap());
+        result.put("readAfterWriteHitRate", reads > 0 ? (double) probe.readHits.sum() / reads * 100 : 0.0);
+        result.put("writeLatency", new LatencySnapshot(probe.writeLatency, measured.elapsedNanos).toPercentileMap());
+        result.put("readAfterWriteLatency",
+                new LatencySnapshot(probe.readAfterWriteLatency, measured.elapsedNanos).toPercentileMap());
+        result.put("staleCacheReadRate", reads > 0 ? (double) probe.staleCacheReads.sum() / reads * 100 : 0.0);
+        result.put("staleDbReadRate", reads > 0 ? (double) probe.staleDbReads.sum() / reads * 100 : 0.0);
+        result.put("dbWriteRows", dbRows);
+        result.put("dbWriteRowsPerWrite", writes > 0 ? (double) dbRows / writes : 0.0);
+        if (strategy == WriteStrategy.WRITE_BEHIND) {
+            result.put("dbLag", new LatencySnapshot(dataWriteService.getIntervalWriteBehindLag(), measured.elapsedNanos)
+                    .toPercentileMap());
+        }
+        result.put("runtime", measured.runtime);
+        log.info("Benchmark finished: strategy={}, requests={}, errors={}", strategy, measured.requests, measured.errors);
+        return result;
+    }
+
+    /**
+     * 워밍업 후 측정 (워밍업 결과는 버리고 closed 모델 보정용 평균 처리 간격만 사용)
+     */
+    private PhaseResult warmupAndMeasure(BenchmarkRequest request, Runnable operation, Runnable beforeMeasure) {
+        long expectedIntervalMicros = 0;
+        if (request.getWarmupSeconds() > 0) {
+            PhaseResult warmup = runPhase(request, operation, request.getWarmupSeconds(), 0);
+            expectedIntervalMicros = (long) warmup.serviceTime.getMean();
+        }
+        beforeMeasure.run();
+        long pinnedBefore = pinningMonitor.getPinnedEvents();
+        try (RuntimeUsageSampler sampler = RuntimeUsageSampler.start()) {
+            PhaseResult measured = runPhase(request, operation, request.getDurationSeconds(), expectedIntervalMicros);
+            measured.runtime = sampler.snapshot(request.getConcurrency());
+            if (isVirtual(request)) {
+                measured.runtime.put("pinnedEvents", pinningMonitor.getPinnedEvents() - pinnedBefore);
+            }
+            return measured;
+        }
+    }
+
+    private static boolean isVirtual(BenchmarkRequest request) {
+        return request.getThreads() == WorkerThreads.VIRTUAL && VirtualThreads.isSupported();
+    }
+
+    private PhaseResult runPhase(BenchmarkRequest request, Runnable operation, int seconds, long expectedIntervalMicros) {
+        boolean open = request.getTargetRate() > 0;
+        double intervalNanos = open ? 1_000_000_000.0 / request.getTargetRate() : 0;
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(seconds);
+        AtomicLong ticket = new AtomicLong();
+
+        List<Future<PhaseResult>> workers = new ArrayList<>(request.getConcurrency());
+        ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("benchmark", isVirtual(request));
+        try {
+            for (int i = 0; i < request.getConcurrency(); i++) {
+                workers.add(executor.submit(() -> {
+                    PhaseResult result = new PhaseResult();
+                    while (true) {
+                        long intendedStart;
+                        if (open) {
+                            intendedStart = start + (long) (ticket.getAndIncrement() * intervalNanos);
+                            if (intendedStart >= end) {
+                                break;
+                            }
+                            sleepUntil(intendedStart);
+                        } else {
+                            intendedStart = System.nanoTime();
+                            if (intendedStart >= end) {
+                                break;
+                            }
+                        }
+                        result.execute(operation, intendedStart, open, expectedIntervalMicros);
+                    }
+                    return result;
+                }));
+            }
+
+            PhaseResult total = new PhaseResult();
+            for (Future<PhaseResult> worker : workers) {
+                total.merge(worker.get());
+            }
+            total.elapsedNanos = System.nanoTime() - start;
+            return total;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Benchmark interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Benchmark worker failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 작업 스레드에서 지정한 캐시 백엔드로 실행 (null이면 기본 백엔드)
+     */
+    private static Runnable onBackend(String backend, Runnable operation) {
+        if (backend == null) {
+            return operation;
+        }
+        return () -> {
+            try (CacheBackendContext.Scope ignored = CacheBackendContext.use(backend)) {
+                operation.run();
+            }
+        };
+    }
+
+    private Runnable operation(BenchmarkRequest request, BenchmarkMode mode) {
+        boolean cached = mode != BenchmarkMode.WITHOUT_CACHE;
+        boolean normalized = mode == BenchmarkMode.NORMALIZED_CACHE;
+        return switch (request.getTarget()) {
+            case ALL -> normalized ? dataService::getAllDataNormalized
+                    : cached ? dataService::getAllDataWithCache : dataService::getAllDataWithoutCache;
+            case CATEGORY -> {
+                KeySampler<String> categories = KeySampler.create(sampleDataRepository.findDistinctCategories(),
+                        request.getDistribution(), request.getZipfExponent());
+                if (normalized) {
+                    yield () -> dataService.getDataByCategoryNormalized(categories.next());
+                }
+                yield cached
+                        ? () -> dataService.getDataByCategoryWithCache(categories.next())
+                        : () -> dataService.getDataByCategoryWithoutCache(categories.next());
+            }
+            case ID -> {
+                KeySampler<Long> ids = KeySampler.create(sampleDataRepository.findAllIds(),
+                        request.getDistribution(), request.getZipfExponent());
+                yield cached
+                        ? () -> dataService.getDataByIdWithCache(ids.next())
+                        : () -> dataService.getDataByIdWithoutCache(ids.next());
+            }
+            case ID_BATCH -> {
+                KeySampler<Long> ids = KeySampler.create(sampleDataRepository.findAllIds(),
+                        request.getDistribution(), request.getZipfExponent());
+                yield cached
+                        ? () -> dataService.getDataByIdsWithCache(sampleIds(ids, request.getBatchSize()))
+                        : () -> dataService.getDataByIdsWithoutCache(sampleIds(ids, request.getBatchSize()));
+            }
+            case SEARCH -> {
+                KeySampler<String> queries = KeySampler.create(request.getSearchQueries(),
+                        request.getDistribution(), request.getZipfExponent());
+                int limit = request.getSearchLimit();
+                if (normalized) {
+                    yield () -> dataService.searchNormalized(queries.next(), limit);
+                }
+                yield cached
+                        ? () -> dataService.searchWithCache(queries.next(), limit)
+                        : () -> dataService.searchWithoutCache(queries.next(), limit);
+            }
+            case WRITE -> throw new IllegalArgumentException("WRITE target runs per write strategy");
+            case ID_LOOP -> {
+                KeySampler<Long> ids = KeySampler.create(sampleDataRepository.findAllIds(),
+                        request.getDistribution(), request.getZipfExponent());
+                yield cached
+                        ? () -> sampleIds(ids, request.getBatchSize()).forEach(dataService::getDataByIdWithCache)
+                        : () -> sampleIds(ids, request.getBatchSize()).forEach(dataService::getDataByIdWithoutCache);
+            }
+        };
+    }
+
+    private static List<Long> sampleIds(KeySampler<Long> ids, int count) {
+        List<Long> sampled = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            sampled.add(ids.next());
+        }
+        return sampled;
+    }
+
+    private void clearCaches() {
+        cacheBackends.clearAll();
+        sampleDataIndex.clear();
+    }
+
+    private static void sleepUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    /**
+     * 임의 ID의 가격을 증가하는 값으로 수정한 뒤 바로 캐시와 DB에서 읽어 방금 쓴 값이 보이는지 확인
+     */
+    private final class WriteProbe implements Runnable {
+
+        private final WriteStrategy strategy;
+        private final KeySampler<Long> ids;
+        private final Histogram writeLatency = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+        private final Histogram readAfterWriteLatency = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+        private final LongAdder readHits = new LongAdder();
+        private final LongAdder staleCacheReads = new LongAdder();
+        private final LongAdder staleDbReads = new LongAdder();
+
+        private WriteProbe(WriteStrategy strategy, KeySampler<Long> ids) {
+            this.strategy = strategy;
+            this.ids = ids;
+        }
+
+        @Override
+        public void run() {
+            Long id = ids.next();
+            int price = writeMarker.incrementAndGet();
+            SampleDataWriteRequest change = new SampleDataWriteRequest();
+            change.setPrice(price);
+
+            long start = System.nanoTime();
+            if (dataWriteService.update(id, change, strategy).isEmpty()) {
+                return;
+            }
+            long written = System.nanoTime();
+            Optional<SampleData> cached;
+            // 쓰기 중 목록 캐시 조회와 구분해 쓰기 직후 조회의 적중만 센다
+            try (CacheAccessContext.Scope readAccess = CacheAccessContext.begin()) {
+                cached = dataService.getDataByIdWithCache(id);
+                if (readAccess.isCacheHit()) {
+                    readHits.increment();
+                }
+            }
+            long read = System.nanoTime();
+            writeLatency.recordValue(Math.max(1, TimeUnit.NANOSECONDS.toMicros(written - start)));
+            readAfterWriteLatency.recordValue(Math.max(1, TimeUnit.NANOSECONDS.toMicros(read - written)));
+
+            // 동시에 같은 ID를 더 큰 값으로 쓴 경우도 최신으로 본다
+            if (cached.map(SampleData::getPrice).orElse(-1) < price) {
+                staleCacheReads.increment();
+            }
+            if (sampleDataRepository.findById(id).map(SampleData::getPrice).orElse(-1) < price) {
+                staleDbReads.increment();
+            }
+        }
+
+        private void reset() {
+            writeLatency.reset();
+            readAfterWriteLatency.reset();
+            readHits.reset();
+            staleCacheReads.reset();
+            staleDbReads.reset();
+        }
+    }
+
+    /**
+     * 작업 하나(또는 합산)의 측정 결과
+     */
+    private static final class PhaseResult {
+
+        private final Histogram latency = new Histogram(SIGNIFICANT_DIGITS);
+        private final Histogram serviceTime = new Histogram(SIGNIFICANT_DIGITS);
+        private long requests;
+        private long errors;
+        private long cacheHits;
+        private long elapsedNanos;
+        private Map<String, Object> runtime;
+
+        private void execute(Runnable operation, long intendedStart, boolean open, long expectedIntervalMicros) {
+            long actualStart = System.nanoTime();
+            try (CacheAccessContext.Scope cacheAccess = CacheAccessContext.begin()) {
+                operation.run();
+                if (cacheAccess.isCacheHit()) {
+                    cacheHits++;
+                }
+            } catch (Exception e) {
+                errors++;
+            }
+            long now = System.nanoTime();
+            long serviceMicros = Math.max(1, TimeUnit.NANOSECONDS.toMicros(now - actualStart));
+            serviceTime.recordValue(serviceMicros);
+            if (open) {
+                latency.recordValue(Math.max(1, TimeUnit.NANOSECONDS.toMicros(now - intendedStart)));
+            } else if (expectedIntervalMicros > 0) {
+                latency.recordValueWithExpectedInterval(serviceMicros, expectedIntervalMicros);
+            } else {
+                latency.recordValue(serviceMicros);
+            }
+            requests++;
+        }
+
+        private void merge(PhaseResult other) {
+            latency.add(other.latency);
+            serviceTime.add(other.serviceTime);
+            requests += other.requests;
+            errors += other.errors;
+            cacheHits += other.cacheHits;
+        }
+    }
+}
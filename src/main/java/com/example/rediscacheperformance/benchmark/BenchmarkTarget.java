@@ -0,0 +1,36 @@
+package com.example.rediscacheperformance.benchmark;
+
+/**
+ * 부하를 줄 조회 경로
+ */
+public enum BenchmarkTarget {
+    /**
+     * 전체 데이터 조회 (/api/data/all, /api/performance/data)
+     */
+    ALL,
+    /**
+     * 카테고리별 조회 (/api/data/category/{category})
+     */
+    CATEGORY,
+    /**
+     * ID별 조회 (/api/data/{id})
+     */
+    ID,
+    /**
+     * 여러 ID 다건 조회 (/api/data/batch, 캐시 사용 시 다건 조회 + 미스만 findAllById)
+     */
+    ID_BATCH,
+    /**
+     * 여러 ID를 ID별 조회로 반복 (ID_BATCH 비교 기준)
+     */
+    ID_LOOP,
+    /**
+     * 이름/설명 검색 (/api/data/search, 캐시 미사용은 DB LIKE 스캔, 캐시 사용은 결과 캐시 + trigram 색인,
+     * 정규화 캐시는 결과 캐시 없이 trigram 색인)
+     */
+    SEARCH,
+    /**
+     * 쓰기 후 바로 읽기 (PUT /api/data/{id} 후 ID별 캐시 조회와 DB 조회로 최신 값 확인, writeStrategies별 실행)
+     */
+    WRITE
+}
@@ -0,0 +1,9 @@
+package com.example.rediscacheperformance.benchmark;
+
+/**
+ * 조회 키 분포
+ */
+public enum KeyDistribution {
+    UNIFORM,
+    ZIPFIAN
+}
@@ -0,0 +1,58 @@
+package com.example.rediscacheperformance.benchmark;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 키 목록에서 분포에 따라 키를 뽑는 샘플러 (스레드 안전)
+ * Zipfian은 목록 앞쪽 키일수록 자주 뽑힌다.
+ */
+final class KeySampler<K> {
+
+    private final List<K> keys;
+    private final double[] cumulative;
+
+    private KeySampler(List<K> keys, double[] cumulative) {
+        this.keys = keys;
+        this.cumulative = cumulative;
+    }
+
+    static <K> KeySampler<K> create(List<K> keys, KeyDistribution distribution, double zipfExponent) {
+        if (keys.isEmpty()) {
+            throw new IllegalStateException("No keys to sample from");
+        }
+        if (distribution == KeyDistribution.UNIFORM) {
+            return new KeySampler<>(keys, null);
+        }
+        // 순위 r의 가중치 1 / r^s 의 누적 분포
+        double[] cumulative = new double[keys.size()];
+        double sum = 0;
+        for (int rank = 0; rank < keys.size(); rank++) {
+            sum += 1.0 / Math.pow(rank + 1, zipfExponent);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < cumulative.length; rank++) {
+            cumulative[rank] /= sum;
+        }
+        return new KeySampler<>(keys, cumulative);
+    }
+
+    K next() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (cumulative == null) {
+            return keys.get(random.nextInt(keys.size()));
+        }
+        double u = random.nextDouble();
+        int low = 0;
+        int high = cumulative.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulative[mid] < u) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return keys.get(low);
+    }
+}
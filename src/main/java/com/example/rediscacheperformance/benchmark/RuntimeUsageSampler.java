@@ -0,0 +1,71 @@
+package com.example.rediscacheperformance.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 측정 구간의 JVM 스레드 수와 힙 사용량을 주기적으로 샘플링
+ * 힙 사용량은 GC 시점에 따라 흔들리므로 작업당 힙 증가량은 대략적인 비교용이다.
+ * 최대 스레드 수도 샘플링 값이다 (JVM 전역 peak 카운터를 초기화하면 다른 모니터링 값이 바뀌므로 건드리지 않는다).
+ */
+final class RuntimeUsageSampler implements AutoCloseable {
+
+    private static final long SAMPLE_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final int baselineThreads;
+    private final long baselineHeapBytes;
+    private final Thread sampler;
+    private volatile boolean running = true;
+    private volatile int peakThreads;
+    private volatile long peakHeapBytes;
+
+    private RuntimeUsageSampler() {
+        baselineThreads = threads.getThreadCount();
+        peakThreads = baselineThreads;
+        baselineHeapBytes = memory.getHeapMemoryUsage().getUsed();
+        peakHeapBytes = baselineHeapBytes;
+        sampler = new Thread(this::sampleLoop, "benchmark-runtime-sampler");
+        sampler.setDaemon(true);
+        sampler.start();
+    }
+
+    static RuntimeUsageSampler start() {
+        return new RuntimeUsageSampler();
+    }
+
+    private void sampleLoop() {
+        while (running) {
+            peakThreads = Math.max(peakThreads, threads.getThreadCount());
+            peakHeapBytes = Math.max(peakHeapBytes, memory.getHeapMemoryUsage().getUsed());
+            LockSupport.parkNanos(SAMPLE_INTERVAL_NANOS);
+        }
+    }
+
+    /**
+     * @param workers 동시 작업 수 (작업당 힙 증가량 계산용)
+     */
+    Map<String, Object> snapshot(int workers) {
+        long heapGrowth = Math.max(0, peakHeapBytes - baselineHeapBytes);
+        Map<String, Object> usage = new LinkedHashMap<>();
+        // 가상 스레드는 ThreadMXBean 스레드 수에 포함되지 않는다
+        usage.put("baselineThreads", baselineThreads);
+        usage.put("peakThreads", Math.max(peakThreads, threads.getThreadCount()));
+        usage.put("baselineHeapUsedBytes", baselineHeapBytes);
+        usage.put("peakHeapUsedBytes", peakHeapBytes);
+        usage.put("heapGrowthPerWorkerBytes", heapGrowth / Math.max(1, workers));
+        return usage;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(sampler);
+    }
+}
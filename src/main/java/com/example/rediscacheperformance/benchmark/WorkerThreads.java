@@ -0,0 +1,15 @@
+package com.example.rediscacheperformance.benchmark;
+
+/**
+ * 벤치마크 작업 스레드 종류
+ */
+public enum WorkerThreads {
+    /**
+     * 작업마다 가상 스레드 (Java 21 미만에서는 플랫폼 스레드로 대체)
+     */
+    VIRTUAL,
+    /**
+     * 작업마다 플랫폼(OS) 스레드
+     */
+    PLATFORM
+}
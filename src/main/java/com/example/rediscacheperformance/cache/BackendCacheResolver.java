@@ -0,0 +1,36 @@
+package com.example.rediscacheperformance.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.interceptor.CacheOperationInvocationContext;
+import org.springframework.cache.interceptor.CacheResolver;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * @Cacheable 캐시를 현재 요청의 캐시 백엔드에서 찾는 CacheResolver
+ */
+public class BackendCacheResolver implements CacheResolver {
+
+    private final CacheBackendRegistry registry;
+
+    public BackendCacheResolver(CacheBackendRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Collection<? extends Cache> resolveCaches(CacheOperationInvocationContext<?> context) {
+        String backend = registry.currentName();
+        List<Cache> caches = new ArrayList<>(context.getOperation().getCacheNames().size());
+        for (String cacheName : context.getOperation().getCacheNames()) {
+            Cache cache = registry.get(backend).getCache(cacheName);
+            if (cache == null) {
+                throw new IllegalArgumentException("Cannot find cache named '" + cacheName
+                        + "' in backend " + backend + " for " + context.getOperation());
+            }
+            caches.add(cache);
+        }
+        return caches;
+    }
+}
@@ -0,0 +1,345 @@
+package com.example.rediscacheperformance.cache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * 크기 제한과 TTL을 갖는 동시성 로컬 저장소 (LRU 또는 W-TinyLFU 제거)
+ * 조회는 ConcurrentHashMap에서 잠금 없이 하고, 접근 순서/빈도 갱신은 잠금을 바로 얻을 수 있을 때만 한다.
+ * 경합 중에는 일부 접근 기록을 버리는 대신 조회가 잠금을 기다리지 않는다.
+ * 저장/삭제와 제거 정책 구조는 하나의 잠금으로 보호한다.
+ */
+public class BoundedLocalStore<K, V> {
+
+    private final ConcurrentHashMap<K, Node<K, V>> data = new ConcurrentHashMap<>();
+    private final int maximumSize;
+    private final long ttlNanos;
+    private final EvictionPolicy policy;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final AccessOrder<K, V> window = new AccessOrder<>(Region.WINDOW);
+    private final AccessOrder<K, V> probation = new AccessOrder<>(Region.PROBATION);
+    private final AccessOrder<K, V> protectedRegion = new AccessOrder<>(Region.PROTECTED);
+    private final FrequencySketch sketch;
+    private final int windowMaximum;
+    private final int mainMaximum;
+    private final int protectedMaximum;
+
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder droppedReads = new LongAdder();
+
+    /**
+     * @param windowPercent W-TinyLFU 윈도우 영역 비율 (LRU에서는 무시)
+     */
+    public BoundedLocalStore(int maximumSize, long ttlNanos, EvictionPolicy policy, int windowPercent) {
+        this.maximumSize = Math.max(1, maximumSize);
+        this.ttlNanos = ttlNanos;
+        this.policy = policy;
+        if (policy == EvictionPolicy.W_TINY_LFU) {
+            this.windowMaximum = Math.max(1, this.maximumSize * windowPercent / 100);
+            this.mainMaximum = this.maximumSize - windowMaximum;
+            this.protectedMaximum = mainMaximum * 80 / 100;
+            this.sketch = new FrequencySketch(this.maximumSize);
+        } else {
+            this.windowMaximum = this.maximumSize;
+            this.mainMaximum = 0;
+            this.protectedMaximum = 0;
+            this.sketch = null;
+        }
+    }
+
+    public V get(K key) {
+        Node<K, V> node = data.get(key);
+        if (node == null) {
+            recordMiss(key);
+            return null;
+        }
+        if (node.expiresAt - System.nanoTime() <= 0) {
+            expire(node);
+            return null;
+        }
+        if (lock.tryLock()) {
+            try {
+                if (node.region != null) {
+                    if (sketch != null) {
+                        sketch.increment(key);
+                    }
+                    onAccess(node);
+                }
+            } finally {
+                lock.unlock();
+            }
+        } else {
+            droppedReads.increment();
+        }
+        return node.value;
+    }
+
+    public void put(K key, V value) {
+        long expiresAt = System.nanoTime() + ttlNanos;
+        lock.lock();
+        try {
+            Node<K, V> node = data.get(key);
+            if (node != null) {
+                node.value = value;
+                node.expiresAt = expiresAt;
+                onAccess(node);
+                return;
+            }
+            node = new Node<>(key, value, expiresAt);
+            data.put(key, node);
+            if (sketch != null) {
+                sketch.increment(key);
+            }
+            onInsert(node);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void remove(K key) {
+        lock.lock();
+        try {
+            Node<K, V> node = data.remove(key);
+            if (node != null) {
+                unlink(node);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 조건에 맞는 키의 항목 삭제
+     */
+    public void removeIf(Predicate<? super K> filter) {
+        lock.lock();
+        try {
+            data.values().removeIf(node -> {
+                if (!filter.test(node.key)) {
+                    return false;
+                }
+                unlink(node);
+                return true;
+            });
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            data.clear();
+            window.clear();
+            probation.clear();
+            protectedRegion.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        return data.size();
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    public EvictionPolicy getPolicy() {
+        return policy;
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    public long expirationCount() {
+        return expirations.sum();
+    }
+
+    /**
+     * 잠금 경합으로 접근 순서/빈도 갱신을 건너뛴 조회 수
+     */
+    public long droppedReadCount() {
+        return droppedReads.sum();
+    }
+
+    /**
+     * 없는 키 조회도 빈도에 반영해, 자주 찾지만 밀려난 키가 다시 들어올 때 입장 경쟁에서 이기게 한다
+     */
+    private void recordMiss(K key) {
+        if (sketch != null && lock.tryLock()) {
+            try {
+                sketch.increment(key);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void expire(Node<K, V> node) {
+        lock.lock();
+        try {
+            if (data.remove(node.key, node)) {
+                unlink(node);
+                expirations.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onAccess(Node<K, V> node) {
+        switch (node.region) {
+            case WINDOW -> window.moveToBack(node);
+            case PROTECTED -> protectedRegion.moveToBack(node);
+            case PROBATION -> {
+                // 본 영역에서 다시 조회된 항목은 보호 영역으로 승격
+                probation.remove(node);
+                protectedRegion.addLast(node);
+                if (protectedRegion.size > protectedMaximum) {
+                    probation.addLast(protectedRegion.pollFirst());
+                }
+            }
+        }
+    }
+
+    private void onInsert(Node<K, V> node) {
+        window.addLast(node);
+        if (window.size <= windowMaximum) {
+            return;
+        }
+        Node<K, V> candidate = window.pollFirst();
+        if (policy == EvictionPolicy.LRU) {
+            evict(candidate);
+            return;
+        }
+        // 윈도우에서 밀려난 후보는 본 영역이 가득 찼으면 본 영역의 가장 오래된 항목과 빈도로 경쟁
+        probation.addLast(candidate);
+        if (probation.size + protectedRegion.size <= mainMaximum) {
+            return;
+        }
+        Node<K, V> victim = probation.first != candidate ? probation.first : protectedRegion.first;
+        if (victim == null || sketch.frequency(candidate.key) <= sketch.frequency(victim.key)) {
+            evict(candidate);
+        } else {
+            evict(victim);
+        }
+    }
+
+    private void evict(Node<K, V> node) {
+        unlink(node);
+        data.remove(node.key, node);
+        evictions.increment();
+    }
+
+    private void unlink(Node<K, V> node) {
+        if (node.region == null) {
+            return;
+        }
+        switch (node.region) {
+            case WINDOW -> window.remove(node);
+            case PROBATION -> probation.remove(node);
+            case PROTECTED -> protectedRegion.remove(node);
+        }
+    }
+
+    private enum Region {
+        WINDOW, PROBATION, PROTECTED
+    }
+
+    private static final class Node<K, V> {
+
+        private final K key;
+        private volatile V value;
+        private volatile long expiresAt;
+        private Region region;
+        private Node<K, V> prev;
+        private Node<K, V> next;
+
+        private Node(K key, V value, long expiresAt) {
+            this.key = key;
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * 접근 순서 이중 연결 리스트 (앞이 가장 오래됨, 잠금 안에서만 사용)
+     */
+    private static final class AccessOrder<K, V> {
+
+        private final Region region;
+        private Node<K, V> first;
+        private Node<K, V> last;
+        private int size;
+
+        private AccessOrder(Region region) {
+            this.region = region;
+        }
+
+        private void addLast(Node<K, V> node) {
+            node.region = region;
+            node.prev = last;
+            node.next = null;
+            if (last == null) {
+                first = node;
+            } else {
+                last.next = node;
+            }
+            last = node;
+            size++;
+        }
+
+        private Node<K, V> pollFirst() {
+            Node<K, V> node = first;
+            if (node != null) {
+                remove(node);
+            }
+            return node;
+        }
+
+        private void remove(Node<K, V> node) {
+            if (node.prev == null) {
+                first = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                last = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+            node.region = null;
+            size--;
+        }
+
+        private void moveToBack(Node<K, V> node) {
+            if (last != node) {
+                remove(node);
+                addLast(node);
+            }
+        }
+
+        private void clear() {
+            Node<K, V> node = first;
+            while (node != null) {
+                Node<K, V> next = node.next;
+                node.prev = null;
+                node.next = null;
+                node.region = null;
+                node = next;
+            }
+            first = null;
+            last = null;
+            size = 0;
+        }
+    }
+}
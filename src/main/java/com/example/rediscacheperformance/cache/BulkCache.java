@@ -0,0 +1,19 @@
+package com.example.rediscacheperformance.cache;
+
+import org.springframework.cache.Cache;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 여러 키를 한 번에 조회/저장할 수 있는 캐시
+ */
+public interface BulkCache {
+
+    /**
+     * @return 찾은 키의 값만 담은 맵 (null 값이 캐시된 키는 값이 null인 ValueWrapper)
+     */
+    Map<Object, Cache.ValueWrapper> getAll(Collection<?> keys);
+
+    void putAll(Map<?, ?> entries);
+}
@@ -0,0 +1,100 @@
+package com.example.rediscacheperformance.cache;
+
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * MGET 한 번으로 여러 키를 조회하고, 파이프라인으로 여러 키를 저장하는 RedisCache
+ * 키/값 변환은 RedisCache와 같은 규칙(키 접두사, 값 직렬화, null 값 처리)을 따른다.
+ */
+public class BulkRedisCache extends RedisCache implements BulkCache, PrefixEvictableCache {
+
+    private final RedisConnectionFactory connectionFactory;
+    private final TimedRedisCacheWriter timedCacheWriter;
+
+    public BulkRedisCache(String name, TimedRedisCacheWriter cacheWriter, RedisCacheConfiguration cacheConfiguration,
+                          RedisConnectionFactory connectionFactory) {
+        super(name, cacheWriter, cacheConfiguration);
+        this.connectionFactory = connectionFactory;
+        this.timedCacheWriter = cacheWriter;
+    }
+
+    @Override
+    public Map<Object, ValueWrapper> getAll(Collection<?> keys) {
+        List<Object> distinctKeys = new ArrayList<>(new LinkedHashSet<>(keys));
+        Map<Object, ValueWrapper> found = new LinkedHashMap<>();
+        if (distinctKeys.isEmpty()) {
+            return found;
+        }
+        byte[][] redisKeys = new byte[distinctKeys.size()][];
+        for (int i = 0; i < redisKeys.length; i++) {
+            redisKeys[i] = serializeCacheKey(createCacheKey(distinctKeys.get(i)));
+        }
+        List<byte[]> values;
+        long start = System.nanoTime();
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            values = connection.stringCommands().mGet(redisKeys);
+        } finally {
+            timedCacheWriter.record(getName(), "mget", start);
+        }
+        if (values == null) {
+            return found;
+        }
+        for (int i = 0; i < values.size(); i++) {
+            byte[] value = values.get(i);
+            if (value != null) {
+                found.put(distinctKeys.get(i), toValueWrapper(deserializeCacheValue(value)));
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public void putAll(Map<?, ?> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        // 파이프라인 전송 전 직렬화 시간도 포함된다
+        long start = System.nanoTime();
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.openPipeline();
+            try {
+                for (Map.Entry<?, ?> entry : entries.entrySet()) {
+                    Object storeValue = preProcessCacheValue(entry.getValue());
+                    if (storeValue == null) {
+                        throw new IllegalArgumentException(String.format(
+                                "Cache '%s' does not allow 'null' values", getName()));
+                    }
+                    Duration ttl = getCacheConfiguration().getTtlFunction()
+                            .getTimeToLive(entry.getKey(), entry.getValue());
+                    connection.stringCommands().set(
+                            serializeCacheKey(createCacheKey(entry.getKey())),
+                            serializeCacheValue(storeValue),
+                            ttl.isZero() || ttl.isNegative() ? Expiration.persistent() : Expiration.from(ttl),
+                            RedisStringCommands.SetOption.upsert());
+                }
+            } finally {
+                connection.closePipeline();
+            }
+        } finally {
+            timedCacheWriter.record(getName(), "pipeline_put", start);
+        }
+    }
+
+    @Override
+    public void evictByPrefix(String keyPrefix) {
+        clear(PrefixEvictableCache.globPattern(keyPrefix));
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.rediscacheperformance.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.data.redis.cache.BatchStrategies;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.util.Map;
+
+/**
+ * BulkRedisCache를 만드는 RedisCacheManager (Redis 명령 왕복 시간은 TimedRedisCacheWriter로 기록)
+ * 캐시 비우기/접두사 삭제는 KEYS 대신 SCAN으로 키를 찾아 Redis를 오래 막지 않는다.
+ */
+public class BulkRedisCacheManager extends RedisCacheManager {
+
+    private static final int CLEAN_SCAN_BATCH_SIZE = 500;
+
+    private final RedisConnectionFactory connectionFactory;
+    private final TimedRedisCacheWriter cacheWriter;
+
+    public BulkRedisCacheManager(RedisConnectionFactory connectionFactory,
+                                 RedisCacheConfiguration defaultCacheConfiguration,
+                                 Map<String, RedisCacheConfiguration> initialCacheConfigurations,
+                                 MeterRegistry meterRegistry) {
+        this(new TimedRedisCacheWriter(RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory,
+                        BatchStrategies.scan(CLEAN_SCAN_BATCH_SIZE)), meterRegistry),
+                connectionFactory, defaultCacheConfiguration, initialCacheConfigurations);
+    }
+
+    private BulkRedisCacheManager(TimedRedisCacheWriter cacheWriter, RedisConnectionFactory connectionFactory,
+                                  RedisCacheConfiguration defaultCacheConfiguration,
+                                  Map<String, RedisCacheConfiguration> initialCacheConfigurations) {
+        super(cacheWriter, defaultCacheConfiguration, initialCacheConfigurations);
+        this.connectionFactory = connectionFactory;
+        this.cacheWriter = cacheWriter;
+    }
+
+    @Override
+    protected RedisCache createRedisCache(String name, RedisCacheConfiguration cacheConfiguration) {
+        return new BulkRedisCache(name, cacheWriter, cacheConfiguration, connectionFactory);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.rediscacheperformance.cache;
+
+/**
+ * 한 번의 캐시 조회 기록
+ *
+ * @param backend 조회한 캐시 백엔드 (redis / local / none)
+ */
+public record CacheAccess(String cacheName, String keyPattern, CacheOutcome outcome, String backend) {
+
+    public CacheAccess(String cacheName, String keyPattern, CacheOutcome outcome) {
+        this(cacheName, keyPattern, outcome, CacheBackendRegistry.REDIS);
+    }
+
+    public boolean isHit() {
+        return outcome.isHit();
+    }
+}
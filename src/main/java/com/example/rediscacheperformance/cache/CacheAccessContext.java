@@ -0,0 +1,69 @@
+package com.example.rediscacheperformance.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 현재 스레드(요청)에서 발생한 캐시 조회 결과를 모으는 컨텍스트
+ * 컨트롤러는 begin()으로 스코프를 열고 실제 적중 여부를 읽는다.
+ */
+public final class CacheAccessContext {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private CacheAccessContext() {
+    }
+
+    public static Scope begin() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    static void record(CacheAccess access) {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.accesses.add(access);
+        }
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final Scope parent;
+        private final List<CacheAccess> accesses = new ArrayList<>(2);
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        public List<CacheAccess> getAccesses() {
+            return Collections.unmodifiableList(accesses);
+        }
+
+        /**
+         * 스코프 안의 모든 캐시 조회가 적중했는지 여부 (조회가 없으면 false)
+         */
+        public boolean isCacheHit() {
+            return !accesses.isEmpty() && accesses.stream().allMatch(CacheAccess::isHit);
+        }
+
+        /**
+         * 마지막 조회의 적중 계층 (local / remote / none)
+         */
+        public String getCacheTier() {
+            return accesses.isEmpty() ? CacheOutcome.MISS.getTier()
+                    : accesses.get(accesses.size() - 1).outcome().getTier();
+        }
+
+        @Override
+        public void close() {
+            if (parent != null) {
+                parent.accesses.addAll(accesses);
+                CURRENT.set(parent);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.rediscacheperformance.cache;
+
+/**
+ * 현재 스레드(요청)가 사용할 캐시 백엔드 이름
+ * 스코프가 없으면 CacheBackendRegistry의 기본 백엔드를 쓴다.
+ */
+public final class CacheBackendContext {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private CacheBackendContext() {
+    }
+
+    /**
+     * 닫을 때 이전 백엔드로 되돌리는 스코프
+     */
+    public static Scope use(String backend) {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(backend);
+        return scope;
+    }
+
+    /**
+     * 스코프로 지정한 백엔드 (없으면 null)
+     */
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final String previous;
+
+        private Scope(String previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
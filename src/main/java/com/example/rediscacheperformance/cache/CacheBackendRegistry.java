@@ -0,0 +1,107 @@
+package com.example.rediscacheperformance.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * 이름으로 고르는 캐시 백엔드(CacheManager) 목록
+ * 조회 경로는 CacheBackendContext의 백엔드(없으면 기본 백엔드)를 쓰고,
+ * 데이터 변경 무효화와 캐시 비우기는 모든 백엔드에 적용해 백엔드를 바꿔도 오래된 값이 남지 않게 한다.
+ */
+public class CacheBackendRegistry implements CacheStatisticsProvider {
+
+    public static final String REDIS = "redis";
+    public static final String LOCAL = "local";
+    public static final String NONE = "none";
+    public static final String SHARDED = "sharded";
+
+    private final Map<String, CacheManager> backends;
+    private final String defaultBackend;
+
+    /**
+     * @param backends 등록 순서를 유지하는 백엔드 이름 -> CacheManager
+     */
+    public CacheBackendRegistry(Map<String, CacheManager> backends, String defaultBackend) {
+        if (!backends.containsKey(defaultBackend)) {
+            throw new IllegalArgumentException("Unknown default cache backend: " + defaultBackend);
+        }
+        this.backends = Collections.unmodifiableMap(new LinkedHashMap<>(backends));
+        this.defaultBackend = defaultBackend;
+    }
+
+    public Set<String> getNames() {
+        return backends.keySet();
+    }
+
+    public String getDefaultBackend() {
+        return defaultBackend;
+    }
+
+    public boolean contains(String name) {
+        return backends.containsKey(name);
+    }
+
+    /**
+     * @throws IllegalArgumentException 등록되지 않은 이름
+     */
+    public CacheManager get(String name) {
+        CacheManager cacheManager = backends.get(name);
+        if (cacheManager == null) {
+            throw new IllegalArgumentException("Unknown cache backend: " + name + " (available: " + getNames() + ")");
+        }
+        return cacheManager;
+    }
+
+    /**
+     * 현재 스레드의 백엔드 이름
+     */
+    public String currentName() {
+        String name = CacheBackendContext.current();
+        return name != null ? name : defaultBackend;
+    }
+
+    public CacheManager current() {
+        return get(currentName());
+    }
+
+    /**
+     * 모든 백엔드의 같은 이름 캐시에 적용
+     */
+    public void forEachCache(String cacheName, Consumer<Cache> action) {
+        backends.values().forEach(cacheManager -> {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                action.accept(cache);
+            }
+        });
+    }
+
+    /**
+     * 모든 백엔드의 모든 캐시 비우기
+     */
+    public void clearAll() {
+        backends.values().forEach(cacheManager -> cacheManager.getCacheNames().forEach(cacheName -> {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.clear();
+            }
+        }));
+    }
+
+    /**
+     * 백엔드별 캐시 통계
+     */
+    @Override
+    public Map<String, Object> getCacheStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        backends.forEach((name, cacheManager) -> statistics.put(name,
+                cacheManager instanceof CacheStatisticsProvider provider ? provider.getCacheStatistics() : Map.of()));
+        return statistics;
+    }
+}
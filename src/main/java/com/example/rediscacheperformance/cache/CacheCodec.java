@@ -0,0 +1,15 @@
+package com.example.rediscacheperformance.cache;
+
+/**
+ * 캐시 값 직렬화 방식
+ */
+public enum CacheCodec {
+    /**
+     * Jackson JSON (기존 형식)
+     */
+    JSON,
+    /**
+     * SampleData 전용 바이너리 + 크기 기준 압축
+     */
+    BINARY
+}
@@ -0,0 +1,71 @@
+package com.example.rediscacheperformance.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 캐시 이름별 값 직렬화 선택과 코덱별 크기/시간 통계
+ */
+public class CacheCodecRegistry {
+
+    /**
+     * 캐시별 설정이 없는(동적으로 생성된) 캐시의 메트릭 태그
+     */
+    public static final String DEFAULT_CACHE = "default";
+
+    private final RedisSerializer<Object> jsonSerializer;
+    private final RedisSerializer<Object> binarySerializer;
+    private final CacheCodec defaultCodec;
+    private final Map<String, CacheCodec> cacheCodecs;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, MeasuringRedisSerializer> serializers = new ConcurrentHashMap<>();
+
+    public CacheCodecRegistry(RedisSerializer<Object> jsonSerializer, int compressionThreshold, int compressionLevel,
+                              CacheCodec defaultCodec, Map<String, CacheCodec> cacheCodecs,
+                              MeterRegistry meterRegistry) {
+        this.jsonSerializer = jsonSerializer;
+        // 바이너리 코덱은 헤더 없는 기존 JSON 항목을 JSON으로 읽으므로 코덱 전환 중에도 기존 캐시를 그대로 사용
+        this.binarySerializer = new SampleDataBinarySerializer(jsonSerializer, compressionThreshold, compressionLevel);
+        this.defaultCodec = defaultCodec;
+        this.cacheCodecs = Map.copyOf(cacheCodecs);
+        this.meterRegistry = meterRegistry;
+    }
+
+    public CacheCodec getCodec(String cacheName) {
+        return cacheCodecs.getOrDefault(cacheName, defaultCodec);
+    }
+
+    /**
+     * 코덱이 지정된 캐시 이름 목록
+     */
+    public Iterable<String> getConfiguredCacheNames() {
+        return cacheCodecs.keySet();
+    }
+
+    /**
+     * 캐시 이름별 측정 serializer (DEFAULT_CACHE는 기본 코덱)
+     */
+    public RedisSerializer<Object> serializer(String cacheName) {
+        return serializers.computeIfAbsent(cacheName, name -> {
+            CacheCodec codec = getCodec(name);
+            return new MeasuringRedisSerializer(codec == CacheCodec.BINARY ? binarySerializer : jsonSerializer,
+                    name, codec, meterRegistry);
+        });
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        serializers.forEach((name, serializer) -> {
+            Map<String, Object> cacheStatistics = new LinkedHashMap<>();
+            cacheStatistics.put("codec", getCodec(name).name().toLowerCase());
+            cacheStatistics.putAll(serializer.getStatistics());
+            statistics.put(name, cacheStatistics);
+        });
+        return statistics;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.rediscacheperformance.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * 캐시 키를 메트릭 태그로 쓸 패턴 이름으로 분류 (설정 순서대로 첫 번째 일치)
+ * 키 값 자체를 태그로 쓰면 카디널리티가 폭발하므로 패턴 단위로 집계한다.
+ */
+public class CacheKeyPatternResolver {
+
+    public static final String OTHER = "other";
+
+    private final Map<String, Pattern> patterns = new LinkedHashMap<>();
+
+    public CacheKeyPatternResolver(Map<String, String> patterns) {
+        patterns.forEach((name, regex) -> this.patterns.put(name, Pattern.compile(regex)));
+    }
+
+    public String resolve(Object key) {
+        String value = String.valueOf(key);
+        for (Map.Entry<String, Pattern> entry : patterns.entrySet()) {
+            if (entry.getValue().matcher(value).matches()) {
+                return entry.getKey();
+            }
+        }
+        return OTHER;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.rediscacheperformance.cache;
+
+/**
+ * 캐시 조회 결과와 적중 계층
+ */
+public enum CacheOutcome {
+
+    LOCAL_HIT("local"),
+    REMOTE_HIT("remote"),
+    MISS("none");
+
+    private final String tier;
+
+    CacheOutcome(String tier) {
+        this.tier = tier;
+    }
+
+    public String getTier() {
+        return tier;
+    }
+
+    public boolean isHit() {
+        return this != MISS;
+    }
+}
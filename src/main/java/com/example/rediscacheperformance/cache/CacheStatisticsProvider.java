@@ -0,0 +1,11 @@
+package com.example.rediscacheperformance.cache;
+
+import java.util.Map;
+
+/**
+ * 캐시 계층별 통계를 제공하는 CacheManager
+ */
+public interface CacheStatisticsProvider {
+
+    Map<String, Object> getCacheStatistics();
+}
@@ -0,0 +1,84 @@
+package com.example.rediscacheperformance.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 가상 노드를 둔 consistent hashing 링
+ * 노드마다 virtualNodes개의 점을 64비트 해시 링에 두고, 키는 키 해시 이후(시계 방향) 첫 점의 노드에 배정한다.
+ * 점 위치는 노드 이름으로만 정해지므로 노드를 하나 더하면 기존 키 중 약 1/(N+1)만 새 노드로 옮겨 간다.
+ */
+public class ConsistentHashRing {
+
+    /**
+     * 링 위의 점 (오름차순)
+     */
+    private final long[] points;
+
+    /**
+     * 점별 노드 번호 (생성자에 넘긴 목록의 순서)
+     */
+    private final int[] owners;
+
+    private final int nodeCount;
+
+    public ConsistentHashRing(List<String> nodeNames, int virtualNodes) {
+        if (nodeNames.isEmpty()) {
+            throw new IllegalArgumentException("At least one node is required");
+        }
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("virtualNodes must be positive: " + virtualNodes);
+        }
+        TreeMap<Long, Integer> ring = new TreeMap<>();
+        for (int node = 0; node < nodeNames.size(); node++) {
+            for (int replica = 0; replica < virtualNodes; replica++) {
+                // 해시 충돌 시 먼저 놓인 점 유지 (결과가 노드 순서에만 의존)
+                ring.putIfAbsent(hash((nodeNames.get(node) + '#' + replica).getBytes(StandardCharsets.UTF_8)), node);
+            }
+        }
+        this.points = new long[ring.size()];
+        this.owners = new int[ring.size()];
+        int i = 0;
+        for (Map.Entry<Long, Integer> point : ring.entrySet()) {
+            points[i] = point.getKey();
+            owners[i] = point.getValue();
+            i++;
+        }
+        this.nodeCount = nodeNames.size();
+    }
+
+    /**
+     * 키를 맡는 노드 번호
+     */
+    public int nodeFor(byte[] key) {
+        int i = Arrays.binarySearch(points, hash(key));
+        if (i < 0) {
+            i = -i - 1;
+        }
+        return owners[i == points.length ? 0 : i];
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * FNV-1a 64비트 해시에 MurmurHash3 fmix64를 더해 비슷한 키(접두사가 같은 캐시 키)도 링에 고르게 흩어지게 한다
+     */
+    static long hash(byte[] data) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : data) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.rediscacheperformance.cache;
+
+/**
+ * 로컬 힙 캐시가 가득 찼을 때 제거할 항목을 고르는 방식
+ */
+public enum EvictionPolicy {
+    /**
+     * 가장 오래 사용되지 않은 항목 제거
+     */
+    LRU,
+    /**
+     * 작은 LRU 윈도우 + 빈도 기반 입장 제어(TinyLFU) + 세그먼트 LRU 본 영역
+     * 한 번만 조회되는 키가 자주 조회되는 키를 밀어내지 못한다.
+     */
+    W_TINY_LFU
+}
@@ -0,0 +1,82 @@
+package com.example.rediscacheperformance.cache;
+
+/**
+ * 4비트 카운터 count-min sketch로 키 조회 빈도를 근사하는 TinyLFU 빈도 추정기
+ * long 하나에 카운터 16개를 담고 키마다 4개 행에서 최솟값을 빈도로 쓴다.
+ * 기록 수가 표본 크기(최대 항목 수 x 10)에 닿으면 모든 카운터를 절반으로 줄여 오래된 빈도를 잊는다.
+ * 스레드 안전하지 않으므로 호출하는 쪽에서 잠금을 잡는다.
+ */
+public final class FrequencySketch {
+
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final int MAX_COUNT = 15;
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int additions;
+
+    public FrequencySketch(int maximumSize) {
+        int size = Integer.highestOneBit(Math.max(16, Math.min(maximumSize, 1 << 26)) - 1) << 1;
+        this.table = new long[size];
+        this.tableMask = size - 1;
+        this.sampleSize = (int) Math.min(Integer.MAX_VALUE, 10L * Math.max(1, maximumSize));
+    }
+
+    /**
+     * 추정 빈도 (0~15)
+     */
+    public int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int frequency = MAX_COUNT;
+        for (int row = 0; row < SEEDS.length; row++) {
+            int shift = counterShift(hash, row);
+            frequency = Math.min(frequency, (int) ((table[indexOf(hash, row)] >>> shift) & 0xfL));
+        }
+        return frequency;
+    }
+
+    public void increment(Object key) {
+        int hash = spread(key.hashCode());
+        boolean added = false;
+        for (int row = 0; row < SEEDS.length; row++) {
+            int index = indexOf(hash, row);
+            int shift = counterShift(hash, row);
+            if (((table[index] >>> shift) & 0xfL) < MAX_COUNT) {
+                table[index] += 1L << shift;
+                added = true;
+            }
+        }
+        if (added && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions >>>= 1;
+    }
+
+    private int indexOf(int hash, int row) {
+        long h = (hash + SEEDS[row]) * SEEDS[row];
+        h += h >>> 32;
+        return (int) h & tableMask;
+    }
+
+    /**
+     * long 안의 카운터 위치 (행마다 해시의 다른 4비트 사용)
+     */
+    private static int counterShift(int hash, int row) {
+        return ((hash >>> (row << 3)) & 0xf) << 2;
+    }
+
+    private static int spread(int hash) {
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        return (hash >>> 16) ^ hash;
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.rediscacheperformance.cache;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 캐시 하나의 키별 조회/적중 빈도를 근사하는 잠금 없는 count-min sketch와 상위 K개 키 후보
+ * 카운터 하나(long)의 위 32비트에 조회 수, 아래 32비트에 적중 수를 담아 기록은 행마다 원자적 덧셈 한 번뿐이고,
+ * 키의 4개 행 카운터를 한 블록(long 8개, 64바이트)에서 골라 기록 한 번이 캐시 라인 하나만 건드린다.
+ * 추정 빈도가 상위 K개의 최솟값을 넘는 키만 잠금을 바로 얻을 수 있을 때 후보에 넣는다 (경합 중이면 다음 조회에서 다시 시도).
+ * decay()가 모든 카운터를 절반으로 줄여 빈도는 최근 조회에 더 큰 가중치를 둔다.
+ */
+public final class HotKeySketch {
+
+    private static final long[] SEEDS = {
+            0x9e3779b97f4a7c15L, 0xbf58476d1ce4e5b9L, 0x94d049bb133111ebL, 0xd6e8feb86659fd93L};
+    private static final int DEPTH = SEEDS.length;
+    private static final int BLOCK_SIZE = 8;
+    private static final long ACCESS = 1L << 32;
+    private static final long HITS_MASK = 0xffffffffL;
+    private static final long HALVE_MASK = 0x7fffffff7fffffffL;
+
+    private final AtomicLongArray counters;
+    private final int width;
+    private final int blockMask;
+    private final int topK;
+
+    private final Set<Object> top = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock topLock = new ReentrantLock();
+    private final LongAdder droppedOffers = new LongAdder();
+
+    /**
+     * 상위 K개가 찼을 때 후보 최솟값 (들어갈 수 없는 키가 잠금을 시도하지 않도록, 비었으면 0)
+     */
+    private volatile long admissionThreshold;
+
+    /**
+     * @param width 행당 카운터 수 (2의 거듭제곱으로 올림)
+     * @param topK  유지할 상위 키 수
+     */
+    public HotKeySketch(int width, int topK) {
+        this.width = Integer.highestOneBit(Math.max(16, width) - 1) << 1;
+        this.blockMask = this.width * DEPTH / BLOCK_SIZE - 1;
+        this.topK = Math.max(1, topK);
+        this.counters = new AtomicLongArray(this.width * DEPTH);
+    }
+
+    public void record(Object key, boolean hit) {
+        int hash = spread(key.hashCode());
+        int block = blockOf(hash);
+        long delta = hit ? ACCESS + 1 : ACCESS;
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counters.addAndGet(indexOf(block, hash, row), delta) >>> 32);
+        }
+        if (estimate > admissionThreshold && !top.contains(key)) {
+            offer(key, estimate);
+        }
+    }
+
+    /**
+     * 추정 조회 수 (감쇠 반영, 충돌로 실제보다 클 수 있음)
+     */
+    public long estimateAccesses(Object key) {
+        return estimateAccesses(spread(key.hashCode()));
+    }
+
+    public long estimateHits(Object key) {
+        return estimateHits(spread(key.hashCode()));
+    }
+
+    /**
+     * 추정 조회 수 내림차순 상위 키
+     */
+    public List<HotKey> topKeys(int limit) {
+        List<HotKey> keys = new ArrayList<>(top.size());
+        for (Object key : top) {
+            int hash = spread(key.hashCode());
+            long keyAccesses = estimateAccesses(hash);
+            if (keyAccesses > 0) {
+                long keyHits = Math.min(keyAccesses, estimateHits(hash));
+                keys.add(new HotKey(key, keyAccesses, keyHits, (double) keyHits / keyAccesses));
+            }
+        }
+        keys.sort(Comparator.comparingLong(HotKey::accesses).reversed());
+        return keys.size() > limit ? new ArrayList<>(keys.subList(0, limit)) : keys;
+    }
+
+    /**
+     * 모든 카운터를 절반으로 줄이고 빈도가 0이 된 후보를 뺀다
+     */
+    public void decay() {
+        for (int i = 0; i < counters.length(); i++) {
+            long value;
+            do {
+                value = counters.get(i);
+            } while (value != 0 && !counters.compareAndSet(i, value, (value >>> 1) & HALVE_MASK));
+        }
+        topLock.lock();
+        try {
+            top.removeIf(key -> estimateAccesses(key) == 0);
+            updateThreshold();
+        } finally {
+            topLock.unlock();
+        }
+    }
+
+    public int getTopK() {
+        return topK;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * 잠금 경합으로 후보 갱신을 건너뛴 횟수
+     */
+    public long droppedOfferCount() {
+        return droppedOffers.sum();
+    }
+
+    private void offer(Object key, long estimate) {
+        if (!topLock.tryLock()) {
+            droppedOffers.increment();
+            return;
+        }
+        try {
+            if (top.contains(key)) {
+                return;
+            }
+            if (top.size() >= topK) {
+                // K가 작으므로 힙 대신 후보를 훑어 현재 빈도 최솟값을 찾는다 (후보 빈도는 계속 변함)
+                Object victim = null;
+                long victimEstimate = Long.MAX_VALUE;
+                for (Object candidate : top) {
+                    long candidateEstimate = estimateAccesses(candidate);
+                    if (candidateEstimate < victimEstimate) {
+                        victim = candidate;
+                        victimEstimate = candidateEstimate;
+                    }
+                }
+                if (estimate <= victimEstimate) {
+                    admissionThreshold = victimEstimate;
+                    return;
+                }
+                top.remove(victim);
+            }
+            top.add(key);
+            updateThreshold();
+        } finally {
+            topLock.unlock();
+        }
+    }
+
+    private void updateThreshold() {
+        if (top.size() < topK) {
+            admissionThreshold = 0;
+            return;
+        }
+        long minimum = Long.MAX_VALUE;
+        for (Object candidate : top) {
+            minimum = Math.min(minimum, estimateAccesses(candidate));
+        }
+        admissionThreshold = minimum;
+    }
+
+    private long estimateAccesses(int hash) {
+        int block = blockOf(hash);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counters.get(indexOf(block, hash, row)) >>> 32);
+        }
+        return estimate;
+    }
+
+    private long estimateHits(int hash) {
+        int block = blockOf(hash);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counters.get(indexOf(block, hash, row)) & HITS_MASK);
+        }
+        return estimate;
+    }
+
+    private int blockOf(int hash) {
+        return (hash & blockMask) * BLOCK_SIZE;
+    }
+
+    /**
+     * 블록 안에서 행마다 long 2개 중 하나를 행별 해시로 고른다
+     */
+    private static int indexOf(int block, int hash, int row) {
+        long h = (hash + SEEDS[row]) * SEEDS[row];
+        return block + row * 2 + (int) (h >>> 63);
+    }
+
+    private static int spread(int hash) {
+        hash ^= hash >>> 17;
+        hash *= 0xed5ad4bb;
+        hash ^= hash >>> 11;
+        return hash;
+    }
+
+    /**
+     * 상위 키 하나 (hitRatio는 0~1)
+     */
+    public record HotKey(Object key, long accesses, long hits, double hitRatio) {
+    }
+}
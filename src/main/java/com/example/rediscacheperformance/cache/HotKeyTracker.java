@@ -0,0 +1,217 @@
+package com.example.rediscacheperformance.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * (캐시 백엔드, 캐시 이름)별 HotKeySketch로 어떤 키(id, 카테고리, 'all')에 조회가 몰리는지 추적
+ * 백엔드마다 적중률이 전혀 다르므로(예: none은 항상 미스) 한 sketch에 섞지 않는다.
+ * InstrumentedCache가 조회마다 기록하고, 전용 스레드가 decay-interval마다 빈도를 절반으로 줄이며
+ * gauge-refresh-interval마다 상위 키를 cache.hotkeys.accesses / cache.hotkeys.hit.ratio 게이지로 다시 등록한다.
+ * 기록 비용은 일부 호출만 골라 cache.hotkeys.record.latency 타이머에 남긴다
+ * (백분위는 최근 구간만 보므로 JIT 컴파일 전 초기 호출이 섞이지 않는다).
+ */
+@Slf4j
+public class HotKeyTracker implements SmartLifecycle {
+
+    /**
+     * 기록 비용 측정 표본 비율 (1/N)
+     */
+    private static final int TIMING_SAMPLE = 1024;
+
+    private final int width;
+    private final int topK;
+    private final Duration decayInterval;
+    private final Duration gaugeRefreshInterval;
+    private final ConcurrentMap<SketchKey, HotKeySketch> sketches = new ConcurrentHashMap<>();
+    private final MultiGauge accessGauge;
+    private final MultiGauge hitRatioGauge;
+    private final Counter decays;
+    private final Timer recordLatency;
+
+    private volatile boolean running;
+    private volatile Thread worker;
+
+    /**
+     * @param width                sketch 행당 카운터 수
+     * @param topK                 캐시별 추적할 상위 키 수 (게이지 행 수의 상한)
+     * @param decayInterval        빈도를 절반으로 줄이는 주기
+     * @param gaugeRefreshInterval 상위 키 게이지를 다시 등록하는 주기
+     */
+    public HotKeyTracker(int width, int topK, Duration decayInterval, Duration gaugeRefreshInterval,
+                         MeterRegistry meterRegistry) {
+        this.width = width;
+        this.topK = topK;
+        this.decayInterval = decayInterval;
+        this.gaugeRefreshInterval = gaugeRefreshInterval;
+        this.accessGauge = MultiGauge.builder("cache.hotkeys.accesses")
+                .description("Decayed access count estimate of the hottest cache keys")
+                .register(meterRegistry);
+        this.hitRatioGauge = MultiGauge.builder("cache.hotkeys.hit.ratio")
+                .description("Hit ratio estimate of the hottest cache keys")
+                .register(meterRegistry);
+        this.decays = Counter.builder("cache.hotkeys.decays")
+                .register(meterRegistry);
+        this.recordLatency = Timer.builder("cache.hotkeys.record.latency")
+                .description("Sampled cost of recording one cache access in the hot key sketch")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 캐시 조회 한 번 기록
+     */
+    public void record(String backend, String cacheName, Object key, boolean hit) {
+        HotKeySketch sketch = sketch(backend, cacheName);
+        if (ThreadLocalRandom.current().nextInt(TIMING_SAMPLE) != 0) {
+            sketch.record(key, hit);
+            return;
+        }
+        long start = System.nanoTime();
+        sketch.record(key, hit);
+        recordLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 한 백엔드 한 캐시의 상위 키
+     */
+    public List<HotKeySketch.HotKey> topKeys(String backend, String cacheName, int limit) {
+        HotKeySketch sketch = sketches.get(new SketchKey(backend, cacheName));
+        return sketch != null ? sketch.topKeys(limit) : List.of();
+    }
+
+    /**
+     * @param backend   null이면 모든 백엔드
+     * @param cacheName null이면 모든 캐시
+     */
+    public Map<String, Object> getStatistics(String backend, String cacheName, int limit) {
+        Map<String, Map<String, Object>> backends = new LinkedHashMap<>();
+        sketches.forEach((sketchKey, sketch) -> {
+            if ((backend != null && !backend.equals(sketchKey.backend()))
+                    || (cacheName != null && !cacheName.equals(sketchKey.cacheName()))) {
+                return;
+            }
+            List<HotKeySketch.HotKey> keys = sketch.topKeys(limit);
+            List<Map<String, Object>> rows = new ArrayList<>(keys.size());
+            for (HotKeySketch.HotKey hotKey : keys) {
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("key", String.valueOf(hotKey.key()));
+                row.put("accesses", hotKey.accesses());
+                row.put("hits", hotKey.hits());
+                row.put("hitRatio", hotKey.hitRatio());
+                rows.add(row);
+            }
+            backends.computeIfAbsent(sketchKey.backend(), name -> new LinkedHashMap<>())
+                    .put(sketchKey.cacheName(), rows);
+        });
+        long dropped = sketches.values().stream().mapToLong(HotKeySketch::droppedOfferCount).sum();
+        HistogramSnapshot recordSnapshot = recordLatency.takeSnapshot();
+        Map<String, Object> recordNanos = new LinkedHashMap<>();
+        recordNanos.put("sampled", recordSnapshot.count());
+        for (ValueAtPercentile percentile : recordSnapshot.percentileValues()) {
+            recordNanos.put("p" + Math.round(percentile.percentile() * 100), percentile.value(TimeUnit.NANOSECONDS));
+        }
+
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("topK", topK);
+        statistics.put("width", width);
+        statistics.put("decayInterval", decayInterval.toString());
+        statistics.put("decays", (long) decays.count());
+        statistics.put("droppedOffers", dropped);
+        statistics.put("recordNanos", recordNanos);
+        statistics.put("backends", backends);
+        return statistics;
+    }
+
+    private HotKeySketch sketch(String backend, String cacheName) {
+        SketchKey sketchKey = new SketchKey(backend, cacheName);
+        HotKeySketch sketch = sketches.get(sketchKey);
+        return sketch != null ? sketch : sketches.computeIfAbsent(sketchKey, key -> new HotKeySketch(width, topK));
+    }
+
+    private void refreshGauges() {
+        List<MultiGauge.Row<?>> accessRows = new ArrayList<>();
+        List<MultiGauge.Row<?>> hitRatioRows = new ArrayList<>();
+        sketches.forEach((sketchKey, sketch) -> {
+            for (HotKeySketch.HotKey hotKey : sketch.topKeys(topK)) {
+                Object key = hotKey.key();
+                Tags tags = Tags.of("backend", sketchKey.backend(), "cache", sketchKey.cacheName(),
+                        "key", String.valueOf(key));
+                accessRows.add(MultiGauge.Row.of(tags, sketch, s -> s.estimateAccesses(key)));
+                hitRatioRows.add(MultiGauge.Row.of(tags, sketch, s -> {
+                    long accesses = s.estimateAccesses(key);
+                    return accesses > 0 ? Math.min(1.0, (double) s.estimateHits(key) / accesses) : 0.0;
+                }));
+            }
+        });
+        // 상위 키에서 빠진 키의 게이지는 제거
+        accessGauge.register(accessRows, true);
+        hitRatioGauge.register(hitRatioRows, true);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        Thread thread = new Thread(this::run, "hot-key-tracker");
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = worker;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        long refreshNanos = gaugeRefreshInterval.toNanos();
+        long decayNanos = decayInterval.toNanos();
+        long nextDecay = System.nanoTime() + decayNanos;
+        while (running) {
+            LockSupport.parkNanos(this, Math.min(refreshNanos, Math.max(1, nextDecay - System.nanoTime())));
+            if (!running) {
+                return;
+            }
+            try {
+                if (System.nanoTime() - nextDecay >= 0) {
+                    sketches.values().forEach(HotKeySketch::decay);
+                    decays.increment();
+                    nextDecay = System.nanoTime() + decayNanos;
+                }
+                refreshGauges();
+            } catch (Exception e) {
+                log.warn("Hot key tracker tick failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    private record SketchKey(String backend, String cacheName) {
+    }
+}
@@ -0,0 +1,374 @@
+package com.example.rediscacheperformance.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.cache.Cache;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 실제 적중/미스, put, evict 횟수와 get/put 지연 시간을 키 패턴별로 기록하는 Cache 데코레이터
+ * 조회 결과는 CacheAccessContext에도 남겨 컨트롤러가 현재 요청의 적중 여부를 알 수 있게 한다.
+ */
+public class InstrumentedCache implements Cache, BulkCache, PrefixEvictableCache {
+
+    private final Cache delegate;
+    private final CacheKeyPatternResolver keyPatternResolver;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, PatternMeters> meters = new ConcurrentHashMap<>();
+    private final Counter clears;
+    private final Timer getAllLatency;
+    private final Timer putAllLatency;
+    private final StampedeGuard stampedeGuard;
+    private final String backend;
+    private final CacheOutcome hitOutcome;
+    private final HotKeyTracker hotKeys;
+
+    /**
+     * @param stampedeProtection get(key, loader) 미스 적재를 합치고 조기 갱신할 보호 설정 (없으면 null)
+     * @param backend 메트릭 backend 태그 (캐시 백엔드 이름)
+     * @param hotKeys 조회 키 빈도를 기록할 추적기 (사용하지 않으면 null)
+     */
+    public InstrumentedCache(Cache delegate, CacheKeyPatternResolver keyPatternResolver, MeterRegistry meterRegistry,
+                             StampedeProtection stampedeProtection, String backend, HotKeyTracker hotKeys) {
+        this.delegate = delegate;
+        this.backend = backend;
+        this.hotKeys = hotKeys;
+        // 로컬 힙 백엔드의 적중은 local 계층, 그 외 단일 계층 캐시의 적중은 remote 계층
+        this.hitOutcome = delegate instanceof LocalHeapCache ? CacheOutcome.LOCAL_HIT : CacheOutcome.REMOTE_HIT;
+        this.keyPatternResolver = keyPatternResolver;
+        this.meterRegistry = meterRegistry;
+        this.clears = Counter.builder("cache.access.clears")
+                .tags("cache", delegate.getName(), "backend", backend)
+                .register(meterRegistry);
+        this.getAllLatency = batchLatency("get_all");
+        this.putAllLatency = batchLatency("put_all");
+        this.stampedeGuard = stampedeProtection != null ? stampedeProtection.guard(delegate) : null;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        PatternMeters patternMeters = meters(key);
+        long start = System.nanoTime();
+        ValueWrapper wrapper;
+        CacheOutcome outcome;
+        if (delegate instanceof TwoLevelCache twoLevelCache) {
+            TwoLevelCache.Lookup lookup = twoLevelCache.lookup(key);
+            wrapper = lookup.wrapper();
+            outcome = lookup.outcome();
+        } else {
+            wrapper = delegate.get(key);
+            outcome = wrapper != null ? hitOutcome : CacheOutcome.MISS;
+        }
+        patternMeters.getLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        patternMeters.count(outcome);
+        recordHotKey(key, outcome);
+        CacheAccessContext.record(new CacheAccess(getName(), patternMeters.pattern, outcome, backend));
+        return wrapper;
+    }
+
+    /**
+     * 여러 키 조회 (키별 적중/미스와 계층은 get과 같이 기록하고, 지연 시간은 호출 단위로 기록)
+     */
+    @Override
+    public Map<Object, ValueWrapper> getAll(Collection<?> keys) {
+        long start = System.nanoTime();
+        Map<Object, ValueWrapper> found = new LinkedHashMap<>();
+        if (delegate instanceof TwoLevelCache twoLevelCache) {
+            twoLevelCache.lookupAll(keys).forEach((key, lookup) -> {
+                record(key, lookup.outcome());
+                if (lookup.wrapper() != null) {
+                    found.put(key, lookup.wrapper());
+                }
+            });
+        } else {
+            Map<Object, ValueWrapper> delegateFound = delegate instanceof BulkCache bulkCache
+                    ? bulkCache.getAll(keys) : getEach(keys);
+            for (Object key : new LinkedHashSet<>(keys)) {
+                ValueWrapper wrapper = delegateFound.get(key);
+                record(key, wrapper != null ? hitOutcome : CacheOutcome.MISS);
+                if (wrapper != null) {
+                    found.put(key, wrapper);
+                }
+            }
+        }
+        getAllLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return found;
+    }
+
+    @Override
+    public void putAll(Map<?, ?> entries) {
+        long start = System.nanoTime();
+        if (delegate instanceof BulkCache bulkCache) {
+            bulkCache.putAll(entries);
+        } else {
+            entries.forEach(delegate::put);
+        }
+        putAllLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        entries.keySet().forEach(key -> meters(key).puts.increment());
+    }
+
+    private Map<Object, ValueWrapper> getEach(Collection<?> keys) {
+        Map<Object, ValueWrapper> found = new LinkedHashMap<>();
+        for (Object key : new LinkedHashSet<>(keys)) {
+            ValueWrapper wrapper = delegate.get(key);
+            if (wrapper != null) {
+                found.put(key, wrapper);
+            }
+        }
+        return found;
+    }
+
+    private void record(Object key, CacheOutcome outcome) {
+        PatternMeters patternMeters = meters(key);
+        patternMeters.count(outcome);
+        recordHotKey(key, outcome);
+        CacheAccessContext.record(new CacheAccess(getName(), patternMeters.pattern, outcome, backend));
+    }
+
+    private void recordHotKey(Object key, CacheOutcome outcome) {
+        if (hotKeys != null) {
+            hotKeys.record(backend, getName(), key, outcome != CacheOutcome.MISS);
+        }
+    }
+
+    private Timer batchLatency(String operation) {
+        return Timer.builder("cache.access.batch.latency")
+                .description("Cache multi-key operation latency")
+                .tags("cache", getName(), "backend", backend, "operation", operation)
+                .register(meterRegistry);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            if (stampedeGuard != null) {
+                stampedeGuard.onHit(key, valueLoader, value -> put(key, value));
+            }
+            return (T) wrapper.get();
+        }
+        if (stampedeGuard != null) {
+            return (T) stampedeGuard.load(key, valueLoader, value -> put(key, value));
+        }
+        if (delegate instanceof LocalHeapCache) {
+            // 로컬 힙 캐시는 키별로 동시 적재를 하나로 합친다
+            // (RedisCache.get(key, loader)는 캐시 전체 잠금으로 모든 키의 적재를 줄 세우므로 여기서 직접 적재)
+            PatternMeters patternMeters = meters(key);
+            boolean[] loaded = {false};
+            T value = delegate.get(key, () -> {
+                loaded[0] = true;
+                return valueLoader.call();
+            });
+            if (loaded[0]) {
+                patternMeters.puts.increment();
+            }
+            return value;
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        PatternMeters patternMeters = meters(key);
+        long start = System.nanoTime();
+        delegate.put(key, value);
+        patternMeters.putLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        patternMeters.puts.increment();
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        PatternMeters patternMeters = meters(key);
+        long start = System.nanoTime();
+        ValueWrapper existing = delegate.putIfAbsent(key, value);
+        patternMeters.putLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (existing == null) {
+            patternMeters.puts.increment();
+        }
+        return existing;
+    }
+
+    /**
+     * 실제로 삭제된 경우만 evictions에 집계하도록 evictIfPresent로 처리한다
+     * (쓰기 경로는 id/category/all 키를 매번 무조건 삭제하므로 호출 수를 세면 과다 집계된다)
+     */
+    @Override
+    public void evict(Object key) {
+        evictIfPresent(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = delegate.evictIfPresent(key);
+        if (stampedeGuard != null) {
+            stampedeGuard.forget(key);
+        }
+        if (evicted) {
+            meters(key).evictions.increment();
+        }
+        return evicted;
+    }
+
+    /**
+     * 접두사 삭제를 지원하지 않는 캐시(no-op)는 전체를 비운다
+     */
+    @Override
+    public void evictByPrefix(String keyPrefix) {
+        if (delegate instanceof PrefixEvictableCache prefixDelegate) {
+            prefixDelegate.evictByPrefix(keyPrefix);
+        } else {
+            delegate.clear();
+        }
+        if (stampedeGuard != null) {
+            stampedeGuard.forgetByPrefix(keyPrefix);
+        }
+        clears.increment();
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        if (stampedeGuard != null) {
+            stampedeGuard.clear();
+        }
+        clears.increment();
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = delegate.invalidate();
+        if (stampedeGuard != null) {
+            stampedeGuard.clear();
+        }
+        clears.increment();
+        return invalidated;
+    }
+
+    Cache getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * 키 패턴별 누적 통계
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> patterns = new LinkedHashMap<>();
+        meters.values().forEach(patternMeters -> patterns.put(patternMeters.pattern, patternMeters.snapshot()));
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("clears", (long) clears.count());
+        statistics.put("getAllCalls", getAllLatency.count());
+        statistics.put("avgGetAllMicros", getAllLatency.mean(TimeUnit.MICROSECONDS));
+        statistics.put("avgPutAllMicros", putAllLatency.mean(TimeUnit.MICROSECONDS));
+        statistics.put("patterns", patterns);
+        if (stampedeGuard != null) {
+            statistics.put("stampede", stampedeGuard.getStatistics());
+        }
+        return statistics;
+    }
+
+    private PatternMeters meters(Object key) {
+        return meters.computeIfAbsent(keyPatternResolver.resolve(key), PatternMeters::new);
+    }
+
+    private final class PatternMeters {
+
+        private final String pattern;
+        private final Counter localHits;
+        private final Counter remoteHits;
+        private final Counter misses;
+        private final Counter puts;
+        private final Counter evictions;
+        private final Timer getLatency;
+        private final Timer putLatency;
+
+        private PatternMeters(String pattern) {
+            this.pattern = pattern;
+            this.localHits = access(pattern, "hit", CacheOutcome.LOCAL_HIT.getTier());
+            this.remoteHits = access(pattern, "hit", CacheOutcome.REMOTE_HIT.getTier());
+            this.misses = access(pattern, "miss", CacheOutcome.MISS.getTier());
+            this.puts = Counter.builder("cache.access.puts")
+                    .tags("cache", getName(), "backend", backend, "pattern", pattern)
+                    .register(meterRegistry);
+            this.evictions = Counter.builder("cache.access.evictions")
+                    .tags("cache", getName(), "backend", backend, "pattern", pattern)
+                    .register(meterRegistry);
+            this.getLatency = latency(pattern, "get");
+            this.putLatency = latency(pattern, "put");
+        }
+
+        private Counter access(String pattern, String result, String tier) {
+            return Counter.builder("cache.access")
+                    .description("Cache lookups by actual outcome")
+                    .tags("cache", getName(), "backend", backend, "pattern", pattern, "result", result, "tier", tier)
+                    .register(meterRegistry);
+        }
+
+        private Timer latency(String pattern, String operation) {
+            return Timer.builder("cache.access.latency")
+                    .description("Cache operation latency")
+                    .tags("cache", getName(), "backend", backend, "pattern", pattern, "operation", operation)
+                    .register(meterRegistry);
+        }
+
+        private void count(CacheOutcome outcome) {
+            switch (outcome) {
+                case LOCAL_HIT -> localHits.increment();
+                case REMOTE_HIT -> remoteHits.increment();
+                case MISS -> misses.increment();
+            }
+        }
+
+        private Map<String, Object> snapshot() {
+            long hits = (long) (localHits.count() + remoteHits.count());
+            long total = hits + (long) misses.count();
+            Map<String, Object> snapshot = new LinkedHashMap<>();
+            snapshot.put("hits", hits);
+            snapshot.put("misses", (long) misses.count());
+            snapshot.put("hitRate", total > 0 ? (double) hits / total * 100 : 0.0);
+            snapshot.put("puts", (long) puts.count());
+            snapshot.put("evictions", (long) evictions.count());
+            snapshot.put("avgGetMicros", getLatency.mean(TimeUnit.MICROSECONDS));
+            snapshot.put("avgPutMicros", putLatency.mean(TimeUnit.MICROSECONDS));
+            return snapshot;
+        }
+    }
+}
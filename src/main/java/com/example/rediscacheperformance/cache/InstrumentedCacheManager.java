@@ -0,0 +1,76 @@
+package com.example.rediscacheperformance.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 모든 캐시를 InstrumentedCache로 감싸는 CacheManager 데코레이터
+ */
+public class InstrumentedCacheManager implements CacheManager, CacheStatisticsProvider {
+
+    private final CacheManager delegate;
+    private final CacheKeyPatternResolver keyPatternResolver;
+    private final MeterRegistry meterRegistry;
+    private final StampedeProtection stampedeProtection;
+    private final String backend;
+    private final HotKeyTracker hotKeys;
+    private final ConcurrentMap<String, InstrumentedCache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * @param stampedeProtection 캐시별 스탬피드 방지 (사용하지 않으면 null)
+     * @param backend 메트릭 backend 태그 (캐시 백엔드 이름)
+     * @param hotKeys 조회 키 빈도를 기록할 추적기 (사용하지 않으면 null)
+     */
+    public InstrumentedCacheManager(CacheManager delegate, CacheKeyPatternResolver keyPatternResolver,
+                                    MeterRegistry meterRegistry, StampedeProtection stampedeProtection,
+                                    String backend, HotKeyTracker hotKeys) {
+        this.delegate = delegate;
+        this.backend = backend;
+        this.hotKeys = hotKeys;
+        this.keyPatternResolver = keyPatternResolver;
+        this.meterRegistry = meterRegistry;
+        this.stampedeProtection = stampedeProtection;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, cacheName -> {
+            Cache cache = delegate.getCache(cacheName);
+            return cache != null
+                    ? new InstrumentedCache(cache, keyPatternResolver, meterRegistry, stampedeProtection, backend,
+                            hotKeys)
+                    : null;
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    /**
+     * 하위 CacheManager의 계층별 통계에 키 패턴별 통계를 합친다
+     */
+    @Override
+    public Map<String, Object> getCacheStatistics() {
+        Map<String, Object> delegateStatistics = delegate instanceof CacheStatisticsProvider provider
+                ? provider.getCacheStatistics() : Map.of();
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        caches.forEach((name, cache) -> {
+            Map<String, Object> cacheStatistics = new LinkedHashMap<>();
+            if (delegateStatistics.get(name) instanceof Map<?, ?> tierStatistics) {
+                tierStatistics.forEach((key, value) -> cacheStatistics.put(String.valueOf(key), value));
+            }
+            cacheStatistics.putAll(cache.getStatistics());
+            statistics.put(name, cacheStatistics);
+        });
+        return statistics;
+    }
+}
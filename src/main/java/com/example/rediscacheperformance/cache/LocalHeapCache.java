@@ -0,0 +1,124 @@
+package com.example.rediscacheperformance.cache;
+
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 프로세스 힙에만 두는 캐시 (Redis 없이 in-process 캐시만 쓰는 백엔드)
+ * 값은 직렬화하지 않고 객체 참조로 보관하며, 다른 노드로 무효화를 전파하지 않는다.
+ * get(key, loader)는 같은 키의 동시 미스를 한 번의 적재로 합친다.
+ */
+public class LocalHeapCache extends AbstractValueAdaptingCache implements BulkCache, PrefixEvictableCache {
+
+    private final String name;
+    private final BoundedLocalStore<Object, Object> store;
+    private final ConcurrentMap<Object, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+
+    public LocalHeapCache(String name, BoundedLocalStore<Object, Object> store) {
+        super(true);
+        this.name = name;
+        this.store = store;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return store;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        return store.get(key);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object stored = store.get(key);
+        if (stored != null) {
+            return (T) fromStoreValue(stored);
+        }
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = loading.putIfAbsent(key, load);
+        if (inFlight != null) {
+            try {
+                return (T) fromStoreValue(inFlight.join());
+            } catch (CompletionException e) {
+                throw new ValueRetrievalException(key, valueLoader, e.getCause());
+            }
+        }
+        try {
+            T value = valueLoader.call();
+            Object storeValue = toStoreValue(value);
+            store.put(key, storeValue);
+            load.complete(storeValue);
+            return value;
+        } catch (Exception e) {
+            load.completeExceptionally(e);
+            throw new ValueRetrievalException(key, valueLoader, e);
+        } finally {
+            loading.remove(key, load);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        store.put(key, toStoreValue(value));
+    }
+
+    @Override
+    public void evict(Object key) {
+        store.remove(key);
+    }
+
+    @Override
+    public void evictByPrefix(String keyPrefix) {
+        store.removeIf(key -> String.valueOf(key).startsWith(keyPrefix));
+    }
+
+    @Override
+    public void clear() {
+        store.clear();
+    }
+
+    @Override
+    public Map<Object, ValueWrapper> getAll(Collection<?> keys) {
+        Map<Object, ValueWrapper> found = new LinkedHashMap<>();
+        for (Object key : new LinkedHashSet<>(keys)) {
+            ValueWrapper wrapper = toValueWrapper(store.get(key));
+            if (wrapper != null) {
+                found.put(key, wrapper);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public void putAll(Map<?, ?> entries) {
+        entries.forEach(this::put);
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("policy", store.getPolicy());
+        statistics.put("size", store.size());
+        statistics.put("maximumSize", store.getMaximumSize());
+        statistics.put("evictions", store.evictionCount());
+        statistics.put("expirations", store.expirationCount());
+        statistics.put("droppedReads", store.droppedReadCount());
+        return statistics;
+    }
+}
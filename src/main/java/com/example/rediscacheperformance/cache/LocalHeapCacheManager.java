@@ -0,0 +1,48 @@
+package com.example.rediscacheperformance.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 캐시 이름마다 크기 제한 로컬 힙 캐시를 만드는 CacheManager
+ */
+public class LocalHeapCacheManager implements CacheManager, CacheStatisticsProvider {
+
+    private final int maximumSize;
+    private final long ttlNanos;
+    private final EvictionPolicy policy;
+    private final int windowPercent;
+    private final ConcurrentMap<String, LocalHeapCache> caches = new ConcurrentHashMap<>();
+
+    public LocalHeapCacheManager(int maximumSize, long ttlNanos, EvictionPolicy policy, int windowPercent) {
+        this.maximumSize = maximumSize;
+        this.ttlNanos = ttlNanos;
+        this.policy = policy;
+        this.windowPercent = windowPercent;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, cacheName -> new LocalHeapCache(cacheName,
+                new BoundedLocalStore<>(maximumSize, ttlNanos, policy, windowPercent)));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return List.copyOf(caches.keySet());
+    }
+
+    @Override
+    public Map<String, Object> getCacheStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        caches.forEach((name, cache) -> statistics.put(name, cache.getStatistics()));
+        return statistics;
+    }
+}
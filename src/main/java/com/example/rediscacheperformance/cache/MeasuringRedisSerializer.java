@@ -0,0 +1,93 @@
+package com.example.rediscacheperformance.cache;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 항목당 바이트 수와 직렬화/역직렬화 시간을 기록하는 RedisSerializer 데코레이터
+ */
+public class MeasuringRedisSerializer implements RedisSerializer<Object> {
+
+    private final RedisSerializer<Object> delegate;
+    private final DistributionSummary entryBytes;
+    private final Timer encodeTimer;
+    private final Timer decodeTimer;
+
+    private final LongAdder encodeCount = new LongAdder();
+    private final LongAdder encodedBytes = new LongAdder();
+    private final LongAdder encodeNanos = new LongAdder();
+    private final LongAdder decodeCount = new LongAdder();
+    private final LongAdder decodedBytes = new LongAdder();
+    private final LongAdder decodeNanos = new LongAdder();
+
+    public MeasuringRedisSerializer(RedisSerializer<Object> delegate, String cacheName, CacheCodec codec,
+                                    MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        String codecName = codec.name().toLowerCase();
+        this.entryBytes = DistributionSummary.builder("cache.codec.entry.size")
+                .baseUnit("bytes")
+                .tag("cache", cacheName)
+                .tag("codec", codecName)
+                .register(meterRegistry);
+        this.encodeTimer = Timer.builder("cache.codec.latency")
+                .tag("cache", cacheName)
+                .tag("codec", codecName)
+                .tag("operation", "serialize")
+                .register(meterRegistry);
+        this.decodeTimer = Timer.builder("cache.codec.latency")
+                .tag("cache", cacheName)
+                .tag("codec", codecName)
+                .tag("operation", "deserialize")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        long start = System.nanoTime();
+        byte[] bytes = delegate.serialize(value);
+        long elapsed = System.nanoTime() - start;
+        encodeTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        encodeCount.increment();
+        encodeNanos.add(elapsed);
+        if (bytes != null) {
+            entryBytes.record(bytes.length);
+            encodedBytes.add(bytes.length);
+        }
+        return bytes;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        long start = System.nanoTime();
+        Object value = delegate.deserialize(bytes);
+        long elapsed = System.nanoTime() - start;
+        decodeTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        decodeCount.increment();
+        decodeNanos.add(elapsed);
+        if (bytes != null) {
+            decodedBytes.add(bytes.length);
+        }
+        return value;
+    }
+
+    public Map<String, Object> getStatistics() {
+        long encodes = encodeCount.sum();
+        long decodes = decodeCount.sum();
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("serializations", encodes);
+        statistics.put("avgSerializedBytes", encodes > 0 ? (double) encodedBytes.sum() / encodes : 0.0);
+        statistics.put("avgSerializeMicros", encodes > 0 ? encodeNanos.sum() / 1_000.0 / encodes : 0.0);
+        statistics.put("deserializations", decodes);
+        statistics.put("avgDeserializedBytes", decodes > 0 ? (double) decodedBytes.sum() / decodes : 0.0);
+        statistics.put("avgDeserializeMicros", decodes > 0 ? decodeNanos.sum() / 1_000.0 / decodes : 0.0);
+        return statistics;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.rediscacheperformance.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Redis pub/sub 기반 L1 캐시 무효화 메시지 송수신
+ * 메시지 형식: {nodeId}|E|{cacheName}|{key} (항목 무효화), {nodeId}|P|{cacheName}|{keyPrefix} (접두사 무효화),
+ * {nodeId}|C|{cacheName} (전체 무효화)
+ * 자신이 보낸 메시지는 무시한다.
+ */
+@Slf4j
+public class NearCacheInvalidationBus implements MessageListener {
+
+    private static final String EVICT = "E";
+    private static final String EVICT_PREFIX = "P";
+    private static final String CLEAR = "C";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+    private volatile Listener listener;
+
+    public NearCacheInvalidationBus(StringRedisTemplate redisTemplate, String channel) {
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    public void publishEvict(String cacheName, String key) {
+        publish(nodeId + "|" + EVICT + "|" + cacheName + "|" + key);
+    }
+
+    public void publishEvictPrefix(String cacheName, String keyPrefix) {
+        publish(nodeId + "|" + EVICT_PREFIX + "|" + cacheName + "|" + keyPrefix);
+    }
+
+    public void publishClear(String cacheName) {
+        publish(nodeId + "|" + CLEAR + "|" + cacheName);
+    }
+
+    private void publish(String message) {
+        try {
+            redisTemplate.convertAndSend(channel, message);
+        } catch (Exception e) {
+            // 발행 실패 시 다른 노드의 L1은 TTL 만료로 정리된다
+            log.warn("Failed to publish near cache invalidation: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 4);
+        Listener current = listener;
+        if (current == null || parts.length < 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+        if (CLEAR.equals(parts[1])) {
+            current.onClear(parts[2]);
+        } else if (EVICT.equals(parts[1]) && parts.length == 4) {
+            current.onEvict(parts[2], parts[3]);
+        } else if (EVICT_PREFIX.equals(parts[1]) && parts.length == 4) {
+            current.onEvictPrefix(parts[2], parts[3]);
+        }
+    }
+
+    public interface Listener {
+
+        void onEvict(String cacheName, String key);
+
+        void onEvictPrefix(String cacheName, String keyPrefix);
+
+        void onClear(String cacheName);
+    }
+}
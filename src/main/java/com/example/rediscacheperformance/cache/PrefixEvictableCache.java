@@ -0,0 +1,27 @@
+package com.example.rediscacheperformance.cache;
+
+/**
+ * 키 접두사가 같은 항목만 골라 삭제할 수 있는 캐시
+ * 커서/크기마다 키가 다른 페이지 캐시에서 바뀐 범위('all', 카테고리)의 키만 지울 때 쓴다.
+ */
+public interface PrefixEvictableCache {
+
+    /**
+     * 문자열로 바꾼 키가 keyPrefix로 시작하는 항목 삭제 (Redis는 SCAN으로 찾는다)
+     */
+    void evictByPrefix(String keyPrefix);
+
+    /**
+     * 접두사를 Redis glob 패턴으로 (접두사 안의 glob 특수 문자는 이스케이프)
+     */
+    static String globPattern(String keyPrefix) {
+        StringBuilder pattern = new StringBuilder(keyPrefix.length() + 2);
+        for (char c : keyPrefix.toCharArray()) {
+            if (c == '*' || c == '?' || c == '[' || c == ']' || c == '\\') {
+                pattern.append('\\');
+            }
+            pattern.append(c);
+        }
+        return pattern.append('*').toString();
+    }
+}
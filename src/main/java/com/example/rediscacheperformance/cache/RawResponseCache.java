@@ -0,0 +1,206 @@
+package com.example.rediscacheperformance.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * 직렬화가 끝난 HTTP 응답 JSON 바이트와 ETag를 Redis 해시(etag, body)에 보관하는 캐시
+ * 적중 시 객체 역직렬화/재직렬화 없이 바이트를 그대로 응답하고,
+ * If-None-Match 요청은 etag 필드만 읽어 본문을 가져오지 않고 304로 응답한다.
+ */
+public class RawResponseCache {
+
+    public static final String CACHE_NAME = "rawResponse";
+
+    private static final byte[] ETAG_FIELD = "etag".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] BODY_FIELD = "body".getBytes(StandardCharsets.UTF_8);
+    private static final int CLEAR_BATCH_SIZE = 500;
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final String keyPrefix;
+    private final Duration ttl;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, RouteCounters> counters = new ConcurrentHashMap<>();
+
+    public RawResponseCache(StringRedisTemplate redisTemplate, ObjectMapper objectMapper, String keyPrefix,
+                            Duration ttl, MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.keyPrefix = keyPrefix;
+        this.ttl = ttl;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 경로별 카운터는 처음 조회할 때 한 번만 등록한다 (요청마다 registry 조회를 하지 않음)
+     */
+    private RouteCounters counters(String route) {
+        return counters.computeIfAbsent(route, RouteCounters::new);
+    }
+
+    private void record(String route, CacheOutcome outcome, Counter counter) {
+        counter.increment();
+        CacheAccessContext.record(new CacheAccess(CACHE_NAME, route, outcome));
+    }
+
+    /**
+     * 응답 바이트 조회
+     *
+     * @param route       조회 경로 (all / category / id, 메트릭 태그와 키 구분에 사용)
+     * @param key         경로 안의 조회 키
+     * @param ifNoneMatch 요청의 If-None-Match 헤더 (없으면 null)
+     * @param loader      미스 시 응답 객체를 만드는 함수 (null 반환 시 캐시하지 않음)
+     * @return 응답 (loader가 null을 반환하면 null)
+     */
+    public RawResponse get(String route, String key, String ifNoneMatch, Supplier<?> loader) {
+        byte[] redisKey = (keyPrefix + route + ":" + key).getBytes(StandardCharsets.UTF_8);
+        RouteCounters routeCounters = counters(route);
+
+        if (ifNoneMatch != null) {
+            byte[] etag = redisTemplate.execute(
+                    (RedisCallback<byte[]>) connection -> connection.hashCommands().hGet(redisKey, ETAG_FIELD));
+            if (etag != null && matches(ifNoneMatch, new String(etag, StandardCharsets.UTF_8))) {
+                record(route, CacheOutcome.REMOTE_HIT, routeCounters.notModified);
+                return new RawResponse(null, new String(etag, StandardCharsets.UTF_8), CacheOutcome.REMOTE_HIT);
+            }
+        }
+
+        List<byte[]> cached = redisTemplate.execute(
+                (RedisCallback<List<byte[]>>) connection -> connection.hashCommands().hMGet(redisKey, ETAG_FIELD, BODY_FIELD));
+        if (cached != null && cached.size() == 2 && cached.get(0) != null && cached.get(1) != null) {
+            record(route, CacheOutcome.REMOTE_HIT, routeCounters.hits);
+            return new RawResponse(cached.get(1), new String(cached.get(0), StandardCharsets.UTF_8),
+                    CacheOutcome.REMOTE_HIT);
+        }
+
+        record(route, CacheOutcome.MISS, routeCounters.misses);
+        Object value = loader.get();
+        if (value == null) {
+            return null;
+        }
+        byte[] body = toJson(value);
+        String etag = "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+        byte[] etagBytes = etag.getBytes(StandardCharsets.UTF_8);
+        // 본문과 TTL을 MULTI/EXEC로 함께 적용해 연결이 끊겨도 TTL 없는 항목이 남지 않게 한다 (파이프라인이라 왕복은 한 번)
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.multi();
+            connection.hashCommands().hMSet(redisKey, Map.of(ETAG_FIELD, etagBytes, BODY_FIELD, body));
+            connection.keyCommands().expire(redisKey, ttl.getSeconds());
+            connection.exec();
+            return null;
+        });
+        return new RawResponse(body, etag, CacheOutcome.MISS);
+    }
+
+    /**
+     * 지정한 경로/키의 응답 항목 삭제 (데이터 변경 시)
+     */
+    public void evict(String route, Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        redisTemplate.delete(keys.stream()
+                .map(key -> keyPrefix + route + ":" + key)
+                .toList());
+    }
+
+    /**
+     * 접두사에 해당하는 모든 응답 항목 삭제
+     */
+    public void clear() {
+        redisTemplate.execute((RedisCallback<Void>) connection -> {
+            ScanOptions options = ScanOptions.scanOptions().match(keyPrefix + "*").count(CLEAR_BATCH_SIZE).build();
+            List<byte[]> batch = new ArrayList<>(CLEAR_BATCH_SIZE);
+            try (Cursor<byte[]> cursor = connection.keyCommands().scan(options)) {
+                while (cursor.hasNext()) {
+                    batch.add(cursor.next());
+                    if (batch.size() == CLEAR_BATCH_SIZE) {
+                        delete(connection, batch);
+                    }
+                }
+            }
+            delete(connection, batch);
+            return null;
+        });
+    }
+
+    private static void delete(RedisConnection connection, List<byte[]> keys) {
+        if (!keys.isEmpty()) {
+            connection.keyCommands().del(keys.toArray(new byte[0][]));
+            keys.clear();
+        }
+    }
+
+    private byte[] toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize response body", e);
+        }
+    }
+
+    /**
+     * If-None-Match 값(쉼표 구분 목록, *, 약한 ETag 포함)과 비교
+     */
+    private static boolean matches(String ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.startsWith("W/")) {
+                trimmed = trimmed.substring(2);
+            }
+            if (trimmed.equals("*") || trimmed.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private final class RouteCounters {
+
+        private final Counter hits;
+        private final Counter misses;
+        private final Counter notModified;
+
+        private RouteCounters(String route) {
+            this.hits = counter(route, "hit");
+            this.misses = counter(route, "miss");
+            this.notModified = counter(route, "not_modified");
+        }
+
+        private Counter counter(String route, String result) {
+            return Counter.builder("cache.raw.access")
+                    .tag("route", route)
+                    .tag("result", result)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * 응답 바이트와 ETag (body가 null이면 304)
+     */
+    public record RawResponse(byte[] body, String etag, CacheOutcome outcome) {
+
+        public boolean isNotModified() {
+            return body == null;
+        }
+    }
+}
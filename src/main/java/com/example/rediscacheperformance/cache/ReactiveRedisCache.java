@@ -0,0 +1,81 @@
+package com.example.rediscacheperformance.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Lettuce 리액티브 연결로 Redis 캐시 항목을 읽고 쓰는 캐시
+ * RedisCacheManager와 같은 키(캐시 이름::키)와 캐시별 코덱을 사용해 블로킹 경로와 항목을 공유하고,
+ * 같은 키의 동시 미스는 적재 하나를 함께 기다린다. (로컬 L1 캐시는 사용하지 않음)
+ */
+public class ReactiveRedisCache {
+
+    private final ReactiveRedisTemplate<String, byte[]> redisTemplate;
+    private final CacheCodecRegistry cacheCodecRegistry;
+    private final Duration ttl;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, Mono<CachedValue>> loading = new ConcurrentHashMap<>();
+
+    public ReactiveRedisCache(ReactiveRedisTemplate<String, byte[]> redisTemplate, CacheCodecRegistry cacheCodecRegistry,
+                              Duration ttl, MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.cacheCodecRegistry = cacheCodecRegistry;
+        this.ttl = ttl;
+        this.meterRegistry = meterRegistry;
+    }
+
+    private void record(String cacheName, String result) {
+        Counter.builder("cache.reactive.access")
+                .tag("cache", cacheName)
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * 캐시 조회 (미스 시 loader 결과를 저장, loader가 비어 있으면 null 값으로 저장)
+     */
+    public Mono<CachedValue> get(String cacheName, Object key, Mono<?> loader) {
+        String redisKey = cacheName + "::" + key;
+        RedisSerializer<Object> serializer = cacheCodecRegistry.serializer(cacheName);
+        return redisTemplate.opsForValue().get(redisKey)
+                .map(bytes -> {
+                    record(cacheName, "hit");
+                    return new CachedValue(unwrap(serializer.deserialize(bytes)), CacheOutcome.REMOTE_HIT);
+                })
+                .switchIfEmpty(Mono.defer(() -> {
+                    record(cacheName, "miss");
+                    return loading.computeIfAbsent(redisKey, k -> load(k, serializer, loader));
+                }));
+    }
+
+    private Mono<CachedValue> load(String redisKey, RedisSerializer<Object> serializer, Mono<?> loader) {
+        return loader
+                .map(value -> (Object) value)
+                .defaultIfEmpty(NullValue.INSTANCE)
+                .flatMap(value -> redisTemplate.opsForValue()
+                        .set(redisKey, serializer.serialize(value), ttl)
+                        .thenReturn(new CachedValue(unwrap(value), CacheOutcome.MISS)))
+                .doFinally(signal -> loading.remove(redisKey))
+                // 기다리는 요청이 모두 같은 결과를 받도록 적재는 한 번만 구독
+                .cache();
+    }
+
+    private static Object unwrap(Object value) {
+        return value instanceof NullValue ? null : value;
+    }
+
+    /**
+     * @param value 캐시 값 (null이면 캐시된 빈 결과)
+     */
+    public record CachedValue(Object value, CacheOutcome outcome) {
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.rediscacheperformance.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 목록 조회 결과를 값 대신 id 목록으로 보관하는 Redis 정렬 집합 인덱스 (점수 = id, id 순서로 조회)
+ * 값은 ID별 캐시에 한 번만 저장하고 목록은 id 목록 + 다건 조회로 조립한다.
+ * 빈 목록도 캐시하기 위해 IDENTITY가 발급하지 않는 0을 표식 멤버로 항상 넣는다.
+ */
+public class RedisIdIndex {
+
+    public static final String CACHE_NAME = "sampleDataIndex";
+
+    private static final String LOADED_MARKER = "0";
+    private static final int WRITE_BATCH_SIZE = 1_000;
+    private static final int CLEAR_BATCH_SIZE = 500;
+
+    /**
+     * 인덱스가 있을 때만 추가 (없는 인덱스를 일부 id만으로 만들지 않도록)
+     */
+    private static final RedisScript<Long> ADD_IF_EXISTS = RedisScript.of(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then return redis.call('ZADD', KEYS[1], ARGV[1], ARGV[1]) end return 0",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String keyPrefix;
+    private final Duration ttl;
+    private final MeterRegistry meterRegistry;
+
+    public RedisIdIndex(StringRedisTemplate redisTemplate, String keyPrefix, Duration ttl, MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.keyPrefix = keyPrefix;
+        this.ttl = ttl;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public String getKeyPrefix() {
+        return keyPrefix;
+    }
+
+    private void record(String index, CacheOutcome outcome) {
+        String pattern = index.contains(":") ? index.substring(0, index.indexOf(':')) : index;
+        Counter.builder("cache.index.access")
+                .tag("index", pattern)
+                .tag("result", outcome.isHit() ? "hit" : "miss")
+                .register(meterRegistry)
+                .increment();
+        CacheAccessContext.record(new CacheAccess(CACHE_NAME, pattern, outcome));
+    }
+
+    /**
+     * 인덱스의 id 목록 (id 순서, 인덱스가 없으면 null)
+     */
+    public List<Long> members(String index) {
+        Set<String> members = redisTemplate.opsForZSet().range(keyPrefix + index, 0, -1);
+        if (members == null || members.isEmpty()) {
+            record(index, CacheOutcome.MISS);
+            return null;
+        }
+        record(index, CacheOutcome.REMOTE_HIT);
+        List<Long> ids = new ArrayList<>(members.size() - 1);
+        for (String member : members) {
+            if (!LOADED_MARKER.equals(member)) {
+                ids.add(Long.valueOf(member));
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * 인덱스 전체 교체 (MULTI/EXEC로 조회 중인 다른 요청에 일부만 채워진 인덱스가 보이지 않게 한다)
+     */
+    public void replace(String index, Collection<Long> ids) {
+        String key = keyPrefix + index;
+        Set<ZSetOperations.TypedTuple<String>> members = new HashSet<>();
+        members.add(ZSetOperations.TypedTuple.of(LOADED_MARKER, 0.0));
+        redisTemplate.execute(new SessionCallback<List<Object>>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> List<Object> execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, String> redis = (RedisOperations<String, String>) operations;
+                redis.multi();
+                redis.delete(key);
+                redis.opsForZSet().add(key, members);
+                List<ZSetOperations.TypedTuple<String>> batch = new ArrayList<>(WRITE_BATCH_SIZE);
+                for (Long id : ids) {
+                    batch.add(ZSetOperations.TypedTuple.of(String.valueOf(id), id.doubleValue()));
+                    if (batch.size() == WRITE_BATCH_SIZE) {
+                        redis.opsForZSet().add(key, new HashSet<>(batch));
+                        batch.clear();
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    redis.opsForZSet().add(key, new HashSet<>(batch));
+                }
+                redis.expire(key, ttl);
+                return redis.exec();
+            }
+        });
+    }
+
+    /**
+     * 캐시된 인덱스에 id 추가 (인덱스가 없으면 다음 조회가 DB에서 적재)
+     */
+    public void add(String index, Long id) {
+        redisTemplate.execute(ADD_IF_EXISTS, List.of(keyPrefix + index), String.valueOf(id));
+    }
+
+    /**
+     * 캐시된 인덱스에서 id 제거
+     */
+    public void remove(String index, Long id) {
+        redisTemplate.opsForZSet().remove(keyPrefix + index, String.valueOf(id));
+    }
+
+    /**
+     * 접두사에 해당하는 모든 인덱스 삭제
+     */
+    public void clear() {
+        ScanOptions options = ScanOptions.scanOptions().match(keyPrefix + "*").count(CLEAR_BATCH_SIZE).build();
+        List<String> batch = new ArrayList<>(CLEAR_BATCH_SIZE);
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() == CLEAR_BATCH_SIZE) {
+                    redisTemplate.delete(batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            redisTemplate.delete(batch);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.rediscacheperformance.cache;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 노드 간 캐시 적재 임대 (SET NX PX)
+ * 임대를 가진 노드만 DB에서 값을 적재하고, 해제는 자신이 가진 토큰일 때만 삭제한다.
+ */
+public class RedisLoadLease {
+
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String keyPrefix;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final AtomicLong sequence = new AtomicLong();
+
+    public RedisLoadLease(StringRedisTemplate redisTemplate, String keyPrefix) {
+        this.redisTemplate = redisTemplate;
+        this.keyPrefix = keyPrefix;
+    }
+
+    /**
+     * @return 임대 토큰 (다른 노드가 이미 가지고 있으면 null)
+     */
+    public String tryAcquire(String key, Duration timeout) {
+        String token = nodeId + ":" + sequence.incrementAndGet();
+        Boolean acquired = redisTemplate.opsForValue().setIfAbsent(keyPrefix + key, token, timeout);
+        return Boolean.TRUE.equals(acquired) ? token : null;
+    }
+
+    public void release(String key, String token) {
+        redisTemplate.execute(RELEASE_SCRIPT, List.of(keyPrefix + key), token);
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.rediscacheperformance.cache;
+
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 키 패턴별 Redis 메모리 사용량 측정
+ * MEMORY USAGE(Redis 4 이상)를 파이프라인으로 읽고, 지원하지 않는 서버에서는
+ * DEBUG OBJECT의 serializedlength(RDB 직렬화 크기, 실제 메모리보다 작음)로 대신한다.
+ */
+public class RedisMemoryProbe {
+
+    private static final int BATCH_SIZE = 500;
+    private static final Pattern SERIALIZED_LENGTH = Pattern.compile("serializedlength:(\\d+)");
+    private static final byte[] USAGE = "USAGE".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] OBJECT = "OBJECT".getBytes(StandardCharsets.UTF_8);
+
+    private final StringRedisTemplate redisTemplate;
+    private volatile Boolean memoryUsageSupported;
+
+    public RedisMemoryProbe(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * 패턴에 맞는 키 수와 바이트 합계
+     */
+    public Usage measure(String pattern) {
+        List<String> keys = new ArrayList<>();
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(BATCH_SIZE).build();
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            cursor.forEachRemaining(keys::add);
+        }
+        boolean memoryUsage = isMemoryUsageSupported();
+        long bytes = 0;
+        for (int from = 0; from < keys.size(); from += BATCH_SIZE) {
+            List<String> batch = keys.subList(from, Math.min(from + BATCH_SIZE, keys.size()));
+            bytes += memoryUsage ? memoryUsage(batch) : serializedLength(batch);
+        }
+        return new Usage(keys.size(), bytes, memoryUsage ? "memory_usage" : "serialized_length");
+    }
+
+    private boolean isMemoryUsageSupported() {
+        Boolean supported = memoryUsageSupported;
+        if (supported == null) {
+            try {
+                redisTemplate.execute((RedisCallback<Object>) connection ->
+                        connection.execute("MEMORY", USAGE, "memory-probe".getBytes(StandardCharsets.UTF_8)));
+                supported = true;
+            } catch (Exception e) {
+                supported = false;
+            }
+            memoryUsageSupported = supported;
+        }
+        return supported;
+    }
+
+    private long memoryUsage(List<String> keys) {
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            keys.forEach(key -> connection.execute("MEMORY", USAGE, key.getBytes(StandardCharsets.UTF_8)));
+            return null;
+        });
+        long bytes = 0;
+        for (Object result : results) {
+            if (result instanceof Number number) {
+                bytes += number.longValue();
+            }
+        }
+        return bytes;
+    }
+
+    private long serializedLength(List<String> keys) {
+        Long bytes = redisTemplate.execute((RedisCallback<Long>) connection -> {
+            long sum = 0;
+            for (String key : keys) {
+                try {
+                    Object result = connection.execute("DEBUG", OBJECT, key.getBytes(StandardCharsets.UTF_8));
+                    String description = result instanceof byte[] raw
+                            ? new String(raw, StandardCharsets.UTF_8) : String.valueOf(result);
+                    Matcher matcher = SERIALIZED_LENGTH.matcher(description);
+                    if (matcher.find()) {
+                        sum += Long.parseLong(matcher.group(1)) + key.length();
+                    }
+                } catch (Exception e) {
+                    // 측정 중 만료된 키
+                }
+            }
+            return sum;
+        });
+        return bytes != null ? bytes : 0;
+    }
+
+    /**
+     * @param method memory_usage (실제 메모리) 또는 serialized_length (키 길이 + RDB 직렬화 크기)
+     */
+    public record Usage(long keys, long bytes, String method) {
+    }
+}
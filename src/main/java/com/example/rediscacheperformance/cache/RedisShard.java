@@ -0,0 +1,284 @@
+package com.example.rediscacheperformance.cache;
+
+import com.example.rediscacheperformance.config.VirtualThreads;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisCommandTimeoutException;
+import io.lettuce.core.RedisConnectionException;
+import io.lettuce.core.RedisException;
+import io.lettuce.core.SocketOptions;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.cache.BatchStrategies;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * 샤딩 캐시의 Redis 노드 하나 (노드 전용 연결 팩토리와 장애 상태)
+ * 명령이 연결/시간 초과 오류로 실패하면 retry-interval 동안 내려간 노드로 보고 명령을 보내지 않는다(조회는 미스, 저장/삭제는 생략).
+ * 그 밖의 Redis 오류(잘못된 명령, 직렬화 등)는 노드 장애가 아니므로 호출한 쪽으로 그대로 던진다.
+ * 재시도 시각이 지나면 복구 작업 하나를 백그라운드 스레드로 띄워 노드의 샤딩 캐시 키를 SCAN으로 모두 지운 뒤 다시 사용한다.
+ * 내려가 있는 동안 놓친 무효화로 오래된 값이 남았을 수 있기 때문이며, 지우는 동안에도 노드는 내려간 상태로 두어
+ * 요청 스레드가 키 삭제를 기다리거나 오래된 값을 읽지 않게 한다.
+ */
+@Slf4j
+public class RedisShard {
+
+    private static final int SCAN_BATCH_SIZE = 500;
+    private static final ThreadFactory RECOVERY_THREADS = VirtualThreads.platformThreadFactory("redis-shard-recovery");
+
+    private final String name;
+    private final String keyPattern;
+    private final long retryIntervalNanos;
+    private final LettuceConnectionFactory connectionFactory;
+    private final RedisCacheWriter cacheWriter;
+
+    private final Counter commands;
+    private final Counter failovers;
+    private final Counter recoveries;
+    private final AtomicBoolean recovering = new AtomicBoolean();
+
+    private volatile boolean down;
+    private volatile long retryAt;
+    private volatile String lastError;
+
+    /**
+     * @param keyPattern 이 노드에서 샤딩 캐시가 쓰는 키 패턴 (복구/재배치 시 SCAN 대상)
+     */
+    public RedisShard(String host, int port, String keyPattern, Duration timeout, Duration retryInterval,
+                      MeterRegistry meterRegistry) {
+        this.name = host + ":" + port;
+        this.keyPattern = keyPattern;
+        this.retryIntervalNanos = retryInterval.toNanos();
+        // 끊긴 연결에 명령을 쌓아 두지 않고 바로 실패시켜 장애 노드 조회가 시간 초과까지 기다리지 않게 한다
+        LettuceClientConfiguration clientConfiguration = LettuceClientConfiguration.builder()
+                .commandTimeout(timeout)
+                .clientOptions(ClientOptions.builder()
+                        .socketOptions(SocketOptions.builder().connectTimeout(timeout).build())
+                        .disconnectedBehavior(ClientOptions.DisconnectedBehavior.REJECT_COMMANDS)
+                        .build())
+                .build();
+        this.connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(host, port),
+                clientConfiguration);
+        this.connectionFactory.afterPropertiesSet();
+        this.connectionFactory.start();
+        this.cacheWriter = RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory,
+                BatchStrategies.scan(SCAN_BATCH_SIZE));
+        this.commands = Counter.builder("cache.shard.commands")
+                .description("Cache commands sent to a Redis shard")
+                .tag("node", name)
+                .register(meterRegistry);
+        this.failovers = Counter.builder("cache.shard.failover")
+                .description("Cache commands answered as a miss or skipped because the shard was down")
+                .tag("node", name)
+                .register(meterRegistry);
+        this.recoveries = Counter.builder("cache.shard.recoveries")
+                .tag("node", name)
+                .register(meterRegistry);
+        Gauge.builder("cache.shard.up", this, shard -> shard.down ? 0 : 1)
+                .tag("node", name)
+                .register(meterRegistry);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isDown() {
+        return down;
+    }
+
+    /**
+     * 노드 캐시 writer로 명령 실행 (내려간 노드거나 명령이 연결 오류로 실패하면 fallback)
+     *
+     * @throws DataAccessException 연결/시간 초과가 아닌 오류
+     */
+    public <T> T execute(Function<RedisCacheWriter, T> command, T fallback) {
+        if (!isAvailable()) {
+            failovers.increment();
+            return fallback;
+        }
+        commands.increment();
+        try {
+            return command.apply(cacheWriter);
+        } catch (DataAccessException e) {
+            if (!isNodeFailure(e)) {
+                throw e;
+            }
+            markDown(e);
+            failovers.increment();
+            return fallback;
+        }
+    }
+
+    /**
+     * 노드 연결로 명령 실행 (MGET, 파이프라인처럼 writer에 없는 명령)
+     */
+    public <T> T executeWithConnection(Function<RedisConnection, T> command, Supplier<T> fallback) {
+        if (!isAvailable()) {
+            failovers.increment();
+            return fallback.get();
+        }
+        commands.increment();
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            return command.apply(connection);
+        } catch (DataAccessException e) {
+            if (!isNodeFailure(e)) {
+                throw e;
+            }
+            markDown(e);
+            failovers.increment();
+            return fallback.get();
+        }
+    }
+
+    /**
+     * 비동기 명령이 실패했을 때 (연결/시간 초과 오류면 내려간 노드로 표시)
+     */
+    public void failed(Throwable error) {
+        if (isNodeFailure(error)) {
+            markDown(error);
+        }
+        failovers.increment();
+    }
+
+    /**
+     * 비동기 명령을 보내기 전 확인 (내려간 노드면 false, 보낸 명령 수를 센다)
+     */
+    public boolean tryAcquire() {
+        if (!isAvailable()) {
+            failovers.increment();
+            return false;
+        }
+        commands.increment();
+        return true;
+    }
+
+    public RedisCacheWriter getCacheWriter() {
+        return cacheWriter;
+    }
+
+    /**
+     * 샤딩 캐시 키 중 filter에 맞는 키를 SCAN으로 찾아 지운다 (재배치, 복구)
+     *
+     * @return 지운 키 수
+     * @throws DataAccessException 노드에 연결할 수 없는 경우
+     */
+    public long deleteKeys(Predicate<byte[]> filter) {
+        long deleted = 0;
+        ScanOptions options = ScanOptions.scanOptions().match(keyPattern).count(SCAN_BATCH_SIZE).build();
+        try (RedisConnection connection = connectionFactory.getConnection();
+             Cursor<byte[]> cursor = connection.keyCommands().scan(options)) {
+            List<byte[]> batch = new ArrayList<>(SCAN_BATCH_SIZE);
+            while (cursor.hasNext()) {
+                byte[] key = cursor.next();
+                if (filter.test(key)) {
+                    batch.add(key);
+                }
+                if (batch.size() == SCAN_BATCH_SIZE) {
+                    deleted += delete(connection, batch);
+                }
+            }
+            deleted += delete(connection, batch);
+        }
+        return deleted;
+    }
+
+    private static long delete(RedisConnection connection, List<byte[]> keys) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        Long deleted = connection.keyCommands().del(keys.toArray(new byte[0][]));
+        keys.clear();
+        return deleted != null ? deleted : 0;
+    }
+
+    /**
+     * 올라와 있으면 true, 내려가 있고 재시도 시각이 지났으면 복구 작업을 띄운다 (복구가 끝날 때까지는 false)
+     */
+    private boolean isAvailable() {
+        if (!down) {
+            return true;
+        }
+        if (System.nanoTime() - retryAt >= 0 && recovering.compareAndSet(false, true)) {
+            RECOVERY_THREADS.newThread(this::recover).start();
+        }
+        return false;
+    }
+
+    private void recover() {
+        try {
+            long dropped = deleteKeys(key -> true);
+            down = false;
+            recoveries.increment();
+            log.info("Redis shard {} is back, dropped {} possibly stale keys", name, dropped);
+        } catch (DataAccessException e) {
+            retryAt = System.nanoTime() + retryIntervalNanos;
+            lastError = e.getMostSpecificCause().getMessage();
+        } finally {
+            recovering.set(false);
+        }
+    }
+
+    /**
+     * 노드 장애로 볼 오류인지 (연결 실패, 시간 초과. 변환 전 Lettuce 예외나 감싼 예외도 원인을 따라가 확인)
+     * 끊긴 연결에서 거절된 명령은 Lettuce가 하위 타입 없는 RedisException으로 던지므로 그 타입만 따로 본다
+     * (서버가 돌려준 오류는 RedisCommandExecutionException이라 장애로 보지 않음).
+     */
+    private static boolean isNodeFailure(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RedisConnectionFailureException || cause instanceof QueryTimeoutException
+                    || cause instanceof RedisConnectionException || cause instanceof RedisCommandTimeoutException
+                    || cause.getClass() == RedisException.class) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void markDown(Throwable error) {
+        retryAt = System.nanoTime() + retryIntervalNanos;
+        lastError = NestedExceptionUtils.getMostSpecificCause(error).getMessage();
+        if (!down) {
+            down = true;
+            log.warn("Redis shard {} marked down, treating its keys as misses: {}", name, lastError);
+        }
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("up", !down);
+        statistics.put("commands", (long) commands.count());
+        statistics.put("failovers", (long) failovers.count());
+        statistics.put("recoveries", (long) recoveries.count());
+        if (lastError != null) {
+            statistics.put("lastError", lastError);
+        }
+        return statistics;
+    }
+
+    public void destroy() {
+        connectionFactory.destroy();
+    }
+}
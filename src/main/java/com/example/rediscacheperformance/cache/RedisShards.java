@@ -0,0 +1,152 @@
+package com.example.rediscacheperformance.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.DataAccessException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 샤딩 캐시의 Redis 노드 목록과 consistent hashing 링
+ * 링에는 앞에서부터 activeNodes개의 노드만 올리며, 실행 중 resize()로 노드를 더하거나 뺄 수 있다.
+ * 노드가 없으면(샤딩 비활성화) 빈 목록이고 sharded 백엔드는 등록되지 않는다.
+ */
+@Slf4j
+public class RedisShards implements DisposableBean {
+
+    private final List<RedisShard> shards;
+    private final List<String> names;
+    private final int virtualNodes;
+
+    /**
+     * 키 -> 노드 배정 (노드가 없으면 null)
+     */
+    private volatile ConsistentHashRing ring;
+
+    /**
+     * @param nodes        host:port 목록 (링에 오르는 순서)
+     * @param keyPrefix    샤딩 캐시 키 접두사 (다른 백엔드와 같은 Redis를 써도 키가 섞이지 않게 함)
+     * @param activeNodes  처음 링에 올릴 노드 수 (0 이하면 전체)
+     * @throws IllegalArgumentException host:port 형식이 아니거나 같은 노드가 두 번 있는 경우
+     */
+    public RedisShards(List<String> nodes, int activeNodes, int virtualNodes, String keyPrefix, Duration timeout,
+                       Duration retryInterval, MeterRegistry meterRegistry) {
+        List<RedisShard> created = new ArrayList<>();
+        List<String> nodeNames = new ArrayList<>();
+        for (String node : nodes) {
+            int separator = node.lastIndexOf(':');
+            if (separator <= 0 || separator == node.length() - 1) {
+                throw new IllegalArgumentException("Redis shard must be host:port: " + node);
+            }
+            RedisShard shard = new RedisShard(node.substring(0, separator).strip(),
+                    Integer.parseInt(node.substring(separator + 1).strip()), keyPrefix + "*", timeout, retryInterval,
+                    meterRegistry);
+            if (nodeNames.contains(shard.getName())) {
+                throw new IllegalArgumentException("Duplicate Redis shard: " + shard.getName());
+            }
+            created.add(shard);
+            nodeNames.add(shard.getName());
+        }
+        this.shards = Collections.unmodifiableList(created);
+        this.names = Collections.unmodifiableList(nodeNames);
+        this.virtualNodes = virtualNodes;
+        if (!shards.isEmpty()) {
+            int active = activeNodes <= 0 ? shards.size() : Math.min(activeNodes, shards.size());
+            this.ring = new ConsistentHashRing(names.subList(0, active), virtualNodes);
+        }
+        Gauge.builder("cache.shard.active", this, RedisShards::getActiveNodes).register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return !shards.isEmpty();
+    }
+
+    public List<RedisShard> getShards() {
+        return shards;
+    }
+
+    public int getActiveNodes() {
+        ConsistentHashRing current = ring;
+        return current != null ? current.getNodeCount() : 0;
+    }
+
+    /**
+     * 직렬화된 캐시 키를 맡는 노드
+     */
+    public RedisShard route(byte[] key) {
+        return shards.get(ring.nodeFor(key));
+    }
+
+    /**
+     * 링에 올릴 노드 수를 바꾸고, 새 링에서 자기 노드가 아닌 키를 각 노드에서 지운다
+     * 옮겨 간 키는 새 노드에서 한 번 미스가 되고, 예전 노드에 남은 사본이 나중에 링이 되돌아왔을 때 오래된 값으로 읽히지 않는다.
+     * 재배치 중 들어온 저장은 어느 링 기준으로든 남을 수 있으므로 부하가 없을 때(벤치마크 실행 사이) 쓴다.
+     *
+     * @return 노드별 지운 키 수와 소요 시간
+     * @throws IllegalArgumentException 1 ~ 노드 수 범위 밖
+     */
+    public synchronized Map<String, Object> resize(int activeNodes) {
+        if (activeNodes < 1 || activeNodes > shards.size()) {
+            throw new IllegalArgumentException("activeNodes must be between 1 and " + shards.size() + ": " + activeNodes);
+        }
+        long start = System.nanoTime();
+        ConsistentHashRing next = new ConsistentHashRing(names.subList(0, activeNodes), virtualNodes);
+        ring = next;
+        Map<String, Object> dropped = new LinkedHashMap<>();
+        for (int i = 0; i < shards.size(); i++) {
+            RedisShard shard = shards.get(i);
+            int node = i;
+            try {
+                dropped.put(shard.getName(), shard.isDown() ? "down"
+                        : shard.deleteKeys(key -> node >= activeNodes || next.nodeFor(key) != node));
+            } catch (DataAccessException e) {
+                dropped.put(shard.getName(), "failed: " + e.getMessage());
+            }
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("activeNodes", activeNodes);
+        result.put("droppedKeys", dropped);
+        result.put("elapsedMs", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        log.info("Redis shard ring resized: {}", result);
+        return result;
+    }
+
+    /**
+     * 노드별 지금까지 보낸 명령 수 (벤치마크 구간의 노드별 부하 비율 계산용)
+     */
+    public Map<String, Long> getCommandCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        shards.forEach(shard -> counts.put(shard.getName(), (Long) shard.getStatistics().get("commands")));
+        return counts;
+    }
+
+    public Map<String, Object> getStatistics() {
+        int active = getActiveNodes();
+        Map<String, Object> nodes = new LinkedHashMap<>();
+        for (int i = 0; i < shards.size(); i++) {
+            Map<String, Object> node = new LinkedHashMap<>();
+            node.put("active", i < active);
+            node.putAll(shards.get(i).getStatistics());
+            nodes.put(shards.get(i).getName(), node);
+        }
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("enabled", isEnabled());
+        statistics.put("activeNodes", active);
+        statistics.put("virtualNodes", virtualNodes);
+        statistics.put("nodes", nodes);
+        return statistics;
+    }
+
+    @Override
+    public void destroy() {
+        shards.forEach(RedisShard::destroy);
+    }
+}
@@ -0,0 +1,353 @@
+package com.example.rediscacheperformance.cache;
+
+import com.example.rediscacheperformance.dto.SampleDataPage;
+import com.example.rediscacheperformance.entity.SampleData;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * SampleData / List&lt;SampleData&gt; / SampleDataPage 전용 바이너리 직렬화
+ *
+ * <pre>
+ * [MAGIC 0xCB][FLAGS][payload]          FLAGS bit0 = deflate 압축 여부
+ * payload = [TYPE][body]
+ *   TYPE_NULL    : Spring 캐시 null 값
+ *   TYPE_SAMPLE  : SampleData 1건
+ *   TYPE_LIST    : [size varint][SampleData...]  (category는 목록 내 사전 인덱스로 기록)
+ *   TYPE_PAGE    : [nextCursor 유무 byte][nextCursor zigzag][TYPE_LIST body]
+ *   TYPE_FALLBACK: 그 외 타입은 fallback 직렬화 결과를 그대로 담는다
+ * </pre>
+ * MAGIC으로 시작하지 않는 값은 헤더 도입 전 JSON으로 보고 fallback으로 읽으므로 기존 항목도 그대로 읽힌다.
+ */
+public class SampleDataBinarySerializer implements RedisSerializer<Object> {
+
+    static final byte MAGIC = (byte) 0xCB;
+    private static final byte FLAG_COMPRESSED = 0x01;
+
+    private static final byte TYPE_NULL = 0;
+    private static final byte TYPE_SAMPLE = 1;
+    private static final byte TYPE_LIST = 2;
+    private static final byte TYPE_FALLBACK = 3;
+    private static final byte TYPE_PAGE = 4;
+
+    private static final int HAS_ID = 1;
+    private static final int HAS_NAME = 1 << 1;
+    private static final int HAS_DESCRIPTION = 1 << 2;
+    private static final int HAS_PRICE = 1 << 3;
+    private static final int HAS_CATEGORY = 1 << 4;
+    private static final int HAS_CREATED_AT = 1 << 5;
+    private static final int NULL_ELEMENT = 1 << 7;
+
+    private final RedisSerializer<Object> fallback;
+    private final int compressionThreshold;
+    private final int compressionLevel;
+
+    /**
+     * @param fallback             SampleData가 아닌 값과 헤더 없는 기존 JSON 항목을 처리할 직렬화
+     * @param compressionThreshold 이 바이트 수를 넘는 payload는 deflate로 압축
+     * @param compressionLevel     deflate 압축 레벨 (1 = 가장 빠름)
+     */
+    public SampleDataBinarySerializer(RedisSerializer<Object> fallback, int compressionThreshold, int compressionLevel) {
+        this.fallback = fallback;
+        this.compressionThreshold = compressionThreshold;
+        this.compressionLevel = compressionLevel;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        Writer payload = new Writer();
+        if (value == null || value instanceof NullValue) {
+            payload.write(TYPE_NULL);
+        } else if (value instanceof SampleData sampleData) {
+            payload.write(TYPE_SAMPLE);
+            writeSampleData(payload, sampleData, null);
+        } else if (value instanceof List<?> list && list.stream().allMatch(e -> e == null || e instanceof SampleData)) {
+            payload.write(TYPE_LIST);
+            writeList(payload, list);
+        } else if (value instanceof SampleDataPage page) {
+            payload.write(TYPE_PAGE);
+            payload.write((byte) (page.nextCursor() != null ? 1 : 0));
+            if (page.nextCursor() != null) {
+                payload.writeZigZag(page.nextCursor());
+            }
+            writeList(payload, page.items());
+        } else {
+            payload.write(TYPE_FALLBACK);
+            payload.writeBytes(fallback.serialize(value));
+        }
+
+        byte[] body = payload.toByteArray();
+        boolean compress = body.length > compressionThreshold;
+        if (compress) {
+            body = deflate(body);
+        }
+        byte[] bytes = new byte[body.length + 2];
+        bytes[0] = MAGIC;
+        bytes[1] = compress ? FLAG_COMPRESSED : 0;
+        System.arraycopy(body, 0, bytes, 2, body.length);
+        return bytes;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            // 헤더 도입 전 JSON 항목
+            return fallback.deserialize(bytes);
+        }
+        byte[] body = (bytes[1] & FLAG_COMPRESSED) != 0
+                ? inflate(bytes, 2)
+                : Arrays.copyOfRange(bytes, 2, bytes.length);
+        Reader reader = new Reader(body);
+        byte type = reader.read();
+        return switch (type) {
+            case TYPE_NULL -> NullValue.INSTANCE;
+            case TYPE_SAMPLE -> readSampleData(reader, null);
+            case TYPE_LIST -> readList(reader);
+            case TYPE_PAGE -> {
+                Long nextCursor = reader.read() != 0 ? reader.readZigZag() : null;
+                yield new SampleDataPage(readList(reader), nextCursor);
+            }
+            case TYPE_FALLBACK -> fallback.deserialize(reader.remaining());
+            default -> throw new SerializationException("Unknown cache value type: " + type);
+        };
+    }
+
+    private static void writeList(Writer writer, List<?> list) {
+        writer.writeVarLong(list.size());
+        Map<String, Integer> categories = new HashMap<>();
+        for (Object element : list) {
+            writeSampleData(writer, (SampleData) element, categories);
+        }
+    }
+
+    private static List<SampleData> readList(Reader reader) {
+        long size = reader.readVarLong();
+        // 항목마다 최소 1바이트(필드 마스크)이므로 남은 바이트보다 크면 손상된 값 (큰 배열을 할당하기 전에 거절)
+        if (size < 0 || size > reader.available()) {
+            throw new SerializationException("Corrupt list size in cache value: " + size);
+        }
+        List<SampleData> list = new ArrayList<>((int) size);
+        List<String> categories = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            list.add(readSampleData(reader, categories));
+        }
+        return list;
+    }
+
+    private static void writeSampleData(Writer writer, SampleData sampleData, Map<String, Integer> categories) {
+        if (sampleData == null) {
+            writer.write((byte) NULL_ELEMENT);
+            return;
+        }
+        int mask = (sampleData.getId() != null ? HAS_ID : 0)
+                | (sampleData.getName() != null ? HAS_NAME : 0)
+                | (sampleData.getDescription() != null ? HAS_DESCRIPTION : 0)
+                | (sampleData.getPrice() != null ? HAS_PRICE : 0)
+                | (sampleData.getCategory() != null ? HAS_CATEGORY : 0)
+                | (sampleData.getCreatedAt() != null ? HAS_CREATED_AT : 0);
+        writer.write((byte) mask);
+        if (sampleData.getId() != null) {
+            writer.writeZigZag(sampleData.getId());
+        }
+        if (sampleData.getName() != null) {
+            writer.writeString(sampleData.getName());
+        }
+        if (sampleData.getDescription() != null) {
+            writer.writeString(sampleData.getDescription());
+        }
+        if (sampleData.getPrice() != null) {
+            writer.writeZigZag(sampleData.getPrice());
+        }
+        if (sampleData.getCategory() != null) {
+            if (categories == null) {
+                writer.writeString(sampleData.getCategory());
+            } else {
+                // 목록 안에서 처음 나온 카테고리만 문자열로 기록하고 이후에는 인덱스만 기록
+                Integer index = categories.get(sampleData.getCategory());
+                if (index != null) {
+                    writer.writeVarLong(index);
+                } else {
+                    writer.writeVarLong(categories.size());
+                    writer.writeString(sampleData.getCategory());
+                    categories.put(sampleData.getCategory(), categories.size());
+                }
+            }
+        }
+        if (sampleData.getCreatedAt() != null) {
+            writer.writeZigZag(sampleData.getCreatedAt().toEpochSecond(ZoneOffset.UTC));
+            writer.writeVarLong(sampleData.getCreatedAt().getNano());
+        }
+    }
+
+    private static SampleData readSampleData(Reader reader, List<String> categories) {
+        int mask = reader.read() & 0xFF;
+        if ((mask & NULL_ELEMENT) != 0) {
+            return null;
+        }
+        SampleData sampleData = new SampleData();
+        if ((mask & HAS_ID) != 0) {
+            sampleData.setId(reader.readZigZag());
+        }
+        if ((mask & HAS_NAME) != 0) {
+            sampleData.setName(reader.readString());
+        }
+        if ((mask & HAS_DESCRIPTION) != 0) {
+            sampleData.setDescription(reader.readString());
+        }
+        if ((mask & HAS_PRICE) != 0) {
+            sampleData.setPrice((int) reader.readZigZag());
+        }
+        if ((mask & HAS_CATEGORY) != 0) {
+            if (categories == null) {
+                sampleData.setCategory(reader.readString());
+            } else {
+                int index = (int) reader.readVarLong();
+                if (index == categories.size()) {
+                    categories.add(reader.readString());
+                }
+                sampleData.setCategory(categories.get(index));
+            }
+        }
+        if ((mask & HAS_CREATED_AT) != 0) {
+            long epochSecond = reader.readZigZag();
+            int nano = (int) reader.readVarLong();
+            sampleData.setCreatedAt(LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC));
+        }
+        return sampleData;
+    }
+
+    private byte[] deflate(byte[] body) {
+        Deflater deflater = new Deflater(compressionLevel);
+        try {
+            deflater.setInput(body);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 2 + 16);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] bytes, int offset) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bytes, offset, bytes.length - offset);
+            ByteArrayOutputStream out = new ByteArrayOutputStream((bytes.length - offset) * 4);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int read = inflater.inflate(buffer);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new SerializationException("Truncated compressed cache value");
+                }
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new SerializationException("Corrupt compressed cache value", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static final class Writer extends ByteArrayOutputStream {
+
+        private Writer() {
+            super(256);
+        }
+
+        private void write(byte value) {
+            super.write(value);
+        }
+
+        private void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                super.write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            super.write((int) value);
+        }
+
+        private void writeZigZag(long value) {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        private void writeString(String value) {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(utf8.length);
+            writeBytes(utf8);
+        }
+    }
+
+    private static final class Reader {
+
+        private final byte[] bytes;
+        private int position;
+
+        private Reader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        private byte read() {
+            if (position >= bytes.length) {
+                throw new SerializationException("Truncated cache value");
+            }
+            return bytes[position++];
+        }
+
+        private long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = read();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new SerializationException("Malformed varint in cache value");
+        }
+
+        private long readZigZag() {
+            long value = readVarLong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        private String readString() {
+            int length = (int) readVarLong();
+            if (length < 0 || position + length > bytes.length) {
+                throw new SerializationException("Truncated cache value");
+            }
+            String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        private int available() {
+            return bytes.length - position;
+        }
+
+        private byte[] remaining() {
+            return Arrays.copyOfRange(bytes, position, bytes.length);
+        }
+    }
+}
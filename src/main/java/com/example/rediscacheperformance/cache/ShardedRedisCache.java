@@ -0,0 +1,91 @@
+package com.example.rediscacheperformance.cache;
+
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 여러 Redis 노드에 나눠 저장하는 RedisCache
+ * 다건 조회/저장은 키를 노드별로 묶어 노드마다 MGET / 파이프라인 한 번씩 보낸다.
+ * 내려간 노드의 키는 찾지 못한 키(미스)로 돌려주고 저장하지 않는다.
+ */
+public class ShardedRedisCache extends RedisCache implements BulkCache, PrefixEvictableCache {
+
+    private final RedisShards shards;
+
+    public ShardedRedisCache(String name, ShardedRedisCacheWriter cacheWriter,
+                             RedisCacheConfiguration cacheConfiguration) {
+        super(name, cacheWriter, cacheConfiguration);
+        this.shards = cacheWriter.getShards();
+    }
+
+    @Override
+    public Map<Object, ValueWrapper> getAll(Collection<?> keys) {
+        Map<Object, ValueWrapper> found = new LinkedHashMap<>();
+        groupByShard(keys).forEach((shard, shardKeys) -> {
+            List<Object> cacheKeys = new ArrayList<>(shardKeys.keySet());
+            List<byte[]> values = shard.executeWithConnection(
+                    connection -> connection.stringCommands().mGet(shardKeys.values().toArray(new byte[0][])),
+                    List::of);
+            if (values == null) {
+                return;
+            }
+            for (int i = 0; i < values.size(); i++) {
+                byte[] value = values.get(i);
+                if (value != null) {
+                    found.put(cacheKeys.get(i), toValueWrapper(deserializeCacheValue(value)));
+                }
+            }
+        });
+        return found;
+    }
+
+    @Override
+    public void putAll(Map<?, ?> entries) {
+        groupByShard(entries.keySet()).forEach((shard, shardKeys) -> shard.executeWithConnection(connection -> {
+            connection.openPipeline();
+            try {
+                shardKeys.forEach((key, redisKey) -> {
+                    Object value = entries.get(key);
+                    Object storeValue = preProcessCacheValue(value);
+                    if (storeValue == null) {
+                        throw new IllegalArgumentException(String.format(
+                                "Cache '%s' does not allow 'null' values", getName()));
+                    }
+                    Duration ttl = getCacheConfiguration().getTtlFunction().getTimeToLive(key, value);
+                    connection.stringCommands().set(redisKey, serializeCacheValue(storeValue),
+                            ttl.isZero() || ttl.isNegative() ? Expiration.persistent() : Expiration.from(ttl),
+                            RedisStringCommands.SetOption.upsert());
+                });
+            } finally {
+                connection.closePipeline();
+            }
+            return null;
+        }, () -> null));
+    }
+
+    @Override
+    public void evictByPrefix(String keyPrefix) {
+        clear(PrefixEvictableCache.globPattern(keyPrefix));
+    }
+
+    /**
+     * 노드 -> (캐시 키 -> 직렬화된 Redis 키), 중복 키는 한 번만
+     */
+    private Map<RedisShard, Map<Object, byte[]>> groupByShard(Collection<?> keys) {
+        Map<RedisShard, Map<Object, byte[]>> byShard = new LinkedHashMap<>();
+        for (Object key : keys) {
+            byte[] redisKey = serializeCacheKey(createCacheKey(key));
+            byShard.computeIfAbsent(shards.route(redisKey), shard -> new LinkedHashMap<>()).put(key, redisKey);
+        }
+        return byShard;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.rediscacheperformance.cache;
+
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+
+import java.util.Map;
+
+/**
+ * ShardedRedisCache를 만드는 RedisCacheManager (sharded 백엔드)
+ */
+public class ShardedRedisCacheManager extends RedisCacheManager {
+
+    private final ShardedRedisCacheWriter cacheWriter;
+
+    public ShardedRedisCacheManager(RedisShards shards, RedisCacheConfiguration defaultCacheConfiguration,
+                                    Map<String, RedisCacheConfiguration> initialCacheConfigurations) {
+        this(new ShardedRedisCacheWriter(shards), defaultCacheConfiguration, initialCacheConfigurations);
+    }
+
+    private ShardedRedisCacheManager(ShardedRedisCacheWriter cacheWriter,
+                                     RedisCacheConfiguration defaultCacheConfiguration,
+                                     Map<String, RedisCacheConfiguration> initialCacheConfigurations) {
+        super(cacheWriter, defaultCacheConfiguration, initialCacheConfigurations);
+        this.cacheWriter = cacheWriter;
+    }
+
+    @Override
+    protected RedisCache createRedisCache(String name, RedisCacheConfiguration cacheConfiguration) {
+        return new ShardedRedisCache(name, cacheWriter, cacheConfiguration);
+    }
+}
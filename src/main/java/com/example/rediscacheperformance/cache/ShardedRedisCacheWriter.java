@@ -0,0 +1,144 @@
+package com.example.rediscacheperformance.cache;
+
+import org.springframework.data.redis.cache.CacheStatistics;
+import org.springframework.data.redis.cache.CacheStatisticsCollector;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 키를 consistent hashing으로 고른 Redis 노드에 보내는 RedisCacheWriter
+ * 노드별 명령은 RedisShard가 실행하며, 내려간 노드의 조회는 미스, 저장/삭제는 생략된다(예외를 던지지 않음).
+ * clean(캐시 비우기)은 키가 어느 노드에 있는지 모르므로 올라와 있는 모든 노드에 보낸다
+ * (노드 writer가 SCAN으로 지우며, 내려간 노드의 키는 복구 시 모두 지워진다).
+ */
+public class ShardedRedisCacheWriter implements RedisCacheWriter {
+
+    private final RedisShards shards;
+    private final CacheStatisticsCollector statistics;
+
+    public ShardedRedisCacheWriter(RedisShards shards) {
+        this(shards, CacheStatisticsCollector.none());
+    }
+
+    private ShardedRedisCacheWriter(RedisShards shards, CacheStatisticsCollector statistics) {
+        this.shards = shards;
+        this.statistics = statistics;
+    }
+
+    public RedisShards getShards() {
+        return shards;
+    }
+
+    @Override
+    public byte[] get(String name, byte[] key) {
+        return recordGet(name, shards.route(key).execute(writer -> writer.get(name, key), null));
+    }
+
+    @Override
+    public byte[] get(String name, byte[] key, Duration ttl) {
+        return recordGet(name, shards.route(key).execute(writer -> writer.get(name, key, ttl), null));
+    }
+
+    private byte[] recordGet(String name, byte[] value) {
+        statistics.incGets(name);
+        if (value != null) {
+            statistics.incHits(name);
+        } else {
+            statistics.incMisses(name);
+        }
+        return value;
+    }
+
+    @Override
+    public boolean supportsAsyncRetrieve() {
+        return shards.getShards().stream().allMatch(shard -> shard.getCacheWriter().supportsAsyncRetrieve());
+    }
+
+    @Override
+    public CompletableFuture<byte[]> retrieve(String name, byte[] key, Duration ttl) {
+        RedisShard shard = shards.route(key);
+        if (!shard.tryAcquire()) {
+            return CompletableFuture.completedFuture(recordGet(name, null));
+        }
+        return shard.getCacheWriter().retrieve(name, key, ttl)
+                .exceptionally(error -> {
+                    shard.failed(error.getCause() != null ? error.getCause() : error);
+                    return null;
+                })
+                .thenApply(value -> recordGet(name, value));
+    }
+
+    @Override
+    public void put(String name, byte[] key, byte[] value, Duration ttl) {
+        shards.route(key).execute(writer -> {
+            writer.put(name, key, value, ttl);
+            statistics.incPuts(name);
+            return null;
+        }, null);
+    }
+
+    @Override
+    public CompletableFuture<Void> store(String name, byte[] key, byte[] value, Duration ttl) {
+        RedisShard shard = shards.route(key);
+        if (!shard.tryAcquire()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return shard.getCacheWriter().store(name, key, value, ttl)
+                .handle((result, error) -> {
+                    if (error != null) {
+                        shard.failed(error.getCause() != null ? error.getCause() : error);
+                    } else {
+                        statistics.incPuts(name);
+                    }
+                    return null;
+                });
+    }
+
+    /**
+     * 노드가 내려가 있으면 저장하지 않고 null(저장됨)을 돌려준다
+     */
+    @Override
+    public byte[] putIfAbsent(String name, byte[] key, byte[] value, Duration ttl) {
+        byte[] existing = shards.route(key).execute(writer -> writer.putIfAbsent(name, key, value, ttl), null);
+        if (existing == null) {
+            statistics.incPuts(name);
+        }
+        return existing;
+    }
+
+    @Override
+    public void remove(String name, byte[] key) {
+        shards.route(key).execute(writer -> {
+            writer.remove(name, key);
+            statistics.incDeletes(name);
+            return null;
+        }, null);
+    }
+
+    @Override
+    public void clean(String name, byte[] pattern) {
+        for (RedisShard shard : shards.getShards()) {
+            shard.execute(writer -> {
+                writer.clean(name, pattern);
+                return null;
+            }, null);
+        }
+    }
+
+    @Override
+    public void clearStatistics(String name) {
+        statistics.reset(name);
+    }
+
+    @Override
+    public RedisCacheWriter withStatisticsCollector(CacheStatisticsCollector cacheStatisticsCollector) {
+        return new ShardedRedisCacheWriter(shards, cacheStatisticsCollector);
+    }
+
+    @Override
+    public CacheStatistics getCacheStatistics(String cacheName) {
+        return statistics.getCacheStatistics(cacheName);
+    }
+}
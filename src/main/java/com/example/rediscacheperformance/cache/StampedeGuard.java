@@ -0,0 +1,278 @@
+package com.example.rediscacheperformance.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * 캐시 하나의 스탬피드 방지
+ * <ul>
+ *     <li>single-flight: 같은 키의 동시 미스는 한 스레드만 적재하고 나머지는 그 결과를 기다린다</li>
+ *     <li>Redis 임대(선택): 여러 노드 중 임대를 얻은 노드만 적재하고 나머지는 캐시에 값이 생길 때까지 기다린다</li>
+ *     <li>조기 갱신(XFetch): 적중 시 적재 시간(delta)과 남은 TTL로 확률적으로 만료 전에 백그라운드 갱신한다</li>
+ * </ul>
+ * 조기 갱신 판단에 쓰는 적재 시간/만료 시각은 이 노드가 적재한 키만 기억한다.
+ * 조기 갱신은 원래 호출이 끝난 뒤 같은 loader(대상 메서드)를 갱신 스레드에서 다시 실행한다.
+ */
+@Slf4j
+public class StampedeGuard {
+
+    /**
+     * 조기 갱신이 임대를 얻지 못해 건너뛰었음을 기다리던 스레드에 알리는 값 (기다리던 스레드는 직접 다시 시도)
+     */
+    private static final Object SKIPPED = new Object();
+
+    private final Cache cache;
+    private final RedisLoadLease lease;
+    private final Duration leaseTimeout;
+    private final long leasePollNanos;
+    private final boolean earlyRefreshEnabled;
+    private final double earlyRefreshBeta;
+    private final long ttlNanos;
+    private final int maxTrackedKeys;
+    private final Executor refreshExecutor;
+
+    private final ConcurrentMap<Object, CompletableFuture<Object>> inflight = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Object, LoadedEntry> loadedEntries = new ConcurrentHashMap<>();
+
+    private final Counter loads;
+    private final Counter coalesced;
+    private final Counter leaseWaits;
+    private final Counter leaseTimeouts;
+    private final Counter earlyRefreshes;
+    private final Counter earlyRefreshSkips;
+
+    /**
+     * @param cache           재확인/대기 중 조회에 쓸 하위 캐시 (메트릭 기록 없이 조회)
+     * @param lease           노드 간 임대 (사용하지 않으면 null)
+     * @param ttl             캐시 항목 TTL (조기 갱신 만료 시각 계산)
+     * @param refreshExecutor 조기 갱신 실행기
+     */
+    public StampedeGuard(Cache cache, RedisLoadLease lease, Duration leaseTimeout, Duration leasePollInterval,
+                         boolean earlyRefreshEnabled, double earlyRefreshBeta, Duration ttl, int maxTrackedKeys,
+                         Executor refreshExecutor, MeterRegistry meterRegistry) {
+        this.cache = cache;
+        this.lease = lease;
+        this.leaseTimeout = leaseTimeout;
+        this.leasePollNanos = leasePollInterval.toNanos();
+        this.earlyRefreshEnabled = earlyRefreshEnabled;
+        this.earlyRefreshBeta = earlyRefreshBeta;
+        this.ttlNanos = ttl.toNanos();
+        this.maxTrackedKeys = maxTrackedKeys;
+        this.refreshExecutor = refreshExecutor;
+        this.loads = counter(meterRegistry, "load");
+        this.coalesced = counter(meterRegistry, "coalesced");
+        this.leaseWaits = counter(meterRegistry, "lease_wait");
+        this.leaseTimeouts = counter(meterRegistry, "lease_timeout");
+        this.earlyRefreshes = counter(meterRegistry, "early_refresh");
+        this.earlyRefreshSkips = counter(meterRegistry, "early_refresh_skipped");
+    }
+
+    private Counter counter(MeterRegistry meterRegistry, String event) {
+        return Counter.builder("cache.stampede")
+                .description("Cache stampede protection events")
+                .tags("cache", cache.getName(), "event", event)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 미스 시 적재 (같은 키의 동시 적재는 하나로 합친다)
+     *
+     * @param store 적재한 값을 캐시에 저장하는 함수
+     */
+    public Object load(Object key, Callable<?> loader, Consumer<Object> store) {
+        while (true) {
+            CompletableFuture<Object> flight = new CompletableFuture<>();
+            CompletableFuture<Object> existing = inflight.putIfAbsent(key, flight);
+            if (existing != null) {
+                coalesced.increment();
+                Object value = await(key, loader, existing);
+                if (value != SKIPPED) {
+                    return value;
+                }
+                continue;
+            }
+            try {
+                Object value = loadOnce(key, loader, store);
+                flight.complete(value);
+                return value;
+            } catch (RuntimeException | Error e) {
+                flight.completeExceptionally(e);
+                throw e;
+            } finally {
+                inflight.remove(key, flight);
+            }
+        }
+    }
+
+    /**
+     * 적중 시 XFetch 판단: now - delta * beta * ln(rand) >= expiry 이면 백그라운드 갱신
+     */
+    public void onHit(Object key, Callable<?> loader, Consumer<Object> store) {
+        if (!earlyRefreshEnabled) {
+            return;
+        }
+        LoadedEntry entry = loadedEntries.get(key);
+        if (entry == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (now - entry.expiresAtNanos >= 0) {
+            // Redis 항목은 이미 만료 (로컬 캐시 적중이거나 다른 노드가 다시 적재함)
+            loadedEntries.remove(key, entry);
+            return;
+        }
+        double gap = -entry.deltaNanos * earlyRefreshBeta * Math.log(1.0 - ThreadLocalRandom.current().nextDouble());
+        if (now + gap < entry.expiresAtNanos) {
+            return;
+        }
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        if (inflight.putIfAbsent(key, flight) != null) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> refresh(key, loader, store, flight));
+        } catch (RejectedExecutionException e) {
+            inflight.remove(key, flight);
+            flight.complete(SKIPPED);
+        }
+    }
+
+    public void forget(Object key) {
+        loadedEntries.remove(key);
+    }
+
+    public void forgetByPrefix(String keyPrefix) {
+        loadedEntries.keySet().removeIf(key -> String.valueOf(key).startsWith(keyPrefix));
+    }
+
+    public void clear() {
+        loadedEntries.clear();
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("loads", (long) loads.count());
+        statistics.put("coalescedWaiters", (long) coalesced.count());
+        statistics.put("leaseWaits", (long) leaseWaits.count());
+        statistics.put("leaseTimeouts", (long) leaseTimeouts.count());
+        statistics.put("earlyRefreshes", (long) earlyRefreshes.count());
+        statistics.put("earlyRefreshSkips", (long) earlyRefreshSkips.count());
+        statistics.put("inflight", inflight.size());
+        statistics.put("trackedKeys", loadedEntries.size());
+        return statistics;
+    }
+
+    private Object loadOnce(Object key, Callable<?> loader, Consumer<Object> store) {
+        // 직전 적재가 방금 끝났을 수 있으므로 다시 확인
+        Cache.ValueWrapper current = cache.get(key);
+        if (current != null) {
+            return current.get();
+        }
+        if (lease == null) {
+            return loadAndStore(key, loader, store);
+        }
+        String leaseKey = leaseKey(key);
+        String token = lease.tryAcquire(leaseKey, leaseTimeout);
+        if (token == null) {
+            // 임대를 가진 노드의 적재를 기다리되, 임대가 풀리면(적재 실패/노드 종료) 직접 임대를 얻어 적재
+            leaseWaits.increment();
+            long deadline = System.nanoTime() + leaseTimeout.toNanos();
+            while (token == null) {
+                if (System.nanoTime() - deadline >= 0 || Thread.currentThread().isInterrupted()) {
+                    leaseTimeouts.increment();
+                    return loadAndStore(key, loader, store);
+                }
+                LockSupport.parkNanos(leasePollNanos);
+                Cache.ValueWrapper loaded = cache.get(key);
+                if (loaded != null) {
+                    return loaded.get();
+                }
+                token = lease.tryAcquire(leaseKey, leaseTimeout);
+            }
+        }
+        try {
+            return loadAndStore(key, loader, store);
+        } finally {
+            lease.release(leaseKey, token);
+        }
+    }
+
+    private void refresh(Object key, Callable<?> loader, Consumer<Object> store, CompletableFuture<Object> flight) {
+        String leaseKey = leaseKey(key);
+        String token = null;
+        try {
+            if (lease != null) {
+                token = lease.tryAcquire(leaseKey, leaseTimeout);
+                if (token == null) {
+                    // 다른 노드가 갱신 중이므로 이 노드의 조기 갱신 판단을 멈춘다
+                    earlyRefreshSkips.increment();
+                    loadedEntries.remove(key);
+                    flight.complete(SKIPPED);
+                    return;
+                }
+            }
+            earlyRefreshes.increment();
+            flight.complete(loadAndStore(key, loader, store));
+        } catch (RuntimeException e) {
+            log.warn("Early refresh of cache '{}' key '{}' failed: {}", cache.getName(), key, e.getMessage());
+        } finally {
+            // Error를 포함해 어떤 경로로 끝나도 기다리던 스레드를 깨운다 (이미 완료됐으면 무시됨)
+            flight.complete(SKIPPED);
+            inflight.remove(key, flight);
+            if (token != null) {
+                lease.release(leaseKey, token);
+            }
+        }
+    }
+
+    private Object loadAndStore(Object key, Callable<?> loader, Consumer<Object> store) {
+        long start = System.nanoTime();
+        Object value;
+        try {
+            value = loader.call();
+        } catch (Exception e) {
+            throw new Cache.ValueRetrievalException(key, loader, e);
+        }
+        long loaded = System.nanoTime();
+        store.accept(value);
+        loads.increment();
+        if (earlyRefreshEnabled && (loadedEntries.size() < maxTrackedKeys || loadedEntries.containsKey(key))) {
+            loadedEntries.put(key, new LoadedEntry(loaded - start, loaded + ttlNanos));
+        }
+        return value;
+    }
+
+    private Object await(Object key, Callable<?> loader, CompletableFuture<Object> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new Cache.ValueRetrievalException(key, loader, e.getCause());
+        }
+    }
+
+    private String leaseKey(Object key) {
+        return cache.getName() + "::" + key;
+    }
+
+    private record LoadedEntry(long deltaNanos, long expiresAtNanos) {
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.rediscacheperformance.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 캐시별 StampedeGuard 생성과 공용 조기 갱신 실행기
+ */
+public class StampedeProtection implements AutoCloseable {
+
+    private static final int REFRESH_QUEUE_CAPACITY = 1_000;
+
+    private final RedisLoadLease lease;
+    private final Duration leaseTimeout;
+    private final Duration leasePollInterval;
+    private final boolean earlyRefreshEnabled;
+    private final double earlyRefreshBeta;
+    private final Duration ttl;
+    private final int maxTrackedKeys;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolExecutor refreshExecutor;
+
+    /**
+     * @param lease          노드 간 임대 (사용하지 않으면 null)
+     * @param ttl            캐시 항목 TTL
+     * @param refreshThreads 조기 갱신 동시 실행 수
+     * @param refreshThreadFactory 조기 갱신 스레드 팩토리 (가상 스레드 모드에서는 가상 스레드)
+     */
+    public StampedeProtection(RedisLoadLease lease, Duration leaseTimeout, Duration leasePollInterval,
+                              boolean earlyRefreshEnabled, double earlyRefreshBeta, Duration ttl,
+                              int maxTrackedKeys, int refreshThreads, ThreadFactory refreshThreadFactory,
+                              MeterRegistry meterRegistry) {
+        this.lease = lease;
+        this.leaseTimeout = leaseTimeout;
+        this.leasePollInterval = leasePollInterval;
+        this.earlyRefreshEnabled = earlyRefreshEnabled;
+        this.earlyRefreshBeta = earlyRefreshBeta;
+        this.ttl = ttl;
+        this.maxTrackedKeys = maxTrackedKeys;
+        this.meterRegistry = meterRegistry;
+        // 갱신 요청이 밀리면 거절한다 (갱신하지 못해도 만료 후 미스 경로로 적재됨)
+        this.refreshExecutor = new ThreadPoolExecutor(refreshThreads, refreshThreads,
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(REFRESH_QUEUE_CAPACITY), refreshThreadFactory);
+    }
+
+    public StampedeGuard guard(Cache cache) {
+        return new StampedeGuard(cache, lease, leaseTimeout, leasePollInterval, earlyRefreshEnabled,
+                earlyRefreshBeta, ttl, maxTrackedKeys, refreshExecutor, meterRegistry);
+    }
+
+    @Override
+    public void close() {
+        refreshExecutor.shutdownNow();
+    }
+}
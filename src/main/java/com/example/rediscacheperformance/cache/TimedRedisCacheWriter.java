@@ -0,0 +1,140 @@
+package com.example.rediscacheperformance.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.data.redis.cache.CacheStatistics;
+import org.springframework.data.redis.cache.CacheStatisticsCollector;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis 왕복 시간을 cache.redis.latency{cache, operation} 타이머에 기록하는 RedisCacheWriter 데코레이터
+ * 직렬화가 끝난 바이트만 오가는 계층이므로 값 직렬화 시간(cache.codec.latency)은 포함되지 않는다.
+ */
+public class TimedRedisCacheWriter implements RedisCacheWriter {
+
+    private final RedisCacheWriter delegate;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, Timer> timers;
+
+    public TimedRedisCacheWriter(RedisCacheWriter delegate, MeterRegistry meterRegistry) {
+        this(delegate, meterRegistry, new ConcurrentHashMap<>());
+    }
+
+    private TimedRedisCacheWriter(RedisCacheWriter delegate, MeterRegistry meterRegistry,
+                                  ConcurrentMap<String, Timer> timers) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+        this.timers = timers;
+    }
+
+    /**
+     * start(System.nanoTime())부터 지금까지를 기록 (다건 조회처럼 이 writer를 거치지 않는 명령에도 사용)
+     */
+    public void record(String cacheName, String operation, long start) {
+        timers.computeIfAbsent(cacheName + ':' + operation, key -> Timer.builder("cache.redis.latency")
+                        .description("Redis round-trip time of cache commands")
+                        .tag("cache", cacheName)
+                        .tag("operation", operation)
+                        .register(meterRegistry))
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public byte[] get(String name, byte[] key) {
+        long start = System.nanoTime();
+        try {
+            return delegate.get(name, key);
+        } finally {
+            record(name, "get", start);
+        }
+    }
+
+    @Override
+    public byte[] get(String name, byte[] key, Duration ttl) {
+        long start = System.nanoTime();
+        try {
+            return delegate.get(name, key, ttl);
+        } finally {
+            record(name, "get", start);
+        }
+    }
+
+    @Override
+    public boolean supportsAsyncRetrieve() {
+        return delegate.supportsAsyncRetrieve();
+    }
+
+    @Override
+    public CompletableFuture<byte[]> retrieve(String name, byte[] key, Duration ttl) {
+        long start = System.nanoTime();
+        return delegate.retrieve(name, key, ttl).whenComplete((value, error) -> record(name, "get", start));
+    }
+
+    @Override
+    public void put(String name, byte[] key, byte[] value, Duration ttl) {
+        long start = System.nanoTime();
+        try {
+            delegate.put(name, key, value, ttl);
+        } finally {
+            record(name, "put", start);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> store(String name, byte[] key, byte[] value, Duration ttl) {
+        long start = System.nanoTime();
+        return delegate.store(name, key, value, ttl).whenComplete((result, error) -> record(name, "put", start));
+    }
+
+    @Override
+    public byte[] putIfAbsent(String name, byte[] key, byte[] value, Duration ttl) {
+        long start = System.nanoTime();
+        try {
+            return delegate.putIfAbsent(name, key, value, ttl);
+        } finally {
+            record(name, "put_if_absent", start);
+        }
+    }
+
+    @Override
+    public void remove(String name, byte[] key) {
+        long start = System.nanoTime();
+        try {
+            delegate.remove(name, key);
+        } finally {
+            record(name, "remove", start);
+        }
+    }
+
+    @Override
+    public void clean(String name, byte[] pattern) {
+        long start = System.nanoTime();
+        try {
+            delegate.clean(name, pattern);
+        } finally {
+            record(name, "clean", start);
+        }
+    }
+
+    @Override
+    public void clearStatistics(String name) {
+        delegate.clearStatistics(name);
+    }
+
+    @Override
+    public RedisCacheWriter withStatisticsCollector(CacheStatisticsCollector cacheStatisticsCollector) {
+        return new TimedRedisCacheWriter(delegate.withStatisticsCollector(cacheStatisticsCollector), meterRegistry,
+                timers);
+    }
+
+    @Override
+    public CacheStatistics getCacheStatistics(String cacheName) {
+        return delegate.getCacheStatistics(cacheName);
+    }
+}
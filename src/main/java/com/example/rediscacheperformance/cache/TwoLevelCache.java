@@ -0,0 +1,278 @@
+package com.example.rediscacheperformance.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 로컬 힙 캐시(L1)를 Redis 캐시(L2) 앞에 두는 2단계 캐시
+ * L1은 local 백엔드와 같은 BoundedLocalStore(LRU 또는 W-TinyLFU + TTL)라 두 백엔드를 같은 제거 정책으로 비교할 수 있다.
+ * 쓰기/삭제 시 pub/sub으로 다른 노드의 L1 항목을 무효화한다.
+ */
+public class TwoLevelCache implements Cache, BulkCache, PrefixEvictableCache {
+
+    private final Cache remote;
+    private final BoundedLocalStore<String, ValueWrapper> local;
+    private final NearCacheInvalidationBus invalidationBus;
+
+    private final LongAdder localHits = new LongAdder();
+    private final LongAdder remoteHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public TwoLevelCache(Cache remote, BoundedLocalStore<String, ValueWrapper> local, NearCacheInvalidationBus invalidationBus) {
+        this.remote = remote;
+        this.local = local;
+        this.invalidationBus = invalidationBus;
+    }
+
+    @Override
+    public String getName() {
+        return remote.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return lookup(key).wrapper();
+    }
+
+    /**
+     * 조회 결과와 함께 어느 계층에서 적중했는지 반환
+     */
+    public Lookup lookup(Object key) {
+        String localKey = localKey(key);
+        ValueWrapper wrapper = local.get(localKey);
+        if (wrapper != null) {
+            localHits.increment();
+            return new Lookup(wrapper, CacheOutcome.LOCAL_HIT);
+        }
+        wrapper = remote.get(key);
+        if (wrapper != null) {
+            remoteHits.increment();
+            local.put(localKey, wrapper);
+            return new Lookup(wrapper, CacheOutcome.REMOTE_HIT);
+        }
+        misses.increment();
+        return new Lookup(null, CacheOutcome.MISS);
+    }
+
+    /**
+     * 여러 키를 L1에서 먼저 찾고, 나머지는 L2에서 한 번에 조회 (L2가 BulkCache가 아니면 키별 조회)
+     *
+     * @return 요청한 모든 키의 조회 결과 (요청 순서, 중복 제거)
+     */
+    public Map<Object, Lookup> lookupAll(Collection<?> keys) {
+        Map<Object, Lookup> lookups = new LinkedHashMap<>();
+        List<Object> remoteKeys = new ArrayList<>();
+        for (Object key : new LinkedHashSet<>(keys)) {
+            ValueWrapper wrapper = local.get(localKey(key));
+            if (wrapper != null) {
+                localHits.increment();
+                lookups.put(key, new Lookup(wrapper, CacheOutcome.LOCAL_HIT));
+            } else {
+                lookups.put(key, null);
+                remoteKeys.add(key);
+            }
+        }
+        if (remoteKeys.isEmpty()) {
+            return lookups;
+        }
+        Map<Object, ValueWrapper> found;
+        if (remote instanceof BulkCache bulkRemote) {
+            found = bulkRemote.getAll(remoteKeys);
+        } else {
+            found = new LinkedHashMap<>();
+            for (Object key : remoteKeys) {
+                ValueWrapper wrapper = remote.get(key);
+                if (wrapper != null) {
+                    found.put(key, wrapper);
+                }
+            }
+        }
+        for (Object key : remoteKeys) {
+            ValueWrapper wrapper = found.get(key);
+            if (wrapper != null) {
+                remoteHits.increment();
+                local.put(localKey(key), wrapper);
+                lookups.put(key, new Lookup(wrapper, CacheOutcome.REMOTE_HIT));
+            } else {
+                misses.increment();
+                lookups.put(key, new Lookup(null, CacheOutcome.MISS));
+            }
+        }
+        return lookups;
+    }
+
+    @Override
+    public Map<Object, ValueWrapper> getAll(Collection<?> keys) {
+        Map<Object, ValueWrapper> found = new LinkedHashMap<>();
+        lookupAll(keys).forEach((key, lookup) -> {
+            if (lookup.wrapper() != null) {
+                found.put(key, lookup.wrapper());
+            }
+        });
+        return found;
+    }
+
+    /**
+     * 미스 키를 한 번에 채운다
+     * 다른 노드에 없던 값을 새로 적재한 것이므로 무효화 메시지는 보내지 않는다.
+     */
+    @Override
+    public void putAll(Map<?, ?> entries) {
+        if (remote instanceof BulkCache bulkRemote) {
+            bulkRemote.putAll(entries);
+        } else {
+            entries.forEach(remote::put);
+        }
+        entries.forEach((key, value) -> local.put(localKey(key), new SimpleValueWrapper(value)));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    /**
+     * L1 미스면 L2의 get(key, loader)에 적재를 맡기고 결과를 L1에 넣는다
+     * L2에 없던 값을 새로 적재했거나 L2 값을 읽은 것이므로 무효화 메시지는 보내지 않는다.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = localKey(key);
+        ValueWrapper wrapper = local.get(localKey);
+        if (wrapper != null) {
+            localHits.increment();
+            return (T) wrapper.get();
+        }
+        boolean[] loaded = new boolean[1];
+        T value = remote.get(key, () -> {
+            loaded[0] = true;
+            return valueLoader.call();
+        });
+        (loaded[0] ? misses : remoteHits).increment();
+        local.put(localKey, new SimpleValueWrapper(value));
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        String localKey = localKey(key);
+        remote.put(key, value);
+        local.put(localKey, new SimpleValueWrapper(value));
+        invalidationBus.publishEvict(getName(), localKey);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        String localKey = localKey(key);
+        ValueWrapper existing = remote.putIfAbsent(key, value);
+        local.put(localKey, existing != null ? existing : new SimpleValueWrapper(value));
+        if (existing == null) {
+            invalidationBus.publishEvict(getName(), localKey);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        String localKey = localKey(key);
+        remote.evict(key);
+        local.remove(localKey);
+        invalidationBus.publishEvict(getName(), localKey);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        String localKey = localKey(key);
+        boolean evicted = remote.evictIfPresent(key);
+        local.remove(localKey);
+        invalidationBus.publishEvict(getName(), localKey);
+        return evicted;
+    }
+
+    /**
+     * L2가 접두사 삭제를 지원하지 않으면 L2 전체를 비운다
+     */
+    @Override
+    public void evictByPrefix(String keyPrefix) {
+        if (remote instanceof PrefixEvictableCache prefixRemote) {
+            prefixRemote.evictByPrefix(keyPrefix);
+        } else {
+            remote.clear();
+        }
+        local.removeIf(key -> key.startsWith(keyPrefix));
+        invalidationBus.publishEvictPrefix(getName(), keyPrefix);
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        local.clear();
+        invalidationBus.publishClear(getName());
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = remote.invalidate();
+        local.clear();
+        invalidationBus.publishClear(getName());
+        return invalidated;
+    }
+
+    /**
+     * 다른 노드에서 받은 무효화 메시지 반영 (L2는 건드리지 않음)
+     */
+    void evictLocal(String localKey) {
+        local.remove(localKey);
+    }
+
+    void evictLocalByPrefix(String keyPrefix) {
+        local.removeIf(key -> key.startsWith(keyPrefix));
+    }
+
+    void clearLocal() {
+        local.clear();
+    }
+
+    public Map<String, Object> getStatistics() {
+        return Map.of(
+                "localHits", localHits.sum(),
+                "remoteHits", remoteHits.sum(),
+                "misses", misses.sum(),
+                "localSize", local.size(),
+                "localEvictions", local.evictionCount(),
+                "localExpirations", local.expirationCount()
+        );
+    }
+
+    public record Lookup(ValueWrapper wrapper, CacheOutcome outcome) {
+    }
+
+    /**
+     * Redis 캐시 키와 같은 규칙(문자열 변환)으로 L1 키를 만든다
+     */
+    private String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
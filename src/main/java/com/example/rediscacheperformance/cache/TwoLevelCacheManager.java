@@ -0,0 +1,84 @@
+package com.example.rediscacheperformance.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Redis CacheManager 앞에 로컬 힙 캐시를 두는 2단계 CacheManager
+ */
+public class TwoLevelCacheManager implements CacheManager, CacheStatisticsProvider,
+        NearCacheInvalidationBus.Listener {
+
+    private final CacheManager remoteCacheManager;
+    private final NearCacheInvalidationBus invalidationBus;
+    private final int localMaximumSize;
+    private final long localTtlNanos;
+    private final EvictionPolicy localPolicy;
+    private final int localWindowPercent;
+    private final ConcurrentMap<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(CacheManager remoteCacheManager, NearCacheInvalidationBus invalidationBus,
+                                int localMaximumSize, long localTtlNanos, EvictionPolicy localPolicy,
+                                int localWindowPercent) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.invalidationBus = invalidationBus;
+        this.localMaximumSize = localMaximumSize;
+        this.localTtlNanos = localTtlNanos;
+        this.localPolicy = localPolicy;
+        this.localWindowPercent = localWindowPercent;
+        invalidationBus.setListener(this);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, cacheName -> {
+            Cache remote = remoteCacheManager.getCache(cacheName);
+            return remote != null
+                    ? new TwoLevelCache(remote, new BoundedLocalStore<>(localMaximumSize, localTtlNanos, localPolicy,
+                            localWindowPercent), invalidationBus)
+                    : null;
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return remoteCacheManager.getCacheNames();
+    }
+
+    @Override
+    public void onEvict(String cacheName, String key) {
+        TwoLevelCache cache = caches.get(cacheName);
+        if (cache != null) {
+            cache.evictLocal(key);
+        }
+    }
+
+    @Override
+    public void onEvictPrefix(String cacheName, String keyPrefix) {
+        TwoLevelCache cache = caches.get(cacheName);
+        if (cache != null) {
+            cache.evictLocalByPrefix(keyPrefix);
+        }
+    }
+
+    @Override
+    public void onClear(String cacheName) {
+        TwoLevelCache cache = caches.get(cacheName);
+        if (cache != null) {
+            cache.clearLocal();
+        }
+    }
+
+    @Override
+    public Map<String, Object> getCacheStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        caches.forEach((name, cache) -> statistics.put(name, cache.getStatistics()));
+        return statistics;
+    }
+}
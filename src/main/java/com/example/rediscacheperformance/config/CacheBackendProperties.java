@@ -0,0 +1,47 @@
+package com.example.rediscacheperformance.config;
+
+import com.example.rediscacheperformance.cache.CacheBackendRegistry;
+import com.example.rediscacheperformance.cache.EvictionPolicy;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 캐시 백엔드(redis / local / none) 설정
+ */
+@Data
+@ConfigurationProperties(prefix = "cache.backend")
+public class CacheBackendProperties {
+
+    /**
+     * 요청에 백엔드를 지정하지 않았을 때 쓰는 백엔드
+     */
+    private String defaultBackend = CacheBackendRegistry.REDIS;
+
+    /**
+     * local 백엔드 (프로세스 힙 캐시)
+     */
+    private Local local = new Local();
+
+    @Data
+    public static class Local {
+
+        /**
+         * 캐시 이름별 최대 항목 수
+         */
+        private int maximumSize = 10_000;
+
+        /**
+         * 항목 TTL
+         */
+        private Duration ttl = Duration.ofMinutes(10);
+
+        private EvictionPolicy evictionPolicy = EvictionPolicy.W_TINY_LFU;
+
+        /**
+         * W-TinyLFU 윈도우 영역 비율 (%)
+         */
+        private int windowPercent = 1;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.rediscacheperformance.config;
+
+import com.example.rediscacheperformance.cache.CacheCodec;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 캐시 값 직렬화 설정
+ */
+@Data
+@ConfigurationProperties(prefix = "cache.codec")
+public class CacheCodecProperties {
+
+    /**
+     * 캐시별 설정이 없을 때 사용할 코덱
+     */
+    private CacheCodec defaultCodec = CacheCodec.JSON;
+
+    /**
+     * 캐시 이름별 코덱
+     */
+    private Map<String, CacheCodec> caches = new LinkedHashMap<>();
+
+    /**
+     * 바이너리 payload가 이 크기를 넘으면 압축
+     */
+    private DataSize compressionThreshold = DataSize.ofKilobytes(1);
+
+    /**
+     * deflate 압축 레벨 (1 = 가장 빠름, 9 = 가장 작음)
+     */
+    private int compressionLevel = 1;
+}
@@ -0,0 +1,20 @@
+package com.example.rediscacheperformance.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 캐시 메트릭 설정
+ */
+@Data
+@ConfigurationProperties(prefix = "cache.metrics")
+public class CacheMetricsProperties {
+
+    /**
+     * 키 패턴 이름 -> 정규식 (선언 순서대로 매칭, 일치하지 않으면 other)
+     */
+    private Map<String, String> keyPatterns = new LinkedHashMap<>();
+}
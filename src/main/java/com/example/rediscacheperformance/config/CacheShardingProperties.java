@@ -0,0 +1,51 @@
+package com.example.rediscacheperformance.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * sharded 캐시 백엔드 설정 (여러 Redis 노드에 consistent hashing으로 키를 나눔)
+ */
+@Data
+@ConfigurationProperties(prefix = "cache.sharding")
+public class CacheShardingProperties {
+
+    /**
+     * 켜면 sharded 백엔드를 등록한다 (?backend=sharded 또는 cache.backend.default-backend)
+     */
+    private boolean enabled = false;
+
+    /**
+     * host:port 목록 (링에 오르는 순서, 노드마다 연결 팩토리를 따로 만든다)
+     */
+    private List<String> nodes = new ArrayList<>(List.of("localhost:6379"));
+
+    /**
+     * 처음 링에 올릴 노드 수 (0이면 전체, 실행 중 PUT /api/performance/cache/shards로 변경)
+     */
+    private int activeNodes = 0;
+
+    /**
+     * 노드당 링 위의 점 수 (많을수록 키가 고르게 나뉘고 링 조회가 조금 느려짐)
+     */
+    private int virtualNodes = 160;
+
+    /**
+     * 캐시 키 접두사 (redis 백엔드와 같은 Redis 노드를 써도 키가 섞이지 않음)
+     */
+    private String keyPrefix = "shard:";
+
+    /**
+     * 노드 연결/명령 시간 초과 (넘기면 노드를 내려간 것으로 봄)
+     */
+    private Duration timeout = Duration.ofMillis(500);
+
+    /**
+     * 내려간 노드에 다시 명령을 보내 보기까지의 간격 (그동안 해당 노드의 키는 미스)
+     */
+    private Duration retryInterval = Duration.ofSeconds(5);
+}
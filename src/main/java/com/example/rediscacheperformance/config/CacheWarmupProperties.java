@@ -0,0 +1,37 @@
+package com.example.rediscacheperformance.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 캐시 예열 설정 ('all', 모든 카테고리, 자주 조회되는 id를 병렬로 미리 적재)
+ */
+@Data
+@ConfigurationProperties(prefix = "cache.warmup")
+public class CacheWarmupProperties {
+
+    /**
+     * 기동 시 예열 여부 (예열이 끝날 때까지 cacheWarmup 헬스가 OUT_OF_SERVICE)
+     */
+    private boolean enabled = true;
+
+    /**
+     * POST /api/performance/cache/clear 후 다시 예열할지 여부
+     */
+    private boolean onClear = true;
+
+    /**
+     * 동시에 실행할 적재 작업 수
+     */
+    private int parallelism = 8;
+
+    /**
+     * 예열할 id 수 (핫 키 추적 상위 id부터, 부족하면 작은 id부터 채움)
+     */
+    private int ids = 1000;
+
+    /**
+     * id 적재 작업 하나가 다건 조회로 적재할 id 수
+     */
+    private int idBatchSize = 100;
+}
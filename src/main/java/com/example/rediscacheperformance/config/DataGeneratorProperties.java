@@ -0,0 +1,23 @@
+package com.example.rediscacheperformance.config;
+
+import com.example.rediscacheperformance.generator.DataGenerationRequest;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 합성 데이터 생성 설정
+ */
+@Data
+@ConfigurationProperties(prefix = "data.generator")
+public class DataGeneratorProperties {
+
+    /**
+     * 기동 시 기본 샘플 데이터 다음에 합성 데이터를 생성할지 여부
+     */
+    private boolean runOnStartup = false;
+
+    /**
+     * 기동 시 생성과 요청 본문이 없는 생성 API에 사용할 설정
+     */
+    private DataGenerationRequest defaults = new DataGenerationRequest();
+}
@@ -1,6 +1,7 @@
 package com.example.rediscacheperformance.config;
 
 import com.example.rediscacheperformance.entity.SampleData;
+import com.example.rediscacheperformance.generator.DataGenerator;
 import com.example.rediscacheperformance.repository.SampleDataRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -17,6 +18,8 @@ import java.util.List;
 public class DataInitializer implements CommandLineRunner {
     
     private final SampleDataRepository sampleDataRepository;
+    private final DataGenerator dataGenerator;
+    private final DataGeneratorProperties dataGeneratorProperties;
     
     @Override
     public void run(String... args) throws Exception {
@@ -84,6 +87,10 @@ public class DataInitializer implements CommandLineRunner {
             } else {
                 log.info("Sample data already exists, skipping initialization");
             }
+            
+            if (dataGeneratorProperties.isRunOnStartup()) {
+                dataGenerator.generate(dataGeneratorProperties.getDefaults());
+            }
         } catch (Exception e) {
             log.error("Failed to initialize sample data: {}", e.getMessage());
             log.warn("This might be due to table not being created yet. Data will be initialized on next startup.");
@@ -0,0 +1,40 @@
+package com.example.rediscacheperformance.config;
+
+import com.example.rediscacheperformance.service.WriteStrategy;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 데이터 변경 API 설정
+ */
+@Data
+@ConfigurationProperties(prefix = "data.write")
+public class DataWriteProperties {
+
+    /**
+     * 요청에 strategy가 없을 때 사용할 방식
+     */
+    private WriteStrategy strategy = WriteStrategy.INVALIDATE;
+
+    /**
+     * write-behind 주기적 flush 간격 (DB에 늦게 반영될 수 있는 최대 시간)
+     */
+    private Duration writeBehindFlushInterval = Duration.ofSeconds(1);
+
+    /**
+     * write-behind 대기 행이 이만큼 쌓이면 즉시 flush (배치 크기)
+     */
+    private int writeBehindFlushSize = 500;
+
+    /**
+     * write-behind 최대 대기 행 수 (가득 차면 대기 중이 아닌 id의 변경은 대기열 대신 바로 DB에 쓴다)
+     */
+    private int writeBehindCapacity = 10_000;
+
+    /**
+     * flush가 실패했을 때 다시 시도하기까지 최대 대기 시간 (flush 간격부터 두 배씩 늘림)
+     */
+    private Duration writeBehindMaxBackoff = Duration.ofSeconds(30);
+}
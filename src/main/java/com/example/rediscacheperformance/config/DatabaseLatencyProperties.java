@@ -0,0 +1,31 @@
+package com.example.rediscacheperformance.config;
+
+import com.example.rediscacheperformance.latency.LatencyModelSettings;
+import com.example.rediscacheperformance.latency.QueryType;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * DB 지연 시뮬레이션 설정 (기동 시 값, 실행 중에는 /api/performance/latency-model로 변경)
+ */
+@Data
+@ConfigurationProperties(prefix = "data.latency")
+public class DatabaseLatencyProperties {
+
+    /**
+     * queries에 없는 조회 종류의 모델 (기본값은 기존의 100~500ms 균등 분포)
+     */
+    private LatencyModelSettings defaults = new LatencyModelSettings();
+
+    /**
+     * 조회 종류별 모델
+     */
+    private Map<QueryType, LatencyModelSettings> queries = new EnumMap<>(QueryType.class);
+
+    public LatencyModelSettings settings(QueryType queryType) {
+        return queries.getOrDefault(queryType, defaults);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.rediscacheperformance.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 핫 키 분석 설정 (캐시 조회 키 빈도 count-min sketch와 상위 키)
+ */
+@Data
+@ConfigurationProperties(prefix = "cache.hot-keys")
+public class HotKeyProperties {
+
+    /**
+     * 캐시 조회마다 키 빈도를 기록할지 여부
+     */
+    private boolean enabled = true;
+
+    /**
+     * 캐시별 추적할 상위 키 수 (게이지 행 수의 상한)
+     */
+    private int topK = 20;
+
+    /**
+     * sketch 행당 카운터 수 (4개 행, 카운터 하나에 조회/적중 수를 함께 담은 long)
+     */
+    private int width = 4096;
+
+    /**
+     * 빈도를 절반으로 줄이는 주기 (짧을수록 최근 조회만 반영)
+     */
+    private Duration decayInterval = Duration.ofMinutes(1);
+
+    /**
+     * 상위 키 게이지를 다시 등록하는 주기
+     */
+    private Duration gaugeRefreshInterval = Duration.ofSeconds(10);
+}
@@ -0,0 +1,34 @@
+package com.example.rediscacheperformance.config;
+
+import com.example.rediscacheperformance.metrics.DataServiceTimingInterceptor;
+import com.example.rediscacheperformance.service.DataService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.RootClassFilter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * DataService 메서드 타이머
+     * @EnableCaching이 등록한 자동 프록시 생성기는 인프라 역할의 Advisor만 적용하므로 ROLE_INFRASTRUCTURE로 등록하고,
+     * 캐시 인터셉터보다 바깥에서 실행되도록 가장 높은 우선순위를 준다.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor dataServiceTimingAdvisor(ObjectProvider<MeterRegistry> meterRegistry) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                new ComposablePointcut(new RootClassFilter(DataService.class)),
+                new DataServiceTimingInterceptor(meterRegistry));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.rediscacheperformance.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 성능 메트릭 비동기 기록 설정
+ */
+@Data
+@ConfigurationProperties(prefix = "performance.metrics.recorder")
+public class MetricsRecorderProperties {
+
+    /**
+     * 버퍼에 쌓아둘 수 있는 최대 메트릭 수
+     */
+    private int capacity = 10_000;
+
+    /**
+     * 한 번의 배치 INSERT에 담을 최대 행 수 (버퍼가 이만큼 차면 즉시 flush)
+     */
+    private int flushSize = 500;
+
+    /**
+     * 주기적 flush 간격
+     */
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    /**
+     * 버퍼가 가득 찼을 때의 처리 방식
+     */
+    private DropPolicy dropPolicy = DropPolicy.DROP_NEWEST;
+
+    public enum DropPolicy {
+        /**
+         * 새로 들어온 메트릭을 버린다
+         */
+        DROP_NEWEST,
+        /**
+         * 가장 오래된 메트릭을 버리고 새 메트릭을 넣는다
+         */
+        DROP_OLDEST
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.rediscacheperformance.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 성능 메트릭 롤업(분/시간 요약)과 보관 기간 설정
+ */
+@Data
+@ConfigurationProperties(prefix = "performance.metrics.rollup")
+public class MetricsRollupProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * 롤업/보관 기간 정리 실행 간격
+     */
+    private Duration interval = Duration.ofSeconds(30);
+
+    /**
+     * 구간이 끝난 뒤 롤업하기까지 기다리는 시간 (비동기 기록기의 늦은 INSERT를 기다림)
+     */
+    private Duration delay = Duration.ofSeconds(30);
+
+    /**
+     * 원본 행 보관 기간 (분 롤업이 끝난 행만 삭제)
+     */
+    private Duration rawRetention = Duration.ofHours(1);
+
+    /**
+     * 분 롤업 보관 기간 (시간 롤업이 끝난 구간만 삭제)
+     */
+    private Duration minuteRetention = Duration.ofDays(7);
+
+    /**
+     * 시간 롤업 보관 기간
+     */
+    private Duration hourRetention = Duration.ofDays(90);
+
+    /**
+     * 한 번에 롤업할 최대 분 구간 수 (밀린 구간은 다음 실행에서 이어서 처리)
+     */
+    private int maxMinutesPerRun = 60;
+
+    /**
+     * 롤업 히스토그램 유효 자릿수
+     */
+    private int significantDigits = 2;
+}
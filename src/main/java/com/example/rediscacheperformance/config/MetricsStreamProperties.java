@@ -0,0 +1,39 @@
+package com.example.rediscacheperformance.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 실시간 성능 통계 SSE 스트림 설정
+ */
+@Data
+@ConfigurationProperties(prefix = "performance.metrics.stream")
+public class MetricsStreamProperties {
+
+    /**
+     * 통계 계산/발행 주기 (구독자가 없으면 계산하지 않음)
+     */
+    private Duration interval = Duration.ofSeconds(1);
+
+    /**
+     * 처리량/백분위를 계산하는 최근 구간 (performance.statistics 최대 윈도우 이하)
+     */
+    private Duration window = Duration.ofSeconds(10);
+
+    /**
+     * 구독자별로 보내지 못하고 쌓아 둘 최대 이벤트 수 (넘치면 오래된 이벤트부터 버림)
+     */
+    private int bufferSize = 8;
+
+    /**
+     * 동시 구독자 수 상한
+     */
+    private int maxSubscribers = 100;
+
+    /**
+     * 연결 유지 시간 (지나면 닫히고 브라우저 EventSource가 다시 연결)
+     */
+    private Duration timeout = Duration.ofMinutes(30);
+}
@@ -0,0 +1,45 @@
+package com.example.rediscacheperformance.config;
+
+import com.example.rediscacheperformance.cache.EvictionPolicy;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 로컬(L1) 캐시 설정
+ */
+@Data
+@ConfigurationProperties(prefix = "cache.near")
+public class NearCacheProperties {
+
+    /**
+     * Redis 앞에 로컬 캐시를 둘지 여부
+     */
+    private boolean enabled = true;
+
+    /**
+     * 캐시 이름별 최대 항목 수
+     */
+    private int maximumSize = 10_000;
+
+    /**
+     * 로컬 항목 TTL (무효화 메시지 유실 시 최대 stale 시간)
+     */
+    private Duration ttl = Duration.ofSeconds(30);
+
+    /**
+     * 제거 정책 (local 백엔드와 같은 구현)
+     */
+    private EvictionPolicy evictionPolicy = EvictionPolicy.W_TINY_LFU;
+
+    /**
+     * W-TinyLFU 윈도우 영역 비율 (%)
+     */
+    private int windowPercent = 1;
+
+    /**
+     * 무효화 메시지 채널
+     */
+    private String invalidationChannel = "cache:near:invalidate";
+}
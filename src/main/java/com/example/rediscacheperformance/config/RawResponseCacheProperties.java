@@ -0,0 +1,24 @@
+package com.example.rediscacheperformance.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * HTTP 응답 바이트 캐시 설정
+ */
+@Data
+@ConfigurationProperties(prefix = "cache.raw-response")
+public class RawResponseCacheProperties {
+
+    /**
+     * Redis 키 접두사 (키 = 접두사 + 조회 키)
+     */
+    private String keyPrefix = "rawResponse::";
+
+    /**
+     * 응답 항목 TTL
+     */
+    private Duration ttl = Duration.ofMinutes(10);
+}
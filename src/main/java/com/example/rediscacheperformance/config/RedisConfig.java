@@ -1,15 +1,43 @@
 package com.example.rediscacheperformance.config;
 
+import com.example.rediscacheperformance.cache.BackendCacheResolver;
+import com.example.rediscacheperformance.cache.BulkRedisCacheManager;
+import com.example.rediscacheperformance.cache.CacheBackendRegistry;
+import com.example.rediscacheperformance.cache.CacheCodecRegistry;
+import com.example.rediscacheperformance.cache.CacheKeyPatternResolver;
+import com.example.rediscacheperformance.cache.HotKeyTracker;
+import com.example.rediscacheperformance.cache.InstrumentedCacheManager;
+import com.example.rediscacheperformance.cache.LocalHeapCacheManager;
+import com.example.rediscacheperformance.cache.NearCacheInvalidationBus;
+import com.example.rediscacheperformance.cache.RawResponseCache;
+import com.example.rediscacheperformance.cache.ReactiveRedisCache;
+import com.example.rediscacheperformance.cache.RedisIdIndex;
+import com.example.rediscacheperformance.cache.RedisLoadLease;
+import com.example.rediscacheperformance.cache.RedisMemoryProbe;
+import com.example.rediscacheperformance.cache.RedisShards;
+import com.example.rediscacheperformance.cache.ShardedRedisCacheManager;
+import com.example.rediscacheperformance.cache.StampedeProtection;
+import com.example.rediscacheperformance.cache.TwoLevelCacheManager;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.CacheResolver;
+import org.springframework.cache.support.NoOpCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -19,10 +47,18 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import java.time.Duration;
 import java.util.Arrays;
+import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 @Configuration
 public class RedisConfig {
 
+    /**
+     * Redis 캐시 항목 기본 TTL
+     */
+    private static final Duration CACHE_TTL = Duration.ofMinutes(10);
+
     @Bean
     public ObjectMapper redisObjectMapper() {
         ObjectMapper mapper = new ObjectMapper();
@@ -36,18 +72,221 @@ public class RedisConfig {
         return new GenericJackson2JsonRedisSerializer(redisObjectMapper());
     }
 
+    /**
+     * Redis 캐시 기본 설정 (JMH 벤치마크에서도 같은 설정을 사용)
+     */
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
-        RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofMinutes(10)) // 기본 TTL 10분
+    public RedisCacheConfiguration redisCacheConfiguration() {
+        return RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(CACHE_TTL) // 기본 TTL 10분
                 .serializeKeysWith(RedisSerializationContext.SerializationPair
                         .fromSerializer(new StringRedisSerializer()))
                 .serializeValuesWith(RedisSerializationContext.SerializationPair
                         .fromSerializer(redisSerializer()));
+    }
+
+    /**
+     * 캐시 이름별 값 직렬화 (JSON / 바이너리)
+     */
+    @Bean
+    public CacheCodecRegistry cacheCodecRegistry(CacheCodecProperties cacheCodecProperties,
+                                                 MeterRegistry meterRegistry) {
+        return new CacheCodecRegistry(redisSerializer(),
+                (int) cacheCodecProperties.getCompressionThreshold().toBytes(),
+                cacheCodecProperties.getCompressionLevel(),
+                cacheCodecProperties.getDefaultCodec(),
+                cacheCodecProperties.getCaches(),
+                meterRegistry);
+    }
 
-        return RedisCacheManager.builder(connectionFactory)
-                .cacheDefaults(config)
+    /**
+     * HTTP 응답 바이트 캐시 (JSON 바이트 + ETag)
+     */
+    @Bean
+    public RawResponseCache rawResponseCache(StringRedisTemplate stringRedisTemplate,
+                                             RawResponseCacheProperties rawResponseCacheProperties,
+                                             MeterRegistry meterRegistry) {
+        return new RawResponseCache(stringRedisTemplate, redisObjectMapper(),
+                rawResponseCacheProperties.getKeyPrefix(), rawResponseCacheProperties.getTtl(), meterRegistry);
+    }
+
+    /**
+     * 정규화 캐시의 목록 id 인덱스 (Redis 정렬 집합)
+     */
+    @Bean
+    public RedisIdIndex sampleDataIndex(StringRedisTemplate stringRedisTemplate, MeterRegistry meterRegistry) {
+        return new RedisIdIndex(stringRedisTemplate, RedisIdIndex.CACHE_NAME + "::", CACHE_TTL, meterRegistry);
+    }
+
+    /**
+     * 리액티브 경로의 캐시 (블로킹 경로와 같은 키/코덱, 값 바이트는 코덱이 직접 변환)
+     */
+    @Bean
+    public ReactiveRedisCache reactiveRedisCache(ReactiveRedisConnectionFactory connectionFactory,
+                                                 CacheCodecRegistry cacheCodecRegistry,
+                                                 MeterRegistry meterRegistry) {
+        RedisSerializationContext<String, byte[]> context = RedisSerializationContext
+                .<String, byte[]>newSerializationContext(StringRedisSerializer.UTF_8)
+                .value(RedisSerializer.byteArray())
                 .build();
+        return new ReactiveRedisCache(new ReactiveRedisTemplate<>(connectionFactory, context), cacheCodecRegistry,
+                CACHE_TTL, meterRegistry);
+    }
+
+    @Bean
+    public RedisMemoryProbe redisMemoryProbe(StringRedisTemplate stringRedisTemplate) {
+        return new RedisMemoryProbe(stringRedisTemplate);
+    }
+
+    /**
+     * 미스 적재 single-flight, 노드 간 임대, 조기 갱신
+     */
+    @Bean
+    public StampedeProtection stampedeProtection(StampedeProperties stampedeProperties,
+                                                 StringRedisTemplate stringRedisTemplate,
+                                                 Environment environment,
+                                                 MeterRegistry meterRegistry) {
+        RedisLoadLease lease = stampedeProperties.isLeaseEnabled()
+                ? new RedisLoadLease(stringRedisTemplate, "cache:lease:") : null;
+        return new StampedeProtection(lease, stampedeProperties.getLeaseTimeout(),
+                stampedeProperties.getLeasePollInterval(), stampedeProperties.isEarlyRefreshEnabled(),
+                stampedeProperties.getEarlyRefreshBeta(), CACHE_TTL, stampedeProperties.getMaxTrackedKeys(),
+                stampedeProperties.getRefreshThreads(),
+                VirtualThreads.threadFactory("cache-refresh", VirtualThreads.isEnabled(environment)), meterRegistry);
+    }
+
+    /**
+     * 캐시 조회 키 빈도(핫 키) 추적기 (비활성화해도 빈은 만들어 조회 API가 빈 결과를 돌려준다)
+     */
+    @Bean
+    public HotKeyTracker hotKeyTracker(HotKeyProperties hotKeyProperties, MeterRegistry meterRegistry) {
+        return new HotKeyTracker(hotKeyProperties.getWidth(), hotKeyProperties.getTopK(),
+                hotKeyProperties.getDecayInterval(), hotKeyProperties.getGaugeRefreshInterval(), meterRegistry);
+    }
+
+    @Bean
+    public NearCacheInvalidationBus nearCacheInvalidationBus(StringRedisTemplate stringRedisTemplate,
+                                                             NearCacheProperties nearCacheProperties) {
+        return new NearCacheInvalidationBus(stringRedisTemplate, nearCacheProperties.getInvalidationChannel());
+    }
+
+    /**
+     * 로컬 캐시 무효화 메시지 구독
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                       NearCacheInvalidationBus invalidationBus) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(invalidationBus, new ChannelTopic(invalidationBus.getChannel()));
+        return container;
+    }
+
+    @Bean
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                     NearCacheProperties nearCacheProperties,
+                                     NearCacheInvalidationBus invalidationBus,
+                                     CacheMetricsProperties cacheMetricsProperties,
+                                     CacheCodecRegistry cacheCodecRegistry,
+                                     StampedeProperties stampedeProperties,
+                                     StampedeProtection stampedeProtection,
+                                     HotKeyProperties hotKeyProperties,
+                                     HotKeyTracker hotKeyTracker,
+                                     MeterRegistry meterRegistry) {
+        Map<String, RedisCacheConfiguration> cacheConfigurations = new LinkedHashMap<>();
+        for (String cacheName : cacheCodecRegistry.getConfiguredCacheNames()) {
+            cacheConfigurations.put(cacheName, cacheConfiguration(cacheCodecRegistry, cacheName));
+        }
+        // MGET / 파이프라인 다건 조회·저장을 지원하는 RedisCache 사용
+        RedisCacheManager redisCacheManager = new BulkRedisCacheManager(connectionFactory,
+                cacheConfiguration(cacheCodecRegistry, CacheCodecRegistry.DEFAULT_CACHE), cacheConfigurations,
+                meterRegistry);
+        redisCacheManager.initializeCaches();
+
+        // 로컬 힙 캐시(L1) -> Redis(L2) 순으로 조회
+        CacheManager layered = nearCacheProperties.isEnabled()
+                ? new TwoLevelCacheManager(redisCacheManager, invalidationBus,
+                        nearCacheProperties.getMaximumSize(), nearCacheProperties.getTtl().toNanos(),
+                        nearCacheProperties.getEvictionPolicy(), nearCacheProperties.getWindowPercent())
+                : redisCacheManager;
+
+        // 실제 적중/미스와 지연 시간 기록
+        return new InstrumentedCacheManager(layered,
+                new CacheKeyPatternResolver(cacheMetricsProperties.getKeyPatterns()), meterRegistry,
+                stampedeProperties.isEnabled() ? stampedeProtection : null, CacheBackendRegistry.REDIS,
+                hotKeyProperties.isEnabled() ? hotKeyTracker : null);
+    }
+
+    /**
+     * sharded 백엔드의 Redis 노드 (노드별 연결 팩토리, 비활성화면 노드 없음)
+     */
+    @Bean
+    public RedisShards redisShards(CacheShardingProperties cacheShardingProperties, MeterRegistry meterRegistry) {
+        return new RedisShards(cacheShardingProperties.isEnabled() ? cacheShardingProperties.getNodes() : List.of(),
+                cacheShardingProperties.getActiveNodes(), cacheShardingProperties.getVirtualNodes(),
+                cacheShardingProperties.getKeyPrefix(), cacheShardingProperties.getTimeout(),
+                cacheShardingProperties.getRetryInterval(), meterRegistry);
+    }
+
+    /**
+     * 요청마다 고르는 캐시 백엔드 (redis: 위 CacheManager, local: 프로세스 힙 캐시만, none: 항상 미스,
+     * sharded: 여러 Redis 노드에 나눠 저장, cache.sharding.enabled일 때만)
+     * 모든 백엔드를 같은 메트릭 데코레이터로 감싸 backend 태그로 구분한다.
+     */
+    @Bean
+    public CacheBackendRegistry cacheBackendRegistry(CacheManager cacheManager,
+                                                     CacheBackendProperties cacheBackendProperties,
+                                                     CacheMetricsProperties cacheMetricsProperties,
+                                                     HotKeyProperties hotKeyProperties,
+                                                     HotKeyTracker hotKeyTracker,
+                                                     CacheCodecRegistry cacheCodecRegistry,
+                                                     CacheShardingProperties cacheShardingProperties,
+                                                     RedisShards redisShards,
+                                                     MeterRegistry meterRegistry) {
+        CacheKeyPatternResolver keyPatternResolver =
+                new CacheKeyPatternResolver(cacheMetricsProperties.getKeyPatterns());
+        HotKeyTracker hotKeys = hotKeyProperties.isEnabled() ? hotKeyTracker : null;
+        CacheBackendProperties.Local local = cacheBackendProperties.getLocal();
+        Map<String, CacheManager> backends = new LinkedHashMap<>();
+        backends.put(CacheBackendRegistry.REDIS, cacheManager);
+        backends.put(CacheBackendRegistry.LOCAL, new InstrumentedCacheManager(
+                new LocalHeapCacheManager(local.getMaximumSize(), local.getTtl().toNanos(),
+                        local.getEvictionPolicy(), local.getWindowPercent()),
+                keyPatternResolver, meterRegistry, null, CacheBackendRegistry.LOCAL, hotKeys));
+        // 항상 미스인 기준선이라 핫 키는 기록하지 않는다
+        backends.put(CacheBackendRegistry.NONE, new InstrumentedCacheManager(new NoOpCacheManager(),
+                keyPatternResolver, meterRegistry, null, CacheBackendRegistry.NONE, null));
+        if (redisShards.isEnabled()) {
+            // 로컬 캐시 없이 노드만 거치게 해 노드 수에 따른 Redis 처리량을 그대로 본다
+            String keyPrefix = cacheShardingProperties.getKeyPrefix();
+            Map<String, RedisCacheConfiguration> cacheConfigurations = new LinkedHashMap<>();
+            for (String cacheName : cacheCodecRegistry.getConfiguredCacheNames()) {
+                cacheConfigurations.put(cacheName,
+                        cacheConfiguration(cacheCodecRegistry, cacheName).prefixCacheNameWith(keyPrefix));
+            }
+            RedisCacheManager shardedCacheManager = new ShardedRedisCacheManager(redisShards,
+                    cacheConfiguration(cacheCodecRegistry, CacheCodecRegistry.DEFAULT_CACHE)
+                            .prefixCacheNameWith(keyPrefix),
+                    cacheConfigurations);
+            shardedCacheManager.initializeCaches();
+            backends.put(CacheBackendRegistry.SHARDED, new InstrumentedCacheManager(shardedCacheManager,
+                    keyPatternResolver, meterRegistry, null, CacheBackendRegistry.SHARDED, hotKeys));
+        }
+        return new CacheBackendRegistry(backends, cacheBackendProperties.getDefaultBackend());
+    }
+
+    /**
+     * DataService @Cacheable이 현재 요청의 백엔드에서 캐시를 찾도록 하는 CacheResolver
+     */
+    @Bean
+    public CacheResolver cacheBackendResolver(CacheBackendRegistry cacheBackendRegistry) {
+        return new BackendCacheResolver(cacheBackendRegistry);
+    }
+
+    private RedisCacheConfiguration cacheConfiguration(CacheCodecRegistry cacheCodecRegistry, String cacheName) {
+        return redisCacheConfiguration()
+                .serializeValuesWith(RedisSerializationContext.SerializationPair
+                        .fromSerializer(cacheCodecRegistry.serializer(cacheName)));
     }
 
     /**
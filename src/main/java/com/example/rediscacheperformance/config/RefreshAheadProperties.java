@@ -0,0 +1,42 @@
+package com.example.rediscacheperformance.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 만료 전 갱신(refresh-ahead) 설정
+ * 핫 키 추적 상위 키 중 Redis TTL이 window보다 적게 남은 항목을 만료 전에 DB에서 다시 적재한다.
+ */
+@Data
+@ConfigurationProperties(prefix = "cache.refresh-ahead")
+public class RefreshAheadProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * 핫 키의 남은 TTL을 확인하는 주기
+     */
+    private Duration scanInterval = Duration.ofSeconds(5);
+
+    /**
+     * 남은 TTL이 이보다 짧으면 갱신 (scan-interval + DB 적재 시간보다 길어야 만료 전에 끝남)
+     */
+    private Duration window = Duration.ofSeconds(30);
+
+    /**
+     * 동시에 실행할 갱신 수 (넘치면 다음 주기로 미룸)
+     */
+    private int maxConcurrency = 4;
+
+    /**
+     * 캐시별로 확인할 상위 키 수
+     */
+    private int topKeys = 20;
+
+    /**
+     * 갱신 대상이 되는 최소 추정 조회 수 (감쇠 반영)
+     */
+    private long minAccesses = 10;
+}
@@ -0,0 +1,22 @@
+package com.example.rediscacheperformance.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 검색용 메모리 trigram 색인 설정 (SampleData 이름/설명)
+ */
+@Data
+@ConfigurationProperties(prefix = "search.index")
+public class SearchIndexProperties {
+
+    /**
+     * 기동 시 색인 생성 여부 (끄면 캐시 사용 검색도 DB 부분 문자열 조회로 적재)
+     */
+    private boolean enabled = true;
+
+    /**
+     * 색인 생성 시 DB 커서 fetch 크기
+     */
+    private int fetchSize = 1000;
+}
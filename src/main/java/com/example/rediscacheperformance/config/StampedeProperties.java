@@ -0,0 +1,54 @@
+package com.example.rediscacheperformance.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 캐시 스탬피드 방지 설정 (노드 내 single-flight, 노드 간 Redis 임대, 확률적 조기 갱신)
+ */
+@Data
+@ConfigurationProperties(prefix = "cache.stampede")
+public class StampedeProperties {
+
+    /**
+     * 같은 키의 동시 미스를 하나의 적재로 합칠지 여부
+     */
+    private boolean enabled = true;
+
+    /**
+     * 노드 간 Redis 임대(SET NX PX) 사용 여부
+     */
+    private boolean leaseEnabled = false;
+
+    /**
+     * 임대 만료 시간이자 다른 노드의 적재를 기다리는 최대 시간
+     */
+    private Duration leaseTimeout = Duration.ofSeconds(5);
+
+    /**
+     * 임대를 얻지 못했을 때 캐시를 다시 확인하는 주기
+     */
+    private Duration leasePollInterval = Duration.ofMillis(50);
+
+    /**
+     * 만료 전 확률적 조기 갱신(XFetch) 사용 여부
+     */
+    private boolean earlyRefreshEnabled = true;
+
+    /**
+     * 조기 갱신 강도 (1.0 기본, 클수록 더 일찍 갱신)
+     */
+    private double earlyRefreshBeta = 1.0;
+
+    /**
+     * 조기 갱신 판단용 적재 시간/만료 시각을 기억할 최대 키 수 (캐시별)
+     */
+    private int maxTrackedKeys = 100_000;
+
+    /**
+     * 백그라운드 조기 갱신 스레드 수
+     */
+    private int refreshThreads = 2;
+}
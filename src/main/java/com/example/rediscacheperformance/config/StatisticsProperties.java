@@ -0,0 +1,29 @@
+package com.example.rediscacheperformance.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 인메모리 응답 시간 통계(히스토그램) 설정
+ */
+@Data
+@ConfigurationProperties(prefix = "performance.statistics")
+public class StatisticsProperties {
+
+    /**
+     * 슬라이딩 윈도우를 구성하는 버킷 하나의 길이
+     */
+    private Duration bucketDuration = Duration.ofSeconds(10);
+
+    /**
+     * 보관할 버킷 수 (bucket-duration x bucket-count = 조회 가능한 최대 윈도우)
+     */
+    private int bucketCount = 60;
+
+    /**
+     * 히스토그램 유효 자릿수 (2 = 1% 오차)
+     */
+    private int significantDigits = 2;
+}
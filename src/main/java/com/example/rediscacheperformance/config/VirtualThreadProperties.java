@@ -0,0 +1,30 @@
+package com.example.rediscacheperformance.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 가상 스레드 고정(pinning) 감지 설정
+ * 가상 스레드 모드 자체는 spring.threads.virtual.enabled로 켠다.
+ */
+@Data
+@ConfigurationProperties(prefix = "virtual-threads")
+public class VirtualThreadProperties {
+
+    /**
+     * JFR jdk.VirtualThreadPinned 이벤트 수집 여부 (Java 21 이상에서만 동작)
+     */
+    private boolean pinningDetection = true;
+
+    /**
+     * 이 시간 이상 캐리어 스레드를 붙잡은 고정만 기록
+     */
+    private Duration pinnedThreshold = Duration.ofMillis(20);
+
+    /**
+     * 고정 위치(프레임)별 집계를 유지할 최대 개수
+     */
+    private int maxTrackedFrames = 50;
+}
@@ -0,0 +1,95 @@
+package com.example.rediscacheperformance.config;
+
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 가상 스레드 실행기 생성 도우미
+ * 빌드 대상은 Java 17이므로 Java 21 이상에서 실행될 때만 리플렉션으로 가상 스레드를 사용하고,
+ * 그 외에는 같은 이름 규칙의 플랫폼 스레드로 대체한다.
+ */
+public final class VirtualThreads {
+
+    private static final Method NEW_THREAD_PER_TASK_EXECUTOR =
+            findMethod(Executors.class, "newThreadPerTaskExecutor", ThreadFactory.class);
+    private static final Method OF_VIRTUAL = findMethod(Thread.class, "ofVirtual");
+    private static final Method BUILDER_NAME = findBuilderMethod("name", String.class, long.class);
+    private static final Method BUILDER_FACTORY = findBuilderMethod("factory");
+
+    private VirtualThreads() {
+    }
+
+    public static boolean isSupported() {
+        return NEW_THREAD_PER_TASK_EXECUTOR != null && OF_VIRTUAL != null;
+    }
+
+    /**
+     * 가상 스레드 모드 여부 (spring.threads.virtual.enabled=true 이고 Java 21 이상에서 실행 중)
+     * 이 모드에서는 Spring Boot가 Tomcat 요청 처리 스레드를 가상 스레드로 바꾼다.
+     */
+    public static boolean isEnabled(Environment environment) {
+        return isSupported() && Threading.VIRTUAL.isActive(environment);
+    }
+
+    /**
+     * 작업마다 스레드를 만드는 실행기 (가상/플랫폼 모두 스레드 이름은 {namePrefix}-{번호})
+     *
+     * @param virtual false면 지원 여부와 관계없이 플랫폼 스레드 사용
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String namePrefix, boolean virtual) {
+        if (virtual && isSupported()) {
+            try {
+                return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(null, threadFactory(namePrefix, true));
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Failed to create virtual thread executor", e);
+            }
+        }
+        return Executors.newCachedThreadPool(platformThreadFactory(namePrefix));
+    }
+
+    /**
+     * 스레드 풀용 스레드 팩토리 (virtual이고 지원되면 가상 스레드, 그 외에는 데몬 플랫폼 스레드)
+     */
+    public static ThreadFactory threadFactory(String namePrefix, boolean virtual) {
+        if (virtual && isSupported()) {
+            try {
+                Object builder = BUILDER_NAME.invoke(OF_VIRTUAL.invoke(null), namePrefix + "-", 1L);
+                return (ThreadFactory) BUILDER_FACTORY.invoke(builder);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Failed to create virtual thread factory", e);
+            }
+        }
+        return platformThreadFactory(namePrefix);
+    }
+
+    public static ThreadFactory platformThreadFactory(String namePrefix) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + "-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static Method findBuilderMethod(String name, Class<?>... parameterTypes) {
+        try {
+            return findMethod(Class.forName("java.lang.Thread$Builder"), name, parameterTypes);
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+    }
+
+    private static Method findMethod(Class<?> type, String name, Class<?>... parameterTypes) {
+        try {
+            return type.getMethod(name, parameterTypes);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.rediscacheperformance.controller;
+
+import com.example.rediscacheperformance.benchmark.BenchmarkInProgressException;
+import com.example.rediscacheperformance.benchmark.BenchmarkRequest;
+import com.example.rediscacheperformance.benchmark.BenchmarkService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/performance")
+@RequiredArgsConstructor
+@Slf4j
+public class BenchmarkController {
+    
+    private final BenchmarkService benchmarkService;
+    
+    /**
+     * 동시 부하 테스트 실행 API (모드별 지연 시간 분포와 처리량 보고)
+     */
+    @PostMapping("/benchmark")
+    public ResponseEntity<Map<String, Object>> runBenchmark(@Valid @RequestBody BenchmarkRequest request) {
+        try {
+            return ResponseEntity.ok(benchmarkService.run(request));
+        } catch (BenchmarkInProgressException e) {
+            log.warn("Benchmark rejected: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Error running benchmark", e);
+            return ResponseEntity.internalServerError().body(Map.of("error", e.getMessage()));
+        }
+    }
+}
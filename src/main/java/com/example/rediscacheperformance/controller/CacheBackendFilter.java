@@ -0,0 +1,61 @@
+package com.example.rediscacheperformance.controller;
+
+import com.example.rediscacheperformance.cache.CacheBackendContext;
+import com.example.rediscacheperformance.cache.CacheBackendRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * 조회 API 요청마다 캐시 백엔드를 고르는 필터
+ * backend 쿼리 파라미터 또는 X-Cache-Backend 헤더의 백엔드로 요청 스레드의 스코프를 열고,
+ * 실제 사용한 백엔드를 같은 헤더로 응답한다. 없는 백엔드 이름은 400.
+ * 요청 스레드 밖에서 캐시를 읽는 스트리밍 응답은 기본 백엔드를 쓴다.
+ */
+@Component
+public class CacheBackendFilter extends OncePerRequestFilter {
+
+    public static final String BACKEND_HEADER = "X-Cache-Backend";
+    static final String BACKEND_PARAMETER = "backend";
+
+    private final CacheBackendRegistry cacheBackends;
+
+    public CacheBackendFilter(CacheBackendRegistry cacheBackends) {
+        this.cacheBackends = cacheBackends;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !path.startsWith("/api/data") && !path.startsWith("/api/performance/data");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String backend = request.getParameter(BACKEND_PARAMETER);
+        if (backend == null) {
+            backend = request.getHeader(BACKEND_HEADER);
+        }
+        if (backend == null) {
+            backend = cacheBackends.getDefaultBackend();
+        } else if (!cacheBackends.contains(backend)) {
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"Unknown cache backend. Available: "
+                    + String.join(", ", cacheBackends.getNames()) + "\"}");
+            return;
+        }
+        response.setHeader(BACKEND_HEADER, backend);
+        try (CacheBackendContext.Scope ignored = CacheBackendContext.use(backend)) {
+            filterChain.doFilter(request, response);
+        }
+    }
+}
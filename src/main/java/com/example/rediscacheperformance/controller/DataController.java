@@ -1,20 +1,63 @@
 package com.example.rediscacheperformance.controller;
 
+import com.example.rediscacheperformance.cache.CacheAccessContext;
+import com.example.rediscacheperformance.cache.RawResponseCache;
+import com.example.rediscacheperformance.dto.SampleDataPage;
+import com.example.rediscacheperformance.dto.SampleDataWriteRequest;
 import com.example.rediscacheperformance.entity.SampleData;
 import com.example.rediscacheperformance.service.DataService;
+import com.example.rediscacheperformance.service.DataWriteService;
+import com.example.rediscacheperformance.service.WriteStrategy;
+import jakarta.validation.Valid;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/data")
 @RequiredArgsConstructor
 public class DataController {
     
+    /**
+     * 캐시 사용 API 응답에 실제 캐시 적중 계층을 알려주는 헤더 (local / remote / none)
+     */
+    static final String CACHE_STATUS_HEADER = "X-Cache-Status";
+    
+    /**
+     * 변경 API 응답에 실제 적용된 쓰기 전략을 알려주는 헤더
+     */
+    static final String WRITE_STRATEGY_HEADER = "X-Write-Strategy";
+    
+    private static final int MAX_BATCH_SIZE = 1_000;
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1_000;
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+    
+    /**
+     * 스트리밍 응답에서 출력 버퍼를 내보내는 행 간격 (캐시 사용 스트리밍의 페이지 크기)
+     */
+    private static final int STREAM_CHUNK_SIZE = 1_000;
+    
     private final DataService dataService;
+    private final DataWriteService dataWriteService;
+    private final RawResponseCache rawResponseCache;
+    private final ObjectMapper objectMapper;
     
     /**
      * 모든 데이터 조회 (캐시 미사용)
@@ -29,7 +72,7 @@ public class DataController {
      */
     @GetMapping("/all/with-cache")
     public ResponseEntity<List<SampleData>> getAllDataWithCache() {
-        return ResponseEntity.ok(dataService.getAllDataWithCache());
+        return withCacheStatus(dataService::getAllDataWithCache);
     }
     
     /**
@@ -45,7 +88,23 @@ public class DataController {
      */
     @GetMapping("/category/{category}/with-cache")
     public ResponseEntity<List<SampleData>> getDataByCategoryWithCache(@PathVariable String category) {
-        return ResponseEntity.ok(dataService.getDataByCategoryWithCache(category));
+        return withCacheStatus(() -> dataService.getDataByCategoryWithCache(category));
+    }
+    
+    /**
+     * 모든 데이터 조회 (정규화 캐시: id 인덱스 + ID별 캐시 다건 조회)
+     */
+    @GetMapping("/all/normalized-cache")
+    public ResponseEntity<List<SampleData>> getAllDataNormalized() {
+        return withCacheStatus(dataService::getAllDataNormalized);
+    }
+    
+    /**
+     * 카테고리별 데이터 조회 (정규화 캐시)
+     */
+    @GetMapping("/category/{category}/normalized-cache")
+    public ResponseEntity<List<SampleData>> getDataByCategoryNormalized(@PathVariable String category) {
+        return withCacheStatus(() -> dataService.getDataByCategoryNormalized(category));
     }
     
     /**
@@ -61,6 +120,299 @@ public class DataController {
      */
     @GetMapping("/{id}/with-cache")
     public ResponseEntity<Optional<SampleData>> getDataByIdWithCache(@PathVariable Long id) {
-        return ResponseEntity.ok(dataService.getDataByIdWithCache(id));
+        return withCacheStatus(() -> dataService.getDataByIdWithCache(id));
+    }
+    
+    /**
+     * 모든 데이터 조회 (응답 바이트 캐시 사용, ETag / If-None-Match 지원)
+     */
+    @GetMapping("/all/raw-cache")
+    public ResponseEntity<byte[]> getAllDataRawCache(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return rawResponse(rawResponseCache.get("all", "all", ifNoneMatch, dataService::getAllDataWithoutCache));
+    }
+    
+    /**
+     * 카테고리별 데이터 조회 (응답 바이트 캐시 사용, ETag / If-None-Match 지원)
+     */
+    @GetMapping("/category/{category}/raw-cache")
+    public ResponseEntity<byte[]> getDataByCategoryRawCache(
+            @PathVariable String category,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return rawResponse(rawResponseCache.get("category", category, ifNoneMatch,
+                () -> dataService.getDataByCategoryWithoutCache(category)));
+    }
+    
+    /**
+     * ID로 데이터 조회 (응답 바이트 캐시 사용, ETag / If-None-Match 지원, 없으면 404)
+     */
+    @GetMapping("/{id}/raw-cache")
+    public ResponseEntity<byte[]> getDataByIdRawCache(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return rawResponse(rawResponseCache.get("id", String.valueOf(id), ifNoneMatch,
+                () -> dataService.getDataByIdWithoutCache(id).orElse(null)));
+    }
+    
+    /**
+     * 여러 ID 조회 (캐시 미사용, findAllById 한 번)
+     */
+    @GetMapping("/batch/without-cache")
+    public ResponseEntity<List<SampleData>> getDataByIdsWithoutCache(@RequestParam List<Long> ids) {
+        if (ids.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(dataService.getDataByIdsWithoutCache(ids));
+    }
+    
+    /**
+     * 여러 ID 조회 (캐시 다건 조회 한 번 + 미스만 findAllById 한 번)
+     */
+    @GetMapping("/batch/with-cache")
+    public ResponseEntity<List<SampleData>> getDataByIdsWithCache(@RequestParam List<Long> ids) {
+        if (ids.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        return withCacheStatus(() -> dataService.getDataByIdsWithCache(ids));
+    }
+    
+    /**
+     * 여러 ID 조회 (비교 기준: ID별 캐시 조회를 반복)
+     */
+    @GetMapping("/batch/per-id-with-cache")
+    public ResponseEntity<List<SampleData>> getDataByIdsPerIdWithCache(@RequestParam List<Long> ids) {
+        if (ids.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        return withCacheStatus(() -> ids.stream()
+                .map(dataService::getDataByIdWithCache)
+                .flatMap(Optional::stream)
+                .toList());
+    }
+    
+    /**
+     * 이름 또는 설명 검색 (캐시 미사용, DB LIKE '%q%' 스캔, id 순서로 최대 limit건)
+     */
+    @GetMapping("/search/without-cache")
+    public ResponseEntity<List<SampleData>> searchWithoutCache(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "" + DEFAULT_SEARCH_LIMIT) int limit) {
+        if (q.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(dataService.searchWithoutCache(q, pageSize(limit)));
+    }
+    
+    /**
+     * 이름 또는 설명 검색 (검색 결과 id 캐시 + 메모리 trigram 색인 + ID별 캐시 다건 조회)
+     */
+    @GetMapping("/search/with-cache")
+    public ResponseEntity<List<SampleData>> searchWithCache(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "" + DEFAULT_SEARCH_LIMIT) int limit) {
+        if (q.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return withCacheStatus(() -> dataService.searchWithCache(q, pageSize(limit)));
+    }
+    
+    /**
+     * 이름 또는 설명 검색 (결과 캐시 없이 매번 trigram 색인 + ID별 캐시 다건 조회)
+     */
+    @GetMapping("/search/normalized-cache")
+    public ResponseEntity<List<SampleData>> searchNormalized(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "" + DEFAULT_SEARCH_LIMIT) int limit) {
+        if (q.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return withCacheStatus(() -> dataService.searchNormalized(q, pageSize(limit)));
+    }
+    
+    /**
+     * id 기준 페이지 조회 (캐시 미사용, after = 이전 페이지의 nextCursor)
+     */
+    @GetMapping("/page/without-cache")
+    public ResponseEntity<SampleDataPage> getDataPageWithoutCache(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(dataService.getDataPageWithoutCache(after, pageSize(size)));
+    }
+    
+    /**
+     * id 기준 페이지 조회 (페이지 단위 캐시)
+     */
+    @GetMapping("/page/with-cache")
+    public ResponseEntity<SampleDataPage> getDataPageWithCache(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size) {
+        return withCacheStatus(() -> dataService.getDataPageWithCache(after, pageSize(size)));
+    }
+    
+    /**
+     * 카테고리별 페이지 조회 (캐시 미사용)
+     */
+    @GetMapping("/category/{category}/page/without-cache")
+    public ResponseEntity<SampleDataPage> getDataPageByCategoryWithoutCache(
+            @PathVariable String category,
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(dataService.getDataPageByCategoryWithoutCache(category, after, pageSize(size)));
+    }
+    
+    /**
+     * 카테고리별 페이지 조회 (페이지 단위 캐시)
+     */
+    @GetMapping("/category/{category}/page/with-cache")
+    public ResponseEntity<SampleDataPage> getDataPageByCategoryWithCache(
+            @PathVariable String category,
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size) {
+        return withCacheStatus(() -> dataService.getDataPageByCategoryWithCache(category, after, pageSize(size)));
+    }
+    
+    /**
+     * 모든 데이터를 JSON 배열로 스트리밍 (캐시 미사용, DB 커서에서 한 건씩 기록)
+     */
+    @GetMapping("/stream/without-cache")
+    public ResponseEntity<StreamingResponseBody> streamAllDataWithoutCache() {
+        return streamJsonArray(generator -> {
+            ObjectWriter writer = rowWriter();
+            int[] written = {0};
+            dataService.streamAllDataWithoutCache(row -> {
+                writeRow(generator, writer, row);
+                if (++written[0] % STREAM_CHUNK_SIZE == 0) {
+                    flush(generator);
+                }
+            });
+        });
+    }
+    
+    /**
+     * 모든 데이터를 JSON 배열로 스트리밍 (페이지 단위 캐시를 차례로 읽어 기록)
+     */
+    @GetMapping("/stream/with-cache")
+    public ResponseEntity<StreamingResponseBody> streamAllDataWithCache() {
+        return streamJsonArray(generator -> {
+            ObjectWriter writer = rowWriter();
+            Long cursor = 0L;
+            while (cursor != null) {
+                SampleDataPage page = dataService.getDataPageWithCache(cursor, STREAM_CHUNK_SIZE);
+                for (SampleData row : page.items()) {
+                    writeRow(generator, writer, row);
+                }
+                flush(generator);
+                cursor = page.nextCursor();
+            }
+        });
+    }
+    
+    /**
+     * 데이터 생성 (strategy 생략 시 data.write.strategy)
+     */
+    @PostMapping
+    public ResponseEntity<SampleData> createData(
+            @Valid @RequestBody SampleDataWriteRequest request,
+            @RequestParam(required = false) WriteStrategy strategy) {
+        if (request.getName() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        WriteStrategy applied = dataWriteService.resolve(strategy);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(WRITE_STRATEGY_HEADER, applied.name())
+                .body(dataWriteService.create(request, applied));
+    }
+    
+    /**
+     * 데이터 수정 (null 필드는 기존 값 유지, 없으면 404)
+     */
+    @PutMapping("/{id}")
+    public ResponseEntity<SampleData> updateData(
+            @PathVariable Long id,
+            @Valid @RequestBody SampleDataWriteRequest request,
+            @RequestParam(required = false) WriteStrategy strategy) {
+        WriteStrategy applied = dataWriteService.resolve(strategy);
+        return dataWriteService.update(id, request, applied)
+                .map(updated -> ResponseEntity.ok()
+                        .header(WRITE_STRATEGY_HEADER, applied.name())
+                        .body(updated))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+    
+    /**
+     * 데이터 삭제 (없으면 404)
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteData(
+            @PathVariable Long id,
+            @RequestParam(required = false) WriteStrategy strategy) {
+        WriteStrategy applied = dataWriteService.resolve(strategy);
+        if (!dataWriteService.delete(id, applied)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.noContent()
+                .header(WRITE_STRATEGY_HEADER, applied.name())
+                .build();
+    }
+    
+    private ResponseEntity<StreamingResponseBody> streamJsonArray(Consumer<JsonGenerator> rows) {
+        StreamingResponseBody body = (OutputStream outputStream) -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                rows.accept(generator);
+                generator.writeEndArray();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+    
+    private ObjectWriter rowWriter() {
+        // 행마다 flush하지 않고 STREAM_CHUNK_SIZE 단위로 내보낸다
+        return objectMapper.writerFor(SampleData.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+    
+    private static void writeRow(JsonGenerator generator, ObjectWriter writer, SampleData row) {
+        try {
+            writer.writeValue(generator, row);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private static void flush(JsonGenerator generator) {
+        try {
+            generator.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private static int pageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+    
+    private ResponseEntity<byte[]> rawResponse(RawResponseCache.RawResponse response) {
+        if (response == null) {
+            return ResponseEntity.notFound().build();
+        }
+        ResponseEntity.BodyBuilder builder = ResponseEntity
+                .status(response.isNotModified() ? HttpStatus.NOT_MODIFIED : HttpStatus.OK)
+                .eTag(response.etag())
+                .header(CACHE_STATUS_HEADER, response.outcome().getTier());
+        if (response.isNotModified()) {
+            return builder.build();
+        }
+        return builder.contentType(MediaType.APPLICATION_JSON).body(response.body());
+    }
+    
+    private <T> ResponseEntity<T> withCacheStatus(Supplier<T> query) {
+        try (CacheAccessContext.Scope cacheAccess = CacheAccessContext.begin()) {
+            T body = query.get();
+            return ResponseEntity.ok()
+                    .header(CACHE_STATUS_HEADER, cacheAccess.getCacheTier())
+                    .body(body);
+        }
     }
 }
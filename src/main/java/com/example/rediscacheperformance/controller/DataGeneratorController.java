@@ -0,0 +1,44 @@
+package com.example.rediscacheperformance.controller;
+
+import com.example.rediscacheperformance.config.DataGeneratorProperties;
+import com.example.rediscacheperformance.generator.DataGenerationInProgressException;
+import com.example.rediscacheperformance.generator.DataGenerationRequest;
+import com.example.rediscacheperformance.generator.DataGenerator;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/performance")
+@RequiredArgsConstructor
+@Slf4j
+public class DataGeneratorController {
+    
+    private final DataGenerator dataGenerator;
+    private final DataGeneratorProperties dataGeneratorProperties;
+    
+    /**
+     * 합성 데이터 생성 API (본문 생략 시 data.generator.defaults, 생성 후 캐시 초기화)
+     */
+    @PostMapping("/data/generate")
+    public ResponseEntity<Map<String, Object>> generateData(
+            @Valid @RequestBody(required = false) DataGenerationRequest request) {
+        try {
+            return ResponseEntity.ok(dataGenerator.generate(
+                    request != null ? request : dataGeneratorProperties.getDefaults()));
+        } catch (DataGenerationInProgressException e) {
+            log.warn("Data generation rejected: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Error generating data", e);
+            return ResponseEntity.internalServerError().body(Map.of("error", e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.rediscacheperformance.controller;
+
+import com.example.rediscacheperformance.latency.DatabaseLatencySimulator;
+import com.example.rediscacheperformance.latency.LatencyModelSettings;
+import com.example.rediscacheperformance.latency.QueryType;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/performance")
+@RequiredArgsConstructor
+@Slf4j
+public class LatencyModelController {
+    
+    private final DatabaseLatencySimulator databaseLatency;
+    
+    /**
+     * 조회 종류별 DB 지연 모델과 누적 지연 통계
+     */
+    @GetMapping("/latency-model")
+    public ResponseEntity<Map<String, Object>> getLatencyModel() {
+        return ResponseEntity.ok(databaseLatency.getStatistics());
+    }
+    
+    /**
+     * 조회 종류의 DB 지연 모델 변경 (즉시 적용)
+     */
+    @PutMapping("/latency-model/{queryType}")
+    public ResponseEntity<Map<String, Object>> updateLatencyModel(@PathVariable QueryType queryType,
+                                                                  @Valid @RequestBody LatencyModelSettings settings) {
+        try {
+            databaseLatency.update(queryType, settings);
+            log.info("Latency model updated: query={}, settings={}", queryType, settings);
+            return ResponseEntity.ok(databaseLatency.getStatistics());
+        } catch (Exception e) {
+            log.error("Error updating latency model", e);
+            return ResponseEntity.internalServerError().body(Map.of("error", e.getMessage()));
+        }
+    }
+}
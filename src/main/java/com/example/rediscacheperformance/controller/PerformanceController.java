@@ -1,14 +1,40 @@
 package com.example.rediscacheperformance.controller;
 
+import com.example.rediscacheperformance.cache.CacheAccessContext;
+import com.example.rediscacheperformance.cache.CacheBackendRegistry;
+import com.example.rediscacheperformance.cache.CacheCodecRegistry;
+import com.example.rediscacheperformance.cache.CacheStatisticsProvider;
+import com.example.rediscacheperformance.cache.HotKeyTracker;
+import com.example.rediscacheperformance.cache.RawResponseCache;
+import com.example.rediscacheperformance.cache.RedisIdIndex;
+import com.example.rediscacheperformance.cache.RedisShards;
+import com.example.rediscacheperformance.config.VirtualThreads;
+import com.example.rediscacheperformance.entity.RollupResolution;
+import com.example.rediscacheperformance.metrics.InFlightRequestFilter;
+import com.example.rediscacheperformance.metrics.VirtualThreadPinningMonitor;
+import com.example.rediscacheperformance.search.SampleDataSearchIndex;
+import com.example.rediscacheperformance.service.CacheLayoutService;
+import com.example.rediscacheperformance.service.CacheRefreshAheadScheduler;
+import com.example.rediscacheperformance.service.CacheWarmupService;
 import com.example.rediscacheperformance.service.DataService;
+import com.example.rediscacheperformance.service.DataWriteService;
+import com.example.rediscacheperformance.service.LiveMetricsBroadcaster;
 import com.example.rediscacheperformance.service.PerformanceService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.CacheManager;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -20,35 +46,49 @@ public class PerformanceController {
     
     private final DataService dataService;
     private final PerformanceService performanceService;
-    private final CacheManager cacheManager;
+    private final CacheBackendRegistry cacheBackends;
+    private final CacheCodecRegistry cacheCodecRegistry;
+    private final RawResponseCache rawResponseCache;
+    private final DataWriteService dataWriteService;
+    private final CacheLayoutService cacheLayoutService;
+    private final RedisIdIndex sampleDataIndex;
+    private final HotKeyTracker hotKeyTracker;
+    private final InFlightRequestFilter inFlightRequestFilter;
+    private final VirtualThreadPinningMonitor pinningMonitor;
+    private final LiveMetricsBroadcaster liveMetricsBroadcaster;
+    private final CacheWarmupService cacheWarmupService;
+    private final CacheRefreshAheadScheduler cacheRefreshAheadScheduler;
+    private final SampleDataSearchIndex searchIndex;
+    private final RedisShards redisShards;
+    private final Environment environment;
     
     /**
      * 캐시를 사용하지 않는 데이터 조회 API
      */
     @GetMapping("/data/without-cache")
     public ResponseEntity<Map<String, Object>> getDataWithoutCache() {
-        long startTime = System.currentTimeMillis();
+        long startTime = System.nanoTime();
         
         try {
             List<?> data = dataService.getAllDataWithoutCache();
-            long responseTime = System.currentTimeMillis() - startTime;
+            long elapsedNanos = System.nanoTime() - startTime;
             
             // 성능 메트릭 기록
             performanceService.recordPerformanceMetrics(
-                    "getAllData", false, responseTime, false);
+                    "getAllData", false, elapsedNanos, false);
             
             return ResponseEntity.ok(Map.of(
                     "data", data,
-                    "responseTime", responseTime,
+                    "responseTime", toMillis(elapsedNanos),
                     "cacheEnabled", false,
                     "timestamp", LocalDateTime.now()
             ));
         } catch (Exception e) {
-            long responseTime = System.currentTimeMillis() - startTime;
+            long elapsedNanos = System.nanoTime() - startTime;
             log.error("Error in getDataWithoutCache", e);
             return ResponseEntity.internalServerError().body(Map.of(
                     "error", e.getMessage(),
-                    "responseTime", responseTime,
+                    "responseTime", toMillis(elapsedNanos),
                     "cacheEnabled", false
             ));
         }
@@ -59,47 +99,75 @@ public class PerformanceController {
      */
     @GetMapping("/data/with-cache")
     public ResponseEntity<Map<String, Object>> getDataWithCache() {
-        long startTime = System.currentTimeMillis();
-        boolean cacheHit = false;
+        long startTime = System.nanoTime();
         
-        try {
-            // 캐시 적중 여부를 확인하기 위한 로그 기반 판단
-            // 실제로는 Redis에서 직접 확인해야 하지만, 여기서는 간단히 처리
+        try (CacheAccessContext.Scope cacheAccess = CacheAccessContext.begin()) {
             List<?> data = dataService.getAllDataWithCache();
-            long responseTime = System.currentTimeMillis() - startTime;
+            long elapsedNanos = System.nanoTime() - startTime;
             
-            // 응답 시간이 매우 빠르면 캐시 적중으로 간주 (100ms 이하)
-            cacheHit = responseTime < 100;
+            // 캐시 데코레이터가 기록한 실제 적중 여부
+            boolean cacheHit = cacheAccess.isCacheHit();
+            String backend = cacheBackends.currentName();
             
             // 성능 메트릭 기록
             performanceService.recordPerformanceMetrics(
-                    "getAllData", true, responseTime, cacheHit);
+                    "getAllData", true, elapsedNanos, cacheHit, backend);
             
             return ResponseEntity.ok(Map.of(
                     "data", data,
-                    "responseTime", responseTime,
+                    "responseTime", toMillis(elapsedNanos),
                     "cacheEnabled", true,
+                    "cacheBackend", backend,
                     "cacheHit", cacheHit,
+                    "cacheTier", cacheAccess.getCacheTier(),
                     "timestamp", LocalDateTime.now()
             ));
         } catch (Exception e) {
-            long responseTime = System.currentTimeMillis() - startTime;
+            long elapsedNanos = System.nanoTime() - startTime;
             log.error("Error in getDataWithCache", e);
             return ResponseEntity.internalServerError().body(Map.of(
                     "error", e.getMessage(),
-                    "responseTime", responseTime,
+                    "responseTime", toMillis(elapsedNanos),
                     "cacheEnabled", true
             ));
         }
     }
     
     /**
-     * 성능 통계 조회 API
+     * 응답 시간 (ms, 마이크로초 단위까지)
+     */
+    private static double toMillis(long nanos) {
+        return nanos / 1_000.0 / 1_000.0;
+    }
+
+    /**
+     * 성능 통계 조회 API (백분위/처리량, 인메모리 히스토그램 기반)
+     *
+     * @param api    API 이름 (생략 시 전체 합산)
+     * @param window  조회 구간 (예: 30s, 1m, 5m / 생략 또는 all이면 기동 이후 전체)
+     * @param backend 캐시 사용 통계를 한정할 캐시 백엔드 (생략 시 전체 합산과 백엔드별 통계)
      */
     @GetMapping("/statistics")
-    public ResponseEntity<Map<String, Object>> getPerformanceStatistics() {
+    public ResponseEntity<Map<String, Object>> getPerformanceStatistics(
+            @RequestParam(required = false) String api,
+            @RequestParam(defaultValue = "all") String window,
+            @RequestParam(required = false) String backend) {
+        if (backend != null && !cacheBackends.contains(backend)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Unknown cache backend: " + backend));
+        }
+        Duration windowDuration;
         try {
-            Map<String, Object> statistics = performanceService.getPerformanceStatistics("getAllData");
+            windowDuration = "all".equalsIgnoreCase(window) ? null : DurationStyle.detectAndParse(window);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Invalid window: " + window));
+        }
+        Duration maxWindow = performanceService.getMaxStatisticsWindow();
+        if (windowDuration != null && windowDuration.compareTo(maxWindow) > 0) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Window must not exceed " + maxWindow));
+        }
+        
+        try {
+            Map<String, Object> statistics = performanceService.getPerformanceStatistics(api, backend, windowDuration);
             return ResponseEntity.ok(statistics);
         } catch (Exception e) {
             log.error("Error getting performance statistics", e);
@@ -107,19 +175,225 @@ public class PerformanceController {
         }
     }
     
+    /**
+     * 실시간 성능 통계 스트림 (SSE, performance.metrics.stream.interval마다 "metrics" 이벤트)
+     * 최근 구간(windowed)과 기동 이후 전체(total) 통계, 캐시 계층별 통계를 인메모리 집계에서 보낸다.
+     */
+    @GetMapping(value = "/statistics/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamStatistics() {
+        try {
+            return ResponseEntity.ok(liveMetricsBroadcaster.subscribe());
+        } catch (IllegalStateException e) {
+            log.warn("Rejected metrics stream subscriber: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+    
+    /**
+     * 롤업 기반 장기 성능 통계 조회 API (분/시간 롤업, 원본 행을 읽지 않음)
+     *
+     * @param api        API 이름 (생략 시 전체 합산)
+     * @param window     조회 구간 (예: 30m, 6h, 7d)
+     * @param resolution MINUTE / HOUR (생략 시 구간 길이에 따라 선택)
+     */
+    @GetMapping("/statistics/history")
+    public ResponseEntity<Map<String, Object>> getHistoricalStatistics(
+            @RequestParam(required = false) String api,
+            @RequestParam(defaultValue = "1h") String window,
+            @RequestParam(required = false) RollupResolution resolution) {
+        Duration windowDuration;
+        try {
+            windowDuration = DurationStyle.detectAndParse(window);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Invalid window: " + window));
+        }
+        if (windowDuration.isNegative() || windowDuration.isZero()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Window must be positive"));
+        }
+        
+        try {
+            return ResponseEntity.ok(performanceService.getHistoricalStatistics(api, windowDuration, resolution));
+        } catch (Exception e) {
+            log.error("Error getting historical statistics", e);
+            return ResponseEntity.internalServerError().body(Map.of("error", e.getMessage()));
+        }
+    }
+    
+    /**
+     * 성능 메트릭 롤업과 보관 기간 정리를 즉시 실행
+     */
+    @PostMapping("/statistics/rollup")
+    public ResponseEntity<Map<String, Object>> runMetricsRollup() {
+        try {
+            return ResponseEntity.ok(performanceService.runMetricsRollup());
+        } catch (Exception e) {
+            log.error("Error running metrics rollup", e);
+            return ResponseEntity.internalServerError().body(Map.of("error", e.getMessage()));
+        }
+    }
+    
+    /**
+     * 캐시 계층별(로컬/Redis/DB) 적중 통계 조회 API (redis 백엔드)
+     */
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, Object>> getCacheStatistics() {
+        if (cacheBackends.get(CacheBackendRegistry.REDIS) instanceof CacheStatisticsProvider provider) {
+            return ResponseEntity.ok(provider.getCacheStatistics());
+        }
+        return ResponseEntity.ok(Map.of());
+    }
+    
+    /**
+     * 요청별로 고를 수 있는 캐시 백엔드 목록과 백엔드별 캐시 통계
+     */
+    @GetMapping("/cache/backends")
+    public ResponseEntity<Map<String, Object>> getCacheBackends() {
+        Map<String, Object> backends = new LinkedHashMap<>();
+        backends.put("default", cacheBackends.getDefaultBackend());
+        backends.put("available", cacheBackends.getNames());
+        backends.put("statistics", cacheBackends.getCacheStatistics());
+        return ResponseEntity.ok(backends);
+    }
+    
+    /**
+     * 캐시 백엔드/캐시별 조회가 몰리는 키(감쇠된 추정 조회 수 내림차순)와 키별 추정 적중률
+     *
+     * @param backend 캐시 백엔드 (생략 시 모든 백엔드)
+     * @param cache   캐시 이름 (생략 시 모든 캐시)
+     * @param limit   캐시별 최대 키 수
+     */
+    @GetMapping("/cache/hot-keys")
+    public ResponseEntity<Map<String, Object>> getHotKeys(@RequestParam(required = false) String backend,
+                                                          @RequestParam(required = false) String cache,
+                                                          @RequestParam(defaultValue = "20") int limit) {
+        if (limit < 1) {
+            return ResponseEntity.badRequest().body(Map.of("error", "limit must be positive"));
+        }
+        return ResponseEntity.ok(hotKeyTracker.getStatistics(backend, cache, limit));
+    }
+    
+    /**
+     * 캐시 예열 상태와 만료 전 갱신(refresh-ahead) 통계
+     */
+    @GetMapping("/cache/warmup")
+    public ResponseEntity<Map<String, Object>> getCacheWarmup() {
+        Map<String, Object> warmup = new LinkedHashMap<>();
+        warmup.put("warmup", cacheWarmupService.getStatistics());
+        warmup.put("refreshAhead", cacheRefreshAheadScheduler.getStatistics());
+        return ResponseEntity.ok(warmup);
+    }
+    
+    /**
+     * 기본 캐시 백엔드 예열을 백그라운드에서 시작 (이미 예열 중이면 409)
+     */
+    @PostMapping("/cache/warmup")
+    public ResponseEntity<Map<String, Object>> startCacheWarmup() {
+        if (!cacheWarmupService.warmAsync("manual")) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", "Cache warm-up already running"));
+        }
+        return ResponseEntity.accepted().body(Map.of("message", "Cache warm-up started"));
+    }
+    
+    /**
+     * sharded 백엔드의 노드별 상태 (링 포함 여부, 장애 여부, 보낸 명령 수, 장애로 미스 처리한 명령 수)
+     */
+    @GetMapping("/cache/shards")
+    public ResponseEntity<Map<String, Object>> getCacheShards() {
+        return ResponseEntity.ok(redisShards.getStatistics());
+    }
+    
+    /**
+     * sharded 백엔드의 링에 올릴 노드 수 변경 (앞에서부터 activeNodes개, 자기 노드가 아닌 키는 각 노드에서 지움)
+     */
+    @PutMapping("/cache/shards")
+    public ResponseEntity<Map<String, Object>> resizeCacheShards(@RequestParam int activeNodes) {
+        if (!redisShards.isEnabled()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Cache sharding is disabled (cache.sharding.enabled)"));
+        }
+        try {
+            return ResponseEntity.ok(redisShards.resize(activeNodes));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Error resizing cache shards", e);
+            return ResponseEntity.internalServerError().body(Map.of("error", e.getMessage()));
+        }
+    }
+    
+    /**
+     * 캐시별 값 코덱과 항목 크기, 직렬화/역직렬화 시간
+     */
+    @GetMapping("/cache/codecs")
+    public ResponseEntity<Map<String, Object>> getCacheCodecStatistics() {
+        return ResponseEntity.ok(cacheCodecRegistry.getStatistics());
+    }
+    
+    /**
+     * 목록 캐시 저장 방식(비정규화 / 정규화)별 Redis 메모리와 행당 바이트
+     */
+    @GetMapping("/cache/memory")
+    public ResponseEntity<Map<String, Object>> getCacheMemory(@RequestParam(defaultValue = "false") boolean warm) {
+        try {
+            return ResponseEntity.ok(cacheLayoutService.getLayoutMemory(warm));
+        } catch (Exception e) {
+            log.error("Error measuring cache memory", e);
+            return ResponseEntity.internalServerError().body(Map.of("error", e.getMessage()));
+        }
+    }
+    
+    /**
+     * 검색 trigram 색인 상태 (문서 수, trigram 수, 비트셋 posting 수, 대략적인 메모리, 마지막 생성 시간)
+     */
+    @GetMapping("/search/index")
+    public ResponseEntity<Map<String, Object>> getSearchIndex() {
+        return ResponseEntity.ok(searchIndex.getStatistics());
+    }
+    
+    /**
+     * 쓰기 전략별 DB 쓰기 행 수와 write-behind 대기열 상태
+     */
+    @GetMapping("/writes")
+    public ResponseEntity<Map<String, Object>> getWriteStatistics() {
+        return ResponseEntity.ok(dataWriteService.getStatistics());
+    }
+
+    /**
+     * 스택별 처리 중 요청 수와 JVM 스레드/힙 사용량, 요청 처리 스레드 종류와 가상 스레드 고정 통계
+     * (가상 스레드는 JVM 스레드 수에 포함되지 않음)
+     *
+     * @param resetPeak true면 처리 중 요청 수의 최대값을 조회 후 초기화
+     *                  (JVM 최대 스레드 수는 다른 모니터링도 읽는 전역 값이라 초기화하지 않으며 기동 이후 최대값이다)
+     */
+    @GetMapping("/runtime")
+    public ResponseEntity<Map<String, Object>> getRuntime(@RequestParam(defaultValue = "false") boolean resetPeak) {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        Map<String, Object> runtime = new LinkedHashMap<>(inFlightRequestFilter.getStatistics(resetPeak));
+        runtime.put("liveThreads", threads.getThreadCount());
+        runtime.put("peakThreads", threads.getPeakThreadCount());
+        runtime.put("heapUsedBytes", ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed());
+        runtime.put("requestThreads", VirtualThreads.isEnabled(environment) ? "virtual" : "platform");
+        runtime.put("pinning", pinningMonitor.getStatistics());
+        runtime.put("metricsStream", liveMetricsBroadcaster.getStatistics());
+        return ResponseEntity.ok(runtime);
+    }
+
     /**
      * 캐시 클리어 API
      */
     @PostMapping("/cache/clear")
     public ResponseEntity<Map<String, String>> clearCache() {
         try {
-            // CacheManager를 사용해서 캐시를 클리어
-            cacheManager.getCacheNames().forEach(cacheName -> {
-                cacheManager.getCache(cacheName).clear();
-                log.info("Cache '{}' cleared", cacheName);
-            });
+            // 모든 캐시 백엔드의 캐시를 클리어
+            cacheBackends.clearAll();
+            log.info("Caches cleared on backends {}", cacheBackends.getNames());
+            rawResponseCache.clear();
+            log.info("Cache '{}' cleared", RawResponseCache.CACHE_NAME);
+            sampleDataIndex.clear();
+            log.info("Cache '{}' cleared", RedisIdIndex.CACHE_NAME);
+            // 비운 직후의 요청이 DB 지연을 그대로 치르지 않도록 백그라운드에서 다시 예열
+            String warmup = cacheWarmupService.warmAfterClear();
             
-            return ResponseEntity.ok(Map.of("message", "Cache cleared successfully"));
+            return ResponseEntity.ok(Map.of("message", "Cache cleared successfully", "warmup", warmup));
         } catch (Exception e) {
             log.error("Error clearing cache", e);
             return ResponseEntity.internalServerError().body(Map.of("error", e.getMessage()));
@@ -0,0 +1,81 @@
+package com.example.rediscacheperformance.controller;
+
+import com.example.rediscacheperformance.cache.ReactiveRedisCache.CachedValue;
+import com.example.rediscacheperformance.entity.SampleData;
+import com.example.rediscacheperformance.service.ReactiveDataService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * /api/data 조회 API의 리액티브 버전
+ * Mono를 반환하면 요청 스레드는 바로 반환되고(서블릿 비동기 처리) 결과가 준비되면 응답한다.
+ */
+@RestController
+@RequestMapping("/api/reactive/data")
+@RequiredArgsConstructor
+public class ReactiveDataController {
+    
+    private final ReactiveDataService reactiveDataService;
+    
+    /**
+     * 모든 데이터 조회 (캐시 미사용)
+     */
+    @GetMapping("/all/without-cache")
+    public Mono<List<SampleData>> getAllDataWithoutCache() {
+        return reactiveDataService.getAllDataWithoutCache();
+    }
+    
+    /**
+     * 모든 데이터 조회 (캐시 사용)
+     */
+    @GetMapping("/all/with-cache")
+    public Mono<ResponseEntity<Object>> getAllDataWithCache() {
+        return reactiveDataService.getAllDataWithCache().map(ReactiveDataController::withCacheStatus);
+    }
+    
+    /**
+     * 카테고리별 데이터 조회 (캐시 미사용)
+     */
+    @GetMapping("/category/{category}/without-cache")
+    public Mono<List<SampleData>> getDataByCategoryWithoutCache(@PathVariable String category) {
+        return reactiveDataService.getDataByCategoryWithoutCache(category);
+    }
+    
+    /**
+     * 카테고리별 데이터 조회 (캐시 사용)
+     */
+    @GetMapping("/category/{category}/with-cache")
+    public Mono<ResponseEntity<Object>> getDataByCategoryWithCache(@PathVariable String category) {
+        return reactiveDataService.getDataByCategoryWithCache(category).map(ReactiveDataController::withCacheStatus);
+    }
+    
+    /**
+     * ID로 데이터 조회 (캐시 미사용, 없으면 404)
+     */
+    @GetMapping("/{id}/without-cache")
+    public Mono<ResponseEntity<SampleData>> getDataByIdWithoutCache(@PathVariable Long id) {
+        return reactiveDataService.getDataByIdWithoutCache(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+    
+    /**
+     * ID로 데이터 조회 (캐시 사용, 없으면 404)
+     */
+    @GetMapping("/{id}/with-cache")
+    public Mono<ResponseEntity<Object>> getDataByIdWithCache(@PathVariable Long id) {
+        return reactiveDataService.getDataByIdWithCache(id).map(cached -> cached.value() == null
+                ? ResponseEntity.notFound().header(DataController.CACHE_STATUS_HEADER, cached.outcome().getTier()).build()
+                : withCacheStatus(cached));
+    }
+    
+    private static ResponseEntity<Object> withCacheStatus(CachedValue cached) {
+        return ResponseEntity.ok()
+                .header(DataController.CACHE_STATUS_HEADER, cached.outcome().getTier())
+                .body(cached.value());
+    }
+}
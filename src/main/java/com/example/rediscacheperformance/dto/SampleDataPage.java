@@ -0,0 +1,22 @@
+package com.example.rediscacheperformance.dto;
+
+import com.example.rediscacheperformance.entity.SampleData;
+
+import java.util.List;
+
+/**
+ * id 기준 keyset 페이지
+ *
+ * @param items      id 오름차순 데이터
+ * @param nextCursor 다음 페이지 조회 시 after로 넘길 id (마지막 페이지면 null)
+ */
+public record SampleDataPage(List<SampleData> items, Long nextCursor) {
+
+    /**
+     * size만큼 채워진 페이지면 마지막 id를 다음 커서로 사용
+     */
+    public static SampleDataPage of(List<SampleData> items, int size) {
+        Long nextCursor = !items.isEmpty() && items.size() >= size ? items.get(items.size() - 1).getId() : null;
+        return new SampleDataPage(items, nextCursor);
+    }
+}
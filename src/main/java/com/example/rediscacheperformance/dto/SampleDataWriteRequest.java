@@ -0,0 +1,24 @@
+package com.example.rediscacheperformance.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+/**
+ * 데이터 생성/수정 요청 (수정 시 null 필드는 기존 값 유지)
+ */
+@Data
+public class SampleDataWriteRequest {
+
+    @Size(min = 1, max = 255)
+    private String name;
+
+    @Size(max = 255)
+    private String description;
+
+    @Min(0)
+    private Integer price;
+
+    @Size(max = 255)
+    private String category;
+}
@@ -9,7 +9,12 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "performance_metrics")
+@Table(name = "performance_metrics", indexes = {
+        // 통계 조회 (API, 캐시 사용 여부, 기간)
+        @Index(name = "idx_performance_metrics_api_cache_created", columnList = "api_name, cache_enabled, created_at"),
+        // 롤업 구간 조회와 보관 기간 삭제
+        @Index(name = "idx_performance_metrics_created", columnList = "created_at")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -29,6 +34,12 @@ public class PerformanceMetrics {
     @Column(name = "response_time_ms", nullable = false)
     private Long responseTimeMs;
     
+    /**
+     * 마이크로초 단위 응답 시간 (롤업 히스토그램에 사용, 없으면 response_time_ms 사용)
+     */
+    @Column(name = "response_time_us")
+    private Long responseTimeUs;
+    
     @Column(name = "cache_hit", nullable = false)
     private Boolean cacheHit;
     
@@ -0,0 +1,65 @@
+package com.example.rediscacheperformance.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 구간(분/시간)별 성능 메트릭 요약
+ * (API, 캐시 사용 여부, 적중 여부)마다 요청 수, 응답 시간 합계/최소/최대와 응답 시간(마이크로초) 히스토그램을 보관한다.
+ */
+@Entity
+@Table(name = "performance_metrics_rollup", indexes = {
+        @Index(name = "uk_performance_metrics_rollup_bucket", unique = true,
+                columnList = "resolution, bucket_start, api_name, cache_enabled, cache_hit"),
+        @Index(name = "idx_performance_metrics_rollup_api", columnList = "resolution, api_name, bucket_start")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PerformanceMetricsRollup {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "resolution", nullable = false, length = 16)
+    private RollupResolution resolution;
+    
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+    
+    @Column(name = "api_name", nullable = false)
+    private String apiName;
+    
+    @Column(name = "cache_enabled", nullable = false)
+    private Boolean cacheEnabled;
+    
+    @Column(name = "cache_hit", nullable = false)
+    private Boolean cacheHit;
+    
+    @Column(name = "request_count", nullable = false)
+    private Long requestCount;
+    
+    @Column(name = "response_time_sum_us", nullable = false)
+    private Long responseTimeSumUs;
+    
+    @Column(name = "response_time_min_us", nullable = false)
+    private Long responseTimeMinUs;
+    
+    @Column(name = "response_time_max_us", nullable = false)
+    private Long responseTimeMaxUs;
+    
+    /**
+     * HdrHistogram 압축 인코딩
+     */
+    @Lob
+    @Column(name = "histogram", nullable = false)
+    private byte[] histogram;
+}
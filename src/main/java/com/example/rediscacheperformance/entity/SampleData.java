@@ -9,9 +9,13 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "sample_data")
+@Table(name = "sample_data", indexes = {
+        // 카테고리 조회와 카테고리 keyset 페이지 (선행 컬럼 category로 카테고리 단독 조회도 처리)
+        @Index(name = "idx_sample_data_category_id", columnList = "category, id"),
+        @Index(name = "idx_sample_data_name", columnList = "name")
+})
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class SampleData {
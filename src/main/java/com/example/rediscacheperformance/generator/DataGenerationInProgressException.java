@@ -0,0 +1,13 @@
+package com.example.rediscacheperformance.generator;
+
+/**
+ * 다른 데이터 생성이 실행 중일 때 발생
+ */
+public class DataGenerationInProgressException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public DataGenerationInProgressException() {
+        super("Another data generation is already running");
+    }
+}
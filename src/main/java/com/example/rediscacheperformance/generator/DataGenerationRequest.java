@@ -0,0 +1,62 @@
+package com.example.rediscacheperformance.generator;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+
+/**
+ * 합성 데이터 생성 요청
+ */
+@Data
+public class DataGenerationRequest {
+
+    @Min(1)
+    @Max(50_000_000)
+    private int rows = 100_000;
+
+    /**
+     * 카테고리 수 (category-00001 ~)
+     */
+    @Min(1)
+    @Max(100_000)
+    private int categories = 100;
+
+    /**
+     * 카테고리 분포의 Zipf 지수 (0이면 균등, 클수록 앞쪽 카테고리에 몰림)
+     */
+    @DecimalMin("0")
+    private double categorySkew = 0.99;
+
+    /**
+     * 설명 길이 범위 (description 컬럼 최대 255자)
+     */
+    @Min(0)
+    @Max(255)
+    private int descriptionMinLength = 20;
+
+    @Min(0)
+    @Max(255)
+    private int descriptionMaxLength = 200;
+
+    @Min(1)
+    @Max(100_000)
+    private int maxPrice = 10_000;
+
+    /**
+     * JDBC 배치 한 번에 INSERT할 행 수
+     */
+    @Min(1)
+    @Max(10_000)
+    private int batchSize = 1_000;
+
+    /**
+     * 같은 시드면 같은 데이터 생성
+     */
+    private long seed = 42;
+
+    /**
+     * 생성 전에 기존 데이터를 모두 삭제
+     */
+    private boolean truncate = false;
+}
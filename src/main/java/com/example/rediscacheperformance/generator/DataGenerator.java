@@ -0,0 +1,202 @@
+package com.example.rediscacheperformance.generator;
+
+import com.example.rediscacheperformance.cache.CacheBackendRegistry;
+import com.example.rediscacheperformance.cache.RawResponseCache;
+import com.example.rediscacheperformance.cache.RedisIdIndex;
+import com.example.rediscacheperformance.search.SampleDataSearchIndex;
+import com.example.rediscacheperformance.service.WriteBehindQueue;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 대량 합성 데이터 생성기
+ * 행을 객체로 모아두지 않고 배치마다 PreparedStatement에 바로 채워 JDBC 배치 INSERT 하고, 배치 단위로 커밋한다.
+ * (SampleData의 IDENTITY id는 Hibernate INSERT 배치를 막으므로 JdbcTemplate을 사용)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DataGenerator {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO sample_data (name, description, price, category, created_at) VALUES (?, ?, ?, ?, ?)";
+    private static final int PROGRESS_INTERVAL = 100_000;
+    private static final String[] WORDS = {
+            "alpha", "basic", "compact", "durable", "eco", "fast", "global", "heavy", "instant", "joint",
+            "kinetic", "light", "modular", "natural", "optimal", "portable", "quiet", "rapid", "smart", "tough",
+            "ultra", "vivid", "wireless", "extra", "young", "zero", "premium", "standard", "classic", "deluxe"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final WriteBehindQueue writeBehindQueue;
+    private final CacheBackendRegistry cacheBackends;
+    private final RawResponseCache rawResponseCache;
+    private final RedisIdIndex sampleDataIndex;
+    private final SampleDataSearchIndex searchIndex;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * 데이터 생성 후 기존 캐시를 모두 비운다
+     *
+     * @return 생성 행 수, 배치 수, 초당 행 수
+     */
+    public Map<String, Object> generate(DataGenerationRequest request) {
+        if (request.getDescriptionMinLength() > request.getDescriptionMaxLength()) {
+            throw new IllegalArgumentException("descriptionMinLength must not exceed descriptionMaxLength");
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new DataGenerationInProgressException();
+        }
+        try {
+            // 대기 중인 write-behind 변경이 생성 후 데이터에 섞이지 않도록 먼저 반영
+            writeBehindQueue.flush();
+            if (request.isTruncate()) {
+                jdbcTemplate.execute("TRUNCATE TABLE sample_data");
+            }
+            log.info("Data generation started: rows={}, categories={}, skew={}, batchSize={}",
+                    request.getRows(), request.getCategories(), request.getCategorySkew(), request.getBatchSize());
+
+            RowFactory rows = new RowFactory(request);
+            long start = System.nanoTime();
+            int inserted = 0;
+            int batches = 0;
+            while (inserted < request.getRows()) {
+                int size = Math.min(request.getBatchSize(), request.getRows() - inserted);
+                transactionTemplate.executeWithoutResult(status ->
+                        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+                            @Override
+                            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                                rows.next(ps);
+                            }
+
+                            @Override
+                            public int getBatchSize() {
+                                return size;
+                            }
+                        }));
+                inserted += size;
+                batches++;
+                if (inserted / PROGRESS_INTERVAL != (inserted - size) / PROGRESS_INTERVAL) {
+                    log.info("Data generation progress: {}/{} rows", inserted, request.getRows());
+                }
+            }
+            double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            // 이전 색인으로 만든 검색 결과가 캐시에 남지 않도록 색인을 먼저 다시 만든 뒤 캐시를 비운다
+            Map<String, Object> searchIndexBuild = searchIndex.rebuild("generate");
+            clearCaches();
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("rows", inserted);
+            result.put("batches", batches);
+            result.put("batchSize", request.getBatchSize());
+            result.put("categories", request.getCategories());
+            result.put("categorySkew", request.getCategorySkew());
+            result.put("elapsedSeconds", elapsedSeconds);
+            result.put("rowsPerSecond", elapsedSeconds > 0 ? inserted / elapsedSeconds : 0.0);
+            result.put("searchIndex", searchIndexBuild);
+            result.put("totalRows", jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sample_data", Long.class));
+            log.info("Data generation finished: {}", result);
+            return result;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void clearCaches() {
+        cacheBackends.clearAll();
+        rawResponseCache.clear();
+        sampleDataIndex.clear();
+    }
+
+    /**
+     * 시드 기반 행 생성 (카테고리는 Zipf 분포, 설명은 길이 범위 안에서 균등)
+     */
+    private static final class RowFactory {
+
+        private final DataGenerationRequest request;
+        private final SplittableRandom random;
+        private final String[] categories;
+        private final double[] cumulative;
+        private final StringBuilder description = new StringBuilder(256);
+        private final Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        private long sequence;
+
+        private RowFactory(DataGenerationRequest request) {
+            this.request = request;
+            this.random = new SplittableRandom(request.getSeed());
+            this.categories = new String[request.getCategories()];
+            for (int i = 0; i < categories.length; i++) {
+                categories[i] = String.format("category-%05d", i + 1);
+            }
+            this.cumulative = request.getCategorySkew() > 0 ? zipfCumulative(categories.length, request.getCategorySkew()) : null;
+        }
+
+        private static double[] zipfCumulative(int size, double exponent) {
+            double[] cumulative = new double[size];
+            double sum = 0;
+            for (int rank = 0; rank < size; rank++) {
+                sum += 1.0 / Math.pow(rank + 1, exponent);
+                cumulative[rank] = sum;
+            }
+            for (int rank = 0; rank < size; rank++) {
+                cumulative[rank] /= sum;
+            }
+            return cumulative;
+        }
+
+        private void next(PreparedStatement ps) throws SQLException {
+            sequence++;
+            ps.setString(1, "Product " + sequence + " " + WORDS[random.nextInt(WORDS.length)]);
+            ps.setString(2, description());
+            ps.setInt(3, 1 + random.nextInt(request.getMaxPrice()));
+            ps.setString(4, category());
+            ps.setTimestamp(5, createdAt);
+        }
+
+        private String category() {
+            if (cumulative == null) {
+                return categories[random.nextInt(categories.length)];
+            }
+            double u = random.nextDouble();
+            int low = 0;
+            int high = cumulative.length - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (cumulative[mid] < u) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return categories[low];
+        }
+
+        private String description() {
+            int length = request.getDescriptionMinLength()
+                    + random.nextInt(request.getDescriptionMaxLength() - request.getDescriptionMinLength() + 1);
+            description.setLength(0);
+            while (description.length() < length) {
+                if (!description.isEmpty()) {
+                    description.append(' ');
+                }
+                description.append(WORDS[random.nextInt(WORDS.length)]);
+            }
+            description.setLength(length);
+            return description.toString();
+        }
+    }
+}
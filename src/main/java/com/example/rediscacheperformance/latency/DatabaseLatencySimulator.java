@@ -0,0 +1,149 @@
+package com.example.rediscacheperformance.latency;
+
+import com.example.rediscacheperformance.config.DatabaseLatencyProperties;
+import com.example.rediscacheperformance.latency.LatencyModel.Delay;
+import com.example.rediscacheperformance.latency.LatencyModel.QueuedLatencyModel;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 조회 종류별 DB 지연 시뮬레이터
+ * 모델은 실행 중에 교체할 수 있고(교체 시 LOAD_DEPENDENT 대기열은 비어 있는 상태로 시작),
+ * 뽑은 지연은 data.latency.simulated / data.latency.queue{query} 타이머에 기록한다.
+ */
+@Component
+public class DatabaseLatencySimulator {
+
+    private volatile Map<QueryType, Model> models = new EnumMap<>(QueryType.class);
+    private final Map<QueryType, Timer> delayTimers = new EnumMap<>(QueryType.class);
+    private final Map<QueryType, Timer> queueTimers = new EnumMap<>(QueryType.class);
+    private final ReentrantLock updateLock = new ReentrantLock();
+
+    public DatabaseLatencySimulator(DatabaseLatencyProperties properties, MeterRegistry meterRegistry) {
+        Map<QueryType, Model> initial = new EnumMap<>(QueryType.class);
+        for (QueryType queryType : QueryType.values()) {
+            initial.put(queryType, new Model(properties.settings(queryType)));
+            delayTimers.put(queryType, Timer.builder("data.latency.simulated")
+                    .description("Simulated database latency")
+                    .tag("query", queryType.name().toLowerCase())
+                    .register(meterRegistry));
+            queueTimers.put(queryType, Timer.builder("data.latency.queue")
+                    .description("Time spent waiting for a simulated database slot")
+                    .tag("query", queryType.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        models = initial;
+    }
+
+    /**
+     * 현재 스레드를 지연만큼 재운다
+     */
+    public void await(QueryType queryType) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(next(queryType));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 스레드를 붙잡지 않고 지연만큼 기다리는 Mono (구독할 때마다 새로 뽑는다)
+     */
+    public Mono<Long> delay(QueryType queryType) {
+        return Mono.defer(() -> Mono.delay(Duration.ofNanos(next(queryType))));
+    }
+
+    private long next(QueryType queryType) {
+        Delay delay = models.get(queryType).latencyModel.next();
+        delayTimers.get(queryType).record(delay.totalNanos(), TimeUnit.NANOSECONDS);
+        if (delay.queueNanos() > 0) {
+            queueTimers.get(queryType).record(delay.queueNanos(), TimeUnit.NANOSECONDS);
+        }
+        return delay.totalNanos();
+    }
+
+    /**
+     * 조회 종류의 모델 교체
+     */
+    public void update(QueryType queryType, LatencyModelSettings settings) {
+        Model model = new Model(settings);
+        // 조회 경로는 잠금 없이 읽도록 맵을 복사해 바꾼다 (교체는 드물다)
+        updateLock.lock();
+        try {
+            Map<QueryType, Model> updated = new EnumMap<>(models);
+            updated.put(queryType, model);
+            models = updated;
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * 조회 종류별 현재 설정 (벤치마크 보고용)
+     */
+    public Map<String, LatencyModelSettings> getSettings() {
+        Map<String, LatencyModelSettings> settings = new LinkedHashMap<>();
+        models.forEach((queryType, model) -> settings.put(queryType.name(), model.settings));
+        return settings;
+    }
+
+    /**
+     * 조회 종류별 현재 설정과 누적 지연 통계
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        Map<QueryType, Model> current = models;
+        for (QueryType queryType : QueryType.values()) {
+            Model model = current.get(queryType);
+            Timer delayTimer = delayTimers.get(queryType);
+            Timer queueTimer = queueTimers.get(queryType);
+            Map<String, Object> query = new LinkedHashMap<>();
+            query.put("settings", model.settings);
+            query.put("samples", delayTimer.count());
+            query.put("meanMs", delayTimer.mean(TimeUnit.MILLISECONDS));
+            query.put("maxMs", delayTimer.max(TimeUnit.MILLISECONDS));
+            query.put("queuedSamples", queueTimer.count());
+            query.put("meanQueueMs", queueTimer.mean(TimeUnit.MILLISECONDS));
+            if (model.latencyModel instanceof QueuedLatencyModel queued) {
+                query.put("busySlots", queued.busySlots());
+            }
+            statistics.put(queryType.name(), query);
+        }
+        return statistics;
+    }
+
+    /**
+     * 설정과 그 설정으로 만든 모델 (설정은 복사본을 보관해 호출자가 바꿔도 영향이 없다)
+     */
+    private static final class Model {
+
+        private final LatencyModelSettings settings;
+        private final LatencyModel latencyModel;
+
+        private Model(LatencyModelSettings settings) {
+            this.settings = copy(settings);
+            this.latencyModel = LatencyModel.of(this.settings);
+        }
+
+        private static LatencyModelSettings copy(LatencyModelSettings source) {
+            LatencyModelSettings copy = new LatencyModelSettings();
+            copy.setType(source.getType());
+            copy.setFixedMs(source.getFixedMs());
+            copy.setMinMs(source.getMinMs());
+            copy.setMaxMs(source.getMaxMs());
+            copy.setMedianMs(source.getMedianMs());
+            copy.setSigma(source.getSigma());
+            copy.setSlots(source.getSlots());
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.rediscacheperformance.latency;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 시뮬레이션할 DB 지연을 한 번씩 뽑는 모델
+ * 스레드를 재우지 않고 지연 시간만 계산하므로 블로킹 경로(sleep)와 리액티브 경로(타이머)가 같은 모델을 쓴다.
+ */
+public interface LatencyModel {
+
+    /**
+     * 다음 조회의 지연 (LOAD_DEPENDENT는 호출 시점부터 슬롯을 점유한 것으로 계산)
+     */
+    Delay next();
+
+    /**
+     * @param totalNanos 전체 지연
+     * @param queueNanos 그중 슬롯을 기다린 시간
+     */
+    record Delay(long totalNanos, long queueNanos) {
+    }
+
+    static LatencyModel of(LatencyModelSettings settings) {
+        return switch (settings.getType()) {
+            case FIXED -> {
+                long nanos = toNanos(settings.getFixedMs());
+                yield () -> new Delay(nanos, 0);
+            }
+            case UNIFORM -> {
+                long min = toNanos(settings.getMinMs());
+                long max = toNanos(settings.getMaxMs());
+                yield () -> new Delay(min == max ? min : ThreadLocalRandom.current().nextLong(min, max + 1), 0);
+            }
+            case LOG_NORMAL -> {
+                LogNormal serviceTime = new LogNormal(settings.getMedianMs(), settings.getSigma());
+                yield () -> new Delay(serviceTime.sample(), 0);
+            }
+            case LOAD_DEPENDENT -> new QueuedLatencyModel(settings.getSlots(),
+                    new LogNormal(settings.getMedianMs(), settings.getSigma()));
+        };
+    }
+
+    private static long toNanos(double millis) {
+        return (long) (millis * TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    /**
+     * 로그 정규 분포 (중앙값, 로그 표준편차)
+     */
+    record LogNormal(double medianMs, double sigma) {
+
+        long sample() {
+            double millis = medianMs * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian());
+            return toNanos(millis);
+        }
+    }
+
+    /**
+     * 동시 처리 슬롯이 제한된 DB (M/G/c 대기열)
+     * 슬롯마다 비는 시각을 기록해 가장 먼저 비는 슬롯에 배정하고, 그 시각까지 기다린 시간을 지연에 더한다.
+     * 요청 스레드가 실제로 슬롯을 잡고 있지 않으므로 가상 스레드/리액티브 경로에서도 그대로 쓸 수 있다.
+     */
+    final class QueuedLatencyModel implements LatencyModel {
+
+        private final long[] freeAtNanos;
+        private final LogNormal serviceTime;
+        private final ReentrantLock lock = new ReentrantLock();
+
+        QueuedLatencyModel(int slots, LogNormal serviceTime) {
+            long now = System.nanoTime();
+            this.freeAtNanos = new long[slots];
+            Arrays.fill(freeAtNanos, now);
+            this.serviceTime = serviceTime;
+        }
+
+        @Override
+        public Delay next() {
+            long service = serviceTime.sample();
+            lock.lock();
+            try {
+                long now = System.nanoTime();
+                int earliest = 0;
+                for (int i = 1; i < freeAtNanos.length; i++) {
+                    if (freeAtNanos[i] - freeAtNanos[earliest] < 0) {
+                        earliest = i;
+                    }
+                }
+                long start = freeAtNanos[earliest] - now > 0 ? freeAtNanos[earliest] : now;
+                freeAtNanos[earliest] = start + service;
+                return new Delay(start + service - now, start - now);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * 지금 사용 중인 슬롯 수
+         */
+        int busySlots() {
+            lock.lock();
+            try {
+                long now = System.nanoTime();
+                int busy = 0;
+                for (long freeAt : freeAtNanos) {
+                    if (freeAt - now > 0) {
+                        busy++;
+                    }
+                }
+                return busy;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.rediscacheperformance.latency;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+/**
+ * 조회 종류 하나의 DB 지연 모델 설정 (type에 해당하는 값만 사용)
+ */
+@Data
+public class LatencyModelSettings {
+
+    @NotNull
+    private LatencyModelType type = LatencyModelType.UNIFORM;
+
+    /**
+     * FIXED 지연
+     */
+    @DecimalMin("0")
+    private double fixedMs = 100;
+
+    /**
+     * UNIFORM 최소 지연
+     */
+    @DecimalMin("0")
+    private double minMs = 100;
+
+    /**
+     * UNIFORM 최대 지연
+     */
+    @DecimalMin("0")
+    private double maxMs = 500;
+
+    /**
+     * LOG_NORMAL / LOAD_DEPENDENT 처리 시간 중앙값
+     */
+    @DecimalMin("0")
+    private double medianMs = 100;
+
+    /**
+     * LOG_NORMAL / LOAD_DEPENDENT 로그 표준편차 (클수록 꼬리가 길다, 0.5면 p99가 중앙값의 약 3.2배)
+     */
+    @DecimalMin("0")
+    private double sigma = 0.5;
+
+    /**
+     * LOAD_DEPENDENT 동시 처리 슬롯 수
+     */
+    @Min(1)
+    @Max(10_000)
+    private int slots = 10;
+
+    @JsonIgnore
+    @AssertTrue(message = "minMs must not be greater than maxMs")
+    public boolean isRangeValid() {
+        return minMs <= maxMs;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.rediscacheperformance.latency;
+
+/**
+ * DB 지연 분포
+ */
+public enum LatencyModelType {
+    /**
+     * 항상 fixedMs
+     */
+    FIXED,
+    /**
+     * minMs ~ maxMs 균등 분포
+     */
+    UNIFORM,
+    /**
+     * 중앙값 medianMs, 로그 표준편차 sigma의 로그 정규 분포 (긴 꼬리)
+     */
+    LOG_NORMAL,
+    /**
+     * 동시 처리 슬롯이 slots개인 DB (처리 시간은 LOG_NORMAL, 슬롯이 모두 차 있으면 대기 시간이 더해진다)
+     */
+    LOAD_DEPENDENT
+}
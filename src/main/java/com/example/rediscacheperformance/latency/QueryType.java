@@ -0,0 +1,27 @@
+package com.example.rediscacheperformance.latency;
+
+/**
+ * DB 지연 모델을 나누는 조회 종류
+ */
+public enum QueryType {
+    /**
+     * 전체 조회 (전체 페이지 조회, 스트리밍 포함)
+     */
+    ALL,
+    /**
+     * 카테고리 조회 (카테고리 페이지 조회 포함)
+     */
+    CATEGORY,
+    /**
+     * ID 조회 (여러 ID를 한 번에 읽는 다건 조회 포함)
+     */
+    ID,
+    /**
+     * 이름/설명 부분 문자열 검색 (LIKE '%검색어%')
+     */
+    SEARCH,
+    /**
+     * 데이터 변경 (write-behind 배치 포함)
+     */
+    WRITE
+}
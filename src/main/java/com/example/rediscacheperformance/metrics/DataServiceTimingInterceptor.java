@@ -0,0 +1,85 @@
+package com.example.rediscacheperformance.metrics;
+
+import com.example.rediscacheperformance.cache.CacheAccess;
+import com.example.rediscacheperformance.cache.CacheAccessContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DataService 메서드 실행 시간을 data.service.latency 타이머에 기록하는 인터셉터
+ * 캐시 인터셉터 바깥에서 실행되어 캐시 적중/미스 경로 모두를 측정하고, 태그는
+ * endpoint(메서드 이름), mode(cache / normalized / refresh / none), outcome(local / remote / miss / none), cache(처음 조회한 캐시),
+ * backend(처음 조회한 캐시의 백엔드)이다.
+ */
+public class DataServiceTimingInterceptor implements MethodInterceptor {
+
+    private static final String NONE = "none";
+
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+    private volatile MeterRegistry meterRegistry;
+
+    /**
+     * @param meterRegistryProvider Advisor는 다른 빈보다 먼저 만들어지므로 레지스트리는 첫 호출 때 찾는다
+     */
+    public DataServiceTimingInterceptor(ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.meterRegistryProvider = meterRegistryProvider;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        String endpoint = invocation.getMethod().getName();
+        String exception = NONE;
+        // 바깥 스코프(컨트롤러/벤치마크)에는 닫을 때 합쳐진다
+        CacheAccessContext.Scope cacheAccess = CacheAccessContext.begin();
+        long start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            List<CacheAccess> accesses = cacheAccess.getAccesses();
+            Timer.builder("data.service.latency")
+                    .description("DataService method latency by cache mode and actual cache outcome")
+                    .tag("endpoint", endpoint)
+                    .tag("mode", mode(endpoint))
+                    .tag("outcome", accesses.isEmpty() ? NONE
+                            : cacheAccess.isCacheHit() ? cacheAccess.getCacheTier() : "miss")
+                    .tag("cache", accesses.isEmpty() ? NONE : accesses.get(0).cacheName())
+                    .tag("backend", accesses.isEmpty() ? NONE : accesses.get(0).backend())
+                    .tag("exception", exception)
+                    .register(meterRegistry())
+                    .record(elapsed, TimeUnit.NANOSECONDS);
+            cacheAccess.close();
+        }
+    }
+
+    private MeterRegistry meterRegistry() {
+        MeterRegistry registry = meterRegistry;
+        if (registry == null) {
+            registry = meterRegistryProvider.getObject();
+            meterRegistry = registry;
+        }
+        return registry;
+    }
+
+    private static String mode(String endpoint) {
+        if (endpoint.contains("Normalized")) {
+            return "normalized";
+        }
+        if (endpoint.contains("WithCache")) {
+            return "cache";
+        }
+        if (endpoint.startsWith("refresh")) {
+            return "refresh";
+        }
+        return NONE;
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.rediscacheperformance.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 데이터 API의 처리 중인 요청 수를 스택(mvc / reactive)별로 집계하는 필터
+ * 비동기 요청(Mono 반환)은 요청 스레드가 반환된 뒤 응답이 끝날 때(AsyncListener.onComplete) 감소시킨다.
+ */
+@Component
+public class InFlightRequestFilter extends OncePerRequestFilter {
+
+    public static final String MVC_STACK = "mvc";
+    public static final String REACTIVE_STACK = "reactive";
+
+    private final Map<String, InFlight> stacks = new LinkedHashMap<>();
+
+    public InFlightRequestFilter(MeterRegistry meterRegistry) {
+        for (String stack : new String[]{MVC_STACK, REACTIVE_STACK}) {
+            InFlight inFlight = new InFlight();
+            stacks.put(stack, inFlight);
+            Gauge.builder("http.server.requests.in.flight", inFlight.current, AtomicInteger::get)
+                    .tag("stack", stack)
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return stackOf(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        InFlight inFlight = stacks.get(stackOf(request));
+        inFlight.enter();
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                // onComplete는 타임아웃/오류 후에도 한 번 호출된다
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        inFlight.exit();
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                inFlight.exit();
+            }
+        }
+    }
+
+    private static String stackOf(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        if (uri.startsWith("/api/reactive/")) {
+            return REACTIVE_STACK;
+        }
+        if (uri.startsWith("/api/data/") || uri.equals("/api/data")) {
+            return MVC_STACK;
+        }
+        return null;
+    }
+
+    /**
+     * 스택별 현재/최대 처리 중 요청 수
+     *
+     * @param resetPeak true면 조회 후 최대값을 현재값으로 초기화
+     */
+    public Map<String, Object> getStatistics(boolean resetPeak) {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        stacks.forEach((stack, inFlight) -> {
+            int current = inFlight.current.get();
+            int peak = resetPeak ? inFlight.peak.getAndSet(current) : inFlight.peak.get();
+            statistics.put(stack, Map.of("inFlight", current, "peakInFlight", peak));
+        });
+        return statistics;
+    }
+
+    private static final class InFlight {
+
+        private final AtomicInteger current = new AtomicInteger();
+        private final AtomicInteger peak = new AtomicInteger();
+
+        void enter() {
+            peak.accumulateAndGet(current.incrementAndGet(), Math::max);
+        }
+
+        void exit() {
+            current.decrementAndGet();
+        }
+    }
+}
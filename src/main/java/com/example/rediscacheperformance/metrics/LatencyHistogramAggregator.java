@@ -0,0 +1,144 @@
+package com.example.rediscacheperformance.metrics;
+
+import com.example.rediscacheperformance.config.StatisticsProperties;
+import lombok.RequiredArgsConstructor;
+import org.HdrHistogram.Histogram;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * (apiName, cacheEnabled, cacheHit, backend) 별 응답 시간 스트리밍 히스토그램 집계기
+ * DB를 조회하지 않고 메모리에서 백분위와 처리량을 계산한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class LatencyHistogramAggregator {
+
+    private final StatisticsProperties properties;
+    private final ConcurrentMap<SeriesKey, SlidingWindowHistogram> series = new ConcurrentHashMap<>();
+    private final long startedAt = System.nanoTime();
+
+    /**
+     * @param backend 캐시 백엔드 이름 (캐시를 쓰지 않은 요청은 null)
+     */
+    public void record(String apiName, boolean cacheEnabled, boolean cacheHit, String backend, long latencyNanos) {
+        series.computeIfAbsent(new SeriesKey(apiName, cacheEnabled, cacheHit, backend), key -> new SlidingWindowHistogram(
+                        startedAt,
+                        properties.getBucketDuration().toNanos(),
+                        properties.getBucketCount(),
+                        properties.getSignificantDigits()))
+                .record(Math.max(1, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+    }
+
+    public Set<String> getApiNames() {
+        Set<String> apiNames = new TreeSet<>();
+        series.keySet().forEach(key -> apiNames.add(key.apiName()));
+        return apiNames;
+    }
+
+    public Set<String> getBackends() {
+        Set<String> backends = new TreeSet<>();
+        series.keySet().forEach(key -> {
+            if (key.backend() != null) {
+                backends.add(key.backend());
+            }
+        });
+        return backends;
+    }
+
+    public Duration getMaxWindow() {
+        return properties.getBucketDuration().multipliedBy(properties.getBucketCount());
+    }
+
+    /**
+     * 조건에 맞는 시리즈를 합친 통계 (null 조건은 전체)
+     *
+     * @param window null이면 기동 이후 전체 구간
+     */
+    public LatencySnapshot snapshot(String apiName, Boolean cacheEnabled, Boolean cacheHit, Duration window) {
+        return snapshot(apiName, cacheEnabled, cacheHit, null, window);
+    }
+
+    /**
+     * 조건에 맞는 시리즈를 합친 통계 (null 조건은 전체)
+     *
+     * @param backend null이면 모든 백엔드
+     * @param window  null이면 기동 이후 전체 구간
+     */
+    public LatencySnapshot snapshot(String apiName, Boolean cacheEnabled, Boolean cacheHit, String backend,
+                                    Duration window) {
+        long windowNanos = window != null ? window.toNanos() : 0;
+        Histogram merged = new Histogram(properties.getSignificantDigits());
+        for (Map.Entry<SeriesKey, SlidingWindowHistogram> entry : series.entrySet()) {
+            SeriesKey key = entry.getKey();
+            if ((apiName == null || apiName.equals(key.apiName()))
+                    && (cacheEnabled == null || cacheEnabled == key.cacheEnabled())
+                    && (cacheHit == null || cacheHit == key.cacheHit())
+                    && (backend == null || backend.equals(key.backend()))) {
+                merged.add(entry.getValue().snapshot(windowNanos));
+            }
+        }
+        // 기동 직후에는 실제 경과 시간으로 처리량을 계산
+        long elapsedNanos = System.nanoTime() - startedAt;
+        return new LatencySnapshot(merged, windowNanos > 0 ? Math.min(windowNanos, elapsedNanos) : elapsedNanos);
+    }
+
+    private record SeriesKey(String apiName, boolean cacheEnabled, boolean cacheHit, String backend) {
+    }
+
+    /**
+     * 합쳐진 히스토그램 조회 결과 (시간 단위: 밀리초)
+     */
+    public record LatencySnapshot(Histogram histogram, long windowNanos) {
+
+        public long getCount() {
+            return histogram.getTotalCount();
+        }
+
+        public double getMean() {
+            return getCount() > 0 ? histogram.getMean() / 1000.0 : 0.0;
+        }
+
+        public double getPercentile(double percentile) {
+            return getCount() > 0 ? histogram.getValueAtPercentile(percentile) / 1000.0 : 0.0;
+        }
+
+        public double getMax() {
+            return getCount() > 0 ? histogram.getMaxValue() / 1000.0 : 0.0;
+        }
+
+        /**
+         * 초당 요청 수
+         */
+        public double getThroughput() {
+            return windowNanos > 0 ? getCount() / (windowNanos / 1_000_000_000.0) : 0.0;
+        }
+
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("count", getCount());
+            map.put("throughput", getThroughput());
+            map.putAll(toPercentileMap());
+            return map;
+        }
+
+        public Map<String, Object> toPercentileMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("mean", getMean());
+            map.put("p50", getPercentile(50));
+            map.put("p90", getPercentile(90));
+            map.put("p99", getPercentile(99));
+            map.put("p999", getPercentile(99.9));
+            map.put("max", getMax());
+            return map;
+        }
+    }
+}
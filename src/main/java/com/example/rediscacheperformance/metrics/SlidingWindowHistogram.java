@@ -0,0 +1,73 @@
+package com.example.rediscacheperformance.metrics;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 시간 버킷 링으로 구성한 슬라이딩 윈도우 히스토그램
+ * 기록은 현재 버킷과 누적 히스토그램에 lock 없이 하고, 버킷 교체는 시간이 지난 뒤 처음 기록할 때 한다.
+ * 값 단위는 마이크로초.
+ */
+class SlidingWindowHistogram {
+
+    private final long bucketNanos;
+    private final int significantDigits;
+    private final AtomicReferenceArray<Bucket> buckets;
+    private final Histogram total;
+    private final long originNanos;
+
+    /**
+     * @param originNanos 버킷 경계 기준 시각 (System.nanoTime), 모든 시리즈가 같은 값을 쓴다
+     */
+    SlidingWindowHistogram(long originNanos, long bucketNanos, int bucketCount, int significantDigits) {
+        this.originNanos = originNanos;
+        this.bucketNanos = bucketNanos;
+        this.significantDigits = significantDigits;
+        this.buckets = new AtomicReferenceArray<>(bucketCount);
+        this.total = new ConcurrentHistogram(significantDigits);
+    }
+
+    void record(long micros) {
+        long epoch = epoch(System.nanoTime());
+        int slot = (int) (epoch % buckets.length());
+        Bucket bucket = buckets.get(slot);
+        if (bucket == null || bucket.epoch != epoch) {
+            Bucket fresh = new Bucket(epoch, new ConcurrentHistogram(significantDigits));
+            // 다른 스레드가 먼저 교체했으면 그 버킷을 사용
+            bucket = buckets.compareAndSet(slot, bucket, fresh) ? fresh : buckets.get(slot);
+        }
+        bucket.histogram.recordValue(micros);
+        total.recordValue(micros);
+    }
+
+    /**
+     * 최근 windowNanos 구간을 합친 히스토그램 (0 이하이면 시작 이후 전체)
+     */
+    Histogram snapshot(long windowNanos) {
+        if (windowNanos <= 0) {
+            return total.copy();
+        }
+        long currentEpoch = epoch(System.nanoTime());
+        long bucketsInWindow = Math.min(buckets.length(), Math.max(1, windowNanos / bucketNanos));
+        Histogram merged = new Histogram(significantDigits);
+        for (long epoch = currentEpoch - bucketsInWindow + 1; epoch <= currentEpoch; epoch++) {
+            if (epoch < 0) {
+                continue;
+            }
+            Bucket bucket = buckets.get((int) (epoch % buckets.length()));
+            if (bucket != null && bucket.epoch == epoch) {
+                merged.add(bucket.histogram);
+            }
+        }
+        return merged;
+    }
+
+    private long epoch(long nanoTime) {
+        return (nanoTime - originNanos) / bucketNanos;
+    }
+
+    private record Bucket(long epoch, Histogram histogram) {
+    }
+}
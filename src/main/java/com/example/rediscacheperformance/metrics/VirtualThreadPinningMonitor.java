@@ -0,0 +1,130 @@
+package com.example.rediscacheperformance.metrics;
+
+import com.example.rediscacheperformance.config.VirtualThreadProperties;
+import com.example.rediscacheperformance.config.VirtualThreads;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 가상 스레드 고정(pinning) 감지기
+ * JFR 이벤트 스트림으로 jdk.VirtualThreadPinned(synchronized 블록 안의 블로킹, 네이티브 프레임 등으로
+ * 가상 스레드가 캐리어 스레드에서 내려오지 못한 경우)를 받아 고정 위치별로 집계한다.
+ * 애플리케이션 프레임(com.example)이 있으면 그 프레임을, 없으면 가장 안쪽 프레임을 위치로 사용한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APPLICATION_PACKAGE = "com.example.";
+    private static final String OTHER_FRAMES = "(other)";
+
+    private final VirtualThreadProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, LongAdder> pinnedByFrame = new ConcurrentHashMap<>();
+    private final LongAdder pinnedNanos = new LongAdder();
+    private volatile RecordingStream stream;
+
+    @Override
+    public void start() {
+        if (!properties.isPinningDetection() || !VirtualThreads.isSupported()) {
+            return;
+        }
+        RecordingStream recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT)
+                .withThreshold(properties.getPinnedThreshold())
+                .withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+        recordingStream.startAsync();
+        stream = recordingStream;
+        log.info("Virtual thread pinning detection started (threshold={})", properties.getPinnedThreshold());
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream recordingStream = stream;
+        stream = null;
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        String frame = pinnedFrame(event.getStackTrace());
+        LongAdder count = pinnedByFrame.get(frame);
+        if (count == null) {
+            // 위치 수가 상한을 넘으면 나머지는 하나로 합친다
+            frame = pinnedByFrame.size() < properties.getMaxTrackedFrames() ? frame : OTHER_FRAMES;
+            count = pinnedByFrame.computeIfAbsent(frame, key -> new LongAdder());
+        }
+        count.increment();
+        pinnedNanos.add(event.getDuration().toNanos());
+        Counter.builder("jvm.threads.virtual.pinned")
+                .description("Virtual thread pinned events longer than the threshold")
+                .tag("frame", frame)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static String pinnedFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return OTHER_FRAMES;
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        for (RecordedFrame frame : frames) {
+            if (frame.isJavaFrame() && frame.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE)) {
+                return describe(frame);
+            }
+        }
+        return describe(frames.get(0));
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    public long getPinnedEvents() {
+        return pinnedByFrame.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    /**
+     * 고정 감지 상태와 위치별 횟수 (많은 순)
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("supported", VirtualThreads.isSupported());
+        statistics.put("detecting", isRunning());
+        statistics.put("thresholdMs", properties.getPinnedThreshold().toMillis());
+        statistics.put("pinnedEvents", getPinnedEvents());
+        statistics.put("pinnedMs", TimeUnit.NANOSECONDS.toMillis(pinnedNanos.sum()));
+        Map<String, Long> frames = new LinkedHashMap<>();
+        pinnedByFrame.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, LongAdder> entry) -> entry.getValue().sum()).reversed())
+                .forEach(entry -> frames.put(entry.getKey(), entry.getValue().sum()));
+        statistics.put("frames", frames);
+        return statistics;
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.rediscacheperformance.repository;
 
 import com.example.rediscacheperformance.entity.PerformanceMetrics;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -13,6 +14,9 @@ public interface PerformanceMetricsRepository extends JpaRepository<PerformanceM
     
     List<PerformanceMetrics> findByApiNameAndCacheEnabled(String apiName, Boolean cacheEnabled);
     
+    List<PerformanceMetrics> findByApiNameAndCacheEnabledOrderByCreatedAtDesc(String apiName, Boolean cacheEnabled,
+                                                                             Pageable pageable);
+    
     List<PerformanceMetrics> findByCreatedAtBetween(LocalDateTime start, LocalDateTime end);
     
     @Query("SELECT AVG(p.responseTimeMs) FROM PerformanceMetrics p WHERE p.apiName = ?1 AND p.cacheEnabled = ?2")
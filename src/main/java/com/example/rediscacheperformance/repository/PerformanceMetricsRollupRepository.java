@@ -0,0 +1,23 @@
+package com.example.rediscacheperformance.repository;
+
+import com.example.rediscacheperformance.entity.PerformanceMetricsRollup;
+import com.example.rediscacheperformance.entity.RollupResolution;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PerformanceMetricsRollupRepository extends JpaRepository<PerformanceMetricsRollup, Long> {
+    
+    List<PerformanceMetricsRollup> findByResolutionAndBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStartAsc(
+            RollupResolution resolution, LocalDateTime from, LocalDateTime to);
+    
+    List<PerformanceMetricsRollup> findByResolutionAndApiNameAndBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStartAsc(
+            RollupResolution resolution, String apiName, LocalDateTime from, LocalDateTime to);
+    
+    @Query("SELECT DISTINCT r.apiName FROM PerformanceMetricsRollup r WHERE r.resolution = ?1 ORDER BY r.apiName")
+    List<String> findApiNames(RollupResolution resolution);
+}
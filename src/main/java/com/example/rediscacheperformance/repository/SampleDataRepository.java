@@ -1,10 +1,17 @@
 package com.example.rediscacheperformance.repository;
 
 import com.example.rediscacheperformance.entity.SampleData;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface SampleDataRepository extends JpaRepository<SampleData, Long> {
@@ -12,4 +19,39 @@ public interface SampleDataRepository extends JpaRepository<SampleData, Long> {
     List<SampleData> findByCategory(String category);
     
     List<SampleData> findByNameContainingIgnoreCase(String name);
+    
+    /**
+     * 이름 또는 설명 부분 문자열 검색 (id 순서, LIKE '%검색어%'라 인덱스를 쓰지 못함)
+     */
+    List<SampleData> findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCaseOrderByIdAsc(
+            String name, String description, Limit limit);
+    
+    @Query("SELECT s.id FROM SampleData s ORDER BY s.id")
+    List<Long> findAllIds();
+    
+    /**
+     * 작은 id부터 pageable 크기만큼의 id
+     */
+    @Query("SELECT s.id FROM SampleData s ORDER BY s.id")
+    List<Long> findIds(Pageable pageable);
+    
+    /**
+     * id 기준 keyset 페이지 (afterId 다음부터 limit건)
+     */
+    List<SampleData> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+    
+    List<SampleData> findByCategoryAndIdGreaterThanOrderByIdAsc(String category, Long afterId, Limit limit);
+    
+    /**
+     * 전체 데이터 커서 조회 (트랜잭션 안에서 사용 후 close)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT s FROM SampleData s ORDER BY s.id")
+    Stream<SampleData> streamAll();
+    
+    @Query("SELECT COALESCE(MAX(s.price), 0) FROM SampleData s")
+    int findMaxPrice();
+    
+    @Query("SELECT DISTINCT s.category FROM SampleData s WHERE s.category IS NOT NULL ORDER BY s.category")
+    List<String> findDistinctCategories();
 }
@@ -0,0 +1,238 @@
+package com.example.rediscacheperformance.search;
+
+import com.example.rediscacheperformance.config.SearchIndexProperties;
+import com.example.rediscacheperformance.config.VirtualThreads;
+import com.example.rediscacheperformance.entity.SampleData;
+import com.example.rediscacheperformance.service.WriteBehindQueue;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SampleData 이름/설명 검색 색인
+ * 기동 후 DB를 id 순으로 한 번 읽어 TrigramIndex를 만들고, 이후에는 DataWriteService의 쓰기마다 해당 행만 고친다.
+ * 재생성(데이터 대량 생성 후) 중에는 기존 색인으로 계속 검색하고, 그 사이의 쓰기는 기존 색인에 바로 적용하면서
+ * 따로 모아 두었다가 새 색인을 바꿔 끼우기 직전에 새 색인에도 적용한다.
+ * 검색 결과가 바뀔 수 있는 쓰기와 색인 교체마다 세대를 올려, 검색 결과 캐시는 세대를 키에 넣어 비우지 않고 무효화한다.
+ */
+@Component
+@Slf4j
+public class SampleDataSearchIndex {
+
+    private static final String SELECT_SQL = "SELECT id, name, description FROM sample_data ORDER BY id";
+
+    /**
+     * 재생성 중 모은 쓰기에서 삭제 표시
+     */
+    private static final String[] REMOVED = new String[0];
+
+    private final JdbcTemplate jdbcTemplate;
+    private final WriteBehindQueue writeBehindQueue;
+    private final SearchIndexProperties properties;
+    private final Timer buildDuration;
+    private final AtomicBoolean building = new AtomicBoolean();
+
+    /**
+     * 검색 결과 세대 (색인은 노드마다 따로 있으므로 기동 시각에서 시작해 다른 노드의 세대와 겹치지 않게 한다)
+     */
+    private final AtomicLong generation = new AtomicLong(TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis()));
+
+    /**
+     * 쓰기 반영과 색인 교체를 직렬화
+     */
+    private final Object writeLock = new Object();
+
+    /**
+     * 검색에 쓰는 색인 (첫 생성 전에는 null)
+     */
+    private volatile TrigramIndex index;
+
+    /**
+     * 재생성 중 들어온 쓰기 (id -> {이름, 설명} 또는 REMOVED, 재생성 중이 아니면 null)
+     */
+    private Map<Long, String[]> pendingWrites;
+
+    private volatile Map<String, Object> lastBuild = Map.of();
+
+    public SampleDataSearchIndex(JdbcTemplate jdbcTemplate, WriteBehindQueue writeBehindQueue,
+                                 SearchIndexProperties properties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.writeBehindQueue = writeBehindQueue;
+        this.properties = properties;
+        this.buildDuration = Timer.builder("search.index.build.duration")
+                .description("Time to build the in-memory trigram search index from the database")
+                .register(meterRegistry);
+        Gauge.builder("search.index.documents", this, searchIndex -> {
+            TrigramIndex current = searchIndex.index;
+            return current != null ? current.documentCount() : 0;
+        }).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (isReady()) {
+            // 기동 시 데이터 생성(data.generator.run-on-startup)에서 이미 만들었음
+            return;
+        }
+        VirtualThreads.platformThreadFactory("search-index-build").newThread(() -> rebuild("startup")).start();
+    }
+
+    /**
+     * 색인이 준비되었는지 (아니면 검색은 DB로 대신한다)
+     */
+    public boolean isReady() {
+        return index != null;
+    }
+
+    /**
+     * 현재 검색 결과 세대 (검색 전에 읽어 결과 캐시 키에 넣으면, 검색 중에 바뀐 결과는 다음 세대 키로 다시 구한다)
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * 이름 또는 설명에 검색어가 들어 있는 id (오름차순, 최대 limit건, 색인이 없으면 null)
+     *
+     * @param query TrigramIndex.normalize()로 정규화한 검색어
+     */
+    public List<Long> search(String query, int limit) {
+        TrigramIndex current = index;
+        return current != null ? current.search(query, limit) : null;
+    }
+
+    /**
+     * 생성/수정된 행 반영
+     */
+    public void put(SampleData row) {
+        synchronized (writeLock) {
+            TrigramIndex current = index;
+            if (current != null) {
+                current.put(row.getId(), row.getName(), row.getDescription());
+            }
+            if (pendingWrites != null) {
+                pendingWrites.put(row.getId(), new String[]{row.getName(), row.getDescription()});
+            }
+            // 색인이 없어 DB로 검색하는 동안에도 결과가 바뀌므로 항상 올린다
+            generation.incrementAndGet();
+        }
+    }
+
+    /**
+     * 삭제된 행 반영
+     */
+    public void remove(Long id) {
+        synchronized (writeLock) {
+            TrigramIndex current = index;
+            if (current != null) {
+                current.remove(id);
+            }
+            if (pendingWrites != null) {
+                pendingWrites.put(id, REMOVED);
+            }
+            generation.incrementAndGet();
+        }
+    }
+
+    /**
+     * 변경 전후 값에서 검색 결과가 바뀔 수 있는지 (생성, 삭제, 이름/설명 변경)
+     */
+    public static boolean affectsSearch(SampleData before, SampleData after) {
+        return before == null || after == null
+                || !Objects.equals(before.getName(), after.getName())
+                || !Objects.equals(before.getDescription(), after.getDescription());
+    }
+
+    /**
+     * DB에서 색인을 다시 만든다 (비활성화되었거나 이미 생성 중이면 건너뜀)
+     *
+     * @return 생성 결과 (문서 수, 소요 시간), 건너뛰었으면 빈 맵
+     */
+    public Map<String, Object> rebuild(String reason) {
+        if (!properties.isEnabled() || !building.compareAndSet(false, true)) {
+            return Map.of();
+        }
+        long start = System.nanoTime();
+        try {
+            synchronized (writeLock) {
+                pendingWrites = new TreeMap<>();
+            }
+            TrigramIndex next = new TrigramIndex();
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(SELECT_SQL);
+                statement.setFetchSize(properties.getFetchSize());
+                return statement;
+            }, rs -> {
+                long id = rs.getLong(1);
+                // 아직 DB에 반영되지 않은 write-behind 변경 우선
+                WriteBehindQueue.PendingWrite write = writeBehindQueue.getPending(id).orElse(null);
+                if (write == null) {
+                    next.put(id, rs.getString(2), rs.getString(3));
+                } else if (write.row() != null) {
+                    next.put(id, write.row().getName(), write.row().getDescription());
+                }
+            });
+            synchronized (writeLock) {
+                // 생성 중 들어온 쓰기는 id 순으로 적용 (새 행은 끝에 붙음)
+                pendingWrites.forEach((id, fields) -> {
+                    if (fields == REMOVED) {
+                        next.remove(id);
+                    } else {
+                        next.put(id, fields[0], fields[1]);
+                    }
+                });
+                pendingWrites = null;
+                index = next;
+                generation.incrementAndGet();
+            }
+            long elapsedNanos = System.nanoTime() - start;
+            buildDuration.record(elapsedNanos, TimeUnit.NANOSECONDS);
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("reason", reason);
+            result.put("builtAt", LocalDateTime.now());
+            result.put("documents", next.documentCount());
+            result.put("elapsedMs", TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+            lastBuild = result;
+            log.info("Search index built: {}", result);
+            return result;
+        } catch (RuntimeException e) {
+            synchronized (writeLock) {
+                pendingWrites = null;
+            }
+            log.warn("Search index build failed: {}", e.getMessage());
+            throw e;
+        } finally {
+            building.set(false);
+        }
+    }
+
+    public Map<String, Object> getStatistics() {
+        TrigramIndex current = index;
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("enabled", properties.isEnabled());
+        statistics.put("ready", current != null);
+        statistics.put("building", building.get());
+        statistics.put("generation", generation.get());
+        statistics.put("lastBuild", lastBuild);
+        if (current != null) {
+            statistics.putAll(current.getStatistics());
+        }
+        return statistics;
+    }
+}
@@ -0,0 +1,420 @@
+package com.example.rediscacheperformance.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 부분 문자열 검색용 메모리 trigram 역색인 (대소문자 무시)
+ * 문서마다 id 순서의 번호(ordinal)를 붙이고, trigram별 문서 번호 목록(posting)을 번호 순으로 유지한다.
+ * 희소한 posting은 정렬된 int 배열, 문서의 1/32 이상에 나오는 posting은 비트셋으로 바꿔 메모리를 제한한다.
+ * 검색은 가장 짧은 posting을 번호 순으로 훑으며 나머지 posting에 모두 있는 문서만 원문과 대조하므로
+ * 결과는 id 오름차순이고 limit건을 채우면 바로 멈춘다.
+ * 생성/수정/삭제는 해당 문서의 trigram만 고친다 (삭제된 번호는 재사용하지 않음).
+ * 조회는 읽기 잠금, 변경은 쓰기 잠금으로 보호한다.
+ */
+public final class TrigramIndex {
+
+    /**
+     * 이름과 설명 사이 구분자 (두 필드에 걸친 trigram은 만들지 않는다)
+     */
+    private static final char FIELD_SEPARATOR = '\n';
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int MIN_DENSE_POSTINGS = 64;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Postings> postings = new HashMap<>();
+
+    /**
+     * 번호별 id (번호 순 = id 오름차순, 삭제된 번호도 id는 남겨 이진 탐색에 사용)
+     */
+    private long[] ids = new long[INITIAL_CAPACITY];
+
+    /**
+     * 번호별 소문자 원문 (삭제된 번호는 null)
+     */
+    private String[] texts = new String[INITIAL_CAPACITY];
+    private int size;
+    private int documents;
+
+    /**
+     * 검색어 정규화 (앞뒤 공백 제거, 소문자)
+     */
+    public static String normalize(String query) {
+        return query.strip().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 문서 추가 또는 교체
+     */
+    public void put(long id, String name, String description) {
+        String text = text(name, description);
+        lock.writeLock().lock();
+        try {
+            int ordinal = find(id);
+            if (ordinal < 0) {
+                append(id, text);
+                return;
+            }
+            String previous = texts[ordinal];
+            if (text.equals(previous)) {
+                return;
+            }
+            long[] before = previous != null ? trigrams(previous) : new long[0];
+            long[] after = trigrams(text);
+            for (long trigram : before) {
+                if (Arrays.binarySearch(after, trigram) < 0) {
+                    removePosting(trigram, ordinal);
+                }
+            }
+            for (long trigram : after) {
+                if (Arrays.binarySearch(before, trigram) < 0) {
+                    postings.computeIfAbsent(trigram, t -> new Postings()).add(ordinal, size);
+                }
+            }
+            if (previous == null) {
+                documents++;
+            }
+            texts[ordinal] = text;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            int ordinal = find(id);
+            if (ordinal < 0 || texts[ordinal] == null) {
+                return;
+            }
+            for (long trigram : trigrams(texts[ordinal])) {
+                removePosting(trigram, ordinal);
+            }
+            texts[ordinal] = null;
+            documents--;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 이름 또는 설명에 검색어가 들어 있는 문서 id (오름차순, 최대 limit건)
+     * 3자 미만 검색어는 trigram이 없으므로 원문을 모두 훑는다.
+     *
+     * @param query normalize()로 정규화한 검색어
+     */
+    public List<Long> search(String query, int limit) {
+        List<Long> result = new ArrayList<>(Math.min(limit, 64));
+        if (query.indexOf(FIELD_SEPARATOR) >= 0) {
+            return result;
+        }
+        lock.readLock().lock();
+        try {
+            if (query.length() < 3) {
+                for (int ordinal = 0; ordinal < size && result.size() < limit; ordinal++) {
+                    if (texts[ordinal] != null && texts[ordinal].contains(query)) {
+                        result.add(ids[ordinal]);
+                    }
+                }
+                return result;
+            }
+            long[] trigrams = trigrams(query);
+            Postings[] lists = new Postings[trigrams.length];
+            for (int i = 0; i < trigrams.length; i++) {
+                lists[i] = postings.get(trigrams[i]);
+                if (lists[i] == null) {
+                    return result;
+                }
+            }
+            Arrays.sort(lists, (a, b) -> Integer.compare(a.count, b.count));
+            Postings shortest = lists[0];
+            for (int cursor = shortest.first(); cursor >= 0 && result.size() < limit; cursor = shortest.next(cursor)) {
+                int ordinal = shortest.ordinalAt(cursor);
+                if (containsAll(lists, ordinal) && texts[ordinal] != null && texts[ordinal].contains(query)) {
+                    result.add(ids[ordinal]);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int documentCount() {
+        lock.readLock().lock();
+        try {
+            return documents;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 문서 수, trigram 수, posting 형태별 수와 대략적인 메모리 (원문 + posting 바이트)
+     */
+    public Map<String, Object> getStatistics() {
+        lock.readLock().lock();
+        try {
+            long postingBytes = 0;
+            long textBytes = 0;
+            int dense = 0;
+            long entries = 0;
+            for (Postings list : postings.values()) {
+                postingBytes += list.bytes();
+                entries += list.count;
+                if (list.bits != null) {
+                    dense++;
+                }
+            }
+            for (int ordinal = 0; ordinal < size; ordinal++) {
+                if (texts[ordinal] != null) {
+                    textBytes += texts[ordinal].length();
+                }
+            }
+            Map<String, Object> statistics = new LinkedHashMap<>();
+            statistics.put("documents", documents);
+            statistics.put("trigrams", postings.size());
+            statistics.put("densePostings", dense);
+            statistics.put("postingEntries", entries);
+            statistics.put("postingBytes", postingBytes);
+            statistics.put("textBytes", textBytes);
+            return statistics;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static boolean containsAll(Postings[] lists, int ordinal) {
+        for (int i = 1; i < lists.length; i++) {
+            if (!lists[i].contains(ordinal)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 새 번호로 추가하고, 더 큰 id보다 늦게 들어왔으면(동시 생성) 앞 번호와 자리를 바꿔 id 순서를 유지
+     */
+    private void append(long id, String text) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+            texts = Arrays.copyOf(texts, size * 2);
+        }
+        int ordinal = size++;
+        ids[ordinal] = id;
+        texts[ordinal] = text;
+        documents++;
+        for (long trigram : trigrams(text)) {
+            postings.computeIfAbsent(trigram, t -> new Postings()).add(ordinal, size);
+        }
+        while (ordinal > 0 && ids[ordinal - 1] > id) {
+            swap(ordinal - 1, ordinal);
+            ordinal--;
+        }
+    }
+
+    /**
+     * 이웃한 두 번호 a, a + 1의 문서를 맞바꾼다 (한쪽에만 있는 trigram의 posting만 번호를 바꾸면 순서가 유지됨)
+     */
+    private void swap(int a, int b) {
+        long[] first = texts[a] != null ? trigrams(texts[a]) : new long[0];
+        long[] second = texts[b] != null ? trigrams(texts[b]) : new long[0];
+        for (long trigram : first) {
+            if (Arrays.binarySearch(second, trigram) < 0) {
+                postings.get(trigram).replace(a, b);
+            }
+        }
+        for (long trigram : second) {
+            if (Arrays.binarySearch(first, trigram) < 0) {
+                postings.get(trigram).replace(b, a);
+            }
+        }
+        long id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+        String text = texts[a];
+        texts[a] = texts[b];
+        texts[b] = text;
+    }
+
+    private void removePosting(long trigram, int ordinal) {
+        Postings list = postings.get(trigram);
+        if (list != null && list.remove(ordinal) && list.count == 0) {
+            postings.remove(trigram);
+        }
+    }
+
+    private int find(long id) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        return index >= 0 ? index : -1;
+    }
+
+    private static String text(String name, String description) {
+        String text = name != null ? name.toLowerCase(Locale.ROOT) : "";
+        return description != null ? text + FIELD_SEPARATOR + description.toLowerCase(Locale.ROOT) : text;
+    }
+
+    /**
+     * 정렬된 중복 없는 trigram (문자 3개를 16비트씩 묶은 값)
+     */
+    private static long[] trigrams(String text) {
+        if (text.length() < 3) {
+            return new long[0];
+        }
+        long[] trigrams = new long[text.length() - 2];
+        int count = 0;
+        for (int i = 0; i + 2 < text.length(); i++) {
+            char c0 = text.charAt(i);
+            char c1 = text.charAt(i + 1);
+            char c2 = text.charAt(i + 2);
+            if (c0 == FIELD_SEPARATOR || c1 == FIELD_SEPARATOR || c2 == FIELD_SEPARATOR) {
+                continue;
+            }
+            trigrams[count++] = ((long) c0 << 32) | ((long) c1 << 16) | c2;
+        }
+        Arrays.sort(trigrams, 0, count);
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (unique == 0 || trigrams[unique - 1] != trigrams[i]) {
+                trigrams[unique++] = trigrams[i];
+            }
+        }
+        return Arrays.copyOf(trigrams, unique);
+    }
+
+    /**
+     * trigram 하나의 문서 번호 목록 (정렬된 int 배열 또는 비트셋)
+     * 훑기 위치(cursor)는 배열이면 배열 위치, 비트셋이면 번호 자체다.
+     */
+    private static final class Postings {
+
+        private int[] ordinals = new int[4];
+        private long[] bits;
+        private int count;
+
+        private void add(int ordinal, int universe) {
+            if (bits != null) {
+                ensureBits(ordinal);
+                long mask = 1L << ordinal;
+                if ((bits[ordinal >>> 6] & mask) == 0) {
+                    bits[ordinal >>> 6] |= mask;
+                    count++;
+                }
+                return;
+            }
+            // 새 문서는 번호가 가장 크므로 대부분 끝에 붙는다
+            int insertAt = count;
+            if (count > 0 && ordinals[count - 1] >= ordinal) {
+                int index = Arrays.binarySearch(ordinals, 0, count, ordinal);
+                if (index >= 0) {
+                    return;
+                }
+                insertAt = -index - 1;
+            }
+            if (count == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, count * 2);
+            }
+            System.arraycopy(ordinals, insertAt, ordinals, insertAt + 1, count - insertAt);
+            ordinals[insertAt] = ordinal;
+            count++;
+            // int 배열(4바이트/문서)이 비트셋(문서 수/8바이트)보다 커지면 비트셋으로 전환
+            if (count >= MIN_DENSE_POSTINGS && count > universe >>> 5) {
+                toBits(universe);
+            }
+        }
+
+        private boolean remove(int ordinal) {
+            if (bits != null) {
+                if (!contains(ordinal)) {
+                    return false;
+                }
+                bits[ordinal >>> 6] &= ~(1L << ordinal);
+                count--;
+                return true;
+            }
+            int index = Arrays.binarySearch(ordinals, 0, count, ordinal);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ordinals, index + 1, ordinals, index, count - index - 1);
+            count--;
+            return true;
+        }
+
+        /**
+         * 이웃한 번호로 교체 (to는 목록에 없어야 함)
+         */
+        private void replace(int from, int to) {
+            if (bits != null) {
+                bits[from >>> 6] &= ~(1L << from);
+                ensureBits(to);
+                bits[to >>> 6] |= 1L << to;
+                return;
+            }
+            ordinals[Arrays.binarySearch(ordinals, 0, count, from)] = to;
+        }
+
+        private boolean contains(int ordinal) {
+            if (bits != null) {
+                int word = ordinal >>> 6;
+                return word < bits.length && (bits[word] & (1L << ordinal)) != 0;
+            }
+            return Arrays.binarySearch(ordinals, 0, count, ordinal) >= 0;
+        }
+
+        private int first() {
+            return bits != null ? nextSetBit(0) : count > 0 ? 0 : -1;
+        }
+
+        private int next(int cursor) {
+            return bits != null ? nextSetBit(cursor + 1) : cursor + 1 < count ? cursor + 1 : -1;
+        }
+
+        private int ordinalAt(int cursor) {
+            return bits != null ? cursor : ordinals[cursor];
+        }
+
+        private int nextSetBit(int from) {
+            int word = from >>> 6;
+            if (word >= bits.length) {
+                return -1;
+            }
+            long remaining = bits[word] & (-1L << from);
+            while (true) {
+                if (remaining != 0) {
+                    return word * 64 + Long.numberOfTrailingZeros(remaining);
+                }
+                if (++word == bits.length) {
+                    return -1;
+                }
+                remaining = bits[word];
+            }
+        }
+
+        private void toBits(int universe) {
+            bits = new long[(universe >>> 6) + 1];
+            for (int i = 0; i < count; i++) {
+                bits[ordinals[i] >>> 6] |= 1L << ordinals[i];
+            }
+            ordinals = null;
+        }
+
+        private void ensureBits(int ordinal) {
+            int word = ordinal >>> 6;
+            if (word >= bits.length) {
+                bits = Arrays.copyOf(bits, Math.max(word + 1, bits.length * 3 / 2));
+            }
+        }
+
+        private long bytes() {
+            return bits != null ? bits.length * 8L : ordinals.length * 4L;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.rediscacheperformance.service;
+
+import com.example.rediscacheperformance.cache.RedisIdIndex;
+import com.example.rediscacheperformance.cache.RedisMemoryProbe;
+import com.example.rediscacheperformance.cache.RedisMemoryProbe.Usage;
+import com.example.rediscacheperformance.repository.SampleDataRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 목록 캐시 저장 방식별 Redis 메모리 비교
+ * 비정규화: ID별 항목 + 'all' / 카테고리 목록에 값 전체를 다시 저장
+ * 정규화: ID별 항목 + 'all' / 카테고리 id 인덱스
+ */
+@Service
+@RequiredArgsConstructor
+public class CacheLayoutService {
+
+    private final DataService dataService;
+    private final SampleDataRepository sampleDataRepository;
+    private final RedisIdIndex sampleDataIndex;
+    private final RedisMemoryProbe redisMemoryProbe;
+
+    /**
+     * 두 방식의 키 수, 바이트, 행당 바이트
+     *
+     * @param warm true면 측정 전에 모든 행 / 'all' / 카테고리를 두 방식으로 한 번씩 적재
+     */
+    public Map<String, Object> getLayoutMemory(boolean warm) {
+        if (warm) {
+            warm();
+        }
+        long rows = sampleDataRepository.count();
+        Usage entities = redisMemoryProbe.measure(DataService.SAMPLE_DATA_CACHE + "::*");
+        Usage lists = redisMemoryProbe.measure(DataService.SAMPLE_DATA_LIST_CACHE + "::*");
+        Usage indexes = redisMemoryProbe.measure(sampleDataIndex.getKeyPrefix() + "*");
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("rows", rows);
+        result.put("method", entities.method());
+        result.put("denormalized", layout(rows, entities, DataService.SAMPLE_DATA_LIST_CACHE, lists));
+        result.put("normalized", layout(rows, entities, RedisIdIndex.CACHE_NAME, indexes));
+        return result;
+    }
+
+    private void warm() {
+        List<Long> ids = sampleDataRepository.findAllIds();
+        for (int from = 0; from < ids.size(); from += 1_000) {
+            dataService.getDataByIdsWithCache(ids.subList(from, Math.min(from + 1_000, ids.size())));
+        }
+        dataService.getAllDataWithCache();
+        dataService.getAllDataNormalized();
+        for (String category : sampleDataRepository.findDistinctCategories()) {
+            dataService.getDataByCategoryWithCache(category);
+            dataService.getDataByCategoryNormalized(category);
+        }
+    }
+
+    private static Map<String, Object> layout(long rows, Usage entities, String listName, Usage lists) {
+        long bytes = entities.bytes() + lists.bytes();
+        Map<String, Object> layout = new LinkedHashMap<>();
+        layout.put("entityKeys", entities.keys());
+        layout.put("entityBytes", entities.bytes());
+        layout.put(listName + "Keys", lists.keys());
+        layout.put(listName + "Bytes", lists.bytes());
+        layout.put("totalBytes", bytes);
+        layout.put("bytesPerRow", rows > 0 ? (double) bytes / rows : 0.0);
+        return layout;
+    }
+}
@@ -0,0 +1,273 @@
+package com.example.rediscacheperformance.service;
+
+import com.example.rediscacheperformance.cache.CacheBackendRegistry;
+import com.example.rediscacheperformance.cache.HotKeySketch;
+import com.example.rediscacheperformance.cache.HotKeyTracker;
+import com.example.rediscacheperformance.config.RefreshAheadProperties;
+import com.example.rediscacheperformance.config.VirtualThreads;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 자주 조회되는 키를 Redis TTL이 끝나기 직전에 다시 적재하는 만료 전 갱신(refresh-ahead) 스케줄러
+ * scan-interval마다 핫 키 추적 상위 키의 남은 TTL(PTTL)을 파이프라인으로 읽고, window 안에 들어온 키를
+ * DataService의 @CachePut 메서드로 갱신한다. 동시 갱신은 max-concurrency개로 제한하고 넘치는 키는 다음 주기로 미룬다.
+ * 갱신 지연(cache.refresh.lag)은 키가 window에 들어온 시각부터 갱신이 끝난 시각까지다.
+ * 기본(redis) 백엔드만 대상이며, 요청마다 적재 시점을 보는 조기 갱신(StampedeProtection)과 달리 조회가 없는 사이에도 갱신한다.
+ */
+@Component
+@Slf4j
+public class CacheRefreshAheadScheduler implements SmartLifecycle {
+
+    private static final List<String> CACHES = List.of(DataService.SAMPLE_DATA_CACHE, DataService.SAMPLE_DATA_LIST_CACHE);
+    private static final String CATEGORY_PREFIX = "category:";
+    private static final long PTTL_MISSING = -2;
+
+    private final DataService dataService;
+    private final HotKeyTracker hotKeyTracker;
+    private final StringRedisTemplate redisTemplate;
+    private final RefreshAheadProperties properties;
+    private final boolean virtualThreads;
+
+    private final Semaphore permits;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private final Timer lag;
+    private final Timer scanDuration;
+    private final Counter refreshed;
+    private final Counter missing;
+    private final Counter failed;
+    private final Counter busy;
+
+    private volatile ExecutorService executor;
+    private volatile boolean running;
+    private volatile Thread worker;
+
+    public CacheRefreshAheadScheduler(DataService dataService, HotKeyTracker hotKeyTracker,
+                                      StringRedisTemplate redisTemplate, RefreshAheadProperties properties,
+                                      MeterRegistry meterRegistry, Environment environment) {
+        this.dataService = dataService;
+        this.hotKeyTracker = hotKeyTracker;
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+        this.virtualThreads = VirtualThreads.isEnabled(environment);
+        this.permits = new Semaphore(Math.max(1, properties.getMaxConcurrency()));
+        this.lag = Timer.builder("cache.refresh.lag")
+                .description("Time from a hot key entering the refresh window until its refresh completed")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.scanDuration = Timer.builder("cache.refresh.scan.duration").register(meterRegistry);
+        this.refreshed = refreshCounter(meterRegistry, "refreshed");
+        this.missing = refreshCounter(meterRegistry, "missing");
+        this.failed = refreshCounter(meterRegistry, "failed");
+        this.busy = refreshCounter(meterRegistry, "busy");
+        Gauge.builder("cache.refresh.inflight", inFlight, Set::size).register(meterRegistry);
+    }
+
+    private static Counter refreshCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("cache.refresh")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 한 번 훑어 갱신 대상 키를 제출
+     *
+     * @return 이번에 제출한 갱신 수
+     */
+    private int scanOnce() {
+        long start = System.nanoTime();
+        int submitted = 0;
+        long windowNanos = properties.getWindow().toNanos();
+        for (String cacheName : CACHES) {
+            List<Object> keys = new ArrayList<>();
+            List<HotKeySketch.HotKey> hotKeys = hotKeyTracker.topKeys(CacheBackendRegistry.REDIS, cacheName,
+                    properties.getTopKeys());
+            for (HotKeySketch.HotKey hotKey : hotKeys) {
+                if (hotKey.accesses() >= properties.getMinAccesses() && isRefreshable(cacheName, hotKey.key())) {
+                    keys.add(hotKey.key());
+                }
+            }
+            if (keys.isEmpty()) {
+                continue;
+            }
+            List<Object> ttls = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (Object key : keys) {
+                    connection.keyCommands().pTtl(redisKey(cacheName, key).getBytes(StandardCharsets.UTF_8));
+                }
+                return null;
+            });
+            for (int i = 0; i < keys.size(); i++) {
+                long pttl = ttls.get(i) instanceof Long value ? value : -1;
+                if (pttl == PTTL_MISSING) {
+                    // 이미 만료되었거나 비워진 핫 키는 다음 조회가 DB 지연을 치르기 전에 바로 적재
+                    submitted += submit(cacheName, keys.get(i), true, start) ? 1 : 0;
+                } else if (pttl >= 0 && TimeUnit.MILLISECONDS.toNanos(pttl) <= windowNanos) {
+                    long dueAt = start + TimeUnit.MILLISECONDS.toNanos(pttl) - windowNanos;
+                    submitted += submit(cacheName, keys.get(i), false, dueAt) ? 1 : 0;
+                }
+            }
+        }
+        scanDuration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return submitted;
+    }
+
+    /**
+     * @param expired 이미 Redis에 없는 키 (지연을 기록하지 않음)
+     * @param dueAt   키가 window에 들어온 시각 (nanoTime)
+     */
+    private boolean submit(String cacheName, Object key, boolean expired, long dueAt) {
+        String redisKey = redisKey(cacheName, key);
+        if (!inFlight.add(redisKey)) {
+            return false;
+        }
+        if (!permits.tryAcquire()) {
+            inFlight.remove(redisKey);
+            busy.increment();
+            return false;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    refresh(cacheName, key);
+                    if (expired) {
+                        missing.increment();
+                    } else {
+                        refreshed.increment();
+                        lag.record(Math.max(0, System.nanoTime() - dueAt), TimeUnit.NANOSECONDS);
+                    }
+                } catch (Exception e) {
+                    failed.increment();
+                    log.warn("Refresh-ahead of {} failed: {}", redisKey, e.getMessage());
+                } finally {
+                    inFlight.remove(redisKey);
+                    permits.release();
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(redisKey);
+            permits.release();
+            return false;
+        }
+    }
+
+    private void refresh(String cacheName, Object key) {
+        if (DataService.SAMPLE_DATA_CACHE.equals(cacheName)) {
+            dataService.refreshDataById((Long) key);
+        } else if (DataService.ALL_KEY.equals(key)) {
+            dataService.refreshAllData();
+        } else {
+            dataService.refreshDataByCategory(((String) key).substring(CATEGORY_PREFIX.length()));
+        }
+    }
+
+    /**
+     * 다시 적재할 방법이 있는 키만 (ID 캐시의 Long 키, 목록 캐시의 'all'과 'category:*')
+     */
+    private static boolean isRefreshable(String cacheName, Object key) {
+        if (DataService.SAMPLE_DATA_CACHE.equals(cacheName)) {
+            return key instanceof Long;
+        }
+        return key instanceof String name && (DataService.ALL_KEY.equals(name) || name.startsWith(CATEGORY_PREFIX));
+    }
+
+    private static String redisKey(String cacheName, Object key) {
+        return cacheName + "::" + key;
+    }
+
+    public Map<String, Object> getStatistics() {
+        HistogramSnapshot lagSnapshot = lag.takeSnapshot();
+        Map<String, Object> lagMs = new LinkedHashMap<>();
+        lagMs.put("count", lagSnapshot.count());
+        lagMs.put("max", lagSnapshot.max(TimeUnit.MILLISECONDS));
+        for (ValueAtPercentile percentile : lagSnapshot.percentileValues()) {
+            lagMs.put("p" + Math.round(percentile.percentile() * 100), percentile.value(TimeUnit.MILLISECONDS));
+        }
+
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("enabled", properties.isEnabled());
+        statistics.put("scanInterval", properties.getScanInterval().toString());
+        statistics.put("window", properties.getWindow().toString());
+        statistics.put("maxConcurrency", properties.getMaxConcurrency());
+        statistics.put("scans", scanDuration.count());
+        statistics.put("refreshed", (long) refreshed.count());
+        statistics.put("missing", (long) missing.count());
+        statistics.put("failed", (long) failed.count());
+        statistics.put("busy", (long) busy.count());
+        statistics.put("inFlight", inFlight.size());
+        statistics.put("lagMs", lagMs);
+        return statistics;
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        executor = VirtualThreads.newThreadPerTaskExecutor("cache-refresh-ahead-worker", virtualThreads);
+        running = true;
+        Thread thread = new Thread(this::runLoop, "cache-refresh-ahead");
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = worker;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+        ExecutorService current = executor;
+        if (current != null) {
+            current.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void runLoop() {
+        long intervalNanos = properties.getScanInterval().toNanos();
+        while (running) {
+            LockSupport.parkNanos(this, intervalNanos);
+            if (!running) {
+                return;
+            }
+            try {
+                int submitted = scanOnce();
+                if (submitted > 0) {
+                    log.debug("Refresh-ahead submitted {} keys", submitted);
+                }
+            } catch (Exception e) {
+                log.warn("Refresh-ahead scan failed: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.rediscacheperformance.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * 기동 시 캐시 예열이 끝나기 전까지 OUT_OF_SERVICE (readiness 그룹에 포함되어 트래픽 유입을 늦춘다)
+ * 캐시를 비운 뒤의 재예열은 준비 상태에 영향을 주지 않는다.
+ */
+@Component("cacheWarmup")
+@RequiredArgsConstructor
+public class CacheWarmupHealthIndicator implements HealthIndicator {
+
+    private final CacheWarmupService cacheWarmupService;
+
+    @Override
+    public Health health() {
+        Health.Builder builder = cacheWarmupService.isInitialWarmupDone() ? Health.up() : Health.outOfService();
+        return builder.withDetails(cacheWarmupService.getStatistics()).build();
+    }
+}
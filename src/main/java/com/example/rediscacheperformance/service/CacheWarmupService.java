@@ -0,0 +1,239 @@
+package com.example.rediscacheperformance.service;
+
+import com.example.rediscacheperformance.cache.CacheBackendRegistry;
+import com.example.rediscacheperformance.cache.HotKeySketch;
+import com.example.rediscacheperformance.cache.HotKeyTracker;
+import com.example.rediscacheperformance.config.CacheWarmupProperties;
+import com.example.rediscacheperformance.config.VirtualThreads;
+import com.example.rediscacheperformance.repository.SampleDataRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 기본 캐시 백엔드 예열
+ * 'all' 목록, 모든 카테고리 목록, 자주 조회되는 id(핫 키 추적 상위 id, 부족하면 작은 id)를 병렬 작업으로 적재해
+ * 기동 직후나 캐시를 비운 직후의 첫 요청이 DB 지연을 그대로 치르지 않게 한다.
+ * 기동 시 예열은 ApplicationReadyEvent(데이터 초기화 이후)에 시작하고, 끝날 때까지 cacheWarmup 헬스가 OUT_OF_SERVICE다.
+ */
+@Service
+@Slf4j
+public class CacheWarmupService {
+
+    public enum State {
+        PENDING, WARMING, READY, FAILED, DISABLED
+    }
+
+    private final DataService dataService;
+    private final SampleDataRepository sampleDataRepository;
+    private final HotKeyTracker hotKeyTracker;
+    private final CacheWarmupProperties properties;
+    private final Timer duration;
+    private final boolean virtualThreads;
+    private final AtomicBoolean running = new AtomicBoolean();
+    /**
+     * 예열 중에 캐시가 비워졌음 (끝난 뒤 한 번 더 예열)
+     */
+    private final AtomicBoolean rerunRequested = new AtomicBoolean();
+
+    private volatile State state = State.PENDING;
+    private volatile boolean initialWarmupDone;
+    private volatile Map<String, Object> lastResult = Map.of();
+
+    public CacheWarmupService(DataService dataService, SampleDataRepository sampleDataRepository,
+                              HotKeyTracker hotKeyTracker, CacheWarmupProperties properties,
+                              MeterRegistry meterRegistry, Environment environment) {
+        this.dataService = dataService;
+        this.sampleDataRepository = sampleDataRepository;
+        this.hotKeyTracker = hotKeyTracker;
+        this.properties = properties;
+        this.duration = Timer.builder("cache.warmup.duration")
+                .description("Time to pre-load the default cache backend")
+                .register(meterRegistry);
+        this.virtualThreads = VirtualThreads.isEnabled(environment);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!properties.isEnabled()) {
+            state = State.DISABLED;
+            initialWarmupDone = true;
+            return;
+        }
+        warmAsync("startup");
+    }
+
+    /**
+     * 백그라운드 예열 시작
+     *
+     * @return 이미 예열 중이면 false
+     */
+    public boolean warmAsync(String reason) {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        Thread thread = new Thread(() -> warmUntilNoRerun(reason), "cache-warmup");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    /**
+     * 캐시를 비운 뒤 다시 예열 (cache.warmup.on-clear)
+     * 예열 중이면 비우기 전에 적재한 항목이 지워졌으므로 지금 예열이 끝난 뒤 다시 예열한다.
+     *
+     * @return started / queued(진행 중인 예열 뒤에 다시 예열) / disabled
+     */
+    public String warmAfterClear() {
+        if (!properties.isEnabled() || !properties.isOnClear()) {
+            return "disabled";
+        }
+        rerunRequested.set(true);
+        return warmAsync("clear") ? "started" : "queued";
+    }
+
+    /**
+     * 예열 후 그사이 다시 예열이 요청됐으면 반복
+     * running을 내린 뒤에도 요청을 다시 확인해, 끝나는 순간 들어온 요청을 놓치지 않는다.
+     */
+    private void warmUntilNoRerun(String reason) {
+        String current = reason;
+        do {
+            rerunRequested.set(false);
+            try {
+                warm(current);
+            } finally {
+                running.set(false);
+            }
+            current = "clear";
+        } while (rerunRequested.get() && running.compareAndSet(false, true));
+    }
+
+    /**
+     * 예열 실행 (실패한 작업은 건너뛰고 나머지를 계속 적재)
+     */
+    private void warm(String reason) {
+        state = State.WARMING;
+        long start = System.nanoTime();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("reason", reason);
+        result.put("startedAt", LocalDateTime.now());
+        try {
+            List<String> categories = sampleDataRepository.findDistinctCategories();
+            List<Long> ids = idsToWarm();
+
+            List<Callable<Integer>> tasks = new ArrayList<>();
+            tasks.add(() -> dataService.getAllDataWithCache().size());
+            for (String category : categories) {
+                tasks.add(() -> dataService.getDataByCategoryWithCache(category).size());
+            }
+            int batchSize = Math.max(1, properties.getIdBatchSize());
+            for (int from = 0; from < ids.size(); from += batchSize) {
+                List<Long> batch = ids.subList(from, Math.min(from + batchSize, ids.size()));
+                tasks.add(() -> dataService.getDataByIdsWithCache(batch).size());
+            }
+
+            int failures = 0;
+            ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, properties.getParallelism()),
+                    VirtualThreads.threadFactory("cache-warmup-worker", virtualThreads));
+            try {
+                for (Future<Integer> future : executor.invokeAll(tasks)) {
+                    try {
+                        future.get();
+                    } catch (ExecutionException e) {
+                        failures++;
+                        log.warn("Cache warm-up task failed: {}", e.getCause().getMessage());
+                    }
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+
+            result.put("categories", categories.size());
+            result.put("ids", ids.size());
+            result.put("tasks", tasks.size());
+            result.put("failures", failures);
+            state = failures == tasks.size() ? State.FAILED : State.READY;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            state = State.FAILED;
+            result.put("error", "interrupted");
+        } catch (Exception e) {
+            log.warn("Cache warm-up failed: {}", e.getMessage());
+            state = State.FAILED;
+            result.put("error", e.getMessage());
+        } finally {
+            long elapsedNanos = System.nanoTime() - start;
+            duration.record(elapsedNanos, TimeUnit.NANOSECONDS);
+            result.put("state", state);
+            result.put("elapsedMs", TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+            lastResult = result;
+            // 예열이 실패해도 캐시는 요청마다 채워지므로 준비 상태를 계속 막지 않는다
+            initialWarmupDone = true;
+            log.info("Cache warm-up finished: {}", result);
+        }
+    }
+
+    /**
+     * 핫 키 추적 상위 id부터, 모자라면 작은 id부터 채운 예열 대상
+     */
+    private List<Long> idsToWarm() {
+        int limit = properties.getIds();
+        if (limit <= 0) {
+            return List.of();
+        }
+        Set<Long> ids = new LinkedHashSet<>();
+        List<HotKeySketch.HotKey> hotKeys = hotKeyTracker.topKeys(CacheBackendRegistry.REDIS,
+                DataService.SAMPLE_DATA_CACHE, limit);
+        for (HotKeySketch.HotKey hotKey : hotKeys) {
+            if (hotKey.key() instanceof Long id) {
+                ids.add(id);
+            }
+        }
+        if (ids.size() < limit) {
+            ids.addAll(sampleDataRepository.findIds(PageRequest.of(0, limit)));
+        }
+        return new ArrayList<>(ids).subList(0, Math.min(limit, ids.size()));
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * 기동 시 예열이 끝났는지 (성공/실패 무관, 비활성화면 true)
+     */
+    public boolean isInitialWarmupDone() {
+        return initialWarmupDone;
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("state", state);
+        statistics.put("running", running.get());
+        statistics.put("rerunQueued", rerunRequested.get());
+        statistics.put("runs", duration.count());
+        statistics.put("last", lastResult);
+        return statistics;
+    }
+}
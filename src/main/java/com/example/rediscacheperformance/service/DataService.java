@@ -1,84 +1,385 @@
 package com.example.rediscacheperformance.service;
 
+import com.example.rediscacheperformance.cache.BulkCache;
+import com.example.rediscacheperformance.cache.CacheBackendContext;
+import com.example.rediscacheperformance.cache.CacheBackendRegistry;
+import com.example.rediscacheperformance.cache.RedisIdIndex;
+import com.example.rediscacheperformance.dto.SampleDataPage;
 import com.example.rediscacheperformance.entity.SampleData;
+import com.example.rediscacheperformance.latency.DatabaseLatencySimulator;
+import com.example.rediscacheperformance.latency.QueryType;
 import com.example.rediscacheperformance.repository.SampleDataRepository;
+import com.example.rediscacheperformance.search.SampleDataSearchIndex;
+import com.example.rediscacheperformance.search.TrigramIndex;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.annotation.CacheConfig;
+import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
+/**
+ * 캐시 사용 조회는 요청마다 고른 캐시 백엔드(CacheBackendContext, 없으면 기본 백엔드)의 캐시를 쓴다.
+ * 정규화 캐시는 id 인덱스가 Redis에 있으므로 항상 redis 백엔드를 쓴다.
+ */
 @Service
+@CacheConfig(cacheResolver = "cacheBackendResolver")
 @RequiredArgsConstructor
 @Slf4j
 public class DataService {
 
+    /**
+     * ID별 조회 캐시 (@Cacheable 키 = id)
+     */
+    static final String SAMPLE_DATA_CACHE = "sampleData";
+
+    /**
+     * 목록 조회 캐시 (키 = 'all' 또는 'category:' + 카테고리, ID별 캐시와 키 공간을 나눈다)
+     */
+    static final String SAMPLE_DATA_LIST_CACHE = "sampleDataList";
+
+    static final String ALL_KEY = "all";
+
+    /**
+     * 페이지 조회 캐시 (키 = 'all' 또는 카테고리 + ':' + after + ':' + size)
+     */
+    static final String SAMPLE_DATA_PAGE_CACHE = "sampleDataPage";
+
+    /**
+     * 검색 결과 id 목록 캐시 (키 = limit + ':' + 정규화한 검색어, 값은 id만 두고 행은 ID별 캐시에서 조립)
+     */
+    static final String SAMPLE_DATA_SEARCH_CACHE = "sampleDataSearch";
+
     private final SampleDataRepository sampleDataRepository;
+    private final EntityManager entityManager;
+    private final CacheBackendRegistry cacheBackends;
+    private final WriteBehindQueue writeBehindQueue;
+    private final RedisIdIndex sampleDataIndex;
+    private final DatabaseLatencySimulator databaseLatency;
+    private final SampleDataSearchIndex searchIndex;
 
     /**
      * 캐시를 사용하지 않는 데이터 조회
      */
     public List<SampleData> getAllDataWithoutCache() {
         // 실제 DB 조회 시뮬레이션을 위한 지연
-        simulateDatabaseDelay();
+        databaseLatency.await(QueryType.ALL);
         return sampleDataRepository.findAll();
     }
 
     /**
      * 캐시를 사용하는 데이터 조회
      */
-    @Cacheable(value = "sampleData", key = "'all'")
+    @Cacheable(value = SAMPLE_DATA_LIST_CACHE, key = "'all'", sync = true)
     public List<SampleData> getAllDataWithCache() {
+        return loadAllData();
+    }
+
+    /**
+     * 'all' 목록 캐시를 DB에서 다시 적재 (만료 전 갱신)
+     */
+    @CachePut(value = SAMPLE_DATA_LIST_CACHE, key = "'all'")
+    public List<SampleData> refreshAllData() {
+        return loadAllData();
+    }
+
+    private List<SampleData> loadAllData() {
         // 실제 DB 조회 시뮬레이션을 위한 지연
-        simulateDatabaseDelay();
-        return sampleDataRepository.findAll();
+        databaseLatency.await(QueryType.ALL);
+        // 캐시에는 아직 DB에 반영되지 않은 write-behind 변경까지 적용한 값을 적재
+        return writeBehindQueue.overlay(sampleDataRepository.findAll(), row -> true);
     }
 
     /**
      * 카테고리별 데이터 조회 (캐시 미사용)
      */
     public List<SampleData> getDataByCategoryWithoutCache(String category) {
-        simulateDatabaseDelay();
+        databaseLatency.await(QueryType.CATEGORY);
         return sampleDataRepository.findByCategory(category);
     }
 
     /**
      * 카테고리별 데이터 조회 (캐시 사용)
      */
-    @Cacheable(value = "sampleData", key = "#category")
+    @Cacheable(value = SAMPLE_DATA_LIST_CACHE, key = "'category:' + #category", sync = true)
     public List<SampleData> getDataByCategoryWithCache(String category) {
-        simulateDatabaseDelay();
-        return sampleDataRepository.findByCategory(category);
+        return loadDataByCategory(category);
+    }
+
+    /**
+     * 카테고리 목록 캐시를 DB에서 다시 적재 (만료 전 갱신)
+     */
+    @CachePut(value = SAMPLE_DATA_LIST_CACHE, key = "'category:' + #category")
+    public List<SampleData> refreshDataByCategory(String category) {
+        return loadDataByCategory(category);
+    }
+
+    private List<SampleData> loadDataByCategory(String category) {
+        databaseLatency.await(QueryType.CATEGORY);
+        return writeBehindQueue.overlay(sampleDataRepository.findByCategory(category),
+                row -> category.equals(row.getCategory()));
+    }
+
+    /**
+     * 전체 데이터 조회 (정규화 캐시: 'all' id 인덱스 + ID별 캐시 다건 조회)
+     */
+    public List<SampleData> getAllDataNormalized() {
+        return getNormalized(ALL_KEY, QueryType.ALL, sampleDataRepository::findAll, row -> true);
+    }
+
+    /**
+     * 카테고리별 데이터 조회 (정규화 캐시: 카테고리 id 인덱스 + ID별 캐시 다건 조회)
+     */
+    public List<SampleData> getDataByCategoryNormalized(String category) {
+        return getNormalized(categoryKey(category), QueryType.CATEGORY,
+                () -> sampleDataRepository.findByCategory(category),
+                row -> category.equals(row.getCategory()));
+    }
+
+    /**
+     * 목록 캐시 키 (정규화 캐시의 인덱스 이름도 같음)
+     */
+    static String categoryKey(String category) {
+        return "category:" + category;
+    }
+
+    /**
+     * 인덱스가 있으면 id 목록을 다건 조회로 조립하고,
+     * 없으면 DB에서 읽어 각 행은 ID별 캐시에, id 목록은 인덱스에 한 번씩 저장한다.
+     */
+    private List<SampleData> getNormalized(String index, QueryType queryType, Supplier<List<SampleData>> loader,
+                                           Predicate<SampleData> filter) {
+        try (CacheBackendContext.Scope ignored = CacheBackendContext.use(CacheBackendRegistry.REDIS)) {
+            return getNormalizedFromRedis(index, queryType, loader, filter);
+        }
+    }
+
+    private List<SampleData> getNormalizedFromRedis(String index, QueryType queryType,
+                                                    Supplier<List<SampleData>> loader, Predicate<SampleData> filter) {
+        List<Long> ids = sampleDataIndex.members(index);
+        if (ids != null) {
+            return ids.isEmpty() ? List.of() : getDataByIdsWithCache(ids);
+        }
+        databaseLatency.await(queryType);
+        List<SampleData> rows = writeBehindQueue.overlay(loader.get(), filter);
+        Map<Long, SampleData> entities = new LinkedHashMap<>();
+        rows.forEach(row -> entities.put(row.getId(), row));
+        if (!entities.isEmpty()) {
+            ((BulkCache) cacheBackends.current().getCache(SAMPLE_DATA_CACHE)).putAll(entities);
+        }
+        sampleDataIndex.replace(index, entities.keySet());
+        return rows;
     }
 
     /**
      * ID로 데이터 조회 (캐시 미사용)
      */
     public Optional<SampleData> getDataByIdWithoutCache(Long id) {
-        simulateDatabaseDelay();
+        databaseLatency.await(QueryType.ID);
         return sampleDataRepository.findById(id);
     }
 
     /**
      * ID로 데이터 조회 (캐시 사용)
      */
-    @Cacheable(value = "sampleData", key = "#id")
+    @Cacheable(value = SAMPLE_DATA_CACHE, key = "#id", sync = true)
     public Optional<SampleData> getDataByIdWithCache(Long id) {
-        simulateDatabaseDelay();
-        return sampleDataRepository.findById(id);
+        return loadDataById(id);
+    }
+
+    /**
+     * ID별 캐시를 DB에서 다시 적재 (만료 전 갱신, 없는 ID는 조회와 같이 null로 캐시)
+     */
+    @CachePut(value = SAMPLE_DATA_CACHE, key = "#id")
+    public Optional<SampleData> refreshDataById(Long id) {
+        return loadDataById(id);
+    }
+
+    private Optional<SampleData> loadDataById(Long id) {
+        databaseLatency.await(QueryType.ID);
+        return writeBehindQueue.overlay(id, sampleDataRepository.findById(id));
+    }
+
+    /**
+     * 여러 ID 조회 (캐시 미사용, findAllById 한 번)
+     *
+     * @return 요청 순서대로 존재하는 데이터만
+     */
+    public List<SampleData> getDataByIdsWithoutCache(List<Long> ids) {
+        databaseLatency.await(QueryType.ID);
+        return inRequestOrder(ids, byId(sampleDataRepository.findAllById(new LinkedHashSet<>(ids))));
+    }
+
+    /**
+     * 여러 ID 조회 (캐시 사용)
+     * ID별 조회와 같은 캐시 항목을 한 번의 다건 조회(L1 -> Redis MGET)로 찾고,
+     * 미스만 findAllById 한 번으로 적재해 한 번의 파이프라인 쓰기로 채운다.
+     * 없는 ID는 ID별 조회와 같이 null 값으로 캐시한다.
+     */
+    public List<SampleData> getDataByIdsWithCache(List<Long> ids) {
+        // 모든 백엔드의 캐시는 InstrumentedCache(BulkCache)로 감싸져 있다
+        BulkCache bulkCache = (BulkCache) cacheBackends.current().getCache(SAMPLE_DATA_CACHE);
+        Map<Object, Cache.ValueWrapper> cached = bulkCache.getAll(ids);
+        Map<Long, SampleData> found = new HashMap<>();
+        cached.forEach((key, wrapper) -> {
+            if (wrapper.get() instanceof SampleData sampleData) {
+                found.put((Long) key, sampleData);
+            }
+        });
+
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            if (!cached.containsKey(id)) {
+                missingIds.add(id);
+            }
+        }
+        if (!missingIds.isEmpty()) {
+            databaseLatency.await(QueryType.ID);
+            Set<Long> missing = new HashSet<>(missingIds);
+            Map<Long, SampleData> loaded = byId(writeBehindQueue.overlay(
+                    sampleDataRepository.findAllById(missingIds), row -> missing.contains(row.getId())));
+            Map<Long, SampleData> backFill = new LinkedHashMap<>();
+            missingIds.forEach(id -> backFill.put(id, loaded.get(id)));
+            bulkCache.putAll(backFill);
+            found.putAll(loaded);
+        }
+        return inRequestOrder(ids, found);
+    }
+
+    private static Map<Long, SampleData> byId(List<SampleData> rows) {
+        Map<Long, SampleData> byId = new HashMap<>();
+        rows.forEach(row -> byId.put(row.getId(), row));
+        return byId;
+    }
+
+    private static List<SampleData> inRequestOrder(List<Long> ids, Map<Long, SampleData> byId) {
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * 이름 또는 설명 검색 (캐시 미사용, DB LIKE '%검색어%' 스캔)
+     */
+    public List<SampleData> searchWithoutCache(String query, int limit) {
+        String normalized = TrigramIndex.normalize(query);
+        databaseLatency.await(QueryType.SEARCH);
+        return sampleDataRepository.findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCaseOrderByIdAsc(
+                normalized, normalized, Limit.of(limit));
+    }
+
+    /**
+     * 이름 또는 설명 검색 (캐시 사용)
+     * 정규화한 검색어의 결과 id 목록을 검색 캐시({세대}:{limit}:{검색어} 키)에서 찾고,
+     * 미스면 메모리 trigram 색인으로 구해 저장한 뒤 행은 ID별 캐시 다건 조회로 조립한다.
+     * 세대는 검색 전에 읽으므로 검색 중에 쓰기가 끝나도 이전 결과가 새 세대 키에 저장되지 않는다.
+     */
+    public List<SampleData> searchWithCache(String query, int limit) {
+        String normalized = TrigramIndex.normalize(query);
+        Cache cache = cacheBackends.current().getCache(SAMPLE_DATA_SEARCH_CACHE);
+        String key = searchIndex.generation() + ":" + limit + ":" + normalized;
+        Cache.ValueWrapper cached = cache.get(key);
+        List<Long> ids;
+        if (cached != null && cached.get() instanceof List<?> values) {
+            // 타입 정보가 없는 JSON 코덱은 작은 id를 Integer로 읽는다
+            ids = values.stream().map(value -> ((Number) value).longValue()).toList();
+        } else {
+            ids = searchIds(normalized, limit);
+            cache.put(key, ids);
+        }
+        return ids.isEmpty() ? List.of() : getDataByIdsWithCache(ids);
+    }
+
+    /**
+     * 이름 또는 설명 검색 (결과 캐시 없이 매번 trigram 색인 + ID별 캐시 다건 조회)
+     */
+    public List<SampleData> searchNormalized(String query, int limit) {
+        List<Long> ids = searchIds(TrigramIndex.normalize(query), limit);
+        return ids.isEmpty() ? List.of() : getDataByIdsWithCache(ids);
+    }
+
+    /**
+     * 색인에서 찾은 id (색인이 아직 없거나 꺼져 있으면 DB 검색으로 대신)
+     */
+    private List<Long> searchIds(String normalized, int limit) {
+        List<Long> ids = searchIndex.search(normalized, limit);
+        if (ids != null) {
+            return ids;
+        }
+        databaseLatency.await(QueryType.SEARCH);
+        return sampleDataRepository.findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCaseOrderByIdAsc(
+                normalized, normalized, Limit.of(limit)).stream().map(SampleData::getId).toList();
+    }
+
+    /**
+     * id 기준 페이지 조회 (캐시 미사용)
+     */
+    public SampleDataPage getDataPageWithoutCache(long afterId, int size) {
+        databaseLatency.await(QueryType.ALL);
+        return SampleDataPage.of(sampleDataRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(size)), size);
+    }
+
+    /**
+     * id 기준 페이지 조회 (페이지 단위 캐시)
+     */
+    @Cacheable(value = SAMPLE_DATA_PAGE_CACHE, key = "'all:' + #afterId + ':' + #size", sync = true)
+    public SampleDataPage getDataPageWithCache(long afterId, int size) {
+        databaseLatency.await(QueryType.ALL);
+        return SampleDataPage.of(sampleDataRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(size)), size);
+    }
+
+    /**
+     * 카테고리별 페이지 조회 (캐시 미사용)
+     */
+    public SampleDataPage getDataPageByCategoryWithoutCache(String category, long afterId, int size) {
+        databaseLatency.await(QueryType.CATEGORY);
+        return SampleDataPage.of(sampleDataRepository.findByCategoryAndIdGreaterThanOrderByIdAsc(
+                category, afterId, Limit.of(size)), size);
+    }
+
+    /**
+     * 카테고리별 페이지 조회 (페이지 단위 캐시, category:{category}:{afterId}:{size} 키라 'all' 카테고리도 전체 페이지와 겹치지 않음)
+     */
+    @Cacheable(value = SAMPLE_DATA_PAGE_CACHE, key = "'category:' + #category + ':' + #afterId + ':' + #size",
+            sync = true)
+    public SampleDataPage getDataPageByCategoryWithCache(String category, long afterId, int size) {
+        databaseLatency.await(QueryType.CATEGORY);
+        return SampleDataPage.of(sampleDataRepository.findByCategoryAndIdGreaterThanOrderByIdAsc(
+                category, afterId, Limit.of(size)), size);
     }
 
     /**
-     * 데이터베이스 조회 지연 시뮬레이션
+     * 전체 데이터를 DB 커서로 한 건씩 전달 (캐시 미사용)
+     * 전달한 행은 영속성 컨텍스트에서 분리해 행 수와 무관하게 힙 사용량을 유지한다.
      */
-    private void simulateDatabaseDelay() {
-        try {
-            // 100-500ms 사이의 랜덤 지연
-            Thread.sleep(100 + (long) (Math.random() * 400));
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+    @Transactional(readOnly = true)
+    public void streamAllDataWithoutCache(Consumer<SampleData> consumer) {
+        databaseLatency.await(QueryType.ALL);
+        try (Stream<SampleData> rows = sampleDataRepository.streamAll()) {
+            rows.forEach(row -> {
+                consumer.accept(row);
+                entityManager.detach(row);
+            });
         }
     }
 }
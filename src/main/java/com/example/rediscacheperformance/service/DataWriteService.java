@@ -0,0 +1,329 @@
+package com.example.rediscacheperformance.service;
+
+import com.example.rediscacheperformance.cache.CacheBackendRegistry;
+import com.example.rediscacheperformance.cache.PrefixEvictableCache;
+import com.example.rediscacheperformance.cache.RawResponseCache;
+import com.example.rediscacheperformance.cache.RedisIdIndex;
+import com.example.rediscacheperformance.config.DataWriteProperties;
+import com.example.rediscacheperformance.dto.SampleDataWriteRequest;
+import com.example.rediscacheperformance.entity.SampleData;
+import com.example.rediscacheperformance.latency.DatabaseLatencySimulator;
+import com.example.rediscacheperformance.latency.QueryType;
+import com.example.rediscacheperformance.repository.SampleDataRepository;
+import com.example.rediscacheperformance.search.SampleDataSearchIndex;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 데이터 생성/수정/삭제
+ * 쓰기마다 영향받는 캐시 키(id, 변경 전후 카테고리, 'all')를 전략에 따라 삭제하거나 새 값으로 갱신하고,
+ * 정규화 캐시 인덱스의 소속을 고치며, 바뀐 범위('all', 변경 전후 카테고리)의 페이지와 응답 바이트 캐시는 항상 무효화한다.
+ * 검색 색인은 검색 결과가 바뀔 수 있는 쓰기(생성, 삭제, 이름/설명 변경)에서만 고친다 (색인 세대가 올라 이전 검색 결과 캐시 키는 더 읽히지 않음).
+ * 캐시 변경은 모든 캐시 백엔드에 적용해 백엔드를 바꿔 조회해도 오래된 값이 보이지 않게 한다.
+ */
+@Service
+@Slf4j
+public class DataWriteService {
+
+    private final SampleDataRepository sampleDataRepository;
+    private final CacheBackendRegistry cacheBackends;
+    private final RawResponseCache rawResponseCache;
+    private final WriteBehindQueue writeBehindQueue;
+    private final RedisIdIndex sampleDataIndex;
+    private final SampleDataSearchIndex searchIndex;
+    private final DataWriteProperties properties;
+    private final DatabaseLatencySimulator databaseLatency;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<WriteStrategy, Counter> dbRows = new EnumMap<>(WriteStrategy.class);
+
+    public DataWriteService(SampleDataRepository sampleDataRepository, CacheBackendRegistry cacheBackends,
+                            RawResponseCache rawResponseCache, WriteBehindQueue writeBehindQueue,
+                            RedisIdIndex sampleDataIndex, SampleDataSearchIndex searchIndex,
+                            DataWriteProperties properties,
+                            DatabaseLatencySimulator databaseLatency, MeterRegistry meterRegistry) {
+        this.sampleDataRepository = sampleDataRepository;
+        this.cacheBackends = cacheBackends;
+        this.rawResponseCache = rawResponseCache;
+        this.writeBehindQueue = writeBehindQueue;
+        this.sampleDataIndex = sampleDataIndex;
+        this.searchIndex = searchIndex;
+        this.properties = properties;
+        this.databaseLatency = databaseLatency;
+        this.meterRegistry = meterRegistry;
+        for (WriteStrategy strategy : WriteStrategy.values()) {
+            dbRows.put(strategy, dbRowsCounter(meterRegistry, strategy));
+        }
+        // write-behind 변경이 DB에 반영되면 그 사이 DB에서 적재됐을 수 있는 목록과 파생 캐시를 다시 무효화
+        writeBehindQueue.addFlushListener(batch -> batch.forEach(write -> {
+            cacheBackends.forEachCache(DataService.SAMPLE_DATA_LIST_CACHE, lists -> evictLists(lists,
+                    write.categories()));
+            evictDerived(write.id(), write.categories());
+        }));
+    }
+
+    /**
+     * 전략별 DB 쓰기 행 수 카운터 (write-behind는 flush된 행 수)
+     */
+    static Counter dbRowsCounter(MeterRegistry meterRegistry, WriteStrategy strategy) {
+        return Counter.builder("data.write.db.rows")
+                .tag("strategy", strategy.name().toLowerCase())
+                .register(meterRegistry);
+    }
+
+    public WriteStrategy resolve(WriteStrategy strategy) {
+        return strategy != null ? strategy : properties.getStrategy();
+    }
+
+    /**
+     * 데이터 생성
+     * id를 DB가 발급하므로 모든 전략에서 INSERT는 바로 실행한다. (write-behind도 캐시 갱신은 write-through와 같음)
+     */
+    public SampleData create(SampleDataWriteRequest request, WriteStrategy strategy) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        SampleData created = sampleDataRepository.save(SampleData.builder()
+                .name(request.getName())
+                .description(request.getDescription())
+                .price(request.getPrice())
+                .category(request.getCategory())
+                .build());
+        databaseLatency.await(QueryType.WRITE);
+        dbRows.get(strategy).increment();
+        applyToCaches(strategy, null, created);
+        sample.stop(latencyTimer(strategy, "create"));
+        return created;
+    }
+
+    /**
+     * 데이터 수정 (null 필드는 기존 값 유지)
+     *
+     * @return 수정된 데이터 (없으면 empty)
+     */
+    public Optional<SampleData> update(Long id, SampleDataWriteRequest request, WriteStrategy strategy) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Optional<SampleData> current = current(id);
+        if (current.isEmpty()) {
+            return Optional.empty();
+        }
+        SampleData before = current.get();
+        SampleData updated = SampleData.builder()
+                .id(id)
+                .name(request.getName() != null ? request.getName() : before.getName())
+                .description(request.getDescription() != null ? request.getDescription() : before.getDescription())
+                .price(request.getPrice() != null ? request.getPrice() : before.getPrice())
+                .category(request.getCategory() != null ? request.getCategory() : before.getCategory())
+                .createdAt(before.getCreatedAt())
+                .build();
+        if (strategy == WriteStrategy.WRITE_BEHIND) {
+            // 캐시를 먼저 갱신해 대기열에 들어간 뒤의 조회가 DB보다 새 값을 보도록 한다
+            applyToCaches(strategy, before, updated);
+            if (!writeBehindQueue.enqueue(id, updated, categories(before, updated))) {
+                // 대기열이 가득 차면 이 변경은 바로 DB에 쓴다
+                sampleDataRepository.save(updated);
+                databaseLatency.await(QueryType.WRITE);
+                dbRows.get(strategy).increment();
+            }
+        } else {
+            writeBehindQueue.flushIfPending(id);
+            sampleDataRepository.save(updated);
+            databaseLatency.await(QueryType.WRITE);
+            dbRows.get(strategy).increment();
+            applyToCaches(strategy, before, updated);
+        }
+        sample.stop(latencyTimer(strategy, "update"));
+        return Optional.of(updated);
+    }
+
+    /**
+     * 데이터 삭제
+     *
+     * @return 삭제 여부 (없으면 false)
+     */
+    public boolean delete(Long id, WriteStrategy strategy) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Optional<SampleData> current = current(id);
+        if (current.isEmpty()) {
+            return false;
+        }
+        SampleData before = current.get();
+
+        if (strategy == WriteStrategy.WRITE_BEHIND) {
+            applyToCaches(strategy, before, null);
+            if (!writeBehindQueue.enqueue(id, null, categories(before, null))) {
+                sampleDataRepository.deleteById(id);
+                databaseLatency.await(QueryType.WRITE);
+                dbRows.get(strategy).increment();
+            }
+        } else {
+            writeBehindQueue.flushIfPending(id);
+            sampleDataRepository.deleteById(id);
+            databaseLatency.await(QueryType.WRITE);
+            dbRows.get(strategy).increment();
+            applyToCaches(strategy, before, null);
+        }
+        sample.stop(latencyTimer(strategy, "delete"));
+        return true;
+    }
+
+    /**
+     * 대기 중인 write-behind 변경을 모두 DB에 반영
+     */
+    public void flushWriteBehind() {
+        writeBehindQueue.flush();
+    }
+
+    /**
+     * 마지막 호출 이후 flush된 write-behind 변경의 DB 반영 지연 (마이크로초)
+     */
+    public Histogram getIntervalWriteBehindLag() {
+        return writeBehindQueue.getIntervalDbLag();
+    }
+
+    public long getDbRows(WriteStrategy strategy) {
+        return (long) dbRows.get(strategy).count();
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> dbRowsByStrategy = new LinkedHashMap<>();
+        dbRows.forEach((strategy, counter) -> dbRowsByStrategy.put(strategy.name(), (long) counter.count()));
+
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("defaultStrategy", properties.getStrategy());
+        statistics.put("dbRows", dbRowsByStrategy);
+        statistics.put("writeBehind", writeBehindQueue.getStatistics());
+        return statistics;
+    }
+
+    /**
+     * 현재 값 (아직 DB에 반영되지 않은 write-behind 변경 우선)
+     * 요청 범위 영속성 컨텍스트(open-in-view)의 엔티티는 save(merge) 시 새 값으로 바뀌므로 복사본을 반환한다.
+     */
+    private Optional<SampleData> current(Long id) {
+        return writeBehindQueue.overlay(id, sampleDataRepository.findById(id))
+                .map(row -> row.toBuilder().build());
+    }
+
+    /**
+     * @param before 변경 전 값 (생성이면 null)
+     * @param after  변경 후 값 (삭제면 null)
+     */
+    private void applyToCaches(WriteStrategy strategy, SampleData before, SampleData after) {
+        Long id = after != null ? after.getId() : before.getId();
+        Set<String> categories = categories(before, after);
+        for (String backend : cacheBackends.getNames()) {
+            applyToCaches(cacheBackends.get(backend), strategy, id, categories, after);
+        }
+        updateIndexes(id, before, after);
+        updateSearchIndex(before, after);
+        evictDerived(id, categories);
+    }
+
+    private void applyToCaches(CacheManager cacheManager, WriteStrategy strategy, Long id, Set<String> categories,
+                               SampleData after) {
+        Cache entities = cacheManager.getCache(DataService.SAMPLE_DATA_CACHE);
+        Cache lists = cacheManager.getCache(DataService.SAMPLE_DATA_LIST_CACHE);
+        if (strategy == WriteStrategy.INVALIDATE) {
+            entities.evict(id);
+        } else {
+            // @Cacheable이 Optional을 풀어 저장하는 것과 같게 값(삭제면 null)을 저장
+            entities.put(id, after);
+        }
+        // 목록은 행 하나를 고치려고 통째로 다시 쓰지 않고 삭제한다 (정규화 캐시는 인덱스 소속과 ID별 항목만 고친다)
+        evictLists(lists, categories);
+    }
+
+    private static void evictLists(Cache lists, Set<String> categories) {
+        categories.forEach(category -> lists.evict(DataService.categoryKey(category)));
+        lists.evict(DataService.ALL_KEY);
+    }
+
+    /**
+     * 정규화 캐시 인덱스는 소속이 바뀔 때(생성, 삭제, 카테고리 변경)만 고친다 (값 변경은 ID별 항목 하나로 끝난다)
+     */
+    private void updateIndexes(Long id, SampleData before, SampleData after) {
+        String beforeCategory = before != null ? before.getCategory() : null;
+        String afterCategory = after != null ? after.getCategory() : null;
+        if (before != null && after != null && Objects.equals(beforeCategory, afterCategory)) {
+            return;
+        }
+        if (beforeCategory != null) {
+            sampleDataIndex.remove(DataService.categoryKey(beforeCategory), id);
+        }
+        if (afterCategory != null) {
+            sampleDataIndex.add(DataService.categoryKey(afterCategory), id);
+        }
+        if (before == null) {
+            sampleDataIndex.add(DataService.ALL_KEY, id);
+        } else if (after == null) {
+            sampleDataIndex.remove(DataService.ALL_KEY, id);
+        }
+    }
+
+    private void updateSearchIndex(SampleData before, SampleData after) {
+        if (!SampleDataSearchIndex.affectsSearch(before, after)) {
+            return;
+        }
+        // 색인 세대가 올라 이전 검색 결과 캐시 키는 더 읽히지 않는다 (TTL로 정리)
+        if (after != null) {
+            searchIndex.put(after);
+        } else {
+            searchIndex.remove(before.getId());
+        }
+    }
+
+    /**
+     * 목록을 통째로 담는 파생 캐시(페이지, 응답 바이트) 무효화
+     */
+    private void evictDerived(Long id, Set<String> categories) {
+        // 페이지 키는 커서/크기마다 달라 바뀐 범위의 접두사로 지운다
+        cacheBackends.forEachCache(DataService.SAMPLE_DATA_PAGE_CACHE, cache -> evictPages(cache, categories));
+        rawResponseCache.evict("id", List.of(String.valueOf(id)));
+        rawResponseCache.evict("category", categories);
+        rawResponseCache.evict("all", List.of(DataService.ALL_KEY));
+    }
+
+    private static void evictPages(Cache cache, Set<String> categories) {
+        if (!(cache instanceof PrefixEvictableCache pages)) {
+            cache.clear();
+            return;
+        }
+        pages.evictByPrefix(DataService.ALL_KEY + ":");
+        categories.forEach(category -> pages.evictByPrefix(DataService.categoryKey(category) + ":"));
+    }
+
+    private Timer latencyTimer(WriteStrategy strategy, String operation) {
+        return Timer.builder("data.write.latency")
+                .tag("strategy", strategy.name().toLowerCase())
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 변경 전후 카테고리
+     */
+    private static Set<String> categories(SampleData before, SampleData after) {
+        Set<String> result = new LinkedHashSet<>();
+        if (before != null && before.getCategory() != null) {
+            result.add(before.getCategory());
+        }
+        if (after != null && after.getCategory() != null) {
+            result.add(after.getCategory());
+        }
+        return result;
+    }
+}
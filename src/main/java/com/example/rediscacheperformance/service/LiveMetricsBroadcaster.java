@@ -0,0 +1,241 @@
+package com.example.rediscacheperformance.service;
+
+import com.example.rediscacheperformance.cache.CacheStatisticsProvider;
+import com.example.rediscacheperformance.config.MetricsStreamProperties;
+import com.example.rediscacheperformance.config.VirtualThreads;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 실시간 성능 통계를 SSE로 밀어 주는 발행기
+ * 전용 스레드가 interval마다 인메모리 히스토그램/캐시 통계로 이벤트를 한 번만 만들고 JSON으로 직렬화해 모든 구독자에게 나눠 준다.
+ * 구독자마다 buffer-size 크기의 버퍼를 두고 별도 스레드에서 보내므로, 느린 클라이언트는 자기 이벤트만 잃고 다른 구독자나 발행 주기를 막지 않는다.
+ * DB는 조회하지 않는다.
+ */
+@Component
+@Slf4j
+public class LiveMetricsBroadcaster implements SmartLifecycle {
+
+    public static final String EVENT_NAME = "metrics";
+
+    private final PerformanceService performanceService;
+    private final CacheManager cacheManager;
+    private final ObjectMapper objectMapper;
+    private final MetricsStreamProperties properties;
+    private final ExecutorService senders;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Counter published;
+    private final Counter sent;
+    private final Counter dropped;
+
+    private volatile Event latest;
+    private volatile boolean running;
+    private volatile Thread publisher;
+
+    public LiveMetricsBroadcaster(PerformanceService performanceService, CacheManager cacheManager,
+                                  ObjectMapper objectMapper, MetricsStreamProperties properties,
+                                  MeterRegistry meterRegistry, Environment environment) {
+        this.performanceService = performanceService;
+        this.cacheManager = cacheManager;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.senders = VirtualThreads.newThreadPerTaskExecutor("metrics-stream", VirtualThreads.isEnabled(environment));
+        this.published = streamCounter(meterRegistry, "published");
+        this.sent = streamCounter(meterRegistry, "sent");
+        this.dropped = streamCounter(meterRegistry, "dropped");
+        Gauge.builder("performance.metrics.stream.subscribers", subscribers, Set::size)
+                .register(meterRegistry);
+    }
+
+    private static Counter streamCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("performance.metrics.stream.events")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 새 구독자 등록 (마지막 이벤트가 있으면 바로 보냄)
+     *
+     * @throws IllegalStateException 구독자 수가 max-subscribers에 도달한 경우
+     */
+    public SseEmitter subscribe() {
+        if (subscribers.size() >= properties.getMaxSubscribers()) {
+            throw new IllegalStateException("Too many metrics stream subscribers: " + subscribers.size());
+        }
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+
+        Event event = latest;
+        if (event != null) {
+            subscriber.offer(event);
+        }
+        return emitter;
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("subscribers", subscribers.size());
+        statistics.put("published", (long) published.count());
+        statistics.put("sent", (long) sent.count());
+        statistics.put("dropped", (long) dropped.count());
+        statistics.put("interval", properties.getInterval().toString());
+        statistics.put("window", properties.getWindow().toString());
+        return statistics;
+    }
+
+    /**
+     * 모든 구독자가 받는 통계 (구독자 수와 관계없이 주기마다 한 번만 계산)
+     */
+    private Map<String, Object> computeSnapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("timestamp", LocalDateTime.now());
+        snapshot.put("window", properties.getWindow().toString());
+        snapshot.put("windowed", performanceService.getPerformanceStatistics(null, properties.getWindow()));
+        snapshot.put("total", performanceService.getPerformanceStatistics(null, null));
+        snapshot.put("cache", cacheManager instanceof CacheStatisticsProvider provider
+                ? provider.getCacheStatistics() : Map.of());
+        return snapshot;
+    }
+
+    private void publish() {
+        Event event;
+        try {
+            long id = sequence.incrementAndGet();
+            event = new Event(id, objectMapper.writeValueAsString(computeSnapshot()));
+        } catch (Exception e) {
+            log.warn("Failed to compute live metrics: {}", e.getMessage());
+            return;
+        }
+        latest = event;
+        published.increment();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(event);
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        Thread thread = new Thread(this::publishLoop, "metrics-stream-publisher");
+        thread.setDaemon(true);
+        publisher = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = publisher;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+        // 브라우저 EventSource는 연결이 닫히면 다시 연결을 시도한다
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+        senders.shutdown();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void publishLoop() {
+        long intervalNanos = properties.getInterval().toNanos();
+        while (running) {
+            LockSupport.parkNanos(this, intervalNanos);
+            if (running && !subscribers.isEmpty()) {
+                publish();
+            }
+        }
+    }
+
+    private record Event(long id, String json) {
+    }
+
+    /**
+     * 구독자 하나의 전송 버퍼 (한 번에 하나의 전송 작업만 돌도록 sending 플래그로 제한)
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Deque<Event> buffer = new ArrayDeque<>();
+        private boolean sending;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        private void offer(Event event) {
+            synchronized (this) {
+                if (buffer.size() >= properties.getBufferSize()) {
+                    buffer.pollFirst();
+                    dropped.increment();
+                }
+                buffer.addLast(event);
+                if (sending) {
+                    return;
+                }
+                sending = true;
+            }
+            try {
+                senders.execute(this::drain);
+            } catch (Exception e) {
+                // 종료 중
+                synchronized (this) {
+                    sending = false;
+                }
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                Event event;
+                synchronized (this) {
+                    event = buffer.pollFirst();
+                    if (event == null) {
+                        sending = false;
+                        return;
+                    }
+                }
+                try {
+                    emitter.send(SseEmitter.event()
+                            .id(Long.toString(event.id()))
+                            .name(EVENT_NAME)
+                            .data(event.json()));
+                    sent.increment();
+                } catch (Exception e) {
+                    // 클라이언트 연결 끊김
+                    subscribers.remove(this);
+                    emitter.completeWithError(e);
+                    return;
+                }
+            }
+        }
+    }
+}
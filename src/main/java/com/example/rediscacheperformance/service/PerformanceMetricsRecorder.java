@@ -0,0 +1,198 @@
+package com.example.rediscacheperformance.service;
+
+import com.example.rediscacheperformance.config.MetricsRecorderProperties;
+import com.example.rediscacheperformance.config.MetricsRecorderProperties.DropPolicy;
+import com.example.rediscacheperformance.entity.PerformanceMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 요청 스레드 밖에서 성능 메트릭을 배치 INSERT로 저장하는 기록기
+ * 요청 스레드는 lock-free 버퍼에 넣기만 하고, 전용 스레드가 flush-size 단위로 JDBC 배치 저장한다.
+ * 버퍼가 가득 차면 drop-policy에 따라 버리고 카운터에 남긴다.
+ */
+@Component
+@Slf4j
+public class PerformanceMetricsRecorder implements SmartLifecycle {
+
+    private static final String INSERT_SQL = "INSERT INTO performance_metrics "
+            + "(api_name, cache_enabled, response_time_ms, response_time_us, cache_hit, request_count, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MetricsRecorderProperties properties;
+
+    private final Queue<PerformanceMetrics> buffer = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final Counter accepted;
+    private final Counter dropped;
+    private final Counter flushed;
+    private final Counter failed;
+    private final Counter batches;
+
+    private volatile boolean running;
+    private volatile Thread drainer;
+
+    public PerformanceMetricsRecorder(JdbcTemplate jdbcTemplate, MetricsRecorderProperties properties,
+                                      MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.accepted = recorderCounter(meterRegistry, "accepted");
+        this.dropped = recorderCounter(meterRegistry, "dropped");
+        this.flushed = recorderCounter(meterRegistry, "flushed");
+        this.failed = recorderCounter(meterRegistry, "failed");
+        this.batches = recorderCounter(meterRegistry, "batches");
+        Gauge.builder("performance.metrics.recorder.buffer.size", size, AtomicInteger::get)
+                .register(meterRegistry);
+    }
+
+    private static Counter recorderCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("performance.metrics.recorder")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 메트릭을 버퍼에 넣는다 (버퍼가 가득 차 새 메트릭을 버렸으면 false)
+     */
+    public boolean record(PerformanceMetrics metrics) {
+        int capacity = properties.getCapacity();
+        while (true) {
+            int current = size.get();
+            if (current < capacity) {
+                if (size.compareAndSet(current, current + 1)) {
+                    buffer.offer(metrics);
+                    accepted.increment();
+                    if (current + 1 == properties.getFlushSize()) {
+                        LockSupport.unpark(drainer);
+                    }
+                    return true;
+                }
+                continue;
+            }
+            if (properties.getDropPolicy() == DropPolicy.DROP_NEWEST) {
+                dropped.increment();
+                return false;
+            }
+            // DROP_OLDEST: 가장 오래된 항목을 비우고 다시 시도
+            if (buffer.poll() != null) {
+                size.decrementAndGet();
+                dropped.increment();
+            }
+        }
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("buffered", size.get());
+        statistics.put("accepted", (long) accepted.count());
+        statistics.put("dropped", (long) dropped.count());
+        statistics.put("flushed", (long) flushed.count());
+        statistics.put("failed", (long) failed.count());
+        statistics.put("batches", (long) batches.count());
+        statistics.put("dropPolicy", properties.getDropPolicy());
+        return statistics;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        Thread thread = new Thread(this::drainLoop, "metrics-recorder");
+        thread.setDaemon(true);
+        drainer = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = drainer;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(properties.getFlushInterval().toMillis() * 2 + 1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // 종료 전 남은 메트릭을 모두 저장
+        drain();
+        log.info("Performance metrics recorder stopped: {}", getStatistics());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 웹 서버보다 늦게 멈춰 마지막 요청의 메트릭까지 저장한다
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void drainLoop() {
+        long intervalNanos = properties.getFlushInterval().toNanos();
+        while (running) {
+            if (size.get() < properties.getFlushSize()) {
+                LockSupport.parkNanos(this, intervalNanos);
+            }
+            drain();
+        }
+    }
+
+    private void drain() {
+        int flushSize = properties.getFlushSize();
+        List<PerformanceMetrics> batch = new ArrayList<>(flushSize);
+        PerformanceMetrics metrics;
+        while ((metrics = buffer.poll()) != null) {
+            size.decrementAndGet();
+            batch.add(metrics);
+            if (batch.size() == flushSize) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            flush(batch);
+        }
+    }
+
+    private void flush(List<PerformanceMetrics> batch) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, metrics) -> {
+                ps.setString(1, metrics.getApiName());
+                ps.setBoolean(2, metrics.getCacheEnabled());
+                ps.setLong(3, metrics.getResponseTimeMs());
+                ps.setObject(4, metrics.getResponseTimeUs(), Types.BIGINT);
+                ps.setBoolean(5, metrics.getCacheHit());
+                ps.setInt(6, metrics.getRequestCount());
+                ps.setTimestamp(7, Timestamp.valueOf(metrics.getCreatedAt()));
+            });
+            flushed.increment(batch.size());
+            batches.increment();
+        } catch (Exception e) {
+            failed.increment(batch.size());
+            log.warn("Failed to flush {} performance metrics: {}", batch.size(), e.getMessage());
+        }
+    }
+}
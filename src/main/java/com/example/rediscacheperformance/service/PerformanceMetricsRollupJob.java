@@ -0,0 +1,389 @@
+package com.example.rediscacheperformance.service;
+
+import com.example.rediscacheperformance.config.MetricsRollupProperties;
+import com.example.rediscacheperformance.entity.RollupResolution;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.DataFormatException;
+
+/**
+ * performance_metrics 원본 행을 분/시간 단위 롤업으로 압축하고 보관 기간이 지난 행을 삭제하는 작업
+ * 분 롤업은 원본 행을, 시간 롤업은 분 롤업을 합쳐 만들고, 각 단계는 마지막으로 만든 구간(워터마크) 다음부터 이어서 처리한다.
+ * 원본/분 롤업은 상위 롤업이 끝난 구간만 삭제하므로 보관 기간이 짧아도 통계가 빠지지 않는다.
+ */
+@Component
+@Slf4j
+public class PerformanceMetricsRollupJob implements SmartLifecycle {
+
+    private static final String MIN_RAW_SQL = "SELECT MIN(created_at) FROM performance_metrics";
+    private static final String MIN_RAW_AFTER_SQL =
+            "SELECT MIN(created_at) FROM performance_metrics WHERE created_at >= ?";
+    private static final String MIN_ROLLUP_AFTER_SQL =
+            "SELECT MIN(bucket_start) FROM performance_metrics_rollup WHERE resolution = ? AND bucket_start >= ?";
+    private static final String MAX_ROLLUP_SQL =
+            "SELECT MAX(bucket_start) FROM performance_metrics_rollup WHERE resolution = ?";
+    private static final String SELECT_RAW_SQL = "SELECT api_name, cache_enabled, cache_hit, "
+            + "response_time_ms, response_time_us, request_count, created_at FROM performance_metrics "
+            + "WHERE created_at >= ? AND created_at < ?";
+    private static final String SELECT_ROLLUP_SQL = "SELECT api_name, cache_enabled, cache_hit, bucket_start, "
+            + "request_count, response_time_sum_us, response_time_min_us, response_time_max_us, histogram "
+            + "FROM performance_metrics_rollup WHERE resolution = ? AND bucket_start >= ? AND bucket_start < ?";
+    private static final String INSERT_ROLLUP_SQL = "INSERT INTO performance_metrics_rollup "
+            + "(resolution, bucket_start, api_name, cache_enabled, cache_hit, request_count, "
+            + "response_time_sum_us, response_time_min_us, response_time_max_us, histogram) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String DELETE_RAW_SQL = "DELETE FROM performance_metrics WHERE created_at < ?";
+    private static final String DELETE_ROLLUP_SQL =
+            "DELETE FROM performance_metrics_rollup WHERE resolution = ? AND bucket_start < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MetricsRollupProperties properties;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Timer runTimer;
+    private final Counter rolledRows;
+    private final Counter minuteBuckets;
+    private final Counter hourBuckets;
+    private final Counter deletedRaw;
+    private final Counter deletedMinutes;
+    private final Counter deletedHours;
+    private final Counter failures;
+
+    private volatile LocalDateTime lastRunAt;
+    /**
+     * 마지막 분 롤업이 훑은 구간의 끝 (요청이 없던 마지막 구간까지 포함, 재시작 전까지만 유지)
+     */
+    private volatile LocalDateTime minuteCoveredUntil;
+    private volatile boolean running;
+    private volatile Thread worker;
+
+    public PerformanceMetricsRollupJob(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                       MetricsRollupProperties properties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.runTimer = Timer.builder("performance.metrics.rollup.duration").register(meterRegistry);
+        this.rolledRows = rollupCounter(meterRegistry, "raw_rows");
+        this.minuteBuckets = rollupCounter(meterRegistry, "minute_buckets");
+        this.hourBuckets = rollupCounter(meterRegistry, "hour_buckets");
+        this.deletedRaw = rollupCounter(meterRegistry, "deleted_raw");
+        this.deletedMinutes = rollupCounter(meterRegistry, "deleted_minute_buckets");
+        this.deletedHours = rollupCounter(meterRegistry, "deleted_hour_buckets");
+        this.failures = rollupCounter(meterRegistry, "failures");
+    }
+
+    private static Counter rollupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("performance.metrics.rollup")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 롤업과 보관 기간 정리를 한 번 실행 (다른 실행이 진행 중이면 끝날 때까지 기다림)
+     *
+     * @return 이번 실행에서 처리한 건수
+     */
+    public Map<String, Object> runOnce() {
+        lock.lock();
+        try {
+            return runTimer.record(() -> {
+                LocalDateTime now = LocalDateTime.now();
+                Map<String, Object> result = new LinkedHashMap<>();
+                result.put("rawRows", rollupMinutes(now));
+                result.put("hourBuckets", rollupHours());
+                result.putAll(applyRetention(now));
+                lastRunAt = now;
+                return result;
+            });
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 다음에 만들 구간의 시작 시각 (이 시각 이전 구간은 모두 롤업됨, 롤업이 없으면 null)
+     */
+    public LocalDateTime getWatermark(RollupResolution resolution) {
+        LocalDateTime latest = jdbcTemplate.queryForObject(MAX_ROLLUP_SQL, LocalDateTime.class, resolution.name());
+        return latest != null ? latest.plus(resolution.getDuration()) : null;
+    }
+
+    /**
+     * 분 롤업 워터마크 (마지막 롤업 행 다음 구간과 마지막으로 훑은 구간 끝 중 늦은 쪽)
+     */
+    private LocalDateTime minuteWatermark() {
+        LocalDateTime watermark = getWatermark(RollupResolution.MINUTE);
+        LocalDateTime coveredUntil = minuteCoveredUntil;
+        if (watermark == null || (coveredUntil != null && coveredUntil.isAfter(watermark))) {
+            return coveredUntil;
+        }
+        return watermark;
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("enabled", properties.isEnabled());
+        statistics.put("lastRunAt", lastRunAt);
+        statistics.put("minuteWatermark", minuteWatermark());
+        statistics.put("hourWatermark", getWatermark(RollupResolution.HOUR));
+        statistics.put("rawRows", (long) rolledRows.count());
+        statistics.put("minuteBuckets", (long) minuteBuckets.count());
+        statistics.put("hourBuckets", (long) hourBuckets.count());
+        statistics.put("deletedRaw", (long) deletedRaw.count());
+        statistics.put("deletedMinuteBuckets", (long) deletedMinutes.count());
+        statistics.put("deletedHourBuckets", (long) deletedHours.count());
+        statistics.put("failures", (long) failures.count());
+        statistics.put("avgRunMs", runTimer.mean(TimeUnit.MILLISECONDS));
+        return statistics;
+    }
+
+    /**
+     * 원본 행 → 분 롤업 (지연 시간만큼 지난 구간까지, 한 번에 maxMinutesPerRun 구간)
+     * 요청이 없던 구간은 건너뛰고 워터마크 이후 첫 원본 행의 구간부터 시작한다.
+     */
+    private long rollupMinutes(LocalDateTime now) {
+        LocalDateTime watermark = minuteWatermark();
+        LocalDateTime earliest = watermark != null
+                ? jdbcTemplate.queryForObject(MIN_RAW_AFTER_SQL, LocalDateTime.class, Timestamp.valueOf(watermark))
+                : jdbcTemplate.queryForObject(MIN_RAW_SQL, LocalDateTime.class);
+        LocalDateTime to = RollupResolution.MINUTE.bucketStart(now.minus(properties.getDelay()));
+        if (earliest == null || !RollupResolution.MINUTE.bucketStart(earliest).isBefore(to)) {
+            // 롤업할 행이 없어도 다 지난 구간은 훑은 것으로 보고 시간 롤업이 진행되게 함
+            if (watermark == null || to.isAfter(watermark)) {
+                minuteCoveredUntil = to;
+            }
+            return 0;
+        }
+        LocalDateTime from = RollupResolution.MINUTE.bucketStart(earliest);
+        LocalDateTime limit = from.plusMinutes(Math.max(1, properties.getMaxMinutesPerRun()));
+        if (to.isAfter(limit)) {
+            to = limit;
+        }
+
+        Map<BucketKey, Bucket> buckets = new HashMap<>();
+        long[] rows = new long[1];
+        jdbcTemplate.query(SELECT_RAW_SQL, rs -> {
+            Long micros = rs.getObject("response_time_us", Long.class);
+            long value = micros != null ? micros : rs.getLong("response_time_ms") * 1000;
+            LocalDateTime createdAt = rs.getTimestamp("created_at").toLocalDateTime();
+            BucketKey key = new BucketKey(RollupResolution.MINUTE.bucketStart(createdAt),
+                    rs.getString("api_name"), rs.getBoolean("cache_enabled"), rs.getBoolean("cache_hit"));
+            buckets.computeIfAbsent(key, k -> new Bucket(properties.getSignificantDigits()))
+                    .record(Math.max(1, value), rs.getInt("request_count"));
+            rows[0]++;
+        }, Timestamp.valueOf(from), Timestamp.valueOf(to));
+
+        insert(RollupResolution.MINUTE, buckets);
+        minuteCoveredUntil = to;
+        rolledRows.increment(rows[0]);
+        minuteBuckets.increment(buckets.size());
+        return rows[0];
+    }
+
+    /**
+     * 분 롤업 → 시간 롤업 (분 롤업이 모두 끝난 시간 구간만)
+     */
+    private long rollupHours() {
+        LocalDateTime minuteWatermark = minuteWatermark();
+        if (minuteWatermark == null) {
+            return 0;
+        }
+        LocalDateTime watermark = getWatermark(RollupResolution.HOUR);
+        LocalDateTime earliest = jdbcTemplate.queryForObject(MIN_ROLLUP_AFTER_SQL, LocalDateTime.class,
+                RollupResolution.MINUTE.name(),
+                Timestamp.valueOf(watermark != null ? watermark : LocalDateTime.of(1970, 1, 1, 0, 0)));
+        if (earliest == null) {
+            return 0;
+        }
+        LocalDateTime from = RollupResolution.HOUR.bucketStart(earliest);
+        LocalDateTime to = RollupResolution.HOUR.bucketStart(minuteWatermark);
+        if (!from.isBefore(to)) {
+            return 0;
+        }
+
+        Map<BucketKey, Bucket> buckets = new HashMap<>();
+        jdbcTemplate.query(SELECT_ROLLUP_SQL, rs -> {
+            LocalDateTime bucketStart = rs.getTimestamp("bucket_start").toLocalDateTime();
+            BucketKey key = new BucketKey(RollupResolution.HOUR.bucketStart(bucketStart),
+                    rs.getString("api_name"), rs.getBoolean("cache_enabled"), rs.getBoolean("cache_hit"));
+            buckets.computeIfAbsent(key, k -> new Bucket(properties.getSignificantDigits()))
+                    .merge(rs.getLong("request_count"), rs.getLong("response_time_sum_us"),
+                            rs.getLong("response_time_min_us"), rs.getLong("response_time_max_us"),
+                            decode(rs.getBytes("histogram")));
+        }, RollupResolution.MINUTE.name(), Timestamp.valueOf(from), Timestamp.valueOf(to));
+
+        insert(RollupResolution.HOUR, buckets);
+        hourBuckets.increment(buckets.size());
+        return buckets.size();
+    }
+
+    /**
+     * 보관 기간 정리 (상위 롤업에 반영되지 않은 구간은 보관 기간이 지나도 남겨 둠)
+     */
+    private Map<String, Object> applyRetention(LocalDateTime now) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("deletedRaw", deleteBefore(DELETE_RAW_SQL, null,
+                earlier(now.minus(properties.getRawRetention()), minuteWatermark()), deletedRaw));
+        result.put("deletedMinuteBuckets", deleteBefore(DELETE_ROLLUP_SQL, RollupResolution.MINUTE,
+                earlier(now.minus(properties.getMinuteRetention()), getWatermark(RollupResolution.HOUR)),
+                deletedMinutes));
+        result.put("deletedHourBuckets", deleteBefore(DELETE_ROLLUP_SQL, RollupResolution.HOUR,
+                now.minus(properties.getHourRetention()), deletedHours));
+        return result;
+    }
+
+    private int deleteBefore(String sql, RollupResolution resolution, LocalDateTime before, Counter counter) {
+        if (before == null) {
+            return 0;
+        }
+        int deleted = resolution != null
+                ? jdbcTemplate.update(sql, resolution.name(), Timestamp.valueOf(before))
+                : jdbcTemplate.update(sql, Timestamp.valueOf(before));
+        counter.increment(deleted);
+        return deleted;
+    }
+
+    private static LocalDateTime earlier(LocalDateTime retention, LocalDateTime watermark) {
+        if (watermark == null) {
+            return null;
+        }
+        return retention.isBefore(watermark) ? retention : watermark;
+    }
+
+    private void insert(RollupResolution resolution, Map<BucketKey, Bucket> buckets) {
+        if (buckets.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<BucketKey, Bucket>> entries = new ArrayList<>(buckets.entrySet());
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(INSERT_ROLLUP_SQL, entries, entries.size(), (ps, entry) -> {
+                    BucketKey key = entry.getKey();
+                    Bucket bucket = entry.getValue();
+                    ps.setString(1, resolution.name());
+                    ps.setTimestamp(2, Timestamp.valueOf(key.bucketStart()));
+                    ps.setString(3, key.apiName());
+                    ps.setBoolean(4, key.cacheEnabled());
+                    ps.setBoolean(5, key.cacheHit());
+                    ps.setLong(6, bucket.count);
+                    ps.setLong(7, bucket.sum);
+                    ps.setLong(8, bucket.min);
+                    ps.setLong(9, bucket.max);
+                    ps.setBytes(10, encode(bucket.histogram));
+                }));
+    }
+
+    static byte[] encode(Histogram histogram) {
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        return Arrays.copyOf(buffer.array(), length);
+    }
+
+    static Histogram decode(byte[] bytes) {
+        try {
+            return Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(bytes), 0);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupted rollup histogram", e);
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        running = true;
+        Thread thread = new Thread(this::runLoop, "metrics-rollup");
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = worker;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void runLoop() {
+        long intervalNanos = properties.getInterval().toNanos();
+        while (running) {
+            LockSupport.parkNanos(this, intervalNanos);
+            if (!running) {
+                break;
+            }
+            try {
+                Map<String, Object> result = runOnce();
+                log.debug("Performance metrics rollup: {}", result);
+            } catch (Exception e) {
+                failures.increment();
+                log.warn("Performance metrics rollup failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    private record BucketKey(LocalDateTime bucketStart, String apiName, boolean cacheEnabled, boolean cacheHit) {
+    }
+
+    private static final class Bucket {
+
+        private final Histogram histogram;
+        private long count;
+        private long sum;
+        private long min = Long.MAX_VALUE;
+        private long max;
+
+        private Bucket(int significantDigits) {
+            this.histogram = new Histogram(significantDigits);
+        }
+
+        private void record(long micros, int requestCount) {
+            histogram.recordValueWithCount(micros, requestCount);
+            count += requestCount;
+            sum += micros * requestCount;
+            min = Math.min(min, micros);
+            max = Math.max(max, micros);
+        }
+
+        private void merge(long count, long sum, long min, long max, Histogram histogram) {
+            this.histogram.add(histogram);
+            this.count += count;
+            this.sum += sum;
+            this.min = Math.min(this.min, min);
+            this.max = Math.max(this.max, max);
+        }
+    }
+}
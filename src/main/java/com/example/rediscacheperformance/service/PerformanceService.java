@@ -1,14 +1,27 @@
 package com.example.rediscacheperformance.service;
 
+import com.example.rediscacheperformance.config.MetricsRollupProperties;
 import com.example.rediscacheperformance.entity.PerformanceMetrics;
+import com.example.rediscacheperformance.entity.PerformanceMetricsRollup;
+import com.example.rediscacheperformance.entity.RollupResolution;
+import com.example.rediscacheperformance.metrics.LatencyHistogramAggregator;
+import com.example.rediscacheperformance.metrics.LatencyHistogramAggregator.LatencySnapshot;
 import com.example.rediscacheperformance.repository.PerformanceMetricsRepository;
+import com.example.rediscacheperformance.repository.PerformanceMetricsRollupRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @RequiredArgsConstructor
@@ -16,59 +29,203 @@ import java.util.Map;
 public class PerformanceService {
     
     private final PerformanceMetricsRepository performanceMetricsRepository;
+    private final PerformanceMetricsRecorder performanceMetricsRecorder;
+    private final LatencyHistogramAggregator latencyHistogramAggregator;
+    private final PerformanceMetricsRollupRepository performanceMetricsRollupRepository;
+    private final PerformanceMetricsRollupJob performanceMetricsRollupJob;
+    private final MetricsRollupProperties metricsRollupProperties;
     
+    /**
+     * 성능 메트릭 기록 (요청 스레드에서는 버퍼에 넣기만 하고 저장은 비동기 배치로 처리)
+     */
     public void recordPerformanceMetrics(String apiName, Boolean cacheEnabled, 
-                                       Long responseTimeMs, Boolean cacheHit) {
+                                       long responseTimeNanos, Boolean cacheHit) {
+        recordPerformanceMetrics(apiName, cacheEnabled, responseTimeNanos, cacheHit, null);
+    }
+    
+    /**
+     * 캐시 백엔드별 성능 메트릭 기록
+     * 백엔드 구분은 인메모리 통계에만 남고 DB 메트릭 행과 롤업에는 저장하지 않는다.
+     *
+     * @param backend 캐시 백엔드 이름 (캐시 미사용이면 null)
+     */
+    public void recordPerformanceMetrics(String apiName, Boolean cacheEnabled,
+                                       long responseTimeNanos, Boolean cacheHit, String backend) {
+        long responseTimeMs = TimeUnit.NANOSECONDS.toMillis(responseTimeNanos);
         PerformanceMetrics metrics = PerformanceMetrics.builder()
                 .apiName(apiName)
                 .cacheEnabled(cacheEnabled)
                 .responseTimeMs(responseTimeMs)
+                .responseTimeUs(TimeUnit.NANOSECONDS.toMicros(responseTimeNanos))
                 .cacheHit(cacheHit)
                 .requestCount(1)
+                .createdAt(LocalDateTime.now())
                 .build();
         
-        performanceMetricsRepository.save(metrics);
-        log.info("Performance metrics recorded: API={}, Cache={}, ResponseTime={}ms, Hit={}", 
+        latencyHistogramAggregator.record(apiName, cacheEnabled, cacheHit, backend, responseTimeNanos);
+        performanceMetricsRecorder.record(metrics);
+        log.debug("Performance metrics recorded: API={}, Cache={}, ResponseTime={}ms, Hit={}", 
                 apiName, cacheEnabled, responseTimeMs, cacheHit);
     }
     
-    public Map<String, Object> getPerformanceStatistics(String apiName) {
+    /**
+     * 인메모리 히스토그램 기반 성능 통계 (DB 조회 없음)
+     *
+     * @param apiName null이면 모든 API 합산
+     * @param window  null이면 기동 이후 전체 구간
+     */
+    public Map<String, Object> getPerformanceStatistics(String apiName, Duration window) {
+        return getPerformanceStatistics(apiName, null, window);
+    }
+    
+    /**
+     * 인메모리 히스토그램 기반 성능 통계 (DB 조회 없음)
+     *
+     * @param apiName null이면 모든 API 합산
+     * @param backend 캐시 사용 통계를 한정할 캐시 백엔드 (null이면 모든 백엔드 합산)
+     * @param window  null이면 기동 이후 전체 구간
+     */
+    public Map<String, Object> getPerformanceStatistics(String apiName, String backend, Duration window) {
         // 캐시 사용 시 통계
-        Double avgResponseTimeWithCache = performanceMetricsRepository
-                .findAverageResponseTimeByApiNameAndCacheEnabled(apiName, true);
-        Long cacheHits = performanceMetricsRepository
-                .countCacheHitsByApiNameAndCacheEnabled(apiName, true);
-        Long totalRequestsWithCache = performanceMetricsRepository
-                .countTotalRequestsByApiNameAndCacheEnabled(apiName, true);
+        Map<String, Object> withCacheStatistics = withCacheStatistics(apiName, backend, window);
         
         // 캐시 미사용 시 통계
-        Double avgResponseTimeWithoutCache = performanceMetricsRepository
-                .findAverageResponseTimeByApiNameAndCacheEnabled(apiName, false);
-        Long totalRequestsWithoutCache = performanceMetricsRepository
-                .countTotalRequestsByApiNameAndCacheEnabled(apiName, false);
+        LatencySnapshot withoutCache = latencyHistogramAggregator.snapshot(apiName, false, null, window);
+        
+        Map<String, Object> withoutCacheStatistics = new LinkedHashMap<>();
+        withoutCacheStatistics.put("avgResponseTime", withoutCache.getMean());
+        withoutCacheStatistics.put("totalRequests", withoutCache.getCount());
+        withoutCacheStatistics.putAll(withoutCache.toMap());
+        
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("apiName", apiName != null ? apiName : "all");
+        statistics.put("window", window != null ? window.toString() : "all");
+        statistics.put("backend", backend != null ? backend : "all");
+        statistics.put("apis", latencyHistogramAggregator.getApiNames());
+        statistics.put("withCache", withCacheStatistics);
+        statistics.put("withoutCache", withoutCacheStatistics);
+        statistics.put("recorder", performanceMetricsRecorder.getStatistics());
+        if (backend == null) {
+            Map<String, Object> backends = new LinkedHashMap<>();
+            latencyHistogramAggregator.getBackends().forEach(name ->
+                    backends.put(name, withCacheStatistics(apiName, name, window)));
+            statistics.put("backends", backends);
+        }
+        return statistics;
+    }
+    
+    private Map<String, Object> withCacheStatistics(String apiName, String backend, Duration window) {
+        LatencySnapshot withCache = latencyHistogramAggregator.snapshot(apiName, true, null, backend, window);
+        LatencySnapshot cacheHits = latencyHistogramAggregator.snapshot(apiName, true, true, backend, window);
+        LatencySnapshot cacheMisses = latencyHistogramAggregator.snapshot(apiName, true, false, backend, window);
         
         // 캐시 적중률 계산
-        Double cacheHitRate = totalRequestsWithCache > 0 ? 
-                (double) cacheHits / totalRequestsWithCache * 100 : 0.0;
+        double cacheHitRate = withCache.getCount() > 0 ?
+                (double) cacheHits.getCount() / withCache.getCount() * 100 : 0.0;
         
-        return Map.of(
-                "withCache", Map.of(
-                        "avgResponseTime", avgResponseTimeWithCache != null ? avgResponseTimeWithCache : 0.0,
-                        "totalRequests", totalRequestsWithCache,
-                        "cacheHits", cacheHits,
-                        "cacheHitRate", cacheHitRate
-                ),
-                "withoutCache", Map.of(
-                        "avgResponseTime", avgResponseTimeWithoutCache != null ? avgResponseTimeWithoutCache : 0.0,
-                        "totalRequests", totalRequestsWithoutCache
-                )
-        );
+        Map<String, Object> withCacheStatistics = new LinkedHashMap<>();
+        withCacheStatistics.put("avgResponseTime", withCache.getMean());
+        withCacheStatistics.put("totalRequests", withCache.getCount());
+        withCacheStatistics.put("cacheHits", cacheHits.getCount());
+        withCacheStatistics.put("cacheHitRate", cacheHitRate);
+        withCacheStatistics.putAll(withCache.toMap());
+        withCacheStatistics.put("hit", cacheHits.toMap());
+        withCacheStatistics.put("miss", cacheMisses.toMap());
+        return withCacheStatistics;
+    }
+    
+    /**
+     * 롤업 기반 장기 성능 통계 (원본 행을 읽지 않으므로 이력이 쌓여도 조회 시간이 일정)
+     * 아직 롤업되지 않은 최근 구간(롤업 지연 시간 이내)은 포함되지 않는다.
+     *
+     * @param apiName    null이면 모든 API 합산
+     * @param window     조회 구간
+     * @param resolution null이면 구간이 분 롤업 보관 기간 안이면 MINUTE, 아니면 HOUR
+     */
+    public Map<String, Object> getHistoricalStatistics(String apiName, Duration window, RollupResolution resolution) {
+        if (resolution == null) {
+            resolution = window.compareTo(metricsRollupProperties.getMinuteRetention()) <= 0
+                    ? RollupResolution.MINUTE : RollupResolution.HOUR;
+        }
+        LocalDateTime to = LocalDateTime.now();
+        LocalDateTime from = resolution.bucketStart(to.minus(window));
+        List<PerformanceMetricsRollup> rollups = apiName != null
+                ? performanceMetricsRollupRepository
+                        .findByResolutionAndApiNameAndBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStartAsc(
+                                resolution, apiName, from, to)
+                : performanceMetricsRollupRepository
+                        .findByResolutionAndBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStartAsc(
+                                resolution, from, to);
+        
+        int significantDigits = metricsRollupProperties.getSignificantDigits();
+        Histogram withCache = new Histogram(significantDigits);
+        Histogram withoutCache = new Histogram(significantDigits);
+        long cacheHits = 0;
+        Map<LocalDateTime, Histogram[]> buckets = new TreeMap<>();
+        for (PerformanceMetricsRollup rollup : rollups) {
+            Histogram histogram = PerformanceMetricsRollupJob.decode(rollup.getHistogram());
+            Histogram[] bucket = buckets.computeIfAbsent(rollup.getBucketStart(), key -> new Histogram[]{
+                    new Histogram(significantDigits), new Histogram(significantDigits)});
+            if (rollup.getCacheEnabled()) {
+                withCache.add(histogram);
+                bucket[0].add(histogram);
+                if (rollup.getCacheHit()) {
+                    cacheHits += rollup.getRequestCount();
+                }
+            } else {
+                withoutCache.add(histogram);
+                bucket[1].add(histogram);
+            }
+        }
+        
+        long windowNanos = window.toNanos();
+        long bucketNanos = resolution.getDuration().toNanos();
+        LatencySnapshot withCacheSnapshot = new LatencySnapshot(withCache, windowNanos);
+        LatencySnapshot withoutCacheSnapshot = new LatencySnapshot(withoutCache, windowNanos);
+        
+        Map<String, Object> withCacheStatistics = new LinkedHashMap<>();
+        withCacheStatistics.put("cacheHits", cacheHits);
+        withCacheStatistics.put("cacheHitRate", withCacheSnapshot.getCount() > 0 ?
+                (double) cacheHits / withCacheSnapshot.getCount() * 100 : 0.0);
+        withCacheStatistics.putAll(withCacheSnapshot.toMap());
+        
+        List<Map<String, Object>> series = new ArrayList<>(buckets.size());
+        buckets.forEach((bucketStart, histograms) -> {
+            Map<String, Object> point = new LinkedHashMap<>();
+            point.put("bucketStart", bucketStart);
+            point.put("withCache", new LatencySnapshot(histograms[0], bucketNanos).toMap());
+            point.put("withoutCache", new LatencySnapshot(histograms[1], bucketNanos).toMap());
+            series.add(point);
+        });
+        
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("apiName", apiName != null ? apiName : "all");
+        statistics.put("window", window.toString());
+        statistics.put("resolution", resolution);
+        statistics.put("from", from);
+        statistics.put("coveredUntil", performanceMetricsRollupJob.getWatermark(resolution));
+        statistics.put("apis", performanceMetricsRollupRepository.findApiNames(resolution));
+        statistics.put("withCache", withCacheStatistics);
+        statistics.put("withoutCache", withoutCacheSnapshot.toMap());
+        statistics.put("series", series);
+        return statistics;
+    }
+    
+    public Map<String, Object> runMetricsRollup() {
+        Map<String, Object> result = new LinkedHashMap<>(performanceMetricsRollupJob.runOnce());
+        result.put("rollup", performanceMetricsRollupJob.getStatistics());
+        return result;
+    }
+    
+    public Duration getMaxStatisticsWindow() {
+        return latencyHistogramAggregator.getMaxWindow();
     }
     
+    /**
+     * 최근 메트릭 limit건 (api_name, cache_enabled, created_at 인덱스로 limit건만 읽음)
+     */
     public List<PerformanceMetrics> getRecentMetrics(String apiName, int limit) {
-        return performanceMetricsRepository.findByApiNameAndCacheEnabled(apiName, true)
-                .stream()
-                .limit(limit)
-                .toList();
+        return performanceMetricsRepository.findByApiNameAndCacheEnabledOrderByCreatedAtDesc(
+                apiName, true, PageRequest.of(0, limit));
     }
 }
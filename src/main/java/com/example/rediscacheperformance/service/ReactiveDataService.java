@@ -0,0 +1,70 @@
+package com.example.rediscacheperformance.service;
+
+import com.example.rediscacheperformance.cache.ReactiveRedisCache;
+import com.example.rediscacheperformance.cache.ReactiveRedisCache.CachedValue;
+import com.example.rediscacheperformance.entity.SampleData;
+import com.example.rediscacheperformance.latency.DatabaseLatencySimulator;
+import com.example.rediscacheperformance.latency.QueryType;
+import com.example.rediscacheperformance.repository.SampleDataRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * DataService의 조회를 스레드를 붙잡지 않는 방식으로 제공
+ * DB 지연 시뮬레이션은 스레드를 재우지 않고 타이머(Mono.delay)로 기다리고,
+ * 블로킹 JPA 조회만 boundedElastic 스케줄러에서 실행한다. 캐시는 블로킹 경로와 같은 Redis 항목을 사용한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveDataService {
+
+    private final SampleDataRepository sampleDataRepository;
+    private final WriteBehindQueue writeBehindQueue;
+    private final ReactiveRedisCache reactiveRedisCache;
+    private final DatabaseLatencySimulator databaseLatency;
+
+    public Mono<List<SampleData>> getAllDataWithoutCache() {
+        return database(QueryType.ALL, sampleDataRepository::findAll);
+    }
+
+    public Mono<CachedValue> getAllDataWithCache() {
+        return reactiveRedisCache.get(DataService.SAMPLE_DATA_LIST_CACHE, DataService.ALL_KEY,
+                database(QueryType.ALL, () -> writeBehindQueue.overlay(sampleDataRepository.findAll(), row -> true)));
+    }
+
+    public Mono<List<SampleData>> getDataByCategoryWithoutCache(String category) {
+        return database(QueryType.CATEGORY, () -> sampleDataRepository.findByCategory(category));
+    }
+
+    public Mono<CachedValue> getDataByCategoryWithCache(String category) {
+        return reactiveRedisCache.get(DataService.SAMPLE_DATA_LIST_CACHE, DataService.categoryKey(category),
+                database(QueryType.CATEGORY, () -> writeBehindQueue.overlay(sampleDataRepository.findByCategory(category),
+                        row -> category.equals(row.getCategory()))));
+    }
+
+    /**
+     * @return 없으면 빈 Mono
+     */
+    public Mono<SampleData> getDataByIdWithoutCache(Long id) {
+        return database(QueryType.ID, () -> sampleDataRepository.findById(id).orElse(null));
+    }
+
+    public Mono<CachedValue> getDataByIdWithCache(Long id) {
+        return reactiveRedisCache.get(DataService.SAMPLE_DATA_CACHE, id,
+                database(QueryType.ID,
+                        () -> writeBehindQueue.overlay(id, sampleDataRepository.findById(id)).orElse(null)));
+    }
+
+    /**
+     * 시뮬레이션 지연 후 블로킹 조회 (null 결과는 빈 Mono)
+     */
+    private <T> Mono<T> database(QueryType queryType, Callable<T> query) {
+        return databaseLatency.delay(queryType)
+                .then(Mono.fromCallable(query).subscribeOn(Schedulers.boundedElastic()));
+    }
+}
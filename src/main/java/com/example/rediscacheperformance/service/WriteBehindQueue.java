@@ -0,0 +1,363 @@
+package com.example.rediscacheperformance.service;
+
+import com.example.rediscacheperformance.config.DataWriteProperties;
+import com.example.rediscacheperformance.entity.SampleData;
+import com.example.rediscacheperformance.latency.DatabaseLatencySimulator;
+import com.example.rediscacheperformance.latency.QueryType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * write-behind 대기열
+ * 같은 id의 변경은 마지막 값 하나로 합치고, 전용 스레드가 flush 간격/크기마다 JDBC 배치로 UPDATE / DELETE 한다.
+ * 변경은 DB 반영이 끝난 뒤에 대기열에서 빠지므로, 캐시 적재 시 overlay로 아직 반영되지 않은 변경을 덮어쓸 수 있다.
+ * 대기열이 가득 차면 이미 대기 중인 id의 변경만 합치고, 새 id의 변경은 받지 않아 호출자가 바로 DB에 쓰게 한다.
+ * flush가 실패하면 flush 간격부터 두 배씩 늘린 간격(최대 write-behind-max-backoff)을 쉬고 다시 시도한다.
+ */
+@Component
+@Slf4j
+public class WriteBehindQueue implements SmartLifecycle {
+
+    private static final String UPDATE_SQL =
+            "UPDATE sample_data SET name = ?, description = ?, price = ?, category = ? WHERE id = ?";
+    private static final String DELETE_SQL = "DELETE FROM sample_data WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataWriteProperties properties;
+    private final DatabaseLatencySimulator databaseLatency;
+
+    private final ConcurrentMap<Long, PendingWrite> pending = new ConcurrentHashMap<>();
+    /**
+     * flush 중인 변경 (이 값에 합쳐지는 새 변경은 DB 반영 지연을 새로 잰다)
+     */
+    private final ConcurrentMap<Long, PendingWrite> inFlight = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Recorder dbLag = new Recorder(2);
+    private final List<Consumer<List<PendingWrite>>> flushListeners = new CopyOnWriteArrayList<>();
+
+    private final Counter enqueued;
+    private final Counter coalesced;
+    private final Counter flushed;
+    private final Counter failed;
+    private final Counter rejected;
+    private final Counter batches;
+    private final Counter dbRows;
+
+    private volatile boolean running;
+    private volatile Thread flusher;
+
+    public WriteBehindQueue(JdbcTemplate jdbcTemplate, DataWriteProperties properties,
+                            DatabaseLatencySimulator databaseLatency, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.databaseLatency = databaseLatency;
+        this.enqueued = queueCounter(meterRegistry, "enqueued");
+        this.coalesced = queueCounter(meterRegistry, "coalesced");
+        this.flushed = queueCounter(meterRegistry, "flushed");
+        this.failed = queueCounter(meterRegistry, "failed");
+        this.rejected = queueCounter(meterRegistry, "rejected");
+        this.batches = queueCounter(meterRegistry, "batches");
+        this.dbRows = DataWriteService.dbRowsCounter(meterRegistry, WriteStrategy.WRITE_BEHIND);
+        Gauge.builder("data.write.behind.pending", pending, Map::size)
+                .register(meterRegistry);
+    }
+
+    private static Counter queueCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("data.write.behind")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 변경 예약
+     *
+     * @param row        새 값 (null이면 삭제)
+     * @param categories 변경 전후 카테고리 (flush 후 캐시 무효화에 사용)
+     * @return 대기열이 가득 차 받지 않았으면 false (호출자가 바로 DB에 쓴다)
+     */
+    public boolean enqueue(Long id, SampleData row, Set<String> categories) {
+        long now = System.nanoTime();
+        int capacity = properties.getWriteBehindCapacity();
+        boolean[] merged = {false};
+        PendingWrite queued = pending.compute(id, (key, existing) -> {
+            if (existing == null) {
+                // 동시에 들어온 새 id 수만큼은 넘칠 수 있다
+                return pending.size() < capacity ? new PendingWrite(id, row, now, Set.copyOf(categories)) : null;
+            }
+            merged[0] = true;
+            Set<String> union = new HashSet<>(existing.categories());
+            union.addAll(categories);
+            long firstEnqueuedNanos = inFlight.get(id) == existing ? now : existing.firstEnqueuedNanos();
+            return new PendingWrite(id, row, firstEnqueuedNanos, Set.copyOf(union));
+        });
+        if (queued == null) {
+            rejected.increment();
+            LockSupport.unpark(flusher);
+            return false;
+        }
+        enqueued.increment();
+        if (merged[0]) {
+            coalesced.increment();
+        }
+        if (pending.size() >= properties.getWriteBehindFlushSize()) {
+            LockSupport.unpark(flusher);
+        }
+        return true;
+    }
+
+    /**
+     * 아직 DB에 반영되지 않은 변경
+     */
+    public Optional<PendingWrite> getPending(Long id) {
+        return Optional.ofNullable(pending.get(id));
+    }
+
+    /**
+     * DB에서 읽은 단건에 대기 중인 변경 적용
+     */
+    public Optional<SampleData> overlay(Long id, Optional<SampleData> row) {
+        PendingWrite write = pending.get(id);
+        return write == null ? row : Optional.ofNullable(write.row());
+    }
+
+    /**
+     * DB에서 읽은 목록에 대기 중인 변경 적용 (수정은 교체, 삭제는 제거, filter에 새로 맞는 행은 추가)
+     */
+    public List<SampleData> overlay(List<SampleData> rows, Predicate<SampleData> filter) {
+        if (pending.isEmpty()) {
+            return rows;
+        }
+        Map<Long, PendingWrite> snapshot = new HashMap<>(pending);
+        List<SampleData> result = new ArrayList<>(rows.size());
+        for (SampleData row : rows) {
+            PendingWrite write = snapshot.remove(row.getId());
+            SampleData current = write == null ? row : write.row();
+            if (current != null && filter.test(current)) {
+                result.add(current);
+            }
+        }
+        snapshot.values().stream()
+                .map(PendingWrite::row)
+                .filter(row -> row != null && filter.test(row))
+                .forEach(result::add);
+        result.sort(Comparator.comparing(SampleData::getId));
+        return result;
+    }
+
+    /**
+     * 해당 id의 변경이 대기 중이면 먼저 반영 (동기 쓰기가 늦게 flush되는 이전 값에 덮이지 않도록)
+     */
+    public void flushIfPending(Long id) {
+        if (pending.containsKey(id)) {
+            flush();
+        }
+    }
+
+    /**
+     * flush로 DB에 반영된 변경을 받을 리스너 등록
+     */
+    public void addFlushListener(Consumer<List<PendingWrite>> listener) {
+        flushListeners.add(listener);
+    }
+
+    /**
+     * 대기 중인 변경을 모두 DB에 반영
+     *
+     * @return 모든 배치가 반영됐으면 true (실패한 변경은 대기열에 남아 다음 flush에서 다시 시도)
+     */
+    public boolean flush() {
+        flushLock.lock();
+        try {
+            List<PendingWrite> updates = new ArrayList<>();
+            List<PendingWrite> deletes = new ArrayList<>();
+            pending.values().forEach(write -> {
+                inFlight.put(write.id(), write);
+                (write.row() != null ? updates : deletes).add(write);
+            });
+            int flushSize = properties.getWriteBehindFlushSize();
+            boolean succeeded = true;
+            for (int from = 0; from < updates.size(); from += flushSize) {
+                succeeded &= flushUpdates(updates.subList(from, Math.min(from + flushSize, updates.size())));
+            }
+            for (int from = 0; from < deletes.size(); from += flushSize) {
+                succeeded &= flushDeletes(deletes.subList(from, Math.min(from + flushSize, deletes.size())));
+            }
+            return succeeded;
+        } finally {
+            inFlight.clear();
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 마지막 호출 이후 반영된 변경의 DB 반영 지연 (첫 예약 ~ flush 완료, 마이크로초)
+     */
+    public Histogram getIntervalDbLag() {
+        return dbLag.getIntervalHistogram();
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("pending", pending.size());
+        statistics.put("enqueued", (long) enqueued.count());
+        statistics.put("coalesced", (long) coalesced.count());
+        statistics.put("flushed", (long) flushed.count());
+        statistics.put("failed", (long) failed.count());
+        statistics.put("rejected", (long) rejected.count());
+        statistics.put("batches", (long) batches.count());
+        return statistics;
+    }
+
+    private boolean flushUpdates(List<PendingWrite> batch) {
+        try {
+            databaseLatency.await(QueryType.WRITE);
+            jdbcTemplate.batchUpdate(UPDATE_SQL, batch, batch.size(), (ps, write) -> {
+                SampleData row = write.row();
+                ps.setString(1, row.getName());
+                ps.setString(2, row.getDescription());
+                ps.setObject(3, row.getPrice());
+                ps.setString(4, row.getCategory());
+                ps.setLong(5, write.id());
+            });
+            flushed(batch);
+            return true;
+        } catch (Exception e) {
+            failed.increment(batch.size());
+            log.warn("Failed to flush {} write-behind updates, retrying next flush: {}", batch.size(), e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean flushDeletes(List<PendingWrite> batch) {
+        try {
+            databaseLatency.await(QueryType.WRITE);
+            jdbcTemplate.batchUpdate(DELETE_SQL, batch, batch.size(), (ps, write) -> ps.setLong(1, write.id()));
+            flushed(batch);
+            return true;
+        } catch (Exception e) {
+            failed.increment(batch.size());
+            log.warn("Failed to flush {} write-behind deletes, retrying next flush: {}", batch.size(), e.getMessage());
+            return false;
+        }
+    }
+
+    private void flushed(List<PendingWrite> batch) {
+        long now = System.nanoTime();
+        for (PendingWrite write : batch) {
+            dbLag.recordValue(Math.max(1, TimeUnit.NANOSECONDS.toMicros(now - write.firstEnqueuedNanos())));
+            // flush 중 들어온 새 변경은 다음 flush까지 남긴다
+            pending.remove(write.id(), write);
+        }
+        flushed.increment(batch.size());
+        dbRows.increment(batch.size());
+        batches.increment();
+        for (Consumer<List<PendingWrite>> listener : flushListeners) {
+            try {
+                listener.accept(batch);
+            } catch (Exception e) {
+                log.warn("Write-behind flush listener failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        Thread thread = new Thread(this::flushLoop, "write-behind");
+        thread.setDaemon(true);
+        flusher = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = flusher;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(properties.getWriteBehindFlushInterval().toMillis() * 2 + 1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // 종료 전 남은 변경을 모두 반영
+        flush();
+        log.info("Write-behind queue stopped: {}", getStatistics());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 웹 서버보다 늦게 멈춰 마지막 요청의 변경까지 반영한다
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void flushLoop() {
+        long intervalNanos = properties.getWriteBehindFlushInterval().toNanos();
+        long maxBackoffNanos = Math.max(intervalNanos, properties.getWriteBehindMaxBackoff().toNanos());
+        long backoffNanos = 0;
+        while (running) {
+            if (backoffNanos > 0) {
+                // 실패 후에는 대기열이 차서 깨워도 간격을 다 채운 뒤 다시 시도한다
+                parkUntil(System.nanoTime() + backoffNanos);
+            } else if (pending.size() < properties.getWriteBehindFlushSize()) {
+                LockSupport.parkNanos(this, intervalNanos);
+            }
+            boolean succeeded;
+            try {
+                succeeded = flush();
+            } catch (Exception e) {
+                log.warn("Write-behind flush failed: {}", e.getMessage());
+                succeeded = false;
+            }
+            backoffNanos = succeeded ? 0 : Math.min(maxBackoffNanos, Math.max(intervalNanos, backoffNanos * 2));
+        }
+    }
+
+    private void parkUntil(long deadline) {
+        long remaining;
+        while (running && (remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(this, remaining);
+        }
+    }
+
+    /**
+     * @param row                새 값 (null이면 삭제)
+     * @param firstEnqueuedNanos 합쳐진 변경 중 첫 변경의 예약 시각
+     * @param categories         합쳐진 변경 전후의 모든 카테고리
+     */
+    public record PendingWrite(Long id, SampleData row, long firstEnqueuedNanos, Set<String> categories) {
+    }
+}
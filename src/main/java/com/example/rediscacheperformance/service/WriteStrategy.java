@@ -0,0 +1,19 @@
+package com.example.rediscacheperformance.service;
+
+/**
+ * 데이터 변경 시 DB와 캐시를 맞추는 방식
+ */
+public enum WriteStrategy {
+    /**
+     * DB에 바로 쓰고 영향받는 캐시 키(id, 카테고리, 'all')를 삭제 (다음 조회가 DB에서 다시 적재)
+     */
+    INVALIDATE,
+    /**
+     * DB에 바로 쓰고 id 캐시 키를 새 값으로 갱신 (캐시된 목록은 삭제)
+     */
+    WRITE_THROUGH,
+    /**
+     * 캐시를 먼저 갱신하고 DB 쓰기는 모아서 비동기 배치로 반영 (생성은 id 발급을 위해 바로 INSERT)
+     */
+    WRITE_BEHIND
+}
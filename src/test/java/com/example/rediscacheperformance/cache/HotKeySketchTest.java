@@ -0,0 +1,75 @@
+package com.example.rediscacheperformance.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 핫 키 sketch (상위 K, 적중률, 감쇠)와 백엔드별 추적
+ */
+class HotKeySketchTest {
+
+    @Test
+    void topKeysAreOrderedByAccessesAndLimitedToK() {
+        HotKeySketch sketch = new HotKeySketch(1024, 3);
+        for (long id = 1; id <= 10; id++) {
+            for (int i = 0; i < id * 10; i++) {
+                sketch.record(id, i % 2 == 0);
+            }
+        }
+
+        List<HotKeySketch.HotKey> topKeys = sketch.topKeys(10);
+
+        assertThat(topKeys).extracting(HotKeySketch.HotKey::key).containsExactly(10L, 9L, 8L);
+        assertThat(topKeys.get(0).accesses()).isEqualTo(100);
+        assertThat(topKeys.get(0).hitRatio()).isEqualTo(0.5);
+        assertThat(sketch.topKeys(1)).hasSize(1);
+    }
+
+    @Test
+    void decayHalvesCountsAndLetsNewHotKeyOvertake() {
+        HotKeySketch sketch = new HotKeySketch(1024, 2);
+        for (int i = 0; i < 64; i++) {
+            sketch.record("old", true);
+        }
+        sketch.record("rare", false);
+
+        sketch.decay();
+        assertThat(sketch.estimateAccesses("old")).isEqualTo(32);
+        // 1회 조회는 감쇠로 0이 되어 후보에서 빠진다
+        assertThat(sketch.topKeys(2)).extracting(HotKeySketch.HotKey::key).containsExactly("old");
+
+        sketch.decay();
+        for (int i = 0; i < 40; i++) {
+            sketch.record("new", true);
+        }
+
+        assertThat(sketch.topKeys(2)).extracting(HotKeySketch.HotKey::key).containsExactly("new", "old");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void trackerKeepsBackendsApart() {
+        HotKeyTracker tracker = new HotKeyTracker(1024, 5, Duration.ofMinutes(1), Duration.ofSeconds(10),
+                new SimpleMeterRegistry());
+        for (int i = 0; i < 10; i++) {
+            tracker.record(CacheBackendRegistry.REDIS, "sampleData", 1L, true);
+            tracker.record(CacheBackendRegistry.LOCAL, "sampleData", 2L, false);
+        }
+
+        assertThat(tracker.topKeys(CacheBackendRegistry.REDIS, "sampleData", 5))
+                .extracting(HotKeySketch.HotKey::key).containsExactly(1L);
+        assertThat(tracker.topKeys(CacheBackendRegistry.LOCAL, "sampleData", 5))
+                .extracting(HotKeySketch.HotKey::key).containsExactly(2L);
+        assertThat(tracker.topKeys(CacheBackendRegistry.SHARDED, "sampleData", 5)).isEmpty();
+
+        Map<String, Object> backends = (Map<String, Object>) tracker
+                .getStatistics(CacheBackendRegistry.LOCAL, null, 5).get("backends");
+        assertThat(backends.keySet()).containsExactly(CacheBackendRegistry.LOCAL);
+    }
+}
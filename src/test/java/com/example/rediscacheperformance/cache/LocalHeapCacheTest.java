@@ -0,0 +1,129 @@
+package com.example.rediscacheperformance.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 로컬 힙 캐시 (빈도 sketch, W-TinyLFU 입장 제어, 접두사 삭제, get(key, loader) 적재 합치기)
+ */
+class LocalHeapCacheTest {
+
+    private static final long TTL_NANOS = Duration.ofMinutes(10).toNanos();
+    private static final int MAXIMUM_SIZE = 100;
+
+    @Test
+    void frequencySketchCountsUpToMaximum() {
+        FrequencySketch sketch = new FrequencySketch(1024);
+        for (int i = 0; i < 20; i++) {
+            sketch.increment("hot");
+        }
+        for (int i = 0; i < 3; i++) {
+            sketch.increment("warm");
+        }
+
+        // 카운터는 4비트라 15에서 멈춘다
+        assertThat(sketch.frequency("hot")).isEqualTo(15);
+        assertThat(sketch.frequency("warm")).isBetween(3, 4);
+        assertThat(sketch.frequency("cold")).isLessThanOrEqualTo(1);
+    }
+
+    @Test
+    void tinyLfuKeepsFrequentKeysThroughOneHitScan() {
+        BoundedLocalStore<Object, Object> store = hotSetThenScan(EvictionPolicy.W_TINY_LFU);
+
+        // 한 번만 조회된 키는 자주 조회된 키와의 빈도 경쟁에서 져 바로 밀려난다
+        assertThat(hotKeysLeft(store)).isGreaterThanOrEqualTo(MAXIMUM_SIZE * 9 / 10);
+        assertThat(store.size()).isLessThanOrEqualTo(MAXIMUM_SIZE);
+    }
+
+    @Test
+    void lruLosesFrequentKeysToOneHitScan() {
+        BoundedLocalStore<Object, Object> store = hotSetThenScan(EvictionPolicy.LRU);
+
+        assertThat(hotKeysLeft(store)).isZero();
+        assertThat(store.size()).isEqualTo(MAXIMUM_SIZE);
+    }
+
+    @Test
+    void evictByPrefixRemovesOnlyMatchingKeys() {
+        LocalHeapCache cache = new LocalHeapCache("test",
+                new BoundedLocalStore<>(MAXIMUM_SIZE, TTL_NANOS, EvictionPolicy.W_TINY_LFU, 1));
+        cache.put("all:0:10", "page");
+        cache.put("category:a:0:10", "page");
+        cache.put("category:ab:0:10", "page");
+
+        cache.evictByPrefix("category:a:");
+
+        assertThat(cache.get("category:a:0:10")).isNull();
+        assertThat(cache.get("category:ab:0:10")).isNotNull();
+        assertThat(cache.get("all:0:10")).isNotNull();
+    }
+
+    @Test
+    void instrumentedCacheWithoutGuardCoalescesConcurrentLoads() throws Exception {
+        Cache cache = new InstrumentedCache(new LocalHeapCache("test",
+                new BoundedLocalStore<>(MAXIMUM_SIZE, TTL_NANOS, EvictionPolicy.W_TINY_LFU, 1)),
+                new CacheKeyPatternResolver(Map.of()), new SimpleMeterRegistry(), null,
+                CacheBackendRegistry.LOCAL, null);
+        int threads = 8;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return cache.get("key", () -> {
+                        loads.incrementAndGet();
+                        TimeUnit.MILLISECONDS.sleep(200);
+                        return "value";
+                    });
+                }));
+            }
+            start.countDown();
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(loads).hasValue(1);
+    }
+
+    /**
+     * 0..99를 여러 번 조회해 빈도를 쌓은 뒤 한 번씩만 조회되는 키 300개를 넣는다 (sketch 표본 크기 안이라 빈도가 줄지 않음)
+     */
+    private static BoundedLocalStore<Object, Object> hotSetThenScan(EvictionPolicy policy) {
+        BoundedLocalStore<Object, Object> store = new BoundedLocalStore<>(MAXIMUM_SIZE, TTL_NANOS, policy, 1);
+        IntStream.range(0, MAXIMUM_SIZE).forEach(key -> store.put(key, key));
+        for (int round = 0; round < 5; round++) {
+            IntStream.range(0, MAXIMUM_SIZE).forEach(store::get);
+        }
+        IntStream.range(10_000, 10_300).forEach(key -> {
+            store.get(key);
+            store.put(key, key);
+        });
+        return store;
+    }
+
+    private static long hotKeysLeft(BoundedLocalStore<Object, Object> store) {
+        return IntStream.range(0, MAXIMUM_SIZE).filter(key -> store.get(key) != null).count();
+    }
+}
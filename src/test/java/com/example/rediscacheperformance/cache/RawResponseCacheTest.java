@@ -0,0 +1,127 @@
+package com.example.rediscacheperformance.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 응답 바이트 캐시 (미스 시 본문과 TTL 저장, 적중, If-None-Match 304, 경로별 카운터)
+ */
+class RawResponseCacheTest {
+
+    private static final String PREFIX = "raw:";
+    private static final Duration TTL = Duration.ofMinutes(5);
+
+    private static RedisServer server;
+    private static LettuceConnectionFactory factory;
+    private static StringRedisTemplate template;
+
+    private SimpleMeterRegistry registry;
+    private RawResponseCache cache;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        int port = freePort();
+        server = new RedisServer(port);
+        server.start();
+        factory = new LettuceConnectionFactory("localhost", port);
+        factory.afterPropertiesSet();
+        factory.start();
+        template = new StringRedisTemplate(factory);
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        if (factory != null) {
+            factory.destroy();
+        }
+        if (server != null && server.isActive()) {
+            server.stop();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        template.execute((RedisCallback<Void>) connection -> {
+            connection.serverCommands().flushDb();
+            return null;
+        });
+        registry = new SimpleMeterRegistry();
+        cache = new RawResponseCache(template, new ObjectMapper(), PREFIX, TTL, registry);
+    }
+
+    @Test
+    void missStoresBodyAndEtagWithTtl() {
+        RawResponseCache.RawResponse response = cache.get("id", "1", null, () -> Map.of("id", 1));
+
+        assertThat(response.outcome()).isEqualTo(CacheOutcome.MISS);
+        assertThat(new String(response.body(), StandardCharsets.UTF_8)).isEqualTo("{\"id\":1}");
+        assertThat(template.opsForHash().get(PREFIX + "id:1", "etag")).isEqualTo(response.etag());
+        assertThat(template.getExpire(PREFIX + "id:1")).isPositive().isLessThanOrEqualTo(TTL.getSeconds());
+    }
+
+    @Test
+    void hitReturnsStoredBytesWithoutCallingLoader() {
+        RawResponseCache.RawResponse first = cache.get("all", "all", null, () -> List.of(1, 2, 3));
+
+        RawResponseCache.RawResponse second = cache.get("all", "all", null, () -> {
+            throw new AssertionError("loader must not run on a hit");
+        });
+
+        assertThat(second.outcome()).isEqualTo(CacheOutcome.REMOTE_HIT);
+        assertThat(second.body()).isEqualTo(first.body());
+        assertThat(second.etag()).isEqualTo(first.etag());
+    }
+
+    @Test
+    void matchingIfNoneMatchReturnsNotModified() {
+        String etag = cache.get("category", "books", null, () -> List.of("a")).etag();
+
+        RawResponseCache.RawResponse response = cache.get("category", "books", "W/" + etag, () -> List.of("a"));
+
+        assertThat(response.isNotModified()).isTrue();
+        assertThat(response.etag()).isEqualTo(etag);
+    }
+
+    @Test
+    void nullFromLoaderIsNotCached() {
+        assertThat(cache.get("id", "404", null, () -> null)).isNull();
+        assertThat(template.hasKey(PREFIX + "id:404")).isFalse();
+    }
+
+    @Test
+    void countersAreRegisteredOncePerRouteAndResult() {
+        cache.get("id", "1", null, () -> 1);
+        cache.get("id", "1", null, () -> 1);
+        cache.get("id", "2", null, () -> 2);
+
+        assertThat(registry.get("cache.raw.access").tag("route", "id").tag("result", "miss").counter().count())
+                .isEqualTo(2.0);
+        assertThat(registry.get("cache.raw.access").tag("route", "id").tag("result", "hit").counter().count())
+                .isEqualTo(1.0);
+        assertThat(registry.get("cache.raw.access").tag("route", "id").tag("result", "not_modified").counter().count())
+                .isZero();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
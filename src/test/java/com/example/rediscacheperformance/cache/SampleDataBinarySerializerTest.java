@@ -0,0 +1,146 @@
+package com.example.rediscacheperformance.cache;
+
+import com.example.rediscacheperformance.dto.SampleDataPage;
+import com.example.rediscacheperformance.entity.SampleData;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 바이너리 캐시 코덱 왕복 (단건, 목록, null 값, 페이지, 압축, 헤더 없는 JSON, fallback 타입, 손상된 값)
+ */
+class SampleDataBinarySerializerTest {
+
+    private static final int COMPRESSION_THRESHOLD = 1024;
+
+    private final GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer(objectMapper());
+    private final SampleDataBinarySerializer serializer =
+            new SampleDataBinarySerializer(json, COMPRESSION_THRESHOLD, 1);
+
+    @Test
+    void roundTripsSingleRowWithAllFields() {
+        SampleData row = row(-7L, "카테고리");
+
+        byte[] bytes = serializer.serialize(row);
+
+        assertThat(bytes[0]).isEqualTo(SampleDataBinarySerializer.MAGIC);
+        assertThat(bytes[1]).isZero();
+        assertThat(serializer.deserialize(bytes)).isEqualTo(row);
+    }
+
+    @Test
+    void roundTripsListWithNullElementAndRepeatedCategories() {
+        List<SampleData> rows = new ArrayList<>();
+        rows.add(row(1L, "books"));
+        rows.add(null);
+        rows.add(row(2L, "toys"));
+        rows.add(row(3L, "books"));
+        rows.add(SampleData.builder().id(4L).build());
+
+        assertThat(serializer.deserialize(serializer.serialize(rows))).isEqualTo(rows);
+        // 반복된 카테고리는 사전 인덱스로만 기록된다
+        byte[] once = serializer.serialize(List.of(row(1L, "books")));
+        byte[] twice = serializer.serialize(List.of(row(1L, "books"), row(1L, "books")));
+        assertThat(twice.length - once.length).isLessThan(once.length - "books".length());
+    }
+
+    @Test
+    void roundTripsNullValue() {
+        assertThat(serializer.deserialize(serializer.serialize(NullValue.INSTANCE))).isSameAs(NullValue.INSTANCE);
+        assertThat(serializer.deserialize(serializer.serialize(null))).isSameAs(NullValue.INSTANCE);
+    }
+
+    @Test
+    void roundTripsPageWithAndWithoutCursor() {
+        SampleDataPage middle = new SampleDataPage(List.of(row(10L, "a"), row(11L, "a")), 11L);
+        SampleDataPage last = new SampleDataPage(List.of(row(12L, "b")), null);
+        SampleDataPage empty = new SampleDataPage(List.of(), null);
+
+        assertThat(serializer.deserialize(serializer.serialize(middle))).isEqualTo(middle);
+        assertThat(serializer.deserialize(serializer.serialize(last))).isEqualTo(last);
+        assertThat(serializer.deserialize(serializer.serialize(empty))).isEqualTo(empty);
+    }
+
+    @Test
+    void compressesPayloadAboveThreshold() {
+        List<SampleData> rows = IntStream.range(0, 100).mapToObj(i -> row((long) i, "category-" + i % 3)).toList();
+
+        byte[] bytes = serializer.serialize(rows);
+
+        assertThat(bytes[1]).isEqualTo((byte) 1);
+        assertThat(bytes.length).isLessThan(COMPRESSION_THRESHOLD);
+        assertThat(serializer.deserialize(bytes)).isEqualTo(rows);
+    }
+
+    @Test
+    void readsHeaderlessJsonEntries() {
+        SampleData row = row(5L, "books");
+        byte[] legacy = json.serialize(row);
+
+        assertThat(serializer.deserialize(legacy)).isEqualTo(json.deserialize(legacy));
+        assertThat(serializer.deserialize(json.serialize(List.of(1L, 2L)))).isEqualTo(List.of(1, 2));
+    }
+
+    @Test
+    void searchIdsGoThroughFallbackCodec() {
+        List<Long> ids = List.of(1L, 42L, 5_000_000_000L);
+
+        byte[] bytes = serializer.serialize(ids);
+
+        assertThat(bytes[0]).isEqualTo(SampleDataBinarySerializer.MAGIC);
+        // 타입 정보가 없는 JSON이라 작은 id는 Integer로 읽힌다 (검색 캐시는 Number로 받아 long으로 바꾼다)
+        assertThat(serializer.deserialize(bytes)).asList()
+                .extracting(id -> ((Number) id).longValue())
+                .containsExactlyElementsOf(ids);
+    }
+
+    @Test
+    void rejectsCorruptListSizeWithoutAllocating() {
+        byte[] bytes = serializer.serialize(List.of(row(1L, "books")));
+        // [MAGIC][FLAGS][TYPE_LIST][size varint ...] 의 크기를 Integer.MAX_VALUE로 바꾼다
+        byte[] corrupt = Arrays.copyOf(bytes, 8);
+        corrupt[3] = (byte) 0xFF;
+        corrupt[4] = (byte) 0xFF;
+        corrupt[5] = (byte) 0xFF;
+        corrupt[6] = (byte) 0xFF;
+        corrupt[7] = (byte) 0x07;
+
+        assertThatThrownBy(() -> serializer.deserialize(corrupt)).isInstanceOf(SerializationException.class);
+        assertThatThrownBy(() -> serializer.deserialize(Arrays.copyOf(bytes, bytes.length - 3)))
+                .isInstanceOf(SerializationException.class);
+    }
+
+    private static SampleData row(Long id, String category) {
+        return SampleData.builder()
+                .id(id)
+                .name("name-" + id)
+                .description("description of " + id)
+                .price(1_000)
+                .category(category)
+                .createdAt(LocalDateTime.of(2024, 1, 2, 3, 4, 5, 123_456_789))
+                .build();
+    }
+
+    /**
+     * RedisConfig.redisObjectMapper()와 같은 설정
+     */
+    private static ObjectMapper objectMapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        return mapper;
+    }
+}
@@ -0,0 +1,226 @@
+package com.example.rediscacheperformance.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 여러 embedded Redis 프로세스에 나눠 저장하는 sharded 캐시 (분배, 장애 노드 미스 처리와 복구, 노드 추가/제거)
+ */
+class ShardedRedisCacheTest {
+
+    private static final int NODES = 3;
+    private static final int KEYS = 300;
+    private static final String PREFIX = "shard:";
+    private static final Duration RETRY_INTERVAL = Duration.ofMillis(200);
+
+    private static final int[] ports = new int[NODES];
+    private static final RedisServer[] servers = new RedisServer[NODES];
+    private static final StringRedisTemplate[] templates = new StringRedisTemplate[NODES];
+    private static final LettuceConnectionFactory[] factories = new LettuceConnectionFactory[NODES];
+
+    private RedisShards shards;
+    private Cache cache;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        for (int i = 0; i < NODES; i++) {
+            ports[i] = freePort();
+            servers[i] = new RedisServer(ports[i]);
+            servers[i].start();
+            factories[i] = new LettuceConnectionFactory("localhost", ports[i]);
+            factories[i].afterPropertiesSet();
+            factories[i].start();
+            templates[i] = new StringRedisTemplate(factories[i]);
+        }
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        for (int i = 0; i < NODES; i++) {
+            if (factories[i] != null) {
+                factories[i].destroy();
+            }
+            if (servers[i] != null && servers[i].isActive()) {
+                servers[i].stop();
+            }
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        for (StringRedisTemplate template : templates) {
+            template.execute(connection -> {
+                connection.serverCommands().flushDb();
+                return null;
+            }, true);
+        }
+        List<String> nodes = new ArrayList<>();
+        for (int port : ports) {
+            nodes.add("localhost:" + port);
+        }
+        shards = new RedisShards(nodes, 0, 160, PREFIX, Duration.ofMillis(500), RETRY_INTERVAL,
+                new SimpleMeterRegistry());
+        RedisCacheConfiguration configuration = RedisCacheConfiguration.defaultCacheConfig()
+                .prefixCacheNameWith(PREFIX)
+                .serializeKeysWith(RedisSerializationContext.SerializationPair
+                        .fromSerializer(new StringRedisSerializer()))
+                .serializeValuesWith(RedisSerializationContext.SerializationPair
+                        .fromSerializer(new GenericJackson2JsonRedisSerializer()));
+        ShardedRedisCacheManager cacheManager = new ShardedRedisCacheManager(shards, configuration, Map.of());
+        cacheManager.initializeCaches();
+        cache = cacheManager.getCache("test");
+    }
+
+    @AfterEach
+    void tearDown() {
+        shards.destroy();
+    }
+
+    @Test
+    void spreadsKeysOverAllNodesAndReadsThemBack() {
+        IntStream.range(0, KEYS).forEach(i -> cache.put(i, "value-" + i));
+
+        int total = 0;
+        for (int node = 0; node < NODES; node++) {
+            int keys = keysOn(node).size();
+            // 160개 가상 노드면 노드별 몫이 1/3에서 크게 벗어나지 않는다
+            assertThat(keys).isBetween(KEYS / NODES / 2, KEYS / NODES * 2);
+            total += keys;
+        }
+        assertThat(total).isEqualTo(KEYS);
+        assertOnlyOwnedKeys();
+        assertThat(cache.get(7, String.class)).isEqualTo("value-7");
+    }
+
+    @Test
+    void bulkReadAndWriteGroupKeysByNode() {
+        Map<Object, Object> entries = new HashMap<>();
+        IntStream.range(0, KEYS).forEach(i -> entries.put(i, "value-" + i));
+        ((BulkCache) cache).putAll(entries);
+
+        List<Integer> keys = new ArrayList<>(IntStream.range(0, KEYS + 10).boxed().toList());
+        Map<Object, Cache.ValueWrapper> found = ((BulkCache) cache).getAll(keys);
+
+        assertThat(found).hasSize(KEYS);
+        assertThat(found.get(42).get()).isEqualTo("value-42");
+        assertOnlyOwnedKeys();
+    }
+
+    @Test
+    void deadNodeIsTreatedAsMissAndDroppedOnRecovery() throws Exception {
+        IntStream.range(0, KEYS).forEach(i -> cache.put(i, "value-" + i));
+        int deadNode = 1;
+        Set<Integer> deadKeys = keysOwnedBy(deadNode);
+
+        servers[deadNode].stop();
+        try {
+            for (int i = 0; i < KEYS; i++) {
+                Object value = cache.get(i, String.class);
+                assertThat(value).isEqualTo(deadKeys.contains(i) ? null : "value-" + i);
+            }
+            // 저장/삭제/비우기도 예외 없이 넘어간다
+            cache.put(deadKeys.iterator().next(), "lost");
+            cache.evict(deadKeys.iterator().next());
+            assertThat(((BulkCache) cache).getAll(deadKeys)).isEmpty();
+            assertThat(shards.getShards().get(deadNode).isDown()).isTrue();
+        } finally {
+            servers[deadNode] = new RedisServer(ports[deadNode]);
+            servers[deadNode].start();
+        }
+
+        // 장애 동안 놓친 변경을 흉내 낸 오래된 값 (복구 시 노드의 샤딩 키를 지워 읽히지 않아야 함)
+        Integer staleKey = deadKeys.iterator().next();
+        templates[deadNode].opsForValue().set(PREFIX + "test::" + staleKey, "\"stale\"");
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        while (shards.getShards().get(deadNode).isDown() && System.nanoTime() < deadline) {
+            Thread.sleep(RETRY_INTERVAL.toMillis());
+            cache.get(staleKey);
+        }
+        assertThat(shards.getShards().get(deadNode).isDown()).isFalse();
+        assertThat(cache.get(staleKey)).isNull();
+
+        cache.put(staleKey, "fresh");
+        assertThat(cache.get(staleKey, String.class)).isEqualTo("fresh");
+    }
+
+    @Test
+    void resizeMovesOnlyKeysOfChangedNode() {
+        IntStream.range(0, KEYS).forEach(i -> cache.put(i, "value-" + i));
+        Set<Integer> lastNodeKeys = keysOwnedBy(NODES - 1);
+
+        shards.resize(NODES - 1);
+
+        assertThat(keysOn(NODES - 1)).isEmpty();
+        for (int i = 0; i < KEYS; i++) {
+            // 빠진 노드의 키만 미스, 나머지는 제자리
+            assertThat(cache.get(i, String.class)).isEqualTo(lastNodeKeys.contains(i) ? null : "value-" + i);
+        }
+
+        IntStream.range(0, KEYS).forEach(i -> cache.put(i, "value-" + i));
+        Map<String, Object> result = shards.resize(NODES);
+
+        assertOnlyOwnedKeys();
+        long dropped = ((Map<?, ?>) result.get("droppedKeys")).values().stream()
+                .mapToLong(count -> ((Number) count).longValue())
+                .sum();
+        assertThat(dropped).isEqualTo(keysOwnedBy(NODES - 1).size());
+        assertThat(dropped).isLessThan(KEYS / 2);
+    }
+
+    private Set<String> keysOn(int node) {
+        return templates[node].keys(PREFIX + "*");
+    }
+
+    private Set<Integer> keysOwnedBy(int node) {
+        RedisShard shard = shards.getShards().get(node);
+        Set<Integer> owned = new HashSet<>();
+        for (int i = 0; i < KEYS; i++) {
+            if (shards.route((PREFIX + "test::" + i).getBytes(StandardCharsets.UTF_8)) == shard) {
+                owned.add(i);
+            }
+        }
+        return owned;
+    }
+
+    private void assertOnlyOwnedKeys() {
+        for (int node = 0; node < NODES; node++) {
+            RedisShard shard = shards.getShards().get(node);
+            for (String key : keysOn(node)) {
+                assertThat(shards.route(key.getBytes(StandardCharsets.UTF_8))).isSameAs(shard);
+            }
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.rediscacheperformance.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 스탬피드 방지 (같은 키 동시 적재 합치기, 조기 갱신, 추적 키 정리)
+ */
+class StampedeGuardTest {
+
+    private static final int THREADS = 8;
+
+    /**
+     * 조기 갱신 판단이 사실상 항상 참이 되는 beta (delta 2ms면 갱신 간격 기대값이 TTL의 수만 배)
+     */
+    private static final double BETA = 1e12;
+
+    private final Cache cache = new ConcurrentMapCache("test");
+    private final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentMissesOfSameKeyLoadOnce() throws Exception {
+        StampedeGuard guard = guard(false, Duration.ofMinutes(10));
+        AtomicInteger loads = new AtomicInteger();
+
+        List<Future<Object>> results = loadConcurrently(guard, "key", () -> {
+            loads.incrementAndGet();
+            TimeUnit.MILLISECONDS.sleep(200);
+            return "value";
+        });
+
+        for (Future<Object> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(cache.get("key", String.class)).isEqualTo("value");
+        assertThat(guard.getStatistics()).containsEntry("loads", 1L).containsEntry("inflight", 0);
+    }
+
+    @Test
+    void waitersSeeLoaderFailureAndNextMissLoadsAgain() throws Exception {
+        StampedeGuard guard = guard(false, Duration.ofMinutes(10));
+
+        List<Future<Object>> results = loadConcurrently(guard, "key", () -> {
+            TimeUnit.MILLISECONDS.sleep(200);
+            throw new IllegalStateException("database is down");
+        });
+
+        for (Future<Object> result : results) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                    .hasRootCauseInstanceOf(IllegalStateException.class);
+        }
+        assertThat(guard.load("key", () -> "value", value -> cache.put("key", value))).isEqualTo("value");
+        assertThat(guard.getStatistics()).containsEntry("inflight", 0);
+    }
+
+    @Test
+    void hitCloseToExpiryRefreshesInBackground() {
+        // 적재 시간(delta) x beta가 TTL보다 훨씬 크면 적중할 때마다 만료가 가깝다고 판단한다
+        StampedeGuard guard = guard(true, Duration.ofSeconds(10));
+        guard.load("key", () -> {
+            TimeUnit.MILLISECONDS.sleep(2);
+            return "old";
+        }, value -> cache.put("key", value));
+
+        guard.onHit("key", () -> "new", value -> cache.put("key", value));
+
+        assertThat(cache.get("key", String.class)).isEqualTo("new");
+        assertThat(guard.getStatistics()).containsEntry("loads", 2L).containsEntry("earlyRefreshes", 1L);
+    }
+
+    @Test
+    void noRefreshWhenDisabledExpiredOrForgotten() throws InterruptedException {
+        StampedeGuard disabled = guard(false, Duration.ofMinutes(10));
+        disabled.load("key", () -> "old", value -> cache.put("key", value));
+        disabled.onHit("key", () -> "new", value -> cache.put("key", value));
+        assertThat(cache.get("key", String.class)).isEqualTo("old");
+
+        // 이 노드가 적재한 항목이 이미 만료됐으면 추적만 멈춘다
+        StampedeGuard expired = guard(true, Duration.ofMillis(1));
+        expired.load("key", () -> "old", value -> cache.put("key", value));
+        TimeUnit.MILLISECONDS.sleep(20);
+        expired.onHit("key", () -> "new", value -> cache.put("key", value));
+        assertThat(cache.get("key", String.class)).isEqualTo("old");
+        assertThat(expired.getStatistics()).containsEntry("trackedKeys", 0);
+
+        StampedeGuard forgotten = guard(true, Duration.ofMinutes(10));
+        cache.clear();
+        forgotten.load("category:a:0:10", () -> "page", value -> cache.put("category:a:0:10", value));
+        forgotten.load("all:0:10", () -> "page", value -> cache.put("all:0:10", value));
+        forgotten.forgetByPrefix("category:a:");
+        forgotten.onHit("category:a:0:10", () -> "new", value -> cache.put("category:a:0:10", value));
+        assertThat(cache.get("category:a:0:10", String.class)).isEqualTo("page");
+        assertThat(forgotten.getStatistics()).containsEntry("trackedKeys", 1).containsEntry("earlyRefreshes", 0L);
+    }
+
+    @Test
+    void waiterOfRefreshThatThrowsErrorLoadsItself() throws Exception {
+        StampedeGuard guard = new StampedeGuard(cache, null, Duration.ofSeconds(1), Duration.ofMillis(10), true, BETA,
+                Duration.ofSeconds(10), 100, executor, new SimpleMeterRegistry());
+        guard.load("key", () -> {
+            TimeUnit.MILLISECONDS.sleep(2);
+            return "old";
+        }, value -> cache.put("key", value));
+        cache.evict("key");
+        CountDownLatch refreshing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        guard.onHit("key", () -> {
+            refreshing.countDown();
+            release.await();
+            throw new StackOverflowError("refresh failed");
+        }, value -> cache.put("key", value));
+        assertThat(refreshing.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<Object> waiter = executor.submit(() -> guard.load("key", () -> "new", value -> cache.put("key", value)));
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while ((Long) guard.getStatistics().get("coalescedWaiters") == 0 && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(5);
+        }
+        release.countDown();
+
+        // 갱신이 Error로 끝나도 기다리던 적재가 멈추지 않고 직접 적재한다
+        assertThat(waiter.get(5, TimeUnit.SECONDS)).isEqualTo("new");
+        assertThat(guard.getStatistics()).containsEntry("coalescedWaiters", 1L).containsEntry("inflight", 0);
+    }
+
+    /**
+     * 임대 없이, 조기 갱신은 호출 스레드에서 바로 실행하는 guard
+     */
+    private StampedeGuard guard(boolean earlyRefresh, Duration ttl) {
+        return new StampedeGuard(cache, null, Duration.ofSeconds(1), Duration.ofMillis(10), earlyRefresh, BETA,
+                ttl, 100, Runnable::run, new SimpleMeterRegistry());
+    }
+
+    private List<Future<Object>> loadConcurrently(StampedeGuard guard, Object key, Callable<?> loader) {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Object>> results = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return guard.load(key, loader, value -> cache.put(key, value));
+            }));
+        }
+        start.countDown();
+        return results;
+    }
+}
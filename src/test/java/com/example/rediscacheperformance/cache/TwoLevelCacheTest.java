@@ -0,0 +1,127 @@
+package com.example.rediscacheperformance.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 2단계 캐시 (L1 적중, 다른 노드의 E/P/C 메시지로 L1 무효화, 자신이 보낸 메시지 무시)
+ * 두 노드가 L2(공유 맵)와 무효화 채널을 함께 쓰고, 발행한 메시지는 Redis pub/sub처럼 발행한 노드를 포함한 모든 노드에 전달된다.
+ */
+class TwoLevelCacheTest {
+
+    private static final String CHANNEL = "near-cache-invalidation";
+    private static final String CACHE = "sampleData";
+
+    private final ConcurrentMapCacheManager remote = new ConcurrentMapCacheManager();
+    private final List<NearCacheInvalidationBus> subscribers = new CopyOnWriteArrayList<>();
+
+    private TwoLevelCache nodeA;
+    private TwoLevelCache nodeB;
+
+    @BeforeEach
+    void setUp() {
+        nodeA = (TwoLevelCache) node().getCache(CACHE);
+        nodeB = (TwoLevelCache) node().getCache(CACHE);
+    }
+
+    @Test
+    void ownPutIsServedFromLocalCache() {
+        nodeA.put(1L, "value");
+        // 자신이 보낸 무효화 메시지로 방금 넣은 L1 항목을 지우지 않는다
+        remote.getCache(CACHE).evict(1L);
+
+        TwoLevelCache.Lookup lookup = nodeA.lookup(1L);
+
+        assertThat(lookup.outcome()).isEqualTo(CacheOutcome.LOCAL_HIT);
+        assertThat(lookup.wrapper().get()).isEqualTo("value");
+        assertThat(nodeA.getStatistics()).containsEntry("localHits", 1L).containsEntry("remoteHits", 0L);
+    }
+
+    @Test
+    void remoteHitFillsLocalCache() {
+        remote.getCache(CACHE).put(1L, "value");
+
+        assertThat(nodeB.lookup(1L).outcome()).isEqualTo(CacheOutcome.REMOTE_HIT);
+        assertThat(nodeB.lookup(1L).outcome()).isEqualTo(CacheOutcome.LOCAL_HIT);
+        assertThat(nodeB.lookup(2L).outcome()).isEqualTo(CacheOutcome.MISS);
+    }
+
+    @Test
+    void otherNodesPutAndEvictInvalidateLocalEntry() {
+        nodeA.put(1L, "old");
+        assertThat(nodeB.get(1L).get()).isEqualTo("old");
+
+        nodeA.put(1L, "new");
+
+        TwoLevelCache.Lookup lookup = nodeB.lookup(1L);
+        assertThat(lookup.outcome()).isEqualTo(CacheOutcome.REMOTE_HIT);
+        assertThat(lookup.wrapper().get()).isEqualTo("new");
+
+        nodeA.evict(1L);
+        assertThat(nodeB.lookup(1L).outcome()).isEqualTo(CacheOutcome.MISS);
+    }
+
+    @Test
+    void otherNodesPrefixEvictAndClearInvalidateLocalEntries() {
+        remote.getCache(CACHE).put("category:a:0:10", "a");
+        remote.getCache(CACHE).put("category:b:0:10", "b");
+        nodeB.get("category:a:0:10");
+        nodeB.get("category:b:0:10");
+
+        // L2가 접두사 삭제를 지원하지 않아 L2 전체가 비므로, 남은 항목은 L1에서만 읽힌다
+        nodeA.evictByPrefix("category:a:");
+
+        assertThat(nodeB.getStatistics()).containsEntry("localSize", 1);
+        assertThat(nodeB.lookup("category:b:0:10").outcome()).isEqualTo(CacheOutcome.LOCAL_HIT);
+
+        nodeA.clear();
+        assertThat(nodeB.getStatistics()).containsEntry("localSize", 0);
+    }
+
+    @Test
+    void getWithLoaderLoadsThroughRemoteAndFillsLocalCache() {
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(nodeA.get(1L, () -> "loaded-" + loads.incrementAndGet())).isEqualTo("loaded-1");
+        assertThat(nodeA.get(1L, () -> "loaded-" + loads.incrementAndGet())).isEqualTo("loaded-1");
+        assertThat(nodeB.get(1L, () -> "loaded-" + loads.incrementAndGet())).isEqualTo("loaded-1");
+
+        assertThat(loads).hasValue(1);
+        assertThat(remote.getCache(CACHE).get(1L, String.class)).isEqualTo("loaded-1");
+        assertThat(nodeA.getStatistics()).containsEntry("misses", 1L).containsEntry("localHits", 1L);
+        assertThat(nodeB.getStatistics()).containsEntry("remoteHits", 1L);
+    }
+
+    /**
+     * 공유 L2와 채널을 쓰는 노드 하나 (노드마다 무효화 버스의 nodeId가 다르다)
+     */
+    private TwoLevelCacheManager node() {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        doAnswer(invocation -> {
+            byte[] body = invocation.<String>getArgument(1).getBytes(StandardCharsets.UTF_8);
+            for (NearCacheInvalidationBus subscriber : subscribers) {
+                subscriber.onMessage(new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8), body), null);
+            }
+            return 1L;
+        }).when(redisTemplate).convertAndSend(eq(CHANNEL), anyString());
+        NearCacheInvalidationBus bus = new NearCacheInvalidationBus(redisTemplate, CHANNEL);
+        subscribers.add(bus);
+        return new TwoLevelCacheManager(remote, bus, 100, Duration.ofMinutes(10).toNanos(),
+                EvictionPolicy.W_TINY_LFU, 1);
+    }
+}
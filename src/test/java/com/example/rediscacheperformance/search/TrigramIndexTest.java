@@ -0,0 +1,87 @@
+package com.example.rediscacheperformance.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * trigram 색인 (배열/비트셋 posting 전환, 늦게 들어온 작은 id의 자리 바꾸기, 삭제 후 다시 추가)
+ */
+class TrigramIndexTest {
+
+    @Test
+    void frequentTrigramsSwitchToBitsAndStillSearchInIdOrder() {
+        TrigramIndex index = new TrigramIndex();
+        for (long id = 1; id <= 200; id++) {
+            index.put(id, "Common item " + id, id % 2 == 0 ? "even" : "odd");
+        }
+
+        assertThat(index.getStatistics()).containsEntry("documents", 200);
+        assertThat((Integer) index.getStatistics().get("densePostings")).isPositive();
+        assertThat(index.search("common", 500)).containsExactlyElementsOf(ids(1, 200));
+        assertThat(index.search("item 1", 3)).containsExactly(1L, 10L, 11L);
+        // 희소 posting(even)과 비트셋 posting(com, mmo, ...)의 교집합
+        assertThat(index.search("even", 3)).containsExactly(2L, 4L, 6L);
+    }
+
+    @Test
+    void lateSmallerIdIsSwappedIntoOrderAcrossBothPostingKinds() {
+        TrigramIndex index = new TrigramIndex();
+        for (long id = 10; id < 110; id++) {
+            index.put(id, "Common item", null);
+        }
+        // 동시 생성으로 더 큰 id보다 늦게 들어온 문서
+        index.put(5L, "Common late", "rare words");
+        index.put(7L, "Common late", null);
+
+        List<Long> all = index.search("common", 500);
+        assertThat(all).hasSize(102).isSorted().startsWith(5L, 7L, 10L);
+        assertThat(index.search("late", 10)).containsExactly(5L, 7L);
+        assertThat(index.search("rare", 10)).containsExactly(5L);
+        assertThat(index.search("item", 1)).containsExactly(10L);
+    }
+
+    @Test
+    void removedAndReplacedDocumentsUpdateOnlyTheirTrigrams() {
+        TrigramIndex index = new TrigramIndex();
+        for (long id = 1; id <= 100; id++) {
+            index.put(id, "Common item", null);
+        }
+        index.put(3L, "Renamed", "other text");
+
+        assertThat(index.search("common", 500)).doesNotContain(3L).hasSize(99);
+        assertThat(index.search("renamed", 10)).containsExactly(3L);
+        // 이름과 설명에 걸친 검색어는 찾지 않는다
+        assertThat(index.search("renamed other", 10)).isEmpty();
+
+        index.remove(3L);
+        index.remove(50L);
+        assertThat(index.search("renamed", 10)).isEmpty();
+        assertThat(index.search("common", 500)).doesNotContain(3L, 50L).hasSize(98);
+        assertThat(index.documentCount()).isEqualTo(98);
+
+        // 삭제된 번호에 다시 추가
+        index.put(50L, "Common again", null);
+        assertThat(index.search("common", 500)).contains(50L).hasSize(99).isSorted();
+        assertThat(index.search("again", 10)).containsExactly(50L);
+        assertThat(index.documentCount()).isEqualTo(99);
+    }
+
+    @Test
+    void shortQueriesScanTextsAndNormalizeIgnoresCase() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1L, "Alpha", null);
+        index.put(2L, "Beta", "ALPHABET");
+
+        assertThat(index.search(TrigramIndex.normalize("  AL "), 10)).containsExactly(1L, 2L);
+        assertThat(index.search(TrigramIndex.normalize("PHAB"), 10)).containsExactly(2L);
+        assertThat(index.search("zzz", 10)).isEmpty();
+    }
+
+    private static List<Long> ids(long from, long to) {
+        return LongStream.rangeClosed(from, to).boxed().toList();
+    }
+}
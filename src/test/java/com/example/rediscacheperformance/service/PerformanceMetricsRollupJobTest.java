@@ -0,0 +1,201 @@
+package com.example.rediscacheperformance.service;
+
+import com.example.rediscacheperformance.config.MetricsRollupProperties;
+import com.example.rediscacheperformance.entity.RollupResolution;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 성능 메트릭 롤업 (요청 없는 구간 건너뛰기, 지연 구간, 상위 롤업 전 보관 기간 삭제 금지, 히스토그램 병합)
+ * 시각은 현재 시각 기준이라, 경계에 걸리지 않도록 4시간 전 정시를 기준(base)으로 행을 넣는다.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PerformanceMetricsRollupJobTest {
+
+    private static final String API = "/api/data/1";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final MetricsRollupProperties properties = new MetricsRollupProperties();
+    private PerformanceMetricsRollupJob job;
+    private LocalDateTime base;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM performance_metrics");
+        jdbcTemplate.update("DELETE FROM performance_metrics_rollup");
+        properties.setMaxMinutesPerRun(1_000);
+        properties.setRawRetention(Duration.ofDays(1));
+        properties.setMinuteRetention(Duration.ofDays(1));
+        job = new PerformanceMetricsRollupJob(jdbcTemplate, new TransactionTemplate(transactionManager), properties,
+                new SimpleMeterRegistry());
+        base = RollupResolution.HOUR.bucketStart(LocalDateTime.now()).minusHours(4);
+    }
+
+    @Test
+    void rollsUpMinutesAndHoursAcrossGapsWithoutRequests() {
+        insertRaw(base.plusMinutes(1).plusSeconds(5), 1_000, 2_000);
+        insertRaw(base.plusMinutes(5), 3_000);
+        // 1시간 넘게 요청이 없던 구간
+        insertRaw(base.plusHours(2).plusMinutes(10), 4_000);
+
+        assertThat(job.runOnce()).containsEntry("rawRows", 4L);
+
+        assertThat(bucketStarts(RollupResolution.MINUTE))
+                .containsExactly(base.plusMinutes(1), base.plusMinutes(5), base.plusHours(2).plusMinutes(10));
+        assertThat(bucketStarts(RollupResolution.HOUR)).containsExactly(base, base.plusHours(2));
+        assertThat(requestCount(RollupResolution.HOUR, base)).isEqualTo(3);
+        assertThat(requestCount(RollupResolution.HOUR, base.plusHours(2))).isEqualTo(1);
+
+        // 다시 실행해도 같은 구간을 두 번 롤업하지 않는다
+        assertThat(job.runOnce()).containsEntry("rawRows", 0L).containsEntry("hourBuckets", 0L);
+        assertThat(bucketStarts(RollupResolution.MINUTE)).hasSize(3);
+        assertThat(bucketStarts(RollupResolution.HOUR)).hasSize(2);
+    }
+
+    @Test
+    void cappedRunSkipsEmptyMinutesOnNextRun() {
+        properties.setMaxMinutesPerRun(10);
+        insertRaw(base.plusMinutes(1), 1_000);
+        insertRaw(base.plusHours(2), 2_000);
+
+        assertThat(job.runOnce()).containsEntry("rawRows", 1L);
+        assertThat(bucketStarts(RollupResolution.MINUTE)).containsExactly(base.plusMinutes(1));
+        // 빈 구간을 한 번에 10분씩 훑지 않고 다음 원본 행의 구간으로 건너뛴다
+        assertThat(job.runOnce()).containsEntry("rawRows", 1L);
+        assertThat(bucketStarts(RollupResolution.MINUTE)).containsExactly(base.plusMinutes(1), base.plusHours(2));
+    }
+
+    @Test
+    void rowsInsideDelayWindowWaitForLaterRun() {
+        properties.setDelay(Duration.ofMinutes(2));
+        properties.setRawRetention(Duration.ZERO);
+        insertRaw(base.plusMinutes(1), 1_000);
+        LocalDateTime recent = LocalDateTime.now().minusSeconds(90).truncatedTo(ChronoUnit.SECONDS);
+        insertRaw(recent, 2_000);
+
+        assertThat(job.runOnce()).containsEntry("rawRows", 1L);
+        assertThat(bucketStarts(RollupResolution.MINUTE)).containsExactly(base.plusMinutes(1));
+        // 보관 기간이 0이어도 아직 롤업하지 않은 행은 지우지 않는다
+        assertThat(rawCreatedAt()).containsExactly(recent);
+
+        properties.setDelay(Duration.ZERO);
+        assertThat(job.runOnce()).containsEntry("rawRows", 1L);
+        assertThat(bucketStarts(RollupResolution.MINUTE))
+                .containsExactly(base.plusMinutes(1), RollupResolution.MINUTE.bucketStart(recent));
+        assertThat(rawCreatedAt()).isEmpty();
+    }
+
+    @Test
+    void retentionKeepsRowsAndMinutesNotYetRolledUp() {
+        properties.setMaxMinutesPerRun(100);
+        properties.setRawRetention(Duration.ZERO);
+        properties.setMinuteRetention(Duration.ZERO);
+        insertRaw(base.plusMinutes(1), 1_000);
+        insertRaw(base.plusMinutes(70), 2_000);
+        insertRaw(base.plusMinutes(150), 3_000);
+
+        // 분 롤업은 base+1분 ~ base+101분까지, 시간 롤업은 base 한 시간만 끝난 상태
+        job.runOnce();
+
+        assertThat(rawCreatedAt()).containsExactly(base.plusMinutes(150));
+        assertThat(bucketStarts(RollupResolution.MINUTE)).containsExactly(base.plusMinutes(70));
+        assertThat(bucketStarts(RollupResolution.HOUR)).containsExactly(base);
+
+        job.runOnce();
+
+        assertThat(rawCreatedAt()).isEmpty();
+        assertThat(bucketStarts(RollupResolution.MINUTE)).isEmpty();
+        assertThat(bucketStarts(RollupResolution.HOUR)).containsExactly(base, base.plusHours(1), base.plusHours(2));
+        assertThat(LongStream.of(requestCount(RollupResolution.HOUR, base),
+                requestCount(RollupResolution.HOUR, base.plusHours(1)),
+                requestCount(RollupResolution.HOUR, base.plusHours(2))).sum()).isEqualTo(3);
+    }
+
+    @Test
+    void hourHistogramMergedFromMinutesKeepsP99() {
+        Histogram expected = new Histogram(properties.getSignificantDigits());
+        for (int minute = 0; minute < 10; minute++) {
+            for (long micros = 1; micros <= 100; micros++) {
+                long value = micros * 100 + minute;
+                insertRaw(base.plusMinutes(minute), value);
+                expected.recordValue(value);
+            }
+        }
+
+        job.runOnce();
+
+        byte[] encoded = jdbcTemplate.queryForObject("SELECT histogram FROM performance_metrics_rollup "
+                + "WHERE resolution = 'HOUR' AND bucket_start = ?", byte[].class, Timestamp.valueOf(base));
+        Histogram hour = PerformanceMetricsRollupJob.decode(encoded);
+        assertThat(hour.getTotalCount()).isEqualTo(expected.getTotalCount());
+        assertThat(hour.getValueAtPercentile(99)).isEqualTo(expected.getValueAtPercentile(99));
+    }
+
+    @Test
+    void encodedHistogramsMergeToSameP99() {
+        Histogram first = new Histogram(2);
+        Histogram second = new Histogram(2);
+        Histogram all = new Histogram(2);
+        for (long value = 1; value <= 10_000; value++) {
+            (value % 3 == 0 ? first : second).recordValue(value * 7);
+            all.recordValue(value * 7);
+        }
+
+        Histogram merged = new Histogram(2);
+        merged.add(PerformanceMetricsRollupJob.decode(PerformanceMetricsRollupJob.encode(first)));
+        merged.add(PerformanceMetricsRollupJob.decode(PerformanceMetricsRollupJob.encode(second)));
+
+        assertThat(merged.getTotalCount()).isEqualTo(all.getTotalCount());
+        assertThat(merged.getValueAtPercentile(99)).isEqualTo(all.getValueAtPercentile(99));
+        assertThat(merged.getMaxValue()).isEqualTo(all.getMaxValue());
+    }
+
+    private void insertRaw(LocalDateTime createdAt, long... micros) {
+        for (long value : micros) {
+            jdbcTemplate.update("INSERT INTO performance_metrics (api_name, cache_enabled, cache_hit, "
+                            + "response_time_ms, response_time_us, request_count, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                    API, true, true, value / 1000, value, 1, Timestamp.valueOf(createdAt));
+        }
+    }
+
+    private List<LocalDateTime> bucketStarts(RollupResolution resolution) {
+        return jdbcTemplate.queryForList("SELECT bucket_start FROM performance_metrics_rollup "
+                + "WHERE resolution = ? ORDER BY bucket_start", LocalDateTime.class, resolution.name());
+    }
+
+    private long requestCount(RollupResolution resolution, LocalDateTime bucketStart) {
+        Long count = jdbcTemplate.queryForObject("SELECT SUM(request_count) FROM performance_metrics_rollup "
+                        + "WHERE resolution = ? AND bucket_start = ?", Long.class,
+                resolution.name(), Timestamp.valueOf(bucketStart));
+        return count != null ? count : 0;
+    }
+
+    private List<LocalDateTime> rawCreatedAt() {
+        return jdbcTemplate.queryForList("SELECT created_at FROM performance_metrics ORDER BY created_at",
+                LocalDateTime.class);
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.rediscacheperformance.service;
+
+import com.example.rediscacheperformance.config.DataWriteProperties;
+import com.example.rediscacheperformance.entity.SampleData;
+import com.example.rediscacheperformance.latency.DatabaseLatencySimulator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * write-behind 대기열 (같은 id 변경 합치기, 대기열 상한, flush 실패 시 재시도 간격)
+ */
+class WriteBehindQueueTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final DataWriteProperties properties = new DataWriteProperties();
+    private final AtomicInteger batchCalls = new AtomicInteger();
+    private final List<Object> writtenRows = new ArrayList<>();
+
+    private WriteBehindQueue queue;
+    private volatile boolean databaseDown;
+
+    @BeforeEach
+    void setUp() {
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class))).thenAnswer(invocation -> {
+                    batchCalls.incrementAndGet();
+                    if (databaseDown) {
+                        throw new DataAccessResourceFailureException("database is down");
+                    }
+                    writtenRows.addAll(invocation.getArgument(1));
+                    return new int[0][];
+                });
+        queue = new WriteBehindQueue(jdbcTemplate, properties, mock(DatabaseLatencySimulator.class),
+                new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (queue.isRunning()) {
+            databaseDown = false;
+            queue.stop();
+        }
+    }
+
+    @Test
+    void coalescesWritesToSameIdIntoLastValue() {
+        queue.enqueue(1L, row(1L, "first", "a"), Set.of("a"));
+        queue.enqueue(1L, row(1L, "second", "b"), Set.of("a", "b"));
+        queue.enqueue(2L, null, Set.of("c"));
+
+        assertThat(queue.getPending(1L)).get()
+                .satisfies(write -> {
+                    assertThat(write.row().getName()).isEqualTo("second");
+                    assertThat(write.categories()).containsExactlyInAnyOrder("a", "b");
+                });
+        assertThat(queue.getStatistics()).containsEntry("coalesced", 1L).containsEntry("pending", 2);
+
+        List<WriteBehindQueue.PendingWrite> flushedWrites = new ArrayList<>();
+        queue.addFlushListener(flushedWrites::addAll);
+        assertThat(queue.flush()).isTrue();
+
+        // 수정 1건, 삭제 1건이 각각 한 배치로
+        assertThat(batchCalls).hasValue(2);
+        assertThat(writtenRows).hasSize(2);
+        assertThat(flushedWrites).extracting(WriteBehindQueue.PendingWrite::id).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(queue.getPending(1L)).isEmpty();
+    }
+
+    @Test
+    void rejectsNewIdsWhenFullButStillCoalescesPendingOnes() {
+        properties.setWriteBehindCapacity(2);
+
+        assertThat(queue.enqueue(1L, row(1L, "one", "a"), Set.of("a"))).isTrue();
+        assertThat(queue.enqueue(2L, row(2L, "two", "a"), Set.of("a"))).isTrue();
+        assertThat(queue.enqueue(3L, row(3L, "three", "a"), Set.of("a"))).isFalse();
+        assertThat(queue.enqueue(1L, row(1L, "one again", "a"), Set.of("a"))).isTrue();
+
+        assertThat(queue.getPending(3L)).isEmpty();
+        assertThat(queue.getStatistics()).containsEntry("rejected", 1L).containsEntry("pending", 2);
+        // 쓰기 스레드가 직접 flush하지 않는다
+        assertThat(batchCalls).hasValue(0);
+    }
+
+    @Test
+    void failedFlushKeepsWritesAndBacksOffInsteadOfSpinning() throws InterruptedException {
+        properties.setWriteBehindFlushInterval(Duration.ofMillis(10));
+        properties.setWriteBehindMaxBackoff(Duration.ofMillis(80));
+        // flush 크기 이상 쌓여 있어도 실패 후에는 쉬어야 한다
+        properties.setWriteBehindFlushSize(1);
+        databaseDown = true;
+        queue.enqueue(1L, row(1L, "one", "a"), Set.of("a"));
+
+        assertThat(queue.flush()).isFalse();
+        assertThat(queue.getPending(1L)).isPresent();
+
+        batchCalls.set(0);
+        queue.start();
+        Thread.sleep(500);
+        // 10, 20, 40, 80, 80, ... ms 간격이면 500ms 동안 10번 안쪽
+        assertThat(batchCalls.get()).isBetween(2, 12);
+        assertThat(queue.getPending(1L)).isPresent();
+
+        databaseDown = false;
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (queue.getPending(1L).isPresent() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(queue.getPending(1L)).isEmpty();
+        assertThat(writtenRows).hasSize(1);
+    }
+
+    private static SampleData row(Long id, String name, String category) {
+        return SampleData.builder()
+                .id(id)
+                .name(name)
+                .price(1)
+                .category(category)
+                .build();
+    }
+}